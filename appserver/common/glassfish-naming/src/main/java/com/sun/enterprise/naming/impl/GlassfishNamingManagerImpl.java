@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -47,12 +47,16 @@ import javax.naming.Reference;
 import javax.naming.StringRefAddr;
 import javax.naming.spi.NamingManager;
 
+import org.glassfish.api.admin.ProcessEnvironment;
 import org.glassfish.api.invocation.ComponentInvocation;
 import org.glassfish.api.invocation.InvocationManager;
 import org.glassfish.api.naming.GlassfishNamingManager;
 import org.glassfish.api.naming.JNDIBinding;
 import org.glassfish.api.naming.NamingObjectProxy;
 import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.external.probe.provider.PluginPoint;
+import org.glassfish.external.probe.provider.StatsProviderManager;
+import org.glassfish.hk2.api.PostConstruct;
 import org.glassfish.hk2.api.ServiceLocator;
 import org.jvnet.hk2.annotations.Service;
 import org.omg.CORBA.ORB;
@@ -77,7 +81,7 @@ import static org.glassfish.api.naming.SimpleJndiName.JNDI_CTX_JAVA_MODULE_NS_ID
  */
 @Service
 @Singleton
-public final class GlassfishNamingManagerImpl implements GlassfishNamingManager {
+public final class GlassfishNamingManagerImpl implements GlassfishNamingManager, PostConstruct {
 
     public static final String IIOPOBJECT_FACTORY = "com.sun.enterprise.naming.util.IIOPObjectFactory";
     private static final Logger LOG = System.getLogger(GlassfishNamingManagerImpl.class.getName());
@@ -94,6 +98,8 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
     private final NamespacesMap<AppModuleKey> moduleNamespaces;
     private final Map<String, ComponentIdInfo> componentIdInfo;
 
+    private LookupCache lookupCache;
+
     private InvocationManager invMgr;
 
     // FIXME: cosContext has nothing to do with the rest of the class. It could be pushed to own class.
@@ -118,16 +124,37 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
         this.appNamespaces = new NamespacesMap<>(JNDI_CTX_JAVA_APP);
         this.moduleNamespaces = new NamespacesMap<>(SimpleJndiName.JNDI_CTX_JAVA_MODULE);
         this.componentIdInfo = new HashMap<>();
+        this.lookupCache = new LookupCache(LookupCache.getConfiguredPolicy());
         JavaURLContext.setNamingManager(this);
     }
 
 
+    @Override
+    public void postConstruct() {
+        ProcessEnvironment processEnvironment = serviceLocator.getService(ProcessEnvironment.class);
+        if (lookupCache.isEnabled() && processEnvironment != null && processEnvironment.getProcessType().isServer()) {
+            StatsProviderManager.register("naming", PluginPoint.SERVER, "naming", new NamingStatsProvider(lookupCache));
+        }
+    }
+
+
     // Used only for unit testing
     void setInvocationManager(final InvocationManager invMgr) {
         this.invMgr = invMgr;
     }
 
 
+    // Used only for unit testing
+    void setLookupCache(final LookupCache lookupCache) {
+        this.lookupCache = lookupCache;
+    }
+
+
+    LookupCache getLookupCache() {
+        return lookupCache;
+    }
+
+
     /**
      * Get the initial naming context.
      */
@@ -183,6 +210,7 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
         LOG.log(DEBUG, "publishObject(name={0}, obj={1}, rebind={2})", name, obj, rebind);
         if (rebind) {
             initialContext.rebind(name, obj);
+            lookupCache.invalidateAll();
         } else {
             initialContext.bind(name, obj);
         }
@@ -220,6 +248,7 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
     public void unpublishObject(Name name) throws NamingException {
         LOG.log(DEBUG, "unpublishObject(name={0})", name);
         initialContext.unbind(name);
+        lookupCache.invalidateAll();
     }
 
 
@@ -227,6 +256,7 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
     public void unpublishObject(SimpleJndiName name) throws NamingException {
         LOG.log(DEBUG, "unpublishObject(name={0})", name);
         initialContext.unbind(name.toName());
+        lookupCache.invalidateAll();
     }
 
 
@@ -239,6 +269,7 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
             LOG.log(WARNING, "Error during CosNaming.unbind for name: " + name, cne);
         }
         initialContext.unbind(name.toString());
+        lookupCache.invalidateAll();
     }
 
 
@@ -405,31 +436,36 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
             componentIdInfo.put(componentId, info);
         }
 
-        for (JNDIBinding binding : bindings) {
-            final SimpleJndiName logicalJndiName;
-            if (treatComponentAsModule && binding.getName().isJavaComponent()) {
-                logicalJndiName = binding.getName().changePrefix(JNDI_CTX_JAVA_MODULE);
-            } else {
-                logicalJndiName = binding.getName();
-            }
+        try {
+            for (JNDIBinding binding : bindings) {
+                final SimpleJndiName logicalJndiName;
+                if (treatComponentAsModule && binding.getName().isJavaComponent()) {
+                    logicalJndiName = binding.getName().changePrefix(JNDI_CTX_JAVA_MODULE);
+                } else {
+                    logicalJndiName = binding.getName();
+                }
 
-            final JavaNamespace namespace;
-            if (logicalJndiName.isJavaComponent()) {
-                namespace = getComponentNamespace(componentId);
-            } else if (logicalJndiName.isJavaModule()) {
-                namespace = getModuleNamespace(new AppModuleKey(appName, moduleName));
-            } else if (logicalJndiName.isJavaApp()) {
-                namespace = getAppNamespace(appName);
-            } else {
-                namespace = null;
-            }
+                final JavaNamespace namespace;
+                if (logicalJndiName.isJavaComponent()) {
+                    namespace = getComponentNamespace(componentId);
+                } else if (logicalJndiName.isJavaModule()) {
+                    namespace = getModuleNamespace(new AppModuleKey(appName, moduleName));
+                } else if (logicalJndiName.isJavaApp()) {
+                    namespace = getAppNamespace(appName);
+                } else {
+                    namespace = null;
+                }
 
-            if (namespace == null) {
-                LOG.log(WARNING, "No namespace found for appName={0}, moduleName={1}, componentId={2}", appName,
-                    moduleName, componentId);
-                return;
+                if (namespace == null) {
+                    LOG.log(WARNING, "No namespace found for appName={0}, moduleName={1}, componentId={2}", appName,
+                        moduleName, componentId);
+                    return;
+                }
+                bindToNamespace(namespace, logicalJndiName, binding.getValue(), false);
             }
-            bindToNamespace(namespace, logicalJndiName, binding.getValue(), false);
+        } finally {
+            // after the bindings, so that no lookup caches the objects they replace
+            lookupCache.invalidateComponent(componentId);
         }
     }
 
@@ -441,11 +477,15 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
             bindings);
         AppModuleKey appModuleKey = new AppModuleKey(appName, moduleName);
         JavaNamespace namespace = getModuleNamespace(appModuleKey);
-        for (JNDIBinding binding : bindings) {
-            SimpleJndiName logicalJndiName = binding.getName();
-            if (logicalJndiName.isJavaModule()) {
-                bindToNamespace(namespace, logicalJndiName, binding.getValue(), true);
+        try {
+            for (JNDIBinding binding : bindings) {
+                SimpleJndiName logicalJndiName = binding.getName();
+                if (logicalJndiName.isJavaModule()) {
+                    bindToNamespace(namespace, logicalJndiName, binding.getValue(), true);
+                }
             }
+        } finally {
+            lookupCache.invalidateApplication(appName);
         }
     }
 
@@ -454,11 +494,15 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
     public void bindToAppNamespace(String appName, Collection<? extends JNDIBinding> bindings) throws NamingException {
         LOG.log(TRACE, "bindToAppNamespace(appName={0}, bindings={1})", appName, bindings);
         JavaNamespace namespace = getAppNamespace(appName);
-        for (JNDIBinding binding : bindings) {
-            SimpleJndiName logicalJndiName = binding.getName();
-            if (logicalJndiName.isJavaApp()) {
-                bindToNamespace(namespace, logicalJndiName, binding.getValue(), true);
+        try {
+            for (JNDIBinding binding : bindings) {
+                SimpleJndiName logicalJndiName = binding.getName();
+                if (logicalJndiName.isJavaApp()) {
+                    bindToNamespace(namespace, logicalJndiName, binding.getValue(), true);
+                }
             }
+        } finally {
+            lookupCache.invalidateApplication(appName);
         }
     }
 
@@ -499,6 +543,7 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
         // remove local namespace cache
         componentNamespaces.remove(componentId);
         componentIdInfo.remove(componentId);
+        lookupCache.invalidateComponent(componentId);
     }
 
     @Override
@@ -512,6 +557,7 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
                 keys.remove();
             }
         }
+        lookupCache.invalidateApplication(appName);
     }
 
     @Override
@@ -521,6 +567,7 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
         if (namespaces != null) {
             namespaces.remove(name);
         }
+        lookupCache.invalidateApplication(appName);
     }
 
     @Override
@@ -531,6 +578,7 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
         if (namespaces != null) {
             namespaces.remove(name);
         }
+        lookupCache.invalidateApplication(appName);
     }
 
     /**
@@ -554,8 +602,8 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
 
 // FIXME: Wrong name, added dmatej, chooses where to search in.
     public <T> T lookupFromComponentNamespace(SimpleJndiName name) throws NamingException {
-        final String componentId = getComponentId();
-        return lookup(componentId, name, initialContext);
+        final ComponentInvocation invocation = getCurrentInvocation();
+        return lookup(invocation, invocation.getComponentId(), name, initialContext);
     }
 
     /**
@@ -569,8 +617,8 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
         // serialContext is used as ic in case of EE/SE
         // Get the component id and namespace to lookup
         final Context context = serialContext == null ? initialContext : serialContext;
-        final String componentId = getComponentId();
-        return lookup(componentId, name, context);
+        final ComponentInvocation invocation = getCurrentInvocation();
+        return lookup(invocation, invocation.getComponentId(), name, context);
     }
 
     /**
@@ -578,11 +626,22 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
      */
     @Override
     public <T> T lookup(String componentId, SimpleJndiName name) throws NamingException {
-        return lookup(componentId, name, initialContext);
+        return lookup(null, componentId, name, initialContext);
     }
 
-    private <T> T lookup(String componentId, SimpleJndiName name, Context ctx) throws NamingException {
+    /**
+     * Lookup object for a particular componentId and name, in the cache first.
+     *
+     * @param invocation the current invocation of the component, or null
+     */
+    private <T> T lookup(ComponentInvocation invocation, String componentId, SimpleJndiName name, Context ctx)
+        throws NamingException {
         LOG.log(DEBUG, "lookup(componentId={0}, name={1}, ctx={2})", componentId, name, ctx);
+        final Object cached = lookupCache.get(invocation, componentId, name);
+        if (cached != null) {
+            return (T) cached;
+        }
+        final long cacheVersion = lookupCache.getVersion();
 // FIXME: added and commented out dmatej
 //        if (!name.hasJavaPrefix() && name.contains(":")) {
 //            // generic jndi names
@@ -600,7 +659,9 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
         }
         if (obj instanceof NamingObjectProxy) {
             NamingObjectProxy namingProxy = (NamingObjectProxy) obj;
-            return namingProxy.create(ctx);
+            T created = namingProxy.create(ctx);
+            lookupCache.put(invocation, componentId, info == null ? null : info.appName, name, obj, created, cacheVersion);
+            return created;
         } else if (obj instanceof Context) {
             // Need to preserve the original prefix so that further operations
             // on the context maintain the correct external view. In the case
@@ -616,7 +677,9 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
                 }
                 return (T) new JavaURLContext((JavaURLContext) obj);
             }
+            return (T) obj;
         }
+        lookupCache.put(invocation, componentId, info == null ? null : info.appName, name, obj, obj, cacheVersion);
         return (T) obj;
     }
 
@@ -633,7 +696,7 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
 
     private ArrayList<SimpleJndiName> listNames(SimpleJndiName name) throws NamingException {
         // Get the component id and namespace to lookup
-        String componentId = getComponentId();
+        String componentId = getCurrentInvocation().getComponentId();
         ComponentIdInfo info = componentIdInfo.get(componentId);
         boolean replaceName = info != null && info.treatComponentAsModule && name.isJavaComponent();
         final SimpleJndiName logicalJndiName;
@@ -677,11 +740,11 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
     }
 
     /**
-     * Get the component id from the Invocation Manager.
+     * Get the current invocation, with a component id, from the Invocation Manager.
      *
-     * @return the component id as a string.
+     * @return the current invocation.
      */
-    private String getComponentId() throws NamingException {
+    private ComponentInvocation getCurrentInvocation() throws NamingException {
         final ComponentInvocation invocation;
         if (invMgr == null) {
             invocation = serviceLocator.<InvocationManager> getService(InvocationManager.class).getCurrentInvocation();
@@ -697,7 +760,7 @@ public final class GlassfishNamingManagerImpl implements GlassfishNamingManager
         if (id == null) {
             throw new NamingException("Invocation exception: Got null ComponentId!");
         }
-        return id;
+        return invocation;
     }
 
 
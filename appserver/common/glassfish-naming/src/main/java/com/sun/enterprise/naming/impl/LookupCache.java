@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.naming.impl;
+
+import com.sun.enterprise.naming.spi.NamingObjectFactory;
+
+import java.lang.System.Logger;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.naming.Context;
+
+import org.glassfish.api.invocation.ComponentInvocation;
+import org.glassfish.api.naming.NamingObjectProxy;
+import org.glassfish.api.naming.SimpleJndiName;
+
+import static java.lang.System.Logger.Level.WARNING;
+
+/**
+ * Cache of the objects resolved by the lookups of java:comp, java:module and
+ * java:app names, by component id and name, so that a component looking up
+ * the same name again, like legacy code doing its lookups on each request,
+ * does not resolve its binding again.
+ *
+ * <p>
+ * The objects of the bindings which are the same for all the lookups are
+ * shareable: the plain objects, and the objects created by a
+ * {@link NamingObjectFactory} whose result is cacheable. They are kept until
+ * the component is undeployed, or a binding of its application or a global
+ * binding is replaced or removed. The other objects, like the references to
+ * stateful session beans, may be different for each lookup. The
+ * {@value #POLICY_PROPERTY} system property sets how they are cached:
+ * <ul>
+ * <li>{@code none}: the cache is disabled,
+ * <li>{@code shareable}: only the shareable objects are cached, the default,
+ * <li>{@code invocation}: the other objects are also cached until the end of
+ * the current component invocation.
+ * </ul>
+ */
+final class LookupCache {
+
+    private static final Logger LOG = System.getLogger(LookupCache.class.getName());
+
+    static final String POLICY_PROPERTY = "com.sun.enterprise.naming.lookupCachePolicy";
+
+    /**
+     * How the objects are cached.
+     */
+    enum Policy {
+        /** Nothing is cached */
+        NONE,
+        /** The shareable objects are cached */
+        SHAREABLE,
+        /** The other objects are also cached until the end of the component invocation */
+        INVOCATION
+    }
+
+    private final Policy policy;
+
+    private final ConcurrentMap<String, ComponentBindings> components = new ConcurrentHashMap<>();
+
+    /** Incremented by each invalidation, so that an object resolved before it is not cached */
+    private final AtomicLong version = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+
+    LookupCache(Policy policy) {
+        this.policy = policy;
+    }
+
+
+    /**
+     * @return the policy set by the {@value #POLICY_PROPERTY} system property
+     */
+    static Policy getConfiguredPolicy() {
+        String value = System.getProperty(POLICY_PROPERTY);
+        if (value == null || value.isBlank()) {
+            return Policy.SHAREABLE;
+        }
+        try {
+            return Policy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LOG.log(WARNING, "Invalid value {0} of the system property {1}, using shareable.", value, POLICY_PROPERTY);
+            return Policy.SHAREABLE;
+        }
+    }
+
+
+    boolean isEnabled() {
+        return policy != Policy.NONE;
+    }
+
+
+    /**
+     * Returns the object resolved by a previous lookup.
+     *
+     * @param invocation the current invocation, or null if the lookup is not
+     *            done for the current invocation
+     * @param componentId the id of the component
+     * @param name the name looked up
+     * @return the object, or null if it is not cached
+     */
+    Object get(ComponentInvocation invocation, String componentId, SimpleJndiName name) {
+        if (policy == Policy.NONE) {
+            return null;
+        }
+        ComponentBindings bindings = components.get(componentId);
+        Object value = bindings == null ? null : bindings.objects.get(name);
+        if (value == null && policy == Policy.INVOCATION && invocation != null) {
+            Map<SimpleJndiName, Object> objects = getInvocationObjects(invocation, componentId, false);
+            value = objects == null ? null : objects.get(name);
+        }
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+
+    /**
+     * @return the version to pass to {@link #put}, read before resolving the object
+     */
+    long getVersion() {
+        return version.get();
+    }
+
+
+    /**
+     * Caches a resolved object, if its binding allows it.
+     *
+     * @param invocation the current invocation, or null if the lookup is not
+     *            done for the current invocation
+     * @param componentId the id of the component
+     * @param appName the name of the application of the component, or null
+     * @param name the name looked up
+     * @param binding the object bound to the name
+     * @param value the object resolved from the binding
+     * @param resolvedVersion the version read before resolving the object
+     */
+    void put(ComponentInvocation invocation, String componentId, String appName, SimpleJndiName name, Object binding,
+        Object value, long resolvedVersion) {
+        if (policy == Policy.NONE || value == null || value instanceof Context) {
+            return;
+        }
+        if (isShareable(binding)) {
+            ComponentBindings bindings = components.computeIfAbsent(componentId, id -> new ComponentBindings(appName));
+            bindings.objects.put(name, value);
+            if (version.get() != resolvedVersion) {
+                // invalidated meanwhile, the object may be stale
+                bindings.objects.remove(name, value);
+            }
+        } else if (policy == Policy.INVOCATION && invocation != null) {
+            Map<SimpleJndiName, Object> objects = getInvocationObjects(invocation, componentId, true);
+            if (objects != null) {
+                objects.put(name, value);
+            }
+        }
+    }
+
+
+    /**
+     * Removes the objects of a component.
+     *
+     * @param componentId the id of the component
+     */
+    void invalidateComponent(String componentId) {
+        version.incrementAndGet();
+        components.remove(componentId);
+    }
+
+
+    /**
+     * Removes the objects of the components of an application.
+     *
+     * @param appName the name of the application
+     */
+    void invalidateApplication(String appName) {
+        version.incrementAndGet();
+        components.values().removeIf(bindings -> appName.equals(bindings.appName));
+    }
+
+
+    /**
+     * Removes all the objects.
+     */
+    void invalidateAll() {
+        version.incrementAndGet();
+        components.clear();
+    }
+
+
+    /**
+     * @return the number of lookups which found their object in the cache
+     */
+    long getHitCount() {
+        return hits.sum();
+    }
+
+
+    /**
+     * @return the number of lookups which did not find their object in the cache
+     */
+    long getMissCount() {
+        return misses.sum();
+    }
+
+
+    /**
+     * @return the number of shareable objects cached
+     */
+    long size() {
+        long size = 0;
+        for (ComponentBindings bindings : components.values()) {
+            size += bindings.objects.size();
+        }
+        return size;
+    }
+
+
+    private static boolean isShareable(Object binding) {
+        if (binding instanceof NamingObjectFactory) {
+            return ((NamingObjectFactory) binding).isCreateResultCacheable();
+        }
+        return !(binding instanceof NamingObjectProxy);
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private static Map<SimpleJndiName, Object> getInvocationObjects(ComponentInvocation invocation, String componentId,
+        boolean create) {
+        if (!componentId.equals(invocation.getComponentId())) {
+            return null;
+        }
+        Map<SimpleJndiName, Object> objects = (Map<SimpleJndiName, Object>) invocation.getRegistryFor(LookupCache.class);
+        if (objects == null && create) {
+            objects = new ConcurrentHashMap<>();
+            invocation.setRegistryFor(LookupCache.class, objects);
+        }
+        return objects;
+    }
+
+
+    private static final class ComponentBindings {
+
+        final String appName;
+
+        final ConcurrentMap<SimpleJndiName, Object> objects = new ConcurrentHashMap<>();
+
+        ComponentBindings(String appName) {
+            this.appName = appName;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.naming.impl;
+
+import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.gmbal.AMXMetadata;
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedObject;
+
+/* naming */
+@AMXMetadata(type = "naming-mon", group = "monitoring")
+@ManagedObject
+@Description("Naming Statistics")
+public class NamingStatsProvider {
+
+    private final LookupCache lookupCache;
+
+    private final CountStatisticImpl lookupCacheHitCount = new CountStatisticImpl("LookupCacheHitCount",
+        CountStatisticImpl.UNIT_COUNT, "Number of java:comp, java:module and java:app lookups found in the lookup cache");
+    private final CountStatisticImpl lookupCacheMissCount = new CountStatisticImpl("LookupCacheMissCount",
+        CountStatisticImpl.UNIT_COUNT, "Number of java:comp, java:module and java:app lookups not found in the lookup cache");
+    private final CountStatisticImpl lookupCacheSize = new CountStatisticImpl("LookupCacheSize",
+        CountStatisticImpl.UNIT_COUNT, "Number of shareable objects kept in the lookup cache");
+
+    NamingStatsProvider(LookupCache lookupCache) {
+        this.lookupCache = lookupCache;
+    }
+
+    @ManagedAttribute(id = "lookupcachehit-count")
+    @Description("number of lookups found in the lookup cache")
+    public CountStatistic getLookupCacheHitCount() {
+        lookupCacheHitCount.setCount(lookupCache.getHitCount());
+        return lookupCacheHitCount;
+    }
+
+    @ManagedAttribute(id = "lookupcachemiss-count")
+    @Description("number of lookups not found in the lookup cache")
+    public CountStatistic getLookupCacheMissCount() {
+        lookupCacheMissCount.setCount(lookupCache.getMissCount());
+        return lookupCacheMissCount;
+    }
+
+    @ManagedAttribute(id = "lookupcachesize-count")
+    @Description("number of objects kept in the lookup cache")
+    public CountStatistic getLookupCacheSize() {
+        lookupCacheSize.setCount(lookupCache.size());
+        return lookupCacheSize;
+    }
+}
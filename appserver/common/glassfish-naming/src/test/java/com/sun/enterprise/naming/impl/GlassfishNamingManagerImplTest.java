@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2008, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -54,6 +54,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @ExtendWith(ServerExtension.class)
@@ -293,6 +294,98 @@ public class GlassfishNamingManagerImplTest {
     }
 
 
+    @Test
+    public void lookupCacheOfShareableObjects() throws Exception {
+        InvocationManager im = new InvocationManagerImpl();
+        GlassfishNamingManagerImpl nm = new GlassfishNamingManagerImpl(ctx);
+        nm.setInvocationManager(im);
+        nm.setLookupCache(new LookupCache(LookupCache.Policy.SHAREABLE));
+
+        List<Binding> bindings = new ArrayList<>();
+        bindings.add(new Binding("java:comp/env/cache/shared", new CountingFactory(true)));
+        bindings.add(new Binding("java:comp/env/cache/unshared", new CountingFactory(false)));
+        nm.bindToComponentNamespace("appCache", "modCache", "compCache", false, bindings);
+
+        ComponentInvocation inv = new ComponentInvocation("compCache", EJB_INVOCATION, null, "appCache", "modCache");
+        im.preInvoke(inv);
+        try {
+            assertEquals(1, ctx.lookup("java:comp/env/cache/shared"));
+            assertEquals(1, ctx.lookup("java:comp/env/cache/shared"));
+            assertEquals(1, ctx.lookup("java:comp/env/cache/unshared"));
+            assertEquals(2, ctx.lookup("java:comp/env/cache/unshared"));
+            assertAll(
+                () -> assertEquals(1L, nm.getLookupCache().getHitCount()),
+                () -> assertEquals(3L, nm.getLookupCache().getMissCount()),
+                () -> assertEquals(1L, nm.getLookupCache().size())
+            );
+
+            nm.unbindComponentObjects("compCache");
+            assertEquals(0L, nm.getLookupCache().size());
+            nm.bindToComponentNamespace("appCache", "modCache", "compCache", false,
+                List.of(new Binding("java:comp/env/cache/shared", "rebound")));
+            assertEquals("rebound", ctx.lookup("java:comp/env/cache/shared"));
+        } finally {
+            im.postInvoke(inv);
+            nm.unbindComponentObjects("compCache");
+        }
+    }
+
+
+    @Test
+    public void lookupCacheOfInvocation() throws Exception {
+        InvocationManager im = new InvocationManagerImpl();
+        GlassfishNamingManagerImpl nm = new GlassfishNamingManagerImpl(ctx);
+        nm.setInvocationManager(im);
+        nm.setLookupCache(new LookupCache(LookupCache.Policy.INVOCATION));
+
+        nm.bindToComponentNamespace("appInv", "modInv", "compInv", false,
+            List.of(new Binding("java:comp/env/cache/unshared", new CountingFactory(false))));
+
+        ComponentInvocation inv = new ComponentInvocation("compInv", EJB_INVOCATION, null, "appInv", "modInv");
+        im.preInvoke(inv);
+        try {
+            Object first = ctx.lookup("java:comp/env/cache/unshared");
+            assertEquals(1, first);
+            assertSame(first, ctx.lookup("java:comp/env/cache/unshared"));
+            assertEquals(0L, nm.getLookupCache().size());
+        } finally {
+            im.postInvoke(inv);
+        }
+
+        inv = new ComponentInvocation("compInv", EJB_INVOCATION, null, "appInv", "modInv");
+        im.preInvoke(inv);
+        try {
+            assertEquals(2, ctx.lookup("java:comp/env/cache/unshared"));
+        } finally {
+            im.postInvoke(inv);
+            nm.unbindComponentObjects("compInv");
+        }
+    }
+
+
+    private static class CountingFactory implements NamingObjectFactory {
+
+        private final boolean cacheable;
+        private int counter;
+
+        CountingFactory(boolean cacheable) {
+            this.cacheable = cacheable;
+        }
+
+
+        @Override
+        public boolean isCreateResultCacheable() {
+            return cacheable;
+        }
+
+
+        @Override
+        public Integer create(Context ic) {
+            return Integer.valueOf(++counter);
+        }
+    }
+
+
     private static class Binding implements JNDIBinding {
 
         SimpleJndiName logicalName;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2025 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -30,6 +30,7 @@ import com.sun.enterprise.resource.pool.datastructure.DataStructureFactory;
 import com.sun.enterprise.resource.pool.resizer.Resizer;
 import com.sun.enterprise.resource.pool.waitqueue.PoolWaitQueue;
 import com.sun.enterprise.resource.pool.waitqueue.PoolWaitQueueFactory;
+import com.sun.enterprise.resource.pool.waitqueue.ResourceWaiter;
 import com.sun.enterprise.transaction.api.JavaEETransaction;
 import com.sun.logging.LogDomains;
 
@@ -502,32 +503,33 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
 
             if (!blocked) {
                 // add to wait-queue
-                Object waitMonitor = new Object();
+                ResourceWaiter waiter = new ResourceWaiter();
                 if (poolLifeCycleListener != null) {
                     poolLifeCycleListener.connectionRequestQueued();
                 }
-                synchronized (waitMonitor) {
-                    waitQueue.addToQueue(waitMonitor);
+                waitQueue.addToQueue(waiter);
 
-                    try {
-                        LOG.log(FINE, "Resource Pool: getting on wait queue");
-                        waitMonitor.wait(remainingWaitTime);
-
-                    } catch (InterruptedException ex) {
-                        // Could be system shutdown.
-                        break;
-                    }
+                boolean interrupted = false;
+                try {
+                    LOG.log(FINE, "Resource Pool: getting on wait queue");
+                    waiter.await(remainingWaitTime);
+                } catch (InterruptedException ex) {
+                    // Could be system shutdown.
+                    interrupted = true;
+                }
 
-                    // Try to remove in case that the monitor has timed out. We don't expect the queue to grow to great numbers
-                    // so the overhead for removing inexistant objects is low.
-                    LOG.log(FINE, "removing wait monitor from queue: {0}", waitMonitor);
+                // Try to remove in case that the waiter has timed out. We don't expect the queue to grow to great numbers
+                // so the overhead for removing inexistant objects is low.
+                LOG.log(FINE, "removing waiter from queue: {0}", waiter);
 
-                    if (waitQueue.removeFromQueue(waitMonitor)) {
-                        if (poolLifeCycleListener != null) {
-                            poolLifeCycleListener.connectionRequestDequeued();
-                        }
+                if (waitQueue.removeFromQueue(waiter)) {
+                    if (poolLifeCycleListener != null) {
+                        poolLifeCycleListener.connectionRequestDequeued();
                     }
                 }
+                if (interrupted) {
+                    break;
+                }
             } else {
                 // Add to reconfig-wait-queue
                 Object reconfigWaitMonitor = new Object();
@@ -1455,24 +1457,22 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
     }
 
     protected void notifyWaitingThreads() {
-        // notify the first thread in the waitqueue
-        Object waitMonitor = null;
-        synchronized (waitQueue) {
-            if (waitQueue.getQueueLength() > 0) {
-                waitMonitor = waitQueue.remove();
-                if (poolLifeCycleListener != null) {
-                    poolLifeCycleListener.connectionRequestDequeued();
-                }
+        // wake up the first thread in the waitqueue which is still waiting
+        while (waitQueue.getQueueLength() > 0) {
+            ResourceWaiter waiter = (ResourceWaiter) waitQueue.remove();
+            if (waiter == null) {
+                // removed by the waiting threads meanwhile
+                break;
             }
-        }
-        if (waitMonitor == null) {
-            LOG.log(FINE, "Wait monitor is null");
-        } else {
-            synchronized (waitMonitor) {
-                LOG.log(FINE, "Notifying wait monitor: {0}", waitMonitor);
-                waitMonitor.notifyAll();
+            if (poolLifeCycleListener != null) {
+                poolLifeCycleListener.connectionRequestDequeued();
+            }
+            LOG.log(FINE, "Waking up waiter: {0}", waiter);
+            if (waiter.wakeUp()) {
+                return;
             }
         }
+        LOG.log(FINE, "No waiter to wake up");
     }
 
     private void incrementNumConnFailedValidation() {
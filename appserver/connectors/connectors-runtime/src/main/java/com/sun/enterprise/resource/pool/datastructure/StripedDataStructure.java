@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.logging.LogDomains;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lock-free datastructure for pool, striped by thread.
+ * <p>
+ * Free resources are kept in several lock-free stripes. A thread takes and returns resources
+ * to its own stripe, so that on machines with many cores the threads mostly do not touch
+ * the same memory. When the own stripe is empty, the thread steals from the other stripes.
+ * <p>
+ * The optional {@code parameters} is the number of stripes, it is rounded up to the next power
+ * of two. By default the number of available processors is used.
+ */
+public class StripedDataStructure implements DataStructure {
+
+    private static final Logger LOG = LogDomains.getLogger(StripedDataStructure.class, LogDomains.RSR_LOGGER);
+
+    private final DataStructureSemaphore availableResources;
+    private final ResourceHandler handler;
+
+    /** All resources, the value is true while the resource is free. */
+    private final Map<ResourceHandle, AtomicBoolean> resources = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<ResourceHandle>[] stripes;
+    private final int mask;
+    private final AtomicInteger freeListSize = new AtomicInteger();
+
+    private volatile int maxSize;
+
+    @SuppressWarnings("unchecked")
+    public StripedDataStructure(String parameters, int maxSize, ResourceHandler handler) {
+        this.availableResources = new DataStructureSemaphore(maxSize);
+        this.handler = handler;
+        this.maxSize = maxSize;
+
+        int stripeCount = parseStripeCount(parameters);
+        this.stripes = new ConcurrentLinkedDeque[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ConcurrentLinkedDeque<>();
+        }
+        this.mask = stripeCount - 1;
+
+        LOG.log(Level.FINEST, "Initialized StripedDataStructure with {0} stripes", stripeCount);
+    }
+
+    @Override
+    public int addResource(ResourceAllocator allocator, int count) throws PoolingException {
+        int numResAdded = 0;
+        for (int i = 0; i < count; i++) {
+            if (!availableResources.tryAcquire()) {
+                break;
+            }
+
+            ResourceHandle resource;
+            try {
+                resource = handler.createResource(allocator);
+            } catch (Exception e) {
+                availableResources.release();
+                throw new PoolingException(e.getMessage(), e);
+            }
+
+            resources.put(resource, new AtomicBoolean(true));
+            freeListSize.incrementAndGet();
+            localStripe().offerFirst(resource);
+            numResAdded++;
+        }
+        return numResAdded;
+    }
+
+    @Override
+    public ResourceHandle getResource() {
+        int home = stripeIndex();
+        ResourceHandle resource = poll(stripes[home], true);
+        if (resource != null) {
+            return resource;
+        }
+        for (int i = 1; i < stripes.length; i++) {
+            resource = poll(stripes[(home + i) & mask], false);
+            if (resource != null) {
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void removeResource(ResourceHandle resource) {
+        AtomicBoolean free = resources.remove(resource);
+        if (free == null) {
+            return;
+        }
+
+        availableResources.release();
+        // A free resource stays in its stripe and is discarded when polled.
+        if (free.getAndSet(false)) {
+            freeListSize.decrementAndGet();
+        }
+        handler.deleteResource(resource);
+    }
+
+    @Override
+    public void returnResource(ResourceHandle resource) {
+        AtomicBoolean free = resources.get(resource);
+        if (free == null || !free.compareAndSet(false, true)) {
+            return;
+        }
+
+        freeListSize.incrementAndGet();
+        localStripe().offerFirst(resource);
+    }
+
+    @Override
+    public int getFreeListSize() {
+        return freeListSize.get();
+    }
+
+    @Override
+    public void removeAll() {
+        List<ResourceHandle> resourcesToRemove = new ArrayList<>(resources.size());
+        for (ResourceHandle resource : resources.keySet()) {
+            AtomicBoolean free = resources.remove(resource);
+            if (free == null) {
+                continue;
+            }
+            availableResources.release();
+            if (free.getAndSet(false)) {
+                freeListSize.decrementAndGet();
+            }
+            resourcesToRemove.add(resource);
+        }
+        for (ConcurrentLinkedDeque<ResourceHandle> stripe : stripes) {
+            stripe.clear();
+        }
+
+        for (ResourceHandle resource : resourcesToRemove) {
+            handler.deleteResource(resource);
+        }
+    }
+
+    @Override
+    public int getResourcesSize() {
+        return resources.size();
+    }
+
+    @Override
+    public synchronized void setMaxSize(int newMaxSize) {
+        int permits = newMaxSize - maxSize;
+
+        switch (Integer.signum(permits)) {
+            case 1:
+                availableResources.release(permits);
+                break;
+            case -1:
+                availableResources.reducePermits(Math.abs(permits));
+                break;
+            default:
+                return;
+        }
+
+        this.maxSize = newMaxSize;
+    }
+
+    @Override
+    public List<ResourceHandle> getAllResources() {
+        return new ArrayList<>(resources.keySet());
+    }
+
+    /**
+     * Takes the first free resource from the stripe. Own stripe is used as a stack,
+     * so the most recently returned (warm) resource is reused first; stealing takes
+     * from the other end.
+     */
+    private ResourceHandle poll(ConcurrentLinkedDeque<ResourceHandle> stripe, boolean own) {
+        for (;;) {
+            ResourceHandle resource = own ? stripe.pollFirst() : stripe.pollLast();
+            if (resource == null) {
+                return null;
+            }
+
+            AtomicBoolean free = resources.get(resource);
+            if (free != null && free.compareAndSet(true, false)) {
+                freeListSize.decrementAndGet();
+                return resource;
+            }
+            // Removed while it was free, drop it.
+        }
+    }
+
+    private ConcurrentLinkedDeque<ResourceHandle> localStripe() {
+        return stripes[stripeIndex()];
+    }
+
+    private int stripeIndex() {
+        long id = Thread.currentThread().getId();
+        return (int) (id ^ (id >>> 16)) & mask;
+    }
+
+    private static int parseStripeCount(String parameters) {
+        int stripeCount = Runtime.getRuntime().availableProcessors();
+        if (parameters != null && !parameters.isBlank()) {
+            try {
+                stripeCount = Integer.parseInt(parameters.trim());
+            } catch (NumberFormatException e) {
+                LOG.log(Level.WARNING, "Invalid number of stripes for StripedDataStructure: {0}", parameters);
+            }
+        }
+        if (stripeCount < 1) {
+            return 1;
+        }
+        int rounded = Integer.highestOneBit(stripeCount);
+        return rounded < stripeCount ? rounded << 1 : rounded;
+    }
+
+    /**
+     * Semaphore whose available permits change according to the
+     * changes in max-pool-size via a reconfiguration.
+     */
+    private static final class DataStructureSemaphore extends Semaphore {
+
+        public DataStructureSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.waitqueue;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free FIFO wait queue for the connection pool, the waiting threads are
+ * parked and woken up through their {@link ResourceWaiter} without locking.<br>
+ * Can be used instead of the {@link DefaultPoolWaitQueue} by setting the
+ * {@code PoolWaitQueue} property of the pool to the name of this class.
+ */
+public class ConcurrentPoolWaitQueue implements PoolWaitQueue {
+
+    private final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Size of the {@link ConcurrentLinkedQueue} is not a constant time operation.
+     * Incremented before an object is added and decremented after it is removed,
+     * so that it never misses an object the queue holds.
+     */
+    private final AtomicInteger length = new AtomicInteger();
+
+    @Override
+    public int getQueueLength() {
+        return length.get();
+    }
+
+    @Override
+    public void addToQueue(Object waitMonitor) {
+        length.incrementAndGet();
+        queue.add(waitMonitor);
+    }
+
+    @Override
+    public boolean removeFromQueue(Object o) {
+        if (queue.remove(o)) {
+            length.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Object remove() {
+        Object waitMonitor = queue.poll();
+        if (waitMonitor != null) {
+            length.decrementAndGet();
+        }
+        return waitMonitor;
+    }
+
+    @Override
+    public Object peek() {
+        return queue.peek();
+    }
+
+    @Override
+    public Collection getQueueContents() {
+        return queue;
+    }
+}
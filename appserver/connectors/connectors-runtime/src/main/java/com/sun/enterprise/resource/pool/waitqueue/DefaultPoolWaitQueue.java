@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -65,7 +65,7 @@ public class DefaultPoolWaitQueue implements PoolWaitQueue {
 
     @Override
     public synchronized Object remove() {
-        return list.removeFirst();
+        return list.pollFirst();
     }
 
     @Override
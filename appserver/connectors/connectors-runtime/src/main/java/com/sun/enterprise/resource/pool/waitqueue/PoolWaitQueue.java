@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -30,7 +30,8 @@ public interface PoolWaitQueue {
     String THREAD_PRIORITY_BASED_WAIT_QUEUE = "THREAD_PRIORITY_BASED_WAIT_QUEUE";
 
     /**
-     * returns the length of wait queue
+     * returns the length of wait queue<br>
+     * Must not be lower than the number of objects {@link #remove()} can return.
      *
      * @return length of wait queue.
      */
@@ -62,7 +63,7 @@ public interface PoolWaitQueue {
     /**
      * removes the first object (resource request) from the queue
      *
-     * @return Object first object
+     * @return Object first object, or null if the queue is empty
      */
     Object remove();
 
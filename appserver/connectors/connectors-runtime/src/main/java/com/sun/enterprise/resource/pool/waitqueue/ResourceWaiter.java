@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.waitqueue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A thread waiting in the {@link PoolWaitQueue} for a resource of the pool.<br>
+ * The hand-off is lock-free: the thread parks until a thread returning a
+ * resource wakes it up, and a single CAS on its state decides whether it was
+ * woken up or gave up waiting, so a wake-up is never lost on a thread which
+ * timed out meanwhile.
+ */
+public final class ResourceWaiter {
+
+    private static final int WAITING = 0;
+    private static final int WOKEN_UP = 1;
+    private static final int CANCELLED = 2;
+
+    private final Thread thread = Thread.currentThread();
+
+    private final AtomicInteger state = new AtomicInteger(WAITING);
+
+    /**
+     * Wakes up the waiting thread, unless it already gave up waiting.
+     *
+     * @return true if the thread was woken up, false if the next waiter must be
+     *         woken up instead
+     */
+    public boolean wakeUp() {
+        if (state.compareAndSet(WAITING, WOKEN_UP)) {
+            LockSupport.unpark(thread);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Parks the current thread, which must be the thread which created this
+     * waiter, until it is woken up or the wait time expires.
+     *
+     * @param waitTime maximum wait time in milliseconds, 0 to wait until woken up
+     * @return true if woken up, false if the wait time expired
+     * @throws InterruptedException if interrupted before being woken up
+     */
+    public boolean await(long waitTime) throws InterruptedException {
+        final long deadline = waitTime > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTime) : 0L;
+        while (state.get() == WAITING) {
+            if (Thread.interrupted()) {
+                if (state.compareAndSet(WAITING, CANCELLED)) {
+                    throw new InterruptedException();
+                }
+                // woken up meanwhile, keep the interrupt for the caller
+                thread.interrupt();
+                return true;
+            }
+            if (waitTime > 0) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) {
+                    return !state.compareAndSet(WAITING, CANCELLED);
+                }
+                LockSupport.parkNanos(this, remaining);
+            } else {
+                LockSupport.park(this);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceWaiter[" + thread.getName() + ", state=" + state.get() + "]";
+    }
+}
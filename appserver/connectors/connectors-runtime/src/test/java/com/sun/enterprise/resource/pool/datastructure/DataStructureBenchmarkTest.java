@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares borrow/return throughput of the pool datastructures under contention.
+ * Each thread takes a resource and returns it back, like a short JDBC call does.
+ */
+public class DataStructureBenchmarkTest {
+
+    private static final int POOL_SIZE = 32;
+
+    @Test
+    public void borrowAndReturn_benchmark() throws Exception {
+        Options options = new OptionsBuilder().include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(200L))
+            .measurementIterations(1).measurementTime(TimeValue.milliseconds(500L))
+            .forks(1).threads(64).shouldFailOnError(true)
+            .timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS).mode(Mode.Throughput)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(3));
+    }
+
+
+    @Benchmark
+    public void borrowAndReturn(PoolState state, Blackhole blackhole) {
+        ResourceHandle resource = state.dataStructure.getResource();
+        if (resource == null) {
+            Thread.onSpinWait();
+            return;
+        }
+        blackhole.consume(resource.getId());
+        state.dataStructure.returnResource(resource);
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class PoolState {
+
+        @Param({
+            "com.sun.enterprise.resource.pool.datastructure.ListDataStructure",
+            "com.sun.enterprise.resource.pool.datastructure.RWLockDataStructure",
+            "com.sun.enterprise.resource.pool.datastructure.StripedDataStructure"})
+        public String className;
+
+        DataStructure dataStructure;
+
+        @Setup
+        public void createDataStructure() throws Exception {
+            ResourceHandler handler = createNiceMock(ResourceHandler.class);
+            ResourceAllocator allocator = createNiceMock(ResourceAllocator.class);
+            expect(handler.createResource(anyObject())).andAnswer(() -> new ResourceHandle(null, null, null)).anyTimes();
+            replay(handler, allocator);
+
+            dataStructure = DataStructureFactory.getDataStructure(className, null, POOL_SIZE, handler);
+            dataStructure.addResource(allocator, POOL_SIZE);
+        }
+
+        @TearDown
+        public void removeResources() {
+            dataStructure.removeAll();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.Timeout.ThreadMode;
+import org.junit.jupiter.api.function.Executable;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StripedDataStructureTest {
+
+    private static final int TASK_COUNT = 1000;
+
+    private static final int THREAD_COUNT = 100;
+
+    private static final int RESOURCE_COUNT = TASK_COUNT;
+
+    private ResourceHandler handler;
+    private ResourceAllocator allocator;
+
+    @BeforeEach
+    public void createMocks() throws PoolingException {
+        handler = createNiceMock(ResourceHandler.class);
+        allocator = createNiceMock(ResourceAllocator.class);
+        expect(handler.createResource(anyObject())).andAnswer(() -> new ResourceHandle(null, null, null)).anyTimes();
+        replay(handler, allocator);
+    }
+
+    @Test
+    public void testMaxSize() throws Exception {
+        DataStructure dataStructure = new StripedDataStructure("4", 10, handler);
+
+        assertAll(
+            () -> assertThat("Add Resources", dataStructure.addResource(allocator, 20), equalTo(10)),
+            () -> assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(10)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(10))
+        );
+
+        dataStructure.setMaxSize(15);
+        assertThat("Add Resources", dataStructure.addResource(allocator, 20), equalTo(5));
+
+        dataStructure.setMaxSize(10);
+        assertAll(
+            () -> assertThat("Add Resource", dataStructure.addResource(allocator, 1), equalTo(0)),
+            () -> assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(15))
+        );
+    }
+
+    @RepeatedTest(10)
+    @Timeout(value = 10, threadMode = ThreadMode.SEPARATE_THREAD)
+    public void testGetAndReturnResource() throws Exception {
+        DataStructure dataStructure = new StripedDataStructure("8", RESOURCE_COUNT, handler);
+        assertThat("Add Resources", dataStructure.addResource(allocator, RESOURCE_COUNT), equalTo(RESOURCE_COUNT));
+
+        ExecutorService threadPool = Executors.newFixedThreadPool(THREAD_COUNT);
+        List<Callable<ResourceHandle>> tasks = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            tasks.add(dataStructure::getResource);
+        }
+
+        List<Future<ResourceHandle>> futures = threadPool.invokeAll(tasks);
+        List<ResourceHandle> resources = futures.stream().map(this::getResult).collect(Collectors.toList());
+        assertAll(
+            () -> assertTrue(resources.stream().allMatch(r -> r != null)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(0)),
+            () -> assertThat("Get Resource", dataStructure.getResource(), nullValue())
+        );
+        for (ResourceHandle resource : resources) {
+            assertThat(Collections.frequency(resources, resource), equalTo(1));
+        }
+
+        List<Callable<Void>> returnTasks = new ArrayList<>(TASK_COUNT);
+        for (ResourceHandle resource : resources) {
+            returnTasks.add(() -> {
+                dataStructure.returnResource(resource);
+                // returning twice must not duplicate the resource
+                dataStructure.returnResource(resource);
+                return null;
+            });
+        }
+        List<Future<Void>> returnFutures = threadPool.invokeAll(returnTasks);
+        assertAll(
+            () -> assertAll(returnFutures.stream().map(f -> (Executable) f::get).collect(Collectors.toList())),
+            () -> assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(RESOURCE_COUNT)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(RESOURCE_COUNT))
+        );
+
+        threadPool.shutdownNow();
+    }
+
+    @RepeatedTest(10)
+    @Timeout(value = 10, threadMode = ThreadMode.SEPARATE_THREAD)
+    public void testRaceConditions() throws Exception {
+        DataStructure dataStructure = new StripedDataStructure(null, RESOURCE_COUNT, handler);
+        assertThat("Add Resources", dataStructure.addResource(allocator, RESOURCE_COUNT), equalTo(RESOURCE_COUNT));
+
+        List<Callable<ResourceHandle>> tasks = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            tasks.add(() -> {
+                ResourceHandle resource = dataStructure.getResource();
+                dataStructure.removeResource(resource);
+                return resource;
+            });
+        }
+
+        ExecutorService threadPool = Executors.newFixedThreadPool(THREAD_COUNT);
+        List<Future<ResourceHandle>> futures = threadPool.invokeAll(tasks);
+        assertAll(
+            () -> assertTrue(futures.stream().map(this::getResult).allMatch(r -> r != null)),
+            () -> assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(0)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(0))
+        );
+
+        threadPool.shutdownNow();
+    }
+
+    @Test
+    public void testRemoveFreeResource() throws Exception {
+        DataStructure dataStructure = new StripedDataStructure("1", 2, handler);
+        dataStructure.addResource(allocator, 2);
+
+        ResourceHandle resource = dataStructure.getResource();
+        dataStructure.returnResource(resource);
+        dataStructure.removeResource(resource);
+
+        assertAll(
+            () -> assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(1)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(1)),
+            () -> assertThat("All Resources", dataStructure.getAllResources(), hasSize(1))
+        );
+        ResourceHandle remaining = dataStructure.getResource();
+        assertAll(
+            () -> assertThat(remaining.equals(resource), equalTo(false)),
+            () -> assertThat("Get Resource", dataStructure.getResource(), nullValue()),
+            () -> assertThat("Add Resource", dataStructure.addResource(allocator, 1), equalTo(1))
+        );
+    }
+
+    @Test
+    public void testRemoveAll() throws PoolingException {
+        DataStructure dataStructure = new StripedDataStructure(null, RESOURCE_COUNT, handler);
+        dataStructure.addResource(allocator, RESOURCE_COUNT);
+        dataStructure.getResource();
+
+        dataStructure.removeAll();
+
+        assertAll(
+            () -> assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(0)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(0)),
+            () -> assertThat("Get Resource", dataStructure.getResource(), nullValue()),
+            () -> assertThat("Add Resources", dataStructure.addResource(allocator, RESOURCE_COUNT), equalTo(RESOURCE_COUNT))
+        );
+    }
+
+    private <T> T getResult(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.waitqueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResourceWaiterTest {
+
+    private static final int THREAD_COUNT = 8;
+
+    private static final int ROUNDS = 2000;
+
+    @Test
+    public void wakesUpTheParkedThread() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ResourceWaiter[] waiter = new ResourceWaiter[1];
+            Future<Boolean> woken = executor.submit(() -> {
+                waiter[0] = new ResourceWaiter();
+                synchronized (waiter) {
+                    waiter.notifyAll();
+                }
+                return waiter[0].await(0L);
+            });
+            synchronized (waiter) {
+                while (waiter[0] == null) {
+                    waiter.wait();
+                }
+            }
+            assertTrue(waiter[0].wakeUp());
+            assertTrue(woken.get(30, TimeUnit.SECONDS));
+            assertFalse(waiter[0].wakeUp());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void wakeUpBeforeAwaitIsNotLost() throws Exception {
+        ResourceWaiter waiter = new ResourceWaiter();
+        assertTrue(waiter.wakeUp());
+        assertTrue(waiter.await(0L));
+    }
+
+    @Test
+    public void expiredWaiterIsNotWokenUp() throws Exception {
+        ResourceWaiter waiter = new ResourceWaiter();
+        assertFalse(waiter.await(10L));
+        assertFalse(waiter.wakeUp());
+    }
+
+    @Test
+    public void interruptedWaiterIsNotWokenUp() throws Exception {
+        ResourceWaiter waiter = new ResourceWaiter();
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedException.class, () -> waiter.await(0L));
+        assertFalse(waiter.wakeUp());
+    }
+
+    @Test
+    public void everyWaiterOfTheConcurrentQueueIsWokenUp() throws Exception {
+        assertEveryWaiterIsWokenUp(new ConcurrentPoolWaitQueue());
+    }
+
+    @Test
+    public void everyWaiterOfTheDefaultQueueIsWokenUp() throws Exception {
+        assertEveryWaiterIsWokenUp(new DefaultPoolWaitQueue());
+    }
+
+    @Test
+    public void concurrentQueueLengthCoversTheQueuedWaiters() throws Exception {
+        PoolWaitQueue queue = new ConcurrentPoolWaitQueue();
+        AtomicInteger removed = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            tasks.add(() -> {
+                for (int j = 0; j < ROUNDS; j++) {
+                    queue.addToQueue(new Object());
+                    if (queue.getQueueLength() > 0 && queue.remove() != null) {
+                        removed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        runAll(tasks);
+        while (queue.getQueueLength() > 0) {
+            if (queue.remove() != null) {
+                removed.incrementAndGet();
+            }
+        }
+        assertThat(removed.get(), equalTo(THREAD_COUNT * ROUNDS));
+        assertThat(queue.getQueueContents().size(), equalTo(0));
+    }
+
+    /**
+     * Each waiting thread queues itself and waits without a time limit, while
+     * each releasing thread wakes up exactly one of them, as the pool does when
+     * a resource is returned. A lost wake-up leaves a thread parked forever.
+     */
+    private static void assertEveryWaiterIsWokenUp(PoolWaitQueue queue) throws Exception {
+        AtomicInteger woken = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            tasks.add(() -> {
+                for (int j = 0; j < ROUNDS; j++) {
+                    ResourceWaiter waiter = new ResourceWaiter();
+                    queue.addToQueue(waiter);
+                    assertTrue(waiter.await(0L));
+                    woken.incrementAndGet();
+                }
+                return null;
+            });
+            tasks.add(() -> {
+                for (int j = 0; j < ROUNDS; j++) {
+                    while (!wakeUpFirstWaiter(queue)) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            });
+        }
+        runAll(tasks);
+        assertThat(woken.get(), equalTo(THREAD_COUNT * ROUNDS));
+        assertThat(queue.getQueueLength(), equalTo(0));
+    }
+
+    /**
+     * Same hand-off as the ConnectionPool.notifyWaitingThreads
+     */
+    private static boolean wakeUpFirstWaiter(PoolWaitQueue queue) {
+        while (queue.getQueueLength() > 0) {
+            ResourceWaiter waiter = (ResourceWaiter) queue.remove();
+            if (waiter == null) {
+                return false;
+            }
+            if (waiter.wakeUp()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void runAll(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<Void> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -47,7 +47,7 @@ import org.jvnet.hk2.config.types.PropertyBag;
 @Configured
 public interface EjbContainer extends ConfigBeanProxy, PropertyBag, ConfigExtension {
 
-    String PATTERN_VICTIM_SELECTION_POLICY = "(nru|fifo|lru)";
+    String PATTERN_VICTIM_SELECTION_POLICY = "(nru|fifo|lru|segmented-lru)";
 
     int DEFAULT_THREAD_CORE_POOL_SIZE = 16;
     int DEFAULT_THREAD_MAX_POOL_SIZE = 32;
@@ -276,6 +276,10 @@ public interface EjbContainer extends ConfigBeanProxy, PropertyBag, ConfigExtens
      *     method picks victims, oldest instance first.
      * lru
      *     algorithm picks least recently accessed instances.
+     * segmented-lru
+     *     picks least recently accessed instances like lru, but keeps the
+     *     access order in independently locked segments, so that concurrent
+     *     invocations of different beans do not contend on one lock.
      * nru
      *     policy tries to pick 'not recently used' instances and is a
      *     pseudo-random selection process.
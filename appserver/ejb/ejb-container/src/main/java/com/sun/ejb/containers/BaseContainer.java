@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -235,6 +235,7 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
     private static final byte[] homeInstanceKey = { HOME_KEY };
 
     protected static final String SINGLETON_BEAN_POOL_PROP = "singleton-bean-pool";
+    protected static final String CONCURRENT_BEAN_POOL_PROP = "concurrent-bean-pool";
 
     protected final ClassLoader loader;
     protected Class<?> ejbClass;
@@ -4162,17 +4163,18 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
 
     private Object __intercept(EjbInvocation inv) throws Throwable {
         Object result = null;
-        if (interceptorManager.hasInterceptors()) {
+        InterceptorManager.InterceptorChain chain = inv.getInterceptorChain();
+        if (interceptorManager.hasInterceptors() && (chain == null || !chain.isEmpty())) {
             try {
                 onEjbMethodStart(inv.invocationInfo.str_method_sig);
-                result = interceptorManager.intercept(inv.getInterceptorChain(), inv);
+                result = interceptorManager.intercept(chain, inv);
             } catch (Throwable t) {
                 inv.exception = t;
                 throw new InvocationTargetException(t);
             } finally {
                 onEjbMethodEnd(inv.invocationInfo.str_method_sig, inv.exception);
             }
-        } else { // invoke() has the same exc. semantics as Method.invoke
+        } else { // no interceptors for this method, invoke() has the same exc. semantics as Method.invoke
             result = this.invokeTargetBeanMethod(inv.getBeanMethod(), inv, inv.ejb, inv.methodParams, null);
         }
 
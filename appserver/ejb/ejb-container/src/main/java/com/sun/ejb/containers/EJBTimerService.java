@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -131,6 +131,15 @@ public class EJBTimerService {
     private static final String RESCHEDULE_FAILED_TIMER = "reschedule-failed-timer";
     private boolean rescheduleFailedTimer;
 
+    // Schedule expirations on a hashed timing wheel instead of the JDK timer
+    private static final String TIMER_SCHEDULER = "timer-scheduler";
+    private static final String TIMER_SCHEDULER_WHEEL = "timing-wheel";
+    private static final String TIMING_WHEEL_TICK = "timing-wheel-tick-in-millis";
+    private static final String TIMING_WHEEL_SIZE = "timing-wheel-size";
+    private static final long TIMING_WHEEL_TICK_DEFAULT = 100;
+    private static final int TIMING_WHEEL_SIZE_DEFAULT = 512;
+    private EJBTimerWheel timerWheel;
+
     // Flag that allows to load EJBTimerService on the 1st access and
     // distinguish between not available and not loaded
     private static volatile boolean _timerServiceVerified;
@@ -253,6 +262,15 @@ public class EJBTimerService {
 
                 rescheduleFailedTimer = Boolean.valueOf(ejbt.getPropertyValue(RESCHEDULE_FAILED_TIMER));
 
+                if (TIMER_SCHEDULER_WHEEL.equals(ejbt.getPropertyValue(TIMER_SCHEDULER))) {
+                    valString = ejbt.getPropertyValue(TIMING_WHEEL_TICK);
+                    long tick = (valString != null) ? Long.parseLong(valString) : -1;
+                    valString = ejbt.getPropertyValue(TIMING_WHEEL_SIZE);
+                    int size = (valString != null) ? Integer.parseInt(valString) : -1;
+                    timerWheel = new EJBTimerWheel(tick > 0 ? tick : TIMING_WHEEL_TICK_DEFAULT,
+                        size > 0 ? size : TIMING_WHEEL_SIZE_DEFAULT);
+                }
+
                 // Load confing listener
                 ejbContainerUtil.getServices().getService(EJBTimerServiceConfigListener.class);
             }
@@ -265,7 +283,8 @@ public class EJBTimerService {
         logger.log(Level.FINE, "EJB Timer Service properties : " +
                    "min delivery interval = " + getMinimumDeliveryInterval() +
                    "\nmax redeliveries = " + maxRedeliveries_ +
-                   "\nredelivery interval = " + getRedeliveryInterval());
+                   "\nredelivery interval = " + getRedeliveryInterval() +
+                   "\ntimer scheduler = " + (timerWheel == null ? "jdk-timer" : TIMER_SCHEDULER_WHEEL));
     }
 
     synchronized void timedObjectCount() {
@@ -280,6 +299,33 @@ public class EJBTimerService {
         return ownerIdOfThisServer_;
     }
 
+    /**
+     * @return number of expirations scheduled on the timer wheel and not yet
+     * delivered, 0 if expirations are scheduled on the JDK timer.
+     */
+    public long getPendingExpirationCount() {
+        EJBTimerWheel wheel = timerWheel;
+        return (wheel != null) ? wheel.getPendingCount() : 0;
+    }
+
+    /**
+     * @return average delay between the requested expiration and its dispatch
+     * by the timer wheel in milliseconds, 0 if the JDK timer is used.
+     */
+    public long getAverageExpirationLagMillis() {
+        EJBTimerWheel wheel = timerWheel;
+        return (wheel != null) ? wheel.getAverageLagMillis() : 0;
+    }
+
+    /**
+     * @return maximal delay between the requested expiration and its dispatch
+     * by the timer wheel in milliseconds, 0 if the JDK timer is used.
+     */
+    public long getMaxExpirationLagMillis() {
+        EJBTimerWheel wheel = timerWheel;
+        return (wheel != null) ? wheel.getMaxLagMillis() : 0;
+    }
+
     /**
      *--------------------------------------------------------------
      * Methods to be implemented for Admin CLI
@@ -335,6 +381,13 @@ public class EJBTimerService {
     private void shutdown() {
         // Set flag to prevent any new timer expirations.
         shutdown_ = true;
+        if (timerWheel != null) {
+            logger.log(Level.FINE, "EJB timer wheel statistics: expired = " + timerWheel.getExpiredCount()
+                + ", pending = " + timerWheel.getPendingCount()
+                + ", average lag = " + timerWheel.getAverageLagMillis() + " ms"
+                + ", max lag = " + timerWheel.getMaxLagMillis() + " ms");
+            timerWheel.stop();
+        }
     }
 
     /**
@@ -446,8 +499,12 @@ public class EJBTimerService {
                     timerState.scheduled(timerTask);
                 }
 
-                java.util.Timer jdkTimer = ejbContainerUtil.getTimer();
-                jdkTimer.schedule(timerTask, timerExpiration);
+                if (timerWheel == null) {
+                    java.util.Timer jdkTimer = ejbContainerUtil.getTimer();
+                    jdkTimer.schedule(timerTask, timerExpiration);
+                } else {
+                    timerWheel.schedule(timerTask, timerExpiration, getFairnessKey(timerState));
+                }
             }
         } else {
 
@@ -459,6 +516,15 @@ public class EJBTimerService {
     }
 
 
+    /**
+     * Expirations due at the same time are interleaved per application
+     * by the timer wheel.
+     */
+    private long getFairnessKey(RuntimeTimerState timerState) {
+        BaseContainer container = ejbContainerUtil.getContainer(timerState.getContainerId());
+        return (container != null) ? container.getApplicationId() : timerState.getContainerId();
+    }
+
     /**
      * Called by #cancelTimerSynchronization() to cancel the next scheduled expiration
      * for a timer.
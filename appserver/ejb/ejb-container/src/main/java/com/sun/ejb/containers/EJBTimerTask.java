@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -22,7 +23,8 @@ import java.util.TimerTask;
 
 
 /*
- * JDK timer task for timer expirations.
+ * JDK timer task for timer expirations. The same task is used when
+ * the expirations are scheduled on the {@link EJBTimerWheel}.
  *
  * @author Kenneth Saks
  */
@@ -31,6 +33,7 @@ public class EJBTimerTask extends TimerTask {
     private Date timeout_;
     private TimerPrimaryKey timerId_;
     private EJBTimerService timerService_;
+    private volatile EJBTimerWheel.Entry wheelEntry_;
 
     EJBTimerTask(Date timeout, TimerPrimaryKey timerId,
                  EJBTimerService timerService)
@@ -49,5 +52,16 @@ public class EJBTimerTask extends TimerTask {
         return timeout_;
     }
 
+    @Override
+    public boolean cancel() {
+        EJBTimerWheel.Entry wheelEntry = wheelEntry_;
+        boolean cancelled = wheelEntry != null && wheelEntry.cancel();
+        return super.cancel() || cancelled;
+    }
+
+    void setWheelEntry(EJBTimerWheel.Entry wheelEntry) {
+        wheelEntry_ = wheelEntry;
+    }
+
 }
 
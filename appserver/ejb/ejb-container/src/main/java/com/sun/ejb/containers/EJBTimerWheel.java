@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import com.sun.logging.LogDomains;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hashed timing wheel used by the {@link EJBTimerService} as an alternative to
+ * the single {@link java.util.Timer} returned by {@link EjbContainerUtil#getTimer()}.
+ * <p>
+ * Scheduling and cancellation are O(1): callers only enqueue the request, and the
+ * wheel thread moves it into (or unlinks it from) its bucket on the next tick.
+ * Expirations are handed to {@link EJBTimerTask#run()}, which only does bookkeeping
+ * and passes the actual timeout callback to the EJB thread pool. Expirations due
+ * in the same tick are dispatched round-robin across applications, so that one
+ * application with many timers due at once cannot push the others to the end of
+ * the pool's queue.
+ */
+final class EJBTimerWheel {
+
+    private static final Logger LOG = LogDomains.getLogger(EJBTimerWheel.class, LogDomains.EJB_LOGGER);
+
+    private static final int ST_INIT = 0;
+    private static final int ST_CANCELLED = 1;
+    private static final int ST_EXPIRED = 2;
+
+    private final long tickMillis;
+    private final Bucket[] buckets;
+    private final int mask;
+    private final long startTime;
+    private final Thread worker;
+
+    private final Queue<Entry> scheduledEntries = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> cancelledEntries = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong pending = new AtomicLong();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder totalLagMillis = new LongAdder();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+
+    private volatile boolean stopped;
+
+    /** Current tick, touched only by the wheel thread. */
+    private long tick;
+
+    /**
+     * @param tickMillis resolution of the wheel. Expirations are delivered at most one tick late.
+     * @param ticksPerWheel number of buckets, rounded up to the next power of two.
+     */
+    EJBTimerWheel(long tickMillis, int ticksPerWheel) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive: " + tickMillis);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+            throw new IllegalArgumentException("ticksPerWheel out of range: " + ticksPerWheel);
+        }
+        this.tickMillis = tickMillis;
+        int size = Integer.highestOneBit(ticksPerWheel);
+        if (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.buckets = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.startTime = System.currentTimeMillis();
+        this.worker = new Thread(this::run, "EJBTimerWheel");
+        this.worker.setDaemon(true);
+        // The wheel lives longer than deployed applications, see Issue 17468.
+        this.worker.setContextClassLoader(EJBTimerWheel.class.getClassLoader());
+        this.worker.start();
+    }
+
+
+    /**
+     * Schedules the task to expire at the given time.
+     *
+     * @param task task to run, it is cancelled by {@link EJBTimerTask#cancel()}.
+     * @param expiration time of the expiration
+     * @param fairnessKey key used to interleave expirations due in the same tick,
+     *            usually the application id.
+     */
+    void schedule(EJBTimerTask task, Date expiration, long fairnessKey) {
+        if (stopped) {
+            throw new IllegalStateException("EJB timer wheel was already stopped.");
+        }
+        Entry entry = new Entry(this, task, expiration.getTime(), fairnessKey);
+        task.setWheelEntry(entry);
+        pending.incrementAndGet();
+        scheduledEntries.add(entry);
+    }
+
+
+    /**
+     * Stops the wheel thread. Expirations not yet delivered are dropped.
+     */
+    void stop() {
+        stopped = true;
+        worker.interrupt();
+    }
+
+
+    /**
+     * @return number of scheduled expirations not yet delivered or cancelled.
+     */
+    long getPendingCount() {
+        return pending.get();
+    }
+
+
+    /**
+     * @return number of delivered expirations.
+     */
+    long getExpiredCount() {
+        return expirations.sum();
+    }
+
+
+    /**
+     * @return average delay between the requested expiration and the dispatch, in milliseconds.
+     */
+    long getAverageLagMillis() {
+        long count = expirations.sum();
+        return count == 0 ? 0 : totalLagMillis.sum() / count;
+    }
+
+
+    /**
+     * @return maximal observed delay between the requested expiration and the dispatch, in milliseconds.
+     */
+    long getMaxLagMillis() {
+        return maxLagMillis.get();
+    }
+
+
+    private void run() {
+        long nextTickTime = startTime + tickMillis;
+        while (!stopped) {
+            long sleep = nextTickTime - System.currentTimeMillis();
+            if (sleep > 0) {
+                try {
+                    Thread.sleep(sleep);
+                } catch (InterruptedException e) {
+                    if (stopped) {
+                        break;
+                    }
+                    continue;
+                }
+            }
+            processCancellations();
+            transferScheduled();
+            expire(buckets[(int) (tick & mask)], System.currentTimeMillis());
+            tick++;
+            nextTickTime += tickMillis;
+        }
+        scheduledEntries.clear();
+        cancelledEntries.clear();
+    }
+
+
+    private void processCancellations() {
+        Entry entry;
+        while ((entry = cancelledEntries.poll()) != null) {
+            if (entry.bucket != null) {
+                entry.bucket.remove(entry);
+            }
+        }
+    }
+
+
+    private void transferScheduled() {
+        Entry entry;
+        while ((entry = scheduledEntries.poll()) != null) {
+            if (entry.state.get() == ST_CANCELLED) {
+                continue;
+            }
+            long deadlineTick = Math.max((entry.deadline - startTime) / tickMillis, tick);
+            entry.remainingRounds = (deadlineTick - tick) / buckets.length;
+            buckets[(int) (deadlineTick & mask)].add(entry);
+        }
+    }
+
+
+    private void expire(Bucket bucket, long now) {
+        Map<Long, ArrayDeque<Entry>> dueByKey = null;
+        Entry entry = bucket.head;
+        while (entry != null) {
+            Entry next = entry.next;
+            if (entry.remainingRounds <= 0) {
+                bucket.remove(entry);
+                if (entry.state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                    if (dueByKey == null) {
+                        dueByKey = new LinkedHashMap<>();
+                    }
+                    dueByKey.computeIfAbsent(entry.fairnessKey, k -> new ArrayDeque<>()).add(entry);
+                }
+            } else {
+                entry.remainingRounds--;
+            }
+            entry = next;
+        }
+        if (dueByKey != null) {
+            dispatch(dueByKey, now);
+        }
+    }
+
+
+    private void dispatch(Map<Long, ArrayDeque<Entry>> dueByKey, long now) {
+        List<ArrayDeque<Entry>> queues = new ArrayList<>(dueByKey.values());
+        while (!queues.isEmpty()) {
+            Iterator<ArrayDeque<Entry>> iterator = queues.iterator();
+            while (iterator.hasNext()) {
+                ArrayDeque<Entry> queue = iterator.next();
+                Entry entry = queue.poll();
+                if (queue.isEmpty()) {
+                    iterator.remove();
+                }
+                pending.decrementAndGet();
+                recordLag(Math.max(0L, now - entry.deadline));
+                try {
+                    entry.task.run();
+                } catch (Throwable t) {
+                    LOG.log(Level.WARNING, "Failed to dispatch EJB timer expiration", t);
+                }
+            }
+        }
+    }
+
+
+    private void recordLag(long lag) {
+        expirations.increment();
+        totalLagMillis.add(lag);
+        long max = maxLagMillis.get();
+        while (lag > max && !maxLagMillis.compareAndSet(max, lag)) {
+            max = maxLagMillis.get();
+        }
+        if (lag > tickMillis && LOG.isLoggable(Level.FINE)) {
+            LOG.log(Level.FINE, "EJB timer expiration dispatched {0} ms late", lag);
+        }
+    }
+
+
+    /**
+     * Scheduled expiration. Links are touched only by the wheel thread.
+     */
+    static final class Entry {
+
+        private final EJBTimerWheel wheel;
+        private final EJBTimerTask task;
+        private final long deadline;
+        private final long fairnessKey;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+
+        private long remainingRounds;
+        private Bucket bucket;
+        private Entry prev;
+        private Entry next;
+
+        private Entry(EJBTimerWheel wheel, EJBTimerTask task, long deadline, long fairnessKey) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+            this.fairnessKey = fairnessKey;
+        }
+
+
+        /**
+         * @return true if the expiration was cancelled by this call.
+         */
+        boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            wheel.pending.decrementAndGet();
+            wheel.cancelledEntries.add(this);
+            return true;
+        }
+    }
+
+
+    /**
+     * Doubly linked list of entries hashed to the same tick.
+     */
+    private static final class Bucket {
+
+        private Entry head;
+        private Entry tail;
+
+        void add(Entry entry) {
+            entry.bucket = this;
+            if (head == null) {
+                head = entry;
+                tail = entry;
+            } else {
+                tail.next = entry;
+                entry.prev = tail;
+                tail = entry;
+            }
+        }
+
+
+        void remove(Entry entry) {
+            if (entry.bucket != this) {
+                return;
+            }
+            if (entry.prev == null) {
+                head = entry.next;
+            } else {
+                entry.prev.next = entry.next;
+            }
+            if (entry.next == null) {
+                tail = entry.prev;
+            } else {
+                entry.next.prev = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -25,6 +26,7 @@ import com.sun.ejb.base.sfsb.util.SimpleKeyGenerator;
 import com.sun.ejb.containers.util.cache.FIFOSessionCache;
 import com.sun.ejb.containers.util.cache.LruSessionCache;
 import com.sun.ejb.containers.util.cache.NRUSessionCache;
+import com.sun.ejb.containers.util.cache.SegmentedLruSessionCache;
 import com.sun.ejb.containers.util.cache.UnBoundedSessionCache;
 import com.sun.enterprise.config.serverbeans.AvailabilityService;
 import com.sun.enterprise.config.serverbeans.Config;
@@ -124,6 +126,11 @@ public class StatefulContainerFactory extends BaseContainerFactory
         level = "INFO")
     private static final String SFSB_BUILDER_INSTANTIATED_BACKING_STORE = "AS-EJB-00043";
 
+    @LogMessageInfo(
+        message = "Invalid value [{0}] of the enterprise-beans property passivation-max-threads, using [{1}]",
+        level = "WARNING")
+    private static final String SFSB_BUILDER_INVALID_PASSIVATION_MAX_THREADS = "AS-EJB-00064";
+
     @LogMessageInfo(
         message = "Error while adding idle bean passivator task",
         level = "WARNING")
@@ -361,6 +368,10 @@ public class StatefulContainerFactory extends BaseContainerFactory
             sessionCache = new LruSessionCache(cacheName, sfsbContainer,
                     cacheProps.getCacheIdleTimeoutInSeconds(),
                     cacheProps.getRemovalTimeoutInSeconds());
+        } else if ("segmented-lru".equalsIgnoreCase(victimPolicy)) {
+            sessionCache = new SegmentedLruSessionCache(cacheName, sfsbContainer,
+                    cacheProps.getCacheIdleTimeoutInSeconds(),
+                    cacheProps.getRemovalTimeoutInSeconds());
         } else if ("fifo".equalsIgnoreCase(victimPolicy)) {
             sessionCache = new FIFOSessionCache(cacheName, sfsbContainer,
                     cacheProps.getCacheIdleTimeoutInSeconds(),
@@ -396,6 +407,17 @@ public class StatefulContainerFactory extends BaseContainerFactory
                     cacheProps.getNumberOfVictimsToSelect());
         }
 
+        String maxPassivators = ejbDescriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(
+                StatefulSessionContainer.PASSIVATION_MAX_THREADS_PROP);
+        if (maxPassivators != null) {
+            try {
+                sfsbContainer.setMaxPassivatorCount(Integer.parseInt(maxPassivators.trim()));
+            } catch (NumberFormatException nfe) {
+                _logger.log(Level.WARNING, SFSB_BUILDER_INVALID_PASSIVATION_MAX_THREADS,
+                        new Object[]{maxPassivators, sfsbContainer.getMaxPassivatorCount()});
+            }
+        }
+
         if (_logger.isLoggable(TRACE_LEVEL)) {
             _logger.log(TRACE_LEVEL,
                     "Created cache for {0}; cache properties: {1}; loadFactor: {2}; backingStore: {3}",
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -27,6 +27,7 @@ import com.sun.ejb.MethodLockInfo;
 import com.sun.ejb.base.stats.HAStatefulSessionStoreMonitor;
 import com.sun.ejb.base.stats.StatefulSessionStoreMonitor;
 import com.sun.ejb.containers.EJBContextImpl.BeanState;
+import com.sun.ejb.containers.util.LatencyHistogram;
 import com.sun.ejb.containers.util.cache.LruSessionCache;
 import com.sun.ejb.monitoring.probes.EjbCacheProbeProvider;
 import com.sun.ejb.monitoring.stats.EjbCacheStatsProvider;
@@ -270,6 +271,9 @@ public final class StatefulSessionContainer
     // We do not want too many ORB task for passivation
     public static final int MIN_PASSIVATION_BATCH_COUNT = 8;
 
+    // enterprise-beans property limiting the number of parallel passivators
+    public static final String PASSIVATION_MAX_THREADS_PROP = "passivation-max-threads";
+
     private final static long CONCURRENCY_NOT_ALLOWED = 0;
     private final static long BLOCK_INDEFINITELY = -1;
 
@@ -283,6 +287,12 @@ public final class StatefulSessionContainer
     private int passivationBatchCount
             = MIN_PASSIVATION_BATCH_COUNT;
 
+    // Upper bound of concurrently running ASyncPassivator tasks, so that
+    // a passivation storm cannot occupy the whole EJB thread pool
+    private int maxPassivatorCount = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private final LatencyHistogram passivationLatency = new LatencyHistogram();
+
     private int containerTrimCount = 0;
 
     private LruSessionCache sessionBeanCache;
@@ -518,8 +528,10 @@ public final class StatefulSessionContainer
         sbuf.append(" { asyncTaskCount=").append(asyncTaskCount)
             .append("; asyncCummTaskCount=").append(asyncCummTaskCount)
             .append("; passivationBatchCount=").append(passivationBatchCount)
+            .append("; maxPassivatorCount=").append(maxPassivatorCount)
             .append("; passivationQSz=").append(passivationCandidates.size())
             .append("; trimEventCount=").append(containerTrimCount)
+            .append("; passivationLatency=").append(passivationLatency)
             .append(" }");
         return sbuf.toString();
     }
@@ -2051,6 +2063,8 @@ public final class StatefulSessionContainer
             }
 
             Object ejb = sc.getEJB();
+            long passivationStart = System.nanoTime();
+            boolean passivationAttempted = false;
             EjbInvocation ejbInv = createEjbInvocation(ejb, sc);
             invocationManager.preInvoke(ejbInv);
             success = false;
@@ -2063,6 +2077,7 @@ public final class StatefulSessionContainer
                     if (!sc.canBePassivated()) {
                         return false;
                     }
+                    passivationAttempted = true;
 
                     Serializable instanceKey = (Serializable) sc.getInstanceKey();
                     if (sessionBeanCache.eligibleForRemovalFromCache(sc, instanceKey)) {
@@ -2182,6 +2197,9 @@ public final class StatefulSessionContainer
                             _logger.log(Level.FINE, "error destroying bean", e);
                         }
                     }
+                    if (passivationAttempted) {
+                        passivationLatency.record(System.nanoTime() - passivationStart);
+                    }
                 }
             } //synchronized
         } catch (Exception ex) {
@@ -2203,6 +2221,25 @@ public final class StatefulSessionContainer
     }
 
 
+    public int getMaxPassivatorCount() {
+        return this.maxPassivatorCount;
+    }
+
+
+    public void setMaxPassivatorCount(int count) {
+        this.maxPassivatorCount = Math.max(1, count);
+    }
+
+
+    /**
+     * @return histogram of the time needed to passivate one bean, including
+     *         its serialization and the write to the backing store
+     */
+    public LatencyHistogram getPassivationLatency() {
+        return passivationLatency;
+    }
+
+
     // called asynchronously from the Recycler
     @Override
     public boolean passivateEJB(StatefulEJBContext sfsbCtx) {
@@ -2813,7 +2850,7 @@ public final class StatefulSessionContainer
         synchronized (asyncTaskSemaphore) {
             containerTrimCount++;
             passivationCandidates.add(context);
-            int requiredTaskCount = (passivationCandidates.size() / passivationBatchCount);
+            int requiredTaskCount = Math.min(passivationCandidates.size() / passivationBatchCount, maxPassivatorCount);
             addTask = (asyncTaskCount < requiredTaskCount);
 
             if (_logger.isLoggable(Level.FINE)) {
@@ -3213,18 +3250,25 @@ public final class StatefulSessionContainer
                     };
                     AccessController.doPrivileged(action);
                 }
-                ComponentContext ctx = null;
+                // take a whole batch at once, so that the passivators running
+                // in parallel do not contend on the semaphore for every bean
+                ComponentContext[] batch = new ComponentContext[passivationBatchCount];
 
                 do {
+                    int batchSize = 0;
                     synchronized (asyncTaskSemaphore) {
                         int sz = passivationCandidates.size();
-                        if (sz > 0) {
-                            ctx = (ComponentContext) passivationCandidates.remove(sz - 1);
-                        } else {
+                        if (sz == 0) {
                             return;
                         }
+                        while (sz > 0 && batchSize < batch.length) {
+                            batch[batchSize++] = (ComponentContext) passivationCandidates.remove(--sz);
+                        }
+                    }
+                    for (int i = 0; i < batchSize; i++) {
+                        passivateEJB(batch[i]);
+                        batch[i] = null;
                     }
-                    passivateEJB(ctx);
                 } while (true);
 
             } catch (Throwable th) {
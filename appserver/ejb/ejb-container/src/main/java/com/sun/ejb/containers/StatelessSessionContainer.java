@@ -20,6 +20,7 @@ package com.sun.ejb.containers;
 import com.sun.ejb.ComponentContext;
 import com.sun.ejb.EjbInvocation;
 import com.sun.ejb.containers.util.pool.AbstractPool;
+import com.sun.ejb.containers.util.pool.ConcurrentNonBlockingPool;
 import com.sun.ejb.containers.util.pool.NonBlockingPool;
 import com.sun.ejb.containers.util.pool.ObjectFactory;
 import com.sun.ejb.monitoring.stats.EjbMonitoringStatsProvider;
@@ -207,9 +208,16 @@ public class StatelessSessionContainer extends BaseContainer {
 
         poolProp = new PoolProperties(ejbContainer, beanPoolDes);
         String val = ejbDescriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP);
-        pool = new NonBlockingPool(getContainerId(), ejbDescriptor.getName(), sessionCtxFactory,
-            poolProp.steadyPoolSize, poolProp.poolResizeQuantity, poolProp.maxPoolSize,
-            poolProp.poolIdleTimeoutInSeconds, loader, Boolean.parseBoolean(val));
+        String concurrent = ejbDescriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(CONCURRENT_BEAN_POOL_PROP);
+        if (Boolean.parseBoolean(concurrent) && !Boolean.parseBoolean(val)) {
+            pool = new ConcurrentNonBlockingPool(getContainerId(), ejbDescriptor.getName(), sessionCtxFactory,
+                poolProp.steadyPoolSize, poolProp.poolResizeQuantity, poolProp.maxPoolSize,
+                poolProp.poolIdleTimeoutInSeconds, loader);
+        } else {
+            pool = new NonBlockingPool(getContainerId(), ejbDescriptor.getName(), sessionCtxFactory,
+                poolProp.steadyPoolSize, poolProp.poolResizeQuantity, poolProp.maxPoolSize,
+                poolProp.poolIdleTimeoutInSeconds, loader, Boolean.parseBoolean(val));
+        }
     }
 
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -31,6 +31,7 @@ import jakarta.ejb.EJBException;
 import jakarta.interceptor.InvocationContext;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InaccessibleObjectException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -40,6 +41,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -93,6 +96,9 @@ public class InterceptorManager {
 
     List<InterceptorDescriptor> frameworkInterceptors = new LinkedList<>();
 
+    // The around invoke chains of the managed bean methods, by method invoked on the client proxy
+    private final ConcurrentMap<Method, AroundInvokeChainImpl> managedBeanChains = new ConcurrentHashMap<>();
+
     public InterceptorManager(Logger _logger, BaseContainer container, Class<?>[] lcAnnotationClasses, String[] pre30LCMethodNames) throws Exception {
         this._logger = _logger;
         this.container = container;
@@ -223,6 +229,28 @@ public class InterceptorManager {
         return new AroundInvokeChainImpl(interceptors.toArray(new AroundInvokeInterceptor[interceptors.size()]));
     }
 
+    /**
+     * Returns the around invoke chain of a method of the managed bean, built by the first invocation of the method. The
+     * chain calls the bean method with a method handle.
+     *
+     * @param method the method invoked on the client proxy
+     * @param targetClass the class of the bean instance
+     * @return the chain
+     * @throws NoSuchMethodException if the bean has no such public method
+     */
+    AroundInvokeChainImpl getManagedBeanAroundInvokeChain(Method method, Class<?> targetClass) throws NoSuchMethodException {
+        AroundInvokeChainImpl chain = managedBeanChains.get(method);
+        if (chain == null || chain.getTargetClass() != targetClass) {
+            Method beanClassMethod = targetClass.getMethod(method.getName(), method.getParameterTypes());
+            AroundInvokeChainImpl interceptorChain = (AroundInvokeChainImpl) getAroundInvokeChain(null, beanClassMethod);
+            chain = new AroundInvokeChainImpl(interceptorChain.interceptors, targetClass, beanClassMethod);
+            if (targetClass == beanClass) {
+                managedBeanChains.putIfAbsent(method, chain);
+            }
+        }
+        return chain;
+    }
+
     public InterceptorManager.InterceptorChain getAroundTimeoutChain(MethodDescriptor methodDescriptor, Method beanMethod) {
         List<AroundInvokeInterceptor> interceptors = new ArrayList<>();
 
@@ -683,6 +711,11 @@ public class InterceptorManager {
 
     public interface InterceptorChain {
         Object invokeNext(int index, AroundInvokeContext invCtx) throws Throwable;
+
+        /**
+         * @return true if the chain has no interceptors, so that the bean method can be called directly
+         */
+        boolean isEmpty();
     }
 
 }
@@ -695,10 +728,21 @@ class AroundInvokeChainImpl implements InterceptorManager.InterceptorChain {
     protected AroundInvokeInterceptor[] interceptors;
     protected int size;
 
+    // Set for the chains of managed bean methods
+    private final Class<?> targetClass;
+    private final Method beanMethod;
+    private final MethodHandle beanMethodHandle;
+
     protected AroundInvokeChainImpl(AroundInvokeInterceptor[] interceptors) {
+        this(interceptors, null, null);
+    }
 
+    AroundInvokeChainImpl(AroundInvokeInterceptor[] interceptors, Class<?> targetClass, Method beanMethod) {
         this.interceptors = interceptors;
         this.size = (interceptors == null) ? 0 : interceptors.length;
+        this.targetClass = targetClass;
+        this.beanMethod = beanMethod;
+        this.beanMethodHandle = (beanMethod == null) ? null : InterceptorMethodHandles.unreflectSpread(beanMethod);
     }
 
     @Override
@@ -706,6 +750,26 @@ class AroundInvokeChainImpl implements InterceptorManager.InterceptorChain {
         return (index < size) ? interceptors[index].intercept(inv) : inv.invokeBeanMethod();
     }
 
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    Method getBeanMethod() {
+        return beanMethod;
+    }
+
+    /**
+     * @return the handle calling the bean method with an array of arguments, or null if it is called by reflection
+     */
+    MethodHandle getBeanMethodHandle() {
+        return beanMethodHandle;
+    }
+
     @Override
     public String toString() {
         StringBuilder bldr = new StringBuilder();
@@ -721,6 +785,9 @@ class AroundInvokeInterceptor {
     protected int index;
     protected Method method;
 
+    // Calls the method when there is no security manager, null to call it by reflection
+    protected MethodHandle handle;
+
     AroundInvokeInterceptor(int index, Method method) {
         this.index = index;
         this.method = method;
@@ -746,9 +813,13 @@ class AroundInvokeInterceptor {
             throw new EJBException(e);
         }
 
+        handle = InterceptorMethodHandles.unreflect(method, 1);
     }
 
     Object intercept(final InterceptorManager.AroundInvokeContext invCtx) throws Throwable {
+        if (handle != null && System.getSecurityManager() == null) {
+            return (Object) handle.invokeExact(invCtx.getInterceptorInstances()[index], (Object) invCtx);
+        }
         try {
             final Object[] interceptors = invCtx.getInterceptorInstances();
 
@@ -792,6 +863,9 @@ class BeanAroundInvokeInterceptor extends AroundInvokeInterceptor {
 
     @Override
     Object intercept(final InterceptorManager.AroundInvokeContext invCtx) throws Throwable {
+        if (handle != null && System.getSecurityManager() == null) {
+            return (Object) handle.invokeExact(invCtx.getTarget(), (Object) invCtx);
+        }
         try {
 
             if (System.getSecurityManager() != null) {
@@ -822,6 +896,9 @@ class CallbackInterceptor {
     protected int index;
     protected Method method;
 
+    // Calls the method when there is no security manager, null to call it by reflection
+    protected MethodHandle handle;
+
     CallbackInterceptor(int index, Method method) {
         this.index = index;
         this.method = method;
@@ -847,9 +924,13 @@ class CallbackInterceptor {
             throw new EJBException(e);
         }
 
+        handle = InterceptorMethodHandles.unreflect(method, 1);
     }
 
     Object intercept(final CallbackInvocationContext invContext) throws Throwable {
+        if (handle != null && System.getSecurityManager() == null) {
+            return (Object) handle.invokeExact(invContext.getInterceptorInstances()[index], (Object) invContext);
+        }
         try {
 
             final Object[] interceptors = invContext.getInterceptorInstances();
@@ -893,10 +974,16 @@ class BeanCallbackInterceptor extends CallbackInterceptor {
 
     BeanCallbackInterceptor(Method method) {
         super(-1, method);
+        handle = InterceptorMethodHandles.unreflect(method, 0);
     }
 
     @Override
     Object intercept(final CallbackInvocationContext invContext) throws Throwable {
+        if (handle != null && System.getSecurityManager() == null) {
+            // the bean callback methods return nothing
+            Object ignored = (Object) handle.invokeExact(invContext.getTarget());
+            return invContext.proceed();
+        }
         try {
 
             if (System.getSecurityManager() != null) {
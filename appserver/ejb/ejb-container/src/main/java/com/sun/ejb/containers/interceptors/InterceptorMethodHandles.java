@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.interceptors;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.logging.Logger;
+
+import static java.util.logging.Level.FINE;
+
+/**
+ * Creates the method handles calling the interceptor, callback and bean
+ * methods, once when an interceptor chain is built. Unlike
+ * {@link Method#invoke}, a method handle does not check the access and wrap
+ * the exceptions on each call, and is inlined by the JIT compiler.
+ *
+ * <p>
+ * The handles throw the exceptions of the method as is. A method which cannot
+ * be called through a handle gets none, and is called by reflection.
+ */
+final class InterceptorMethodHandles {
+
+    private static final Logger _logger = Logger.getLogger(InterceptorMethodHandles.class.getName());
+
+    private static final MethodType SPREAD_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private InterceptorMethodHandles() {
+    }
+
+    /**
+     * Returns a handle of type {@code (Object target, Object... arguments)Object}
+     * with one argument per parameter of the method, returning null for a
+     * void method.
+     *
+     * @param method an instance method, made accessible if it is not public
+     * @param parameterCount the expected number of parameters of the method
+     * @return the handle, or null if the method has not this number of parameters or cannot be called by a handle
+     */
+    static MethodHandle unreflect(Method method, int parameterCount) {
+        if (method.getParameterCount() != parameterCount || Modifier.isStatic(method.getModifiers())) {
+            return null;
+        }
+        try {
+            return MethodHandles.lookup().unreflect(method).asFixedArity().asType(MethodType.genericMethodType(parameterCount + 1));
+        } catch (IllegalAccessException e) {
+            _logger.log(FINE, "Method " + method + " will be called by reflection", e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns a handle of type {@code (Object target, Object[] arguments)Object}
+     * calling a bean method with an array of arguments, like
+     * {@link Method#invoke}, returning null for a void method.
+     *
+     * @param method an instance method
+     * @return the handle, or null if the method cannot be called by a handle
+     */
+    static MethodHandle unreflectSpread(Method method) {
+        if (Modifier.isStatic(method.getModifiers())) {
+            return null;
+        }
+        try {
+            return MethodHandles.lookup().unreflect(method).asFixedArity()
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(SPREAD_TYPE);
+        } catch (IllegalAccessException e) {
+            _logger.log(FINE, "Method " + method + " will be called by reflection", e);
+            return null;
+        }
+    }
+}
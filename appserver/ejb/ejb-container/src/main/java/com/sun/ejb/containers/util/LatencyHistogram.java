@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of operation latencies.
+ * <p>
+ * Bucket {@code 0} counts operations faster than one millisecond, bucket {@code i} operations
+ * taking from {@code 2^(i-1)} up to {@code 2^i} milliseconds, and the last bucket everything
+ * slower. Recording costs a few atomic additions, so the histogram can be updated on every
+ * operation.
+ */
+public class LatencyHistogram {
+
+    /** Number of buckets, the last one counts latencies of about 16 seconds and more. */
+    public static final int BUCKET_COUNT = 16;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param nanos duration of one operation
+     */
+    public void record(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(Math.max(0L, nanos));
+        int bucket = millis == 0 ? 0 : Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(millis));
+        buckets[bucket].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * @return number of recorded operations
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the slowest recorded operation in milliseconds
+     */
+    public long getMaxMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+    }
+
+    /**
+     * @return sum of all recorded operations in milliseconds
+     */
+    public long getTotalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalNanos.sum());
+    }
+
+    /**
+     * @return snapshot of the bucket counts
+     */
+    public long[] getBucketCounts() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * @param percentile 0 to 100
+     * @return upper bound in milliseconds of the bucket containing the percentile,
+     *         {@code -1} if nothing was recorded
+     */
+    public long getPercentileMillis(double percentile) {
+        long[] counts = getBucketCounts();
+        long total = 0;
+        for (long bucketCount : counts) {
+            total += bucketCount;
+        }
+        if (total == 0) {
+            return -1L;
+        }
+
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT - 1; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return 1L << i;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * @return the non-empty buckets, as {@code <upperBound ms:count} pairs
+     */
+    @Override
+    public String toString() {
+        long[] counts = getBucketCounts();
+        StringBuilder sbuf = new StringBuilder("[");
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            if (sbuf.length() > 1) {
+                sbuf.append(", ");
+            }
+            if (i == BUCKET_COUNT - 1) {
+                sbuf.append(">=").append(1L << (i - 1));
+            } else {
+                sbuf.append('<').append(1L << i);
+            }
+            sbuf.append("ms:").append(counts[i]);
+        }
+        return sbuf.append(']').toString();
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -182,17 +183,8 @@ public class LruSessionCache
     protected void trimItem(CacheItem item) {
         LruCacheItem removed = (LruCacheItem) item;
 
-        if (removeIfIdle) {
-            StatefulEJBContext ctx = (StatefulEJBContext) item.getValue();
-
-            long idleThreshold =
-                System.currentTimeMillis() - removalTimeoutInSeconds*1000L;
-            if (ctx.getLastAccessTime() <= idleThreshold) {
-                container.passivateEJB(ctx);
-                return;
-            }
-        }
-
+        // Beans idle beyond the removal timeout are removed by the container's
+        // asynchronous passivators as well, not on the thread adding to the cache
         for (int i = 0; i < listeners.size(); i++) {
             CacheListener listener = (CacheListener) listeners.get(i);
             listener.trimEvent(removed.getKey(), removed.getValue());
@@ -573,6 +565,13 @@ public class LruSessionCache
         currentCacheState = STATE_UNDEPLOYING;
     }
 
+    /**
+     * @return false once the cache is shutting down, undeploying or destroyed
+     */
+    protected boolean isRunning() {
+        return currentCacheState == STATE_RUNNING;
+    }
+
     /**
      * get an Iterator for the values stored in the cache
      * @returns an Iterator
@@ -0,0 +1,407 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.cache;
+
+import com.sun.appserv.util.cache.Constants;
+import com.sun.ejb.spi.container.SFSBContainerCallback;
+import com.sun.ejb.spi.container.StatefulEJBContext;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+
+/**
+ * <p>
+ * Session cache with the same victim selection and passivation callbacks as the {@link LruSessionCache},
+ * but without the single monitor guarding the LRU list.
+ *
+ * <p>
+ * The LRU list is split into segments selected by the hash of the session key, each ordered and locked on its own.
+ * An access does not reorder the list right away: the item is recorded in a small lossy read buffer of its segment,
+ * which is drained into the LRU order by whichever thread first gets the segment lock without waiting, and by the
+ * idle bean trimming. Accesses lost when a full buffer is overwritten only make the order less exact. When the cache
+ * overflows, the least recently used item of the largest segment becomes the victim.
+ *
+ * <p>
+ * Idle beans are still trimmed from the tail of every segment, so the cache keeps the LRU behavior for the
+ * cache-idle-timeout and removal-timeout settings.
+ */
+public class SegmentedLruSessionCache extends LruSessionCache {
+
+    private static final int READ_BUFFER_SIZE = 32;
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+
+    /** The read buffer is drained after every this many recorded accesses. */
+    private static final int DRAIN_THRESHOLD = READ_BUFFER_SIZE / 2;
+
+    /** Each segment is expected to hold at least this many beans. */
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+
+    private Segment[] segments;
+    private int segmentMask;
+
+    private final AtomicInteger trims = new AtomicInteger();
+    private final AtomicInteger victimsAccessed = new AtomicInteger();
+
+    public SegmentedLruSessionCache(String cacheName, SFSBContainerCallback container, int cacheIdleTime,
+            int removalTime) {
+        super("SegmentedLRU-" + cacheName, container, cacheIdleTime, removalTime);
+    }
+
+    @Override
+    public void init(int maxEntries, float loadFactor, Properties props) {
+        super.init(maxEntries, loadFactor, props);
+
+        int wanted = Math.max(1, Math.min(2 * Runtime.getRuntime().availableProcessors(),
+            maxEntries / MIN_SEGMENT_CAPACITY));
+        int count = Integer.highestOneBit(wanted);
+        segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment();
+        }
+        segmentMask = count - 1;
+    }
+
+    @Override
+    protected CacheItem itemAdded(CacheItem item) {
+        LruCacheItem lc = (LruCacheItem) item;
+        lc.setLastAccessed(System.currentTimeMillis());
+
+        Segment segment = segmentFor(lc);
+        segment.lock.lock();
+        try {
+            segment.link(lc);
+        } finally {
+            segment.lock.unlock();
+        }
+
+        return isThresholdReached() ? evict() : null;
+    }
+
+    @Override
+    protected void itemAccessed(CacheItem item) {
+        LruCacheItem lc = (LruCacheItem) item;
+        Segment segment = segmentFor(lc);
+
+        if (lc.isTrimmed()) {
+            // accessed after it was chosen as a victim; put it back into the LRU list
+            boolean relinked = false;
+            segment.lock.lock();
+            try {
+                if (lc.isTrimmed()) {
+                    lc.setTrimmed(false);
+                    lc.setLastAccessed(System.currentTimeMillis());
+                    segment.link(lc);
+                    relinked = true;
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+            if (relinked) {
+                victimsAccessed.incrementAndGet();
+                if (isThresholdReached()) {
+                    CacheItem overflow = evict();
+                    if (overflow != null) {
+                        trimItem(overflow);
+                    }
+                }
+            }
+            return;
+        }
+
+        lc.setLastAccessed(System.currentTimeMillis());
+        if (segment.recordAccess(lc) && segment.lock.tryLock()) {
+            try {
+                segment.drainReadBuffer();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    protected void itemRefreshed(CacheItem item, int oldSize) {
+        itemAccessed(item);
+    }
+
+    @Override
+    protected void itemRemoved(CacheItem item) {
+        LruCacheItem lc = (LruCacheItem) item;
+        Segment segment = segmentFor(lc);
+        segment.lock.lock();
+        try {
+            if (!lc.isTrimmed()) {
+                segment.unlink(lc);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    protected CacheItem trimLru(long currentTime) {
+        return evict();
+    }
+
+    /**
+     * trim the timedOut entries from the tail of every segment.
+     * This call is to be scheduled by a thread managed by the container.
+     */
+    @Override
+    public void trimTimedoutItems(int maxTrimCount) {
+        long idleThresholdTime = System.currentTimeMillis() - cacheIdleTimeoutInSeconds * 1000L;
+        List<LruCacheItem> victims = new ArrayList<>();
+
+        for (Segment segment : segments) {
+            if (!isRunning()) {
+                _logger.log(Level.FINE, "[{0}]: TrimTimedoutBeans stopped, the cache is not running", cacheName);
+                break;
+            }
+
+            segment.lock.lock();
+            try {
+                segment.drainReadBuffer();
+                LruCacheItem item = segment.tail;
+                while (item != null && victims.size() < maxTrimCount) {
+                    StatefulEJBContext ctx = (StatefulEJBContext) item.getValue();
+                    if (ctx != null && (ctx.getLastAccessTime() > idleThresholdTime || !ctx.canBePassivated())) {
+                        break;
+                    }
+                    LruCacheItem prev = item.getLPrev();
+                    if (ctx != null) {
+                        segment.unlink(item);
+                        item.setTrimmed(true);
+                        victims.add(item);
+                    }
+                    item = prev;
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+
+        trims.addAndGet(victims.size());
+        for (LruCacheItem victim : victims) {
+            trimItem(victim);
+        }
+
+        if (_logger.isLoggable(Level.FINE)) {
+            _logger.log(Level.FINE, "[" + cacheName + "]: TrimTimedoutBeans finished after removing "
+                + victims.size() + " idle beans");
+        }
+    }
+
+    @Override
+    public Iterator values() {
+        ArrayList<StatefulEJBContext> valueList = new ArrayList<>();
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                for (LruCacheItem item = segment.tail; item != null; item = item.getLPrev()) {
+                    StatefulEJBContext ctx = (StatefulEJBContext) item.getValue();
+                    if (ctx != null) {
+                        valueList.add(ctx);
+                    }
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return valueList.iterator();
+    }
+
+    @Override
+    public void shutdown() {
+        ArrayList<StatefulEJBContext> valueList = new ArrayList<>();
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                for (LruCacheItem item = segment.tail; item != null; item = item.getLPrev()) {
+                    StatefulEJBContext ctx = (StatefulEJBContext) item.getValue();
+                    if (ctx != null) {
+                        item.setTrimmed(true);
+                        valueList.add(ctx);
+                    }
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+
+        for (StatefulEJBContext ctx : valueList) {
+            container.passivateEJB(ctx);
+        }
+    }
+
+    @Override
+    public int getNumVictimsAccessed() {
+        return victimsAccessed.get();
+    }
+
+    /**
+     * @return number of LRU segments
+     */
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    @Override
+    public Object getStatByName(String key) {
+        if (Constants.STAT_LRUCACHE_LIST_LENGTH.equals(key)) {
+            return Integer.valueOf(getListSize());
+        }
+        if (Constants.STAT_LRUCACHE_TRIM_COUNT.equals(key)) {
+            return Integer.valueOf(trims.get());
+        }
+        return super.getStatByName(key);
+    }
+
+    @Override
+    public Map getStats() {
+        Map stats = super.getStats();
+        stats.put(Constants.STAT_LRUCACHE_LIST_LENGTH, Integer.valueOf(getListSize()));
+        stats.put(Constants.STAT_LRUCACHE_TRIM_COUNT, Integer.valueOf(trims.get()));
+        return stats;
+    }
+
+    private int getListSize() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    /**
+     * Trims the least recently used item of the largest segment.
+     * Only one segment lock is held at a time.
+     */
+    private CacheItem evict() {
+        for (int attempt = 0; attempt < segments.length; attempt++) {
+            Segment victimSegment = null;
+            for (Segment segment : segments) {
+                if (victimSegment == null || segment.size > victimSegment.size) {
+                    victimSegment = segment;
+                }
+            }
+            if (victimSegment == null) {
+                return null;
+            }
+
+            victimSegment.lock.lock();
+            try {
+                victimSegment.drainReadBuffer();
+                LruCacheItem victim = victimSegment.tail;
+                if (victim != null) {
+                    victimSegment.unlink(victim);
+                    victim.setTrimmed(true);
+                    trims.incrementAndGet();
+                    return victim;
+                }
+            } finally {
+                victimSegment.lock.unlock();
+            }
+        }
+        return null;
+    }
+
+    private Segment segmentFor(LruCacheItem item) {
+        int h = item.getHashCode();
+        return segments[(h ^ (h >>> 16)) & segmentMask];
+    }
+
+    private static final class Segment {
+
+        final ReentrantLock lock = new ReentrantLock();
+
+        // LRU list of the segment, guarded by lock
+        LruCacheItem head;
+        LruCacheItem tail;
+
+        // written under lock, read without it by evict()
+        volatile int size;
+
+        final AtomicReferenceArray<LruCacheItem> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        final AtomicLong reads = new AtomicLong();
+
+        /**
+         * @return true if the read buffer should be drained
+         */
+        boolean recordAccess(LruCacheItem item) {
+            long read = reads.getAndIncrement();
+            readBuffer.lazySet((int) (read & READ_BUFFER_MASK), item);
+            return (read % DRAIN_THRESHOLD) == DRAIN_THRESHOLD - 1;
+        }
+
+        /**
+         * Moves the recorded items to the head of the LRU list. Called with the lock held.
+         */
+        void drainReadBuffer() {
+            for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+                LruCacheItem item = readBuffer.getAndSet(i, null);
+                if (item != null && !item.isTrimmed() && isLinked(item) && item != head) {
+                    unlink(item);
+                    link(item);
+                }
+            }
+        }
+
+        boolean isLinked(LruCacheItem item) {
+            return item == head || item.getLPrev() != null;
+        }
+
+        void link(LruCacheItem item) {
+            item.setLPrev(null);
+            item.setLNext(head);
+            if (head != null) {
+                head.setLPrev(item);
+            } else {
+                tail = item;
+            }
+            head = item;
+            size++;
+        }
+
+        void unlink(LruCacheItem item) {
+            if (!isLinked(item)) {
+                return;
+            }
+            LruCacheItem prev = item.getLPrev();
+            LruCacheItem next = item.getLNext();
+            if (prev != null) {
+                prev.setLNext(next);
+            } else {
+                head = next;
+            }
+            if (next != null) {
+                next.setLPrev(prev);
+            } else {
+                tail = prev;
+            }
+            item.setLPrev(null);
+            item.setLNext(null);
+            size--;
+        }
+    }
+}
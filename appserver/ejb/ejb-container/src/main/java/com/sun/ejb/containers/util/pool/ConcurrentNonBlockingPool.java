@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.containers.EJBContextImpl;
+import com.sun.ejb.containers.EjbContainerUtilImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.sun.enterprise.util.Utility.setContextClassLoader;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+/**
+ * <p>
+ * Lock-free variant of the {@link NonBlockingPool}.
+ *
+ * <p>
+ * The available objects are kept in a {@link ConcurrentLinkedDeque} used as a stack: the most recently returned
+ * (cache-warm) object is handed out first, while the resizer removes idle objects from the other end. Neither
+ * {@link #getObject(Object)} nor {@link #returnObject(Object)} takes a monitor, so the pool does not serialize
+ * concurrent invocations of the same stateless bean or MDB.
+ *
+ * <p>
+ * The steady and max pool size semantics are the same as in the {@link NonBlockingPool}: objects are created on demand
+ * when the pool is empty, objects returned to a full pool are destroyed, and the resizer (running on the same
+ * timer as in the {@link NonBlockingPool}) removes idle objects above the steady pool size and refills the pool up
+ * to the steady pool size. The singleton bean pool is not supported, use the {@link NonBlockingPool} for it.
+ */
+public class ConcurrentNonBlockingPool extends NonBlockingPool {
+
+    private final String poolName;
+
+    private final ConcurrentLinkedDeque<Object> availableObjects = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger availableCount = new AtomicInteger();
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger destroyed = new AtomicInteger();
+    private final AtomicInteger successes = new AtomicInteger();
+
+    private final AtomicBoolean resizeScheduled = new AtomicBoolean();
+    private final AtomicBoolean resizing = new AtomicBoolean();
+
+    private volatile boolean poolClosed;
+
+    public ConcurrentNonBlockingPool(long beanId, String poolName, ObjectFactory factory, int steadyPoolSize, int resizeQuantity,
+            int maxPoolSize, int idleTimeoutInSeconds, ClassLoader loader) {
+        super(beanId, poolName, factory, steadyPoolSize, resizeQuantity, maxPoolSize, idleTimeoutInSeconds, loader, false);
+        this.poolName = poolName;
+    }
+
+    @Override
+    public Object getObject(Object param) {
+        Object pooledObject = availableObjects.pollLast();
+        if (pooledObject != null) {
+            int remaining = availableCount.decrementAndGet();
+            successes.incrementAndGet();
+            if (remaining < steadyPoolSize) {
+                scheduleResize();
+            }
+            return pooledObject;
+        }
+
+        scheduleResize();
+        poolProbeNotifier.ejbObjectAddedEvent(beanId, appName, modName, ejbName);
+        created.incrementAndGet();
+        try {
+            return pooledObjectFactory.create(param);
+        } catch (RuntimeException th) {
+            poolProbeNotifier.ejbObjectAddFailedEvent(beanId, appName, modName, ejbName);
+            created.decrementAndGet();
+            throw th;
+        }
+    }
+
+    @Override
+    public void returnObject(Object object) {
+        if (!poolClosed) {
+            if (availableCount.incrementAndGet() <= maxPoolSize) {
+                availableObjects.offerLast(object);
+                return;
+            }
+            availableCount.decrementAndGet();
+        }
+
+        poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+        destroyed.incrementAndGet();
+        try {
+            pooledObjectFactory.destroy(object);
+        } catch (Exception ex) {
+            _logger.log(FINE, "exception in returnObj", ex);
+        }
+    }
+
+    @Override
+    public void destroyObject(Object object) {
+        poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+        destroyed.incrementAndGet();
+        try {
+            pooledObjectFactory.destroy(object);
+        } catch (Exception ex) {
+            _logger.log(FINE, "exception in destroyObject", ex);
+        }
+    }
+
+    @Override
+    protected void preload(int count) {
+        List<Object> newInstances = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                newInstances.add(pooledObjectFactory.create(null));
+            }
+        } catch (Exception ex) {
+            // Need not throw this exception up since we are pre-populating
+        }
+
+        created.addAndGet(newInstances.size());
+        for (Object newInstance : newInstances) {
+            if (!poolClosed && availableCount.incrementAndGet() <= maxPoolSize) {
+                availableObjects.offerLast(newInstance);
+            } else {
+                if (!poolClosed) {
+                    availableCount.decrementAndGet();
+                }
+                destroyObject(newInstance);
+            }
+        }
+    }
+
+    @Override
+    protected void remove(int count) {
+        for (int i = 0; i < count; i++) {
+            Object pooledObject = availableObjects.pollFirst();
+            if (pooledObject == null) {
+                return;
+            }
+            availableCount.decrementAndGet();
+            destroyObject(pooledObject);
+        }
+    }
+
+    @Override
+    public void close() {
+        poolClosed = true;
+        _logger.log(FINE, () -> "[Pool-" + poolName + "]: Destroying " + availableCount.get() + " beans from the pool...");
+
+        // Since we're calling into EJB code, we need to set context class loader
+        ClassLoader origLoader = setContextClassLoader(containerClassLoader);
+        try {
+            Object pooledObject;
+            while ((pooledObject = availableObjects.pollLast()) != null) {
+                availableCount.decrementAndGet();
+                try {
+                    destroyObject(pooledObject);
+                } catch (Throwable th) {
+                    _logger.log(WARNING, "[Pool-" + poolName + "]: Error while destroying", th);
+                }
+            }
+        } finally {
+            setContextClassLoader(origLoader);
+        }
+        super.close();
+    }
+
+    @Override
+    protected void doResize() {
+        if (poolClosed || !resizing.compareAndSet(false, true)) {
+            return;
+        }
+
+        ClassLoader previousClassLoader = setContextClassLoader(containerClassLoader);
+        try {
+            int curSize = availableCount.get();
+            if (curSize > steadyPoolSize) {
+                if (idleTimeoutInSeconds <= 0 || resizeQuantity <= 0) {
+                    return;
+                }
+                int victimCount = Math.min(resizeQuantity, curSize - steadyPoolSize);
+                long allowedIdleTime = System.currentTimeMillis() - idleTimeoutInSeconds * 1000L;
+                _logger.log(FINE, () -> "[Pool-" + poolName + "]: Resize:: reducing pool size by: " + victimCount);
+
+                // the oldest objects are at the head of the deque
+                for (int i = 0; i < victimCount; i++) {
+                    Object pooledObject = availableObjects.pollFirst();
+                    if (pooledObject == null) {
+                        break;
+                    }
+                    if (((EJBContextImpl) pooledObject).getLastTimeUsed() > allowedIdleTime) {
+                        availableObjects.offerFirst(pooledObject);
+                        break;
+                    }
+                    availableCount.decrementAndGet();
+                    destroyObject(pooledObject);
+                }
+            } else if (curSize < steadyPoolSize) {
+                int populateCount = steadyPoolSize - curSize;
+                if (resizeQuantity > 0) {
+                    populateCount = ((populateCount + resizeQuantity - 1) / resizeQuantity) * resizeQuantity;
+                }
+                populateCount = Math.min(populateCount, maxPoolSize - curSize);
+                if (populateCount > 0) {
+                    preload(populateCount);
+                }
+            }
+        } catch (Throwable th) {
+            _logger.log(WARNING, "[Pool-" + poolName + "]: Exception during reSize", th);
+        } finally {
+            resizing.set(false);
+            setContextClassLoader(previousClassLoader);
+        }
+
+        _logger.log(FINE, () -> "[Pool-" + poolName + "]: Resize completed; after reSize: " + getAllAttrValues());
+    }
+
+    private void scheduleResize() {
+        if (steadyPoolSize <= 0 || poolClosed || !resizeScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            EjbContainerUtilImpl.getInstance().addWork(() -> {
+                try {
+                    doResize();
+                } finally {
+                    resizeScheduled.set(false);
+                }
+            });
+        } catch (Exception ex) {
+            resizeScheduled.set(false);
+            _logger.log(WARNING, ex, () -> "[Pool-" + poolName + "]: Cannot perform pool resize task");
+        }
+    }
+
+    /**************** For Monitoring ***********************/
+    /*******************************************************/
+
+    @Override
+    public int getCreatedCount() {
+        return created.get();
+    }
+
+    @Override
+    public int getDestroyedCount() {
+        return destroyed.get();
+    }
+
+    @Override
+    public int getPoolSuccess() {
+        return successes.get();
+    }
+
+    @Override
+    public int getSize() {
+        return availableCount.get();
+    }
+
+    @Override
+    public int getNumBeansInPool() {
+        return availableCount.get();
+    }
+
+    @Override
+    public int getTotalBeansCreated() {
+        return created.get();
+    }
+
+    @Override
+    public int getTotalBeansDestroyed() {
+        return destroyed.get();
+    }
+
+    @Override
+    public void appendStats(StringBuffer sbuf) {
+        sbuf.append("[Pool: ")
+            .append("SZ=").append(availableCount.get()).append("; ")
+            .append("CC=").append(created.get()).append("; ")
+            .append("DC=").append(destroyed.get()).append("; ")
+            .append("WC=0; ")
+            .append("MSG=0");
+
+        if (configData != null) {
+            sbuf.append(configData);
+        }
+
+        sbuf.append("]");
+    }
+
+    @Override
+    public String getAllMonitoredAttrbuteValues() {
+        StringBuffer sbuf = new StringBuffer();
+        sbuf.append("createdCount=").append(created.get()).append(";")
+            .append("destroyedCount=").append(destroyed.get()).append(";")
+            .append("waitCount=0;")
+            .append("size=").append(availableCount.get()).append(";")
+            .append("maxPoolSize=").append(maxPoolSize).append(";");
+        return sbuf.toString();
+    }
+
+    @Override
+    public String getAllAttrValues() {
+        StringBuffer sbuf = new StringBuffer("[Pool-" + poolName + "] ");
+        sbuf.append("CC=").append(created.get()).append("; ").append("DC=").append(destroyed.get()).append("; ").append("CS=")
+                .append(availableCount.get()).append("; ").append("SS=").append(steadyPoolSize).append("; ").append("MS=")
+                .append(maxPoolSize).append(";");
+        return sbuf.toString();
+    }
+}
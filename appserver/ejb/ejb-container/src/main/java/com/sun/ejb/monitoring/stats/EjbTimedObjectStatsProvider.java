@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,6 +17,7 @@
 
 package com.sun.ejb.monitoring.stats;
 
+import com.sun.ejb.containers.EJBTimerService;
 import com.sun.ejb.containers.EjbContainerUtilImpl;
 
 import java.util.logging.Logger;
@@ -48,6 +50,15 @@ public class EjbTimedObjectStatsProvider {
     private CountStatisticImpl timerDeliveredStat = new CountStatisticImpl("NumTimersDelivered",
             "count", "Number of timers delivered by the system");
 
+    private CountStatisticImpl timerPendingStat = new CountStatisticImpl("NumTimersPending",
+            "count", "Number of timer expirations waiting on the timer wheel");
+
+    private CountStatisticImpl averageLagStat = new CountStatisticImpl("AverageDeliveryLag",
+            "milliseconds", "Average delay of timer expirations dispatched by the timer wheel");
+
+    private CountStatisticImpl maxLagStat = new CountStatisticImpl("MaxDeliveryLag",
+            "milliseconds", "Maximal delay of timer expirations dispatched by the timer wheel");
+
     private static final Logger _logger = EjbContainerUtilImpl.getLogger();
 
     private String appName = null;
@@ -113,4 +124,33 @@ public class EjbTimedObjectStatsProvider {
     public CountStatistic getNumTimersDelivered() {
         return timerDeliveredStat;
     }
+
+    @ManagedAttribute(id="numtimerspending")
+    @Description( "Number of timer expirations waiting on the timer wheel")
+    public CountStatistic getNumTimersPending() {
+        EJBTimerService timerService = getTimerService();
+        timerPendingStat.setCount(timerService != null ? timerService.getPendingExpirationCount() : 0);
+        return timerPendingStat;
+    }
+
+    @ManagedAttribute(id="averagedeliverylag")
+    @Description( "Average delay of timer expirations dispatched by the timer wheel")
+    public CountStatistic getAverageDeliveryLag() {
+        EJBTimerService timerService = getTimerService();
+        averageLagStat.setCount(timerService != null ? timerService.getAverageExpirationLagMillis() : 0);
+        return averageLagStat;
+    }
+
+    @ManagedAttribute(id="maxdeliverylag")
+    @Description( "Maximal delay of timer expirations dispatched by the timer wheel")
+    public CountStatistic getMaxDeliveryLag() {
+        EJBTimerService timerService = getTimerService();
+        maxLagStat.setCount(timerService != null ? timerService.getMaxExpirationLagMillis() : 0);
+        return maxLagStat;
+    }
+
+    // reading the statistics must not start the timer service
+    private static EJBTimerService getTimerService() {
+        return EJBTimerService.isEJBTimerServiceLoaded() ? EJBTimerService.getEJBTimerService() : null;
+    }
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,13 +18,16 @@
 package com.sun.ejb.monitoring.stats;
 
 import com.sun.ejb.containers.StatefulSessionContainer;
+import com.sun.ejb.containers.util.LatencyHistogram;
 
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.glassfish.external.probe.provider.annotations.ProbeListener;
 import org.glassfish.external.probe.provider.annotations.ProbeParam;
 import org.glassfish.external.statistics.RangeStatistic;
+import org.glassfish.external.statistics.StringStatistic;
 import org.glassfish.external.statistics.impl.BoundedRangeStatisticImpl;
+import org.glassfish.external.statistics.impl.StringStatisticImpl;
 import org.glassfish.gmbal.AMXMetadata;
 import org.glassfish.gmbal.Description;
 import org.glassfish.gmbal.ManagedAttribute;
@@ -41,6 +45,11 @@ public class StatefulSessionBeanStatsProvider extends EjbMonitoringStatsProvider
     private BoundedRangeStatisticImpl methodReadyStat = null;
     private BoundedRangeStatisticImpl passiveCount = null;
 
+    private final StringStatisticImpl passivationLatencyStat = new StringStatisticImpl(
+            "PassivationLatency", "String",
+            "Distribution of the time needed to passivate a stateful session bean");
+    private final LatencyHistogram passivationLatency;
+
     private AtomicLong methodReadyCount = new AtomicLong();
     private AtomicLong passivations = new AtomicLong();
 
@@ -49,6 +58,8 @@ public class StatefulSessionBeanStatsProvider extends EjbMonitoringStatsProvider
 
         super(beanId, appName, moduleName, beanName);
 
+        passivationLatency = delegate.getPassivationLatency();
+
         long now = System.currentTimeMillis();
 
         methodReadyStat = new BoundedRangeStatisticImpl(
@@ -76,6 +87,17 @@ public class StatefulSessionBeanStatsProvider extends EjbMonitoringStatsProvider
         return passiveCount;
     }
 
+    @ManagedAttribute(id="passivationlatency")
+    @Description( "Distribution of the time needed to passivate a stateful session bean")
+    public StringStatistic getPassivationLatency() {
+        passivationLatencyStat.setCurrent("count=" + passivationLatency.getCount()
+            + "; p50=" + passivationLatency.getPercentileMillis(50) + "ms"
+            + "; p99=" + passivationLatency.getPercentileMillis(99) + "ms"
+            + "; max=" + passivationLatency.getMaxMillis() + "ms"
+            + "; buckets=" + passivationLatency);
+        return passivationLatencyStat;
+    }
+
     @ProbeListener("glassfish:ejb:bean:methodReadyAddEvent")
     public void methodReadyAddEvent(
             @ProbeParam("beanId") long beanId,
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EJBTimerWheelTest {
+
+    private EJBTimerWheel wheel;
+
+    @BeforeEach
+    public void startWheel() {
+        // small wheel, so that the 600 ms timer needs more rounds
+        wheel = new EJBTimerWheel(10L, 8);
+    }
+
+    @AfterEach
+    public void stopWheel() {
+        wheel.stop();
+    }
+
+    @Test
+    public void expiresInOrderAndNotEarly() throws Exception {
+        List<String> expired = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(3);
+        long start = System.currentTimeMillis();
+        wheel.schedule(new RecordingTask(new Date(start + 600L), "C", expired, latch), new Date(start + 600L), 1L);
+        wheel.schedule(new RecordingTask(new Date(start + 50L), "A", expired, latch), new Date(start + 50L), 1L);
+        wheel.schedule(new RecordingTask(new Date(start + 200L), "B", expired, latch), new Date(start + 200L), 2L);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertThat(System.currentTimeMillis() - start, greaterThanOrEqualTo(600L));
+        assertThat(expired, contains("A", "B", "C"));
+        assertThat(wheel.getExpiredCount(), is(3L));
+        assertThat(wheel.getPendingCount(), is(0L));
+    }
+
+    @Test
+    public void cancelledTaskIsNotDelivered() throws Exception {
+        List<String> expired = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.currentTimeMillis();
+        RecordingTask cancelled = new RecordingTask(new Date(start + 100L), "X", expired, latch);
+        wheel.schedule(cancelled, new Date(start + 100L), 1L);
+        wheel.schedule(new RecordingTask(new Date(start + 300L), "Y", expired, latch), new Date(start + 300L), 1L);
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertThat(expired, contains("Y"));
+        assertThat(wheel.getPendingCount(), is(0L));
+    }
+
+    @Test
+    public void pastExpirationIsDeliveredOnNextTick() throws Exception {
+        List<String> expired = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+        Date past = new Date(System.currentTimeMillis() - 1000L);
+        wheel.schedule(new RecordingTask(past, "P", expired, latch), past, 1L);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertThat(expired, contains("P"));
+        assertThat(wheel.getMaxLagMillis(), greaterThanOrEqualTo(1000L));
+    }
+
+    @Test
+    public void dueExpirationsAreInterleavedPerApplication() throws Exception {
+        List<String> expired = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(4);
+        Date expiration = new Date(System.currentTimeMillis() + 50L);
+        wheel.schedule(new RecordingTask(expiration, "A1", expired, latch), expiration, 1L);
+        wheel.schedule(new RecordingTask(expiration, "A2", expired, latch), expiration, 1L);
+        wheel.schedule(new RecordingTask(expiration, "A3", expired, latch), expiration, 1L);
+        wheel.schedule(new RecordingTask(expiration, "B1", expired, latch), expiration, 2L);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertThat(expired, contains("A1", "B1", "A2", "A3"));
+    }
+
+    private static class RecordingTask extends EJBTimerTask {
+
+        private final String name;
+        private final List<String> expired;
+        private final CountDownLatch latch;
+
+        RecordingTask(Date timeout, String name, List<String> expired, CountDownLatch latch) {
+            super(timeout, new TimerPrimaryKey(name), null);
+            this.name = name;
+            this.expired = expired;
+            this.latch = latch;
+        }
+
+        @Override
+        public void run() {
+            expired.add(name);
+            latch.countDown();
+        }
+    }
+}
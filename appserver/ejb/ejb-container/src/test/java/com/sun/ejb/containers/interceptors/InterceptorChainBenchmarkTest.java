@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.interceptors;
+
+import jakarta.interceptor.InvocationContext;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the around invoke chains calling the interceptor and bean methods with
+ * method handles, and compares them with the chains calling them by reflection.
+ */
+public class InterceptorChainBenchmarkTest {
+
+    private static final Method ECHO = getEcho();
+
+    @Test
+    public void interceptorsAndBeanMethodAreCalledInOrder() throws Throwable {
+        Bean bean = new Bean();
+        AroundInvokeChainImpl chain = createChain(3, true);
+        assertThat(chain.interceptors[1].handle, notNullValue());
+        assertThat(chain.getBeanMethodHandle(), notNullValue());
+
+        Object result = invoke(chain, bean, "a");
+        assertThat(result, is("A"));
+        assertThat(bean.trace, contains("interceptor0", "interceptor1", "bean", "echo(a)"));
+    }
+
+    @Test
+    public void exceptionsAreNotWrapped() throws Throwable {
+        Bean bean = new Bean();
+        AroundInvokeChainImpl chain = createChain(2, true);
+        IOException e = assertThrows(IOException.class, () -> invoke(chain, bean, null));
+        assertThat(e.getMessage(), is("no value"));
+        // seen as is by the interceptors
+        assertThat(bean.trace, contains("interceptor0", "bean", "echo(null)", "failed: no value", "failed: no value"));
+    }
+
+    @Test
+    public void parametersSetByAnInterceptorArePassed() throws Throwable {
+        Bean bean = new Bean();
+        bean.replacement = "b";
+        Object result = invoke(createChain(1, true), bean, "a");
+        assertThat(result, is("B"));
+        assertThat(bean.trace, contains("bean", "echo(b)"));
+    }
+
+    @Test
+    public void emptyChainCallsBeanMethod() throws Throwable {
+        Bean bean = new Bean();
+        AroundInvokeChainImpl chain = createChain(0, true);
+        assertThat(chain.isEmpty(), is(true));
+        assertThat(invoke(chain, bean, "a"), is("A"));
+        assertThat(bean.trace, contains("echo(a)"));
+    }
+
+
+    @Test
+    public void invoke_benchmark() throws Exception {
+        Options options = new OptionsBuilder().include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(200L))
+            .measurementIterations(1).measurementTime(TimeValue.milliseconds(500L))
+            .forks(1).shouldFailOnError(true)
+            .timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.NANOSECONDS).mode(Mode.AverageTime)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(4));
+    }
+
+
+    @Benchmark
+    public Object invoke(ChainState state) throws Throwable {
+        AroundInvokeInvocationContext context = new AroundInvokeInvocationContext(state.bean, state.interceptorInstances,
+            state.chain, ECHO, new Object[] {"a"});
+        return state.chain.invokeNext(0, context);
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class ChainState {
+
+        @Param({"reflection", "method-handle"})
+        public String dispatch;
+
+        @Param({"0", "3"})
+        public int interceptors;
+
+        AroundInvokeChainImpl chain;
+
+        Bean bean = new Bean();
+
+        Object[] interceptorInstances = {new FirstInterceptor(), new SecondInterceptor()};
+
+        @Setup
+        public void createChain() throws Exception {
+            chain = InterceptorChainBenchmarkTest.createChain(interceptors, "method-handle".equals(dispatch));
+            bean.trace = null;
+        }
+    }
+
+
+    private static Object invoke(AroundInvokeChainImpl chain, Bean bean, String value) throws Throwable {
+        Object[] interceptorInstances = {new FirstInterceptor(), new SecondInterceptor()};
+        AroundInvokeInvocationContext context = new AroundInvokeInvocationContext(bean, interceptorInstances, chain, ECHO,
+            new Object[] {value});
+        return chain.invokeNext(0, context);
+    }
+
+    /**
+     * Creates the chain of a bean method, with interceptors of two classes
+     * then of the bean class.
+     */
+    private static AroundInvokeChainImpl createChain(int interceptorCount, boolean methodHandles) throws Exception {
+        List<AroundInvokeInterceptor> interceptors = new ArrayList<>();
+        for (int i = 0; i < interceptorCount; i++) {
+            AroundInvokeInterceptor interceptor;
+            if (i == interceptorCount - 1) {
+                interceptor = new BeanAroundInvokeInterceptor(Bean.class.getDeclaredMethod("aroundInvoke", InvocationContext.class));
+            } else if (i % 2 == 0) {
+                interceptor = new AroundInvokeInterceptor(0, FirstInterceptor.class.getDeclaredMethod("intercept", InvocationContext.class));
+            } else {
+                interceptor = new AroundInvokeInterceptor(1, SecondInterceptor.class.getDeclaredMethod("intercept", InvocationContext.class));
+            }
+            if (!methodHandles) {
+                interceptor.handle = null;
+            }
+            interceptors.add(interceptor);
+        }
+        AroundInvokeInterceptor[] array = interceptors.toArray(new AroundInvokeInterceptor[0]);
+        if (!methodHandles) {
+            // the context calls the bean method by reflection when the chain has not its handle
+            return new AroundInvokeChainImpl(array);
+        }
+        return new AroundInvokeChainImpl(array, Bean.class, ECHO);
+    }
+
+    private static Method getEcho() {
+        try {
+            return Bean.class.getMethod("echo", String.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void trace(InvocationContext context, String name) {
+        List<String> trace = ((Bean) context.getTarget()).trace;
+        if (trace != null) {
+            trace.add(name);
+        }
+    }
+
+
+    public static class FirstInterceptor {
+
+        public Object intercept(InvocationContext context) throws Exception {
+            trace(context, "interceptor0");
+            try {
+                return context.proceed();
+            } catch (IOException e) {
+                trace(context, "failed: " + e.getMessage());
+                throw e;
+            }
+        }
+    }
+
+    public static class SecondInterceptor {
+
+        // not public, called through the accessible method
+        private Object intercept(InvocationContext context) throws Exception {
+            trace(context, "interceptor1");
+            return context.proceed();
+        }
+    }
+
+    public static class Bean {
+
+        List<String> trace = new ArrayList<>();
+
+        String replacement;
+
+        public String echo(String value) throws IOException {
+            if (trace != null) {
+                trace.add("echo(" + value + ")");
+            }
+            if (value == null) {
+                throw new IOException("no value");
+            }
+            return value.toUpperCase();
+        }
+
+        Object aroundInvoke(InvocationContext context) throws Exception {
+            trace(context, "bean");
+            if (replacement != null) {
+                context.setParameters(new Object[] {replacement});
+            }
+            try {
+                return context.proceed();
+            } catch (IOException e) {
+                trace(context, "failed: " + e.getMessage());
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketsAndPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 98; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(300));
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(5));
+        histogram.record(TimeUnit.SECONDS.toNanos(60));
+
+        long[] counts = histogram.getBucketCounts();
+        assertThat(counts[0], is(98L));
+        assertThat(counts[3], is(1L));
+        assertThat(counts[LatencyHistogram.BUCKET_COUNT - 1], is(1L));
+        assertThat(histogram.getCount(), is(100L));
+        assertThat(histogram.getMaxMillis(), is(60_000L));
+
+        assertThat(histogram.getPercentileMillis(50), is(1L));
+        assertThat(histogram.getPercentileMillis(99), is(8L));
+        assertThat(histogram.getPercentileMillis(100), is(60_000L));
+        assertThat(histogram.toString(), is("[<1ms:98, <8ms:1, >=16384ms:1]"));
+    }
+
+    @Test
+    public void empty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getPercentileMillis(99), is(-1L));
+        assertThat(histogram.toString(), is("[]"));
+    }
+}
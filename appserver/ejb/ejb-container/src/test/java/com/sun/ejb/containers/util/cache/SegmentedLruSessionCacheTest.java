@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.cache;
+
+import com.sun.appserv.util.cache.Constants;
+import com.sun.ejb.spi.container.SFSBContainerCallback;
+import com.sun.ejb.spi.container.StatefulEJBContext;
+
+import jakarta.ejb.SessionContext;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+
+public class SegmentedLruSessionCacheTest {
+
+    private final List<Object> passivated = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void overflowSelectsVictims() {
+        SegmentedLruSessionCache cache = createCache(64);
+        List<Object> victims = new ArrayList<>();
+        cache.addCacheListener((key, value) -> victims.add(key));
+
+        for (int i = 0; i < 200; i++) {
+            cache.put("key" + i, new Context(System.currentTimeMillis()));
+        }
+
+        // the threshold is exceeded by one entry before a victim is selected
+        assertThat((Integer) cache.getStatByName(Constants.STAT_LRUCACHE_LIST_LENGTH), lessThanOrEqualTo(64 + 2));
+        assertThat(victims, not(empty()));
+        assertThat(cache.getStatByName(Constants.STAT_LRUCACHE_TRIM_COUNT), is(victims.size()));
+        assertThat(victims, not(hasItem("key199")));
+    }
+
+    @Test
+    public void accessedItemIsNotTheNextVictim() {
+        SegmentedLruSessionCache cache = createCache(64);
+        List<Object> victims = new ArrayList<>();
+        cache.addCacheListener((key, value) -> victims.add(key));
+
+        for (int i = 0; i < 40; i++) {
+            cache.put("key" + i, new Context(System.currentTimeMillis()));
+        }
+        // enough accesses to drain every read buffer
+        for (int i = 0; i < 64; i++) {
+            cache.get("key0");
+        }
+        for (int i = 40; i < 80; i++) {
+            cache.put("key" + i, new Context(System.currentTimeMillis()));
+        }
+
+        assertThat(victims, not(empty()));
+        assertThat(victims, not(hasItem("key0")));
+    }
+
+    @Test
+    public void idleBeansAreTrimmed() {
+        SegmentedLruSessionCache cache = createCache(64);
+        List<Object> victims = new ArrayList<>();
+        cache.addCacheListener((key, value) -> victims.add(key));
+
+        long idle = System.currentTimeMillis() - 60_000L;
+        for (int i = 0; i < 10; i++) {
+            cache.put("idle" + i, new Context(idle));
+        }
+        for (int i = 0; i < 10; i++) {
+            cache.put("busy" + i, new Context(System.currentTimeMillis()));
+        }
+
+        cache.trimTimedoutItems(Integer.MAX_VALUE);
+
+        assertThat(victims, hasSize(10));
+        for (Object victim : victims) {
+            assertThat(victim.toString().startsWith("idle"), is(true));
+        }
+        int remaining = 0;
+        for (Iterator<?> values = cache.values(); values.hasNext(); values.next()) {
+            remaining++;
+        }
+        assertThat(remaining, is(10));
+    }
+
+    @Test
+    public void shutdownPassivatesAll() {
+        SegmentedLruSessionCache cache = createCache(64);
+        for (int i = 0; i < 20; i++) {
+            cache.put("key" + i, new Context(System.currentTimeMillis()));
+        }
+        cache.shutdown();
+        assertThat(passivated, hasSize(20));
+    }
+
+    private SegmentedLruSessionCache createCache(int maxEntries) {
+        SFSBContainerCallback container = (SFSBContainerCallback) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {SFSBContainerCallback.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "passivateEJB":
+                        passivated.add(args[0]);
+                        return true;
+                    case "getPassivationBatchCount":
+                        return 8;
+                    case "isPassivationCapable":
+                        return true;
+                    default:
+                        return null;
+                }
+            });
+        // 30 seconds idle timeout
+        SegmentedLruSessionCache cache = new SegmentedLruSessionCache("test", container, 30, 0);
+        cache.init(maxEntries, 1.0f, null);
+        return cache;
+    }
+
+    private static final class Context implements StatefulEJBContext {
+
+        private final long lastAccessTime;
+
+        Context(long lastAccessTime) {
+            this.lastAccessTime = lastAccessTime;
+        }
+
+        @Override
+        public long getLastAccessTime() {
+            return lastAccessTime;
+        }
+
+        @Override
+        public boolean canBePassivated() {
+            return true;
+        }
+
+        @Override
+        public SessionContext getSessionContext() {
+            return null;
+        }
+
+        @Override
+        public boolean existsInStore() {
+            return false;
+        }
+
+        @Override
+        public void setExistsInStore(boolean val) {
+        }
+
+        @Override
+        public long getVersion() {
+            return 0;
+        }
+
+        @Override
+        public long incrementAndGetVersion() {
+            return 0;
+        }
+
+        @Override
+        public void setVersion(long versionInBackingStore) {
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.monitoring.probes.EjbPoolProbeProvider;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Compares the {@link NonBlockingPool} and the {@link ConcurrentNonBlockingPool} when many threads
+ * invoke the same stateless bean: each invocation takes a bean from the pool and returns it back.
+ */
+public class BeanPoolBenchmarkTest {
+
+    private static final int MAX_POOL_SIZE = 32;
+
+    @Test
+    public void concurrentPool_sizeLimits() throws Exception {
+        AtomicInteger destroyed = new AtomicInteger();
+        ConcurrentNonBlockingPool pool = createConcurrentPool(destroyed);
+
+        Object[] beans = new Object[MAX_POOL_SIZE + 1];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.getObject(null);
+        }
+        assertThat(pool.getCreatedCount(), is(MAX_POOL_SIZE + 1));
+        for (Object bean : beans) {
+            pool.returnObject(bean);
+        }
+        assertThat(pool.getSize(), is(MAX_POOL_SIZE));
+        assertThat(destroyed.get(), is(1));
+        assertThat(pool.getObject(null), sameInstance(beans[MAX_POOL_SIZE - 1]));
+
+        pool.close();
+        assertThat(destroyed.get(), is(MAX_POOL_SIZE));
+    }
+
+
+    @Test
+    public void concurrentPool_removeTrimsIdleEnd() throws Exception {
+        AtomicInteger destroyed = new AtomicInteger();
+        ConcurrentNonBlockingPool pool = createConcurrentPool(destroyed);
+
+        Object[] beans = new Object[4];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.getObject(null);
+        }
+        for (Object bean : beans) {
+            pool.returnObject(bean);
+        }
+        pool.remove(2);
+        assertThat(destroyed.get(), is(2));
+        assertThat(pool.getSize(), is(2));
+        assertThat(pool.getObject(null), sameInstance(beans[3]));
+        assertThat(pool.getObject(null), sameInstance(beans[2]));
+
+        pool.close();
+    }
+
+
+    @Test
+    public void getAndReturn_benchmark() throws Exception {
+        Options options = new OptionsBuilder().include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(200L))
+            .measurementIterations(1).measurementTime(TimeValue.milliseconds(500L))
+            .forks(1).threads(64).shouldFailOnError(true)
+            .timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS).mode(Mode.Throughput)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+    }
+
+
+    @Benchmark
+    public void getAndReturn(PoolState state, Blackhole blackhole) throws Exception {
+        Object bean = state.pool.getObject(null);
+        blackhole.consume(bean);
+        state.pool.returnObject(bean);
+    }
+
+
+    private static ConcurrentNonBlockingPool createConcurrentPool(AtomicInteger destroyed) {
+        ConcurrentNonBlockingPool pool = new ConcurrentNonBlockingPool(1L, "benchmark", new BeanFactory(destroyed), 0, 0,
+            MAX_POOL_SIZE, 0, BeanPoolBenchmarkTest.class.getClassLoader());
+        pool.poolProbeNotifier = new EjbPoolProbeProvider();
+        return pool;
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class PoolState {
+
+        @Param({"NonBlockingPool", "ConcurrentNonBlockingPool"})
+        public String poolType;
+
+        AbstractPool pool;
+
+        @Setup
+        public void createPool() {
+            if ("ConcurrentNonBlockingPool".equals(poolType)) {
+                pool = createConcurrentPool(new AtomicInteger());
+            } else {
+                pool = new NonBlockingPool(1L, "benchmark", new BeanFactory(new AtomicInteger()), 0, 0, MAX_POOL_SIZE, 0,
+                    BeanPoolBenchmarkTest.class.getClassLoader());
+                pool.poolProbeNotifier = new EjbPoolProbeProvider();
+            }
+        }
+
+        @TearDown
+        public void closePool() {
+            pool.close();
+        }
+    }
+
+
+    private static class BeanFactory implements ObjectFactory {
+
+        private final AtomicInteger destroyed;
+
+        BeanFactory(AtomicInteger destroyed) {
+            this.destroyed = destroyed;
+        }
+
+        @Override
+        public Object create(Object param) {
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object object) {
+            destroyed.incrementAndGet();
+        }
+    }
+}
@@ -32,6 +32,7 @@ import com.sun.ejb.containers.EJBTimerService;
 import com.sun.ejb.containers.EjbContainerUtilImpl;
 import com.sun.ejb.containers.RuntimeTimerState;
 import com.sun.ejb.containers.util.pool.AbstractPool;
+import com.sun.ejb.containers.util.pool.ConcurrentNonBlockingPool;
 import com.sun.ejb.containers.util.pool.NonBlockingPool;
 import com.sun.ejb.containers.util.pool.ObjectFactory;
 import com.sun.ejb.monitoring.stats.EjbMonitoringStatsProvider;
@@ -356,17 +357,34 @@ public final class MessageBeanContainer extends BaseContainer implements Message
         // The protocol manager implementation enforces a limit
         // on message bean resources independent of the pool.
 
-        messageBeanPool =
-            new NonBlockingPool(
-                getContainerId(),
-                appEJBName_,
-                new MessageBeanContextFactory(),
-                beanPoolDescriptor.getSteadyPoolSize(),
-                beanPoolDescriptor.getPoolResizeQuantity(),
-                beanPoolDescriptor.getMaxPoolSize(),
-                beanPoolDescriptor.getPoolIdleTimeoutInSeconds(),
-                loader,
-                Boolean.parseBoolean(descriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP)));
+        boolean singletonBeanPool =
+            Boolean.parseBoolean(descriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP));
+        boolean concurrentBeanPool =
+            Boolean.parseBoolean(descriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(CONCURRENT_BEAN_POOL_PROP));
+        if (concurrentBeanPool && !singletonBeanPool) {
+            messageBeanPool =
+                new ConcurrentNonBlockingPool(
+                    getContainerId(),
+                    appEJBName_,
+                    new MessageBeanContextFactory(),
+                    beanPoolDescriptor.getSteadyPoolSize(),
+                    beanPoolDescriptor.getPoolResizeQuantity(),
+                    beanPoolDescriptor.getMaxPoolSize(),
+                    beanPoolDescriptor.getPoolIdleTimeoutInSeconds(),
+                    loader);
+        } else {
+            messageBeanPool =
+                new NonBlockingPool(
+                    getContainerId(),
+                    appEJBName_,
+                    new MessageBeanContextFactory(),
+                    beanPoolDescriptor.getSteadyPoolSize(),
+                    beanPoolDescriptor.getPoolResizeQuantity(),
+                    beanPoolDescriptor.getMaxPoolSize(),
+                    beanPoolDescriptor.getPoolIdleTimeoutInSeconds(),
+                    loader,
+                    singletonBeanPool);
+        }
     }
 
     protected static int stringToInt(String val, String appName, Logger logger) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2023, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -18,6 +18,7 @@
 package org.glassfish.ha.store.adapter.file;
 
 import java.io.Serializable;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.glassfish.ha.store.api.BackingStore;
@@ -28,19 +29,25 @@ import org.glassfish.ha.store.api.BackingStoreTransaction;
 import org.jvnet.hk2.annotations.Service;
 
 /**
+ * Creates {@link FileBackingStore}s, which keep one file per key. The {@link LogStructuredBackingStore}
+ * is created instead when the {@value #STORE_MODE} vendor specific setting or system property is {@value #LOG_MODE}.
+ *
  * @author Mahesh Kannan
  */
 @Service(name = "file")
 public class FileBackingStoreFactory
         implements BackingStoreFactory {
 
+    static final String STORE_MODE = "file.store.mode";
+    static final String LOG_MODE = "log";
+
     private static ThreadLocal<FileStoreTransaction> _current = new ThreadLocal<>();
 
-    private static ConcurrentHashMap<String, FileBackingStore> _stores
+    private static ConcurrentHashMap<String, BackingStore<?, ?>> _stores
             = new ConcurrentHashMap<>();
 
 
-    static FileBackingStore getFileBackingStore(String storeName) {
+    static BackingStore<?, ?> getFileBackingStore(String storeName) {
         return _stores.get(storeName);
     }
 
@@ -52,6 +59,13 @@ public class FileBackingStoreFactory
     public <K extends Serializable, V extends Serializable> BackingStore<K, V> createBackingStore(
             BackingStoreConfiguration<K, V> conf)
                 throws BackingStoreException {
+        if (isLogMode(conf)) {
+            LogStructuredBackingStore<K, V> ls = new LogStructuredBackingStore<>();
+            ls.initialize(conf);
+            ls.setFileBackingStoreFactory(this);
+            _stores.put(conf.getStoreName(), ls);
+            return ls;
+        }
         FileBackingStore<K, V> fs = new FileBackingStore<>();
         fs.initialize(conf);
         fs.setFileBackingStoreFactory(this);
@@ -66,6 +80,15 @@ public class FileBackingStoreFactory
         return tx;
     }
 
+    private static boolean isLogMode(BackingStoreConfiguration<?, ?> conf) {
+        Map<String, Object> vendorMap = conf.getVendorSpecificSettings();
+        Object mode = vendorMap == null ? null : vendorMap.get(STORE_MODE);
+        if (mode == null) {
+            mode = System.getProperty(STORE_MODE);
+        }
+        return LOG_MODE.equals(mode);
+    }
+
     //package
     static final FileStoreTransaction getCurrent() {
         return _current.get();
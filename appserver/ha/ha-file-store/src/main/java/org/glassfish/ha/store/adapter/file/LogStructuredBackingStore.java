@@ -0,0 +1,752 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+
+/**
+ * Log-structured variant of the {@link FileBackingStore}.
+ * <p>
+ * Instead of one file per session, all saves, removals and timestamp updates are appended
+ * to a small number of segment files, and an in-memory index maps every key to the position
+ * of its latest value. A save is one positional write to the active segment, a load is one
+ * positional read, and {@link #size()} and {@link #removeExpired()} do not touch the file system.
+ * <p>
+ * Segments holding mostly overwritten or removed values are compacted from
+ * {@link #removeExpired(long)}, which is called periodically by the containers' background reapers:
+ * the live values are copied to the active segment and the old segment file is deleted.
+ * The index is rebuilt from the segments when the store is initialized again.
+ * <p>
+ * The records are written under a single lock, so concurrent saves do not overlap: a record
+ * must be complete before the next one starts, or the recovery would stop at the gap.
+ * <p>
+ * Vendor specific settings:
+ * <ul>
+ * <li>{@value #SEGMENT_SIZE} - size in bytes after which a new segment is started, default 64 MB
+ * <li>{@value #SYNC} - true to force every write to the disk, default false
+ * <li>{@value #MMAP} - true to read the sealed segments through memory mapped buffers, default false
+ * </ul>
+ */
+public class LogStructuredBackingStore<K extends Serializable, V extends Serializable>
+        extends BackingStore<K, V> {
+
+    static final String SEGMENT_SIZE = "file.store.segment.size";
+    static final String SYNC = "file.store.sync";
+    static final String MMAP = "file.store.mmap";
+
+    private static final Level TRACE_LEVEL = Level.FINE;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte TOUCH = 3;
+
+    /** crc, type, timestamp, key length, value length */
+    private static final int HEADER_SIZE = 4 + 1 + 8 + 4 + 4;
+
+    /** Compact sealed segments with less live data than this ratio. */
+    private static final double COMPACTION_THRESHOLD = 0.5d;
+
+    protected Logger logger = Logger.getLogger(LogStructuredBackingStore.class.getName());
+
+    protected File baseDir;
+
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final Object writeLock = new Object();
+
+    private Segment activeSegment;
+    private long segmentSize = 64L * 1024L * 1024L;
+    private boolean sync;
+    private boolean mmap;
+
+    private volatile boolean shutdown;
+
+    private String debugStr;
+
+    private FileBackingStoreFactory factory;
+
+    private long defaultMaxIdleTimeoutInSeconds = 10L * 60L;
+
+    @Override
+    protected void initialize(BackingStoreConfiguration<K, V> conf)
+        throws BackingStoreException {
+
+        if (conf.getLogger() != null) {
+            logger = conf.getLogger();
+        }
+
+        super.initialize(conf);
+        debugStr = "[LogStructuredBackingStore - " + conf.getStoreName() + "] ";
+
+        baseDir = conf.getBaseDirectory();
+        if ((baseDir.mkdirs() == false) && (! baseDir.isDirectory())) {
+            throw new BackingStoreException("[LogStructuredBackingStore::initialize] Create base directory ("
+                + baseDir.getAbsolutePath() + ") failed");
+        }
+
+        Map<String, Object> vendorMap = conf.getVendorSpecificSettings();
+        if (vendorMap != null) {
+            try {
+                defaultMaxIdleTimeoutInSeconds = Long.parseLong(
+                        (String) vendorMap.get("max.idle.timeout.in.seconds"));
+            } catch (Exception ex) {
+                //Ignore. Use default
+            }
+            Object value = vendorMap.get(SEGMENT_SIZE);
+            if (value != null) {
+                segmentSize = Long.parseLong(value.toString());
+            }
+            sync = Boolean.parseBoolean(String.valueOf(vendorMap.get(SYNC)));
+            mmap = Boolean.parseBoolean(String.valueOf(vendorMap.get(MMAP)));
+        }
+
+        try {
+            recover();
+            synchronized (writeLock) {
+                startNewSegment();
+            }
+        } catch (IOException ex) {
+            throw new BackingStoreException(debugStr + "Failed to open the segments in " + baseDir, ex);
+        }
+
+        logger.log(Level.INFO, "[LogStructuredBackingStore::initialize] Successfully Created and initialized store. "
+                + "Working dir: " + baseDir + "; Recovered entries: " + index.size() + "; Configuration: " + conf);
+    }
+
+    /*package*/ void setFileBackingStoreFactory(FileBackingStoreFactory factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public BackingStoreFactory getBackingStoreFactory() {
+        return factory;
+    }
+
+    @Override
+    public V load(K key, String version) throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered load(" + key + ", " + version + ")");
+        }
+
+        byte[] data = readValue(key.toString());
+        if (data == null) {
+            return null;
+        }
+
+        try {
+            ObjectInputStream ois = super.createObjectInputStream(new ByteArrayInputStream(data));
+            @SuppressWarnings("unchecked")
+            V value = (V) ois.readObject();
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Done load(" + key + ", " + version + ")");
+            }
+            return value;
+        } catch (Exception ex) {
+            logger.log(Level.WARNING, debugStr + "Failed to load(" + key + ", " + version + ")", ex);
+            return null;
+        }
+    }
+
+    @Override
+    public String save(K sessionKey, V value, boolean isNew) throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered save(" + sessionKey + ")");
+        }
+
+        String key = sessionKey.toString();
+        byte[] data = getSerializedState(value);
+        try {
+            append(PUT, key, System.currentTimeMillis(), data, null);
+        } catch (IOException ex) {
+            throw new BackingStoreException("Could not save session: " + sessionKey, ex);
+        }
+
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done save(" + sessionKey + ")");
+        }
+        return getBackingStoreConfiguration().getInstanceName();
+    }
+
+    @Override
+    public void remove(K sessionKey) {
+        String key = sessionKey.toString();
+        if (!index.containsKey(key)) {
+            return;
+        }
+        try {
+            append(REMOVE, key, System.currentTimeMillis(), null, null);
+        } catch (IOException ex) {
+            logger.log(TRACE_LEVEL, debugStr + "Failed to remove(" + sessionKey + ")", ex);
+        }
+    }
+
+    public void updateTimeStamp(K k, String version, long timeStamp) throws BackingStoreException {
+        updateTimestamp(k, timeStamp);
+    }
+
+    @Override
+    public void updateTimestamp(K sessionKey, long time) throws BackingStoreException {
+        String key = sessionKey.toString();
+        if (!index.containsKey(key)) {
+            logger.log(Level.WARNING, debugStr + ": Cannot update timsestamp for: " + sessionKey
+                + "; Session does not exist");
+            return;
+        }
+        try {
+            append(TOUCH, key, time, null, null);
+        } catch (IOException ex) {
+            throw new BackingStoreException("Cannot update timsestamp for: " + sessionKey, ex);
+        }
+    }
+
+    @Override
+    public int removeExpired() {
+        return removeExpired(defaultMaxIdleTimeoutInSeconds * 1000L);
+    }
+
+    @Override
+    public int removeExpired(long idleForMillis) {
+        long threshold = System.currentTimeMillis() - idleForMillis;
+        int expiredSessions = 0;
+        for (Map.Entry<String, Entry> mapEntry : index.entrySet()) {
+            if (shutdown) {
+                break;
+            }
+            Entry entry = mapEntry.getValue();
+            if (entry.lastAccess < threshold) {
+                try {
+                    if (append(REMOVE, mapEntry.getKey(), System.currentTimeMillis(), null, entry)) {
+                        expiredSessions++;
+                    }
+                } catch (IOException ex) {
+                    logger.log(Level.WARNING, debugStr + " Couldn't remove expired session: " + mapEntry.getKey(), ex);
+                }
+            }
+        }
+
+        if (!shutdown) {
+            compact();
+        }
+        return expiredSessions;
+    }
+
+    @Override
+    public int size() throws BackingStoreException {
+        return index.size();
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            synchronized (writeLock) {
+                shutdown = true;
+                index.clear();
+                for (Segment segment : segments) {
+                    segment.close();
+                    Files.deleteIfExists(segment.path);
+                }
+                segments.clear();
+                activeSegment = null;
+            }
+            if (baseDir.delete() == false && baseDir.exists()) {
+                logger.log(Level.WARNING, debugStr + " destroy() failed to remove dir: " + baseDir.getAbsolutePath());
+            }
+        } catch (Throwable th) {
+            logger.log(Level.WARNING, debugStr + " destroy() failed ", th);
+        } finally {
+            FileBackingStoreFactory.removemapping(getBackingStoreConfiguration().getStoreName());
+        }
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        synchronized (writeLock) {
+            for (Segment segment : segments) {
+                try {
+                    segment.channel.force(false);
+                } catch (IOException ex) {
+                    logger.log(Level.FINE, debugStr + "Failed to flush " + segment.path, ex);
+                }
+            }
+        }
+        //DO NOT DELETE THE WORKING DIRECTORY
+    }
+
+    /**
+     * Appends the record to the active segment and updates the index.
+     *
+     * @param expected if not null, the record is written only if the index still maps the key to this entry.
+     * @return false if the record was not written.
+     */
+    private boolean append(byte type, String key, long timestamp, byte[] value, Entry expected) throws IOException {
+        ByteBuffer record = encode(type, key, timestamp, value);
+        synchronized (writeLock) {
+            if (activeSegment == null) {
+                throw new ClosedChannelException();
+            }
+            Entry current = index.get(key);
+            if (expected != null && current != expected) {
+                return false;
+            }
+            if (type != PUT && current == null) {
+                return false;
+            }
+            if (activeSegment.size >= segmentSize) {
+                sealActiveSegment();
+                startNewSegment();
+            }
+
+            Segment segment = activeSegment;
+            long position = segment.size;
+            int length = record.remaining();
+            writeFully(segment.channel, record, position);
+            segment.size += length;
+            if (sync) {
+                segment.channel.force(false);
+            }
+
+            switch (type) {
+                case PUT:
+                    Entry entry = new Entry(segment, position + HEADER_SIZE + keyLength(record), value.length, length,
+                        timestamp);
+                    index.put(key, entry);
+                    segment.keys.add(key);
+                    segment.liveBytes.addAndGet(length);
+                    release(current);
+                    break;
+                case REMOVE:
+                    index.remove(key);
+                    release(current);
+                    break;
+                default:
+                    current.lastAccess = timestamp;
+                    break;
+            }
+            return true;
+        }
+    }
+
+    private byte[] readValue(String key) {
+        // the segment can be compacted and closed between the lookup and the read
+        for (int attempt = 0; attempt < 3; attempt++) {
+            Entry entry = index.get(key);
+            if (entry == null) {
+                return null;
+            }
+            try {
+                return entry.segment.read(entry.valueOffset, entry.valueLength);
+            } catch (ClosedChannelException ex) {
+                continue;
+            } catch (IOException ex) {
+                logger.log(Level.WARNING, debugStr + "Failed to read session: " + key, ex);
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private void release(Entry entry) {
+        if (entry != null) {
+            entry.segment.liveBytes.addAndGet(-entry.recordLength);
+        }
+    }
+
+    /**
+     * Copies live values out of sealed segments with too much garbage, oldest segment first.
+     */
+    private void compact() {
+        for (Segment segment : segments) {
+            if (shutdown) {
+                return;
+            }
+            if (segment.isActive() || (segment.size > 0 && segment.liveBytes.get() >= segment.size * COMPACTION_THRESHOLD)) {
+                continue;
+            }
+            try {
+                compact(segment);
+            } catch (IOException ex) {
+                logger.log(Level.WARNING, debugStr + "Failed to compact " + segment.path, ex);
+                return;
+            }
+        }
+    }
+
+    private void compact(Segment segment) throws IOException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Compacting " + segment.path + ", live bytes: "
+                + segment.liveBytes.get() + " of " + segment.size);
+        }
+        SegmentReader reader = new SegmentReader(segment);
+        Record record;
+        while ((record = reader.next()) != null) {
+            if (record.type == PUT) {
+                Entry entry = index.get(record.key);
+                if (entry != null && entry.segment == segment && entry.valueOffset == record.valueOffset) {
+                    byte[] value = segment.read(record.valueOffset, record.valueLength);
+                    copy(record.key, entry, value);
+                }
+            } else if (record.type == REMOVE && !index.containsKey(record.key) && isInOlderSegment(record.key, segment)) {
+                synchronized (writeLock) {
+                    // append() skips tombstones of unknown keys, write it directly
+                    if (!index.containsKey(record.key) && activeSegment != null) {
+                        writeTombstone(record.key, record.timestamp);
+                    }
+                }
+            }
+        }
+
+        synchronized (writeLock) {
+            segments.remove(segment);
+            segment.close();
+        }
+        Files.deleteIfExists(segment.path);
+    }
+
+    private void copy(String key, Entry entry, byte[] value) throws IOException {
+        ByteBuffer record = encode(PUT, key, entry.lastAccess, value);
+        synchronized (writeLock) {
+            if (index.get(key) != entry || activeSegment == null) {
+                return;
+            }
+            Segment target = activeSegment;
+            long position = target.size;
+            int length = record.remaining();
+            writeFully(target.channel, record, position);
+            target.size += length;
+            Entry moved = new Entry(target, position + HEADER_SIZE + keyLength(record), value.length, length,
+                entry.lastAccess);
+            index.put(key, moved);
+            target.keys.add(key);
+            target.liveBytes.addAndGet(length);
+            release(entry);
+        }
+    }
+
+    /**
+     * Tombstones must survive as long as an older segment still holds a value of the removed key.
+     */
+    private boolean isInOlderSegment(String key, Segment segment) {
+        for (Segment older : segments) {
+            if (older.id >= segment.id) {
+                return false;
+            }
+            if (older.keys.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeTombstone(String key, long timestamp) throws IOException {
+        ByteBuffer record = encode(REMOVE, key, timestamp, null);
+        Segment target = activeSegment;
+        long position = target.size;
+        int length = record.remaining();
+        writeFully(target.channel, record, position);
+        target.size += length;
+        // live, so that the segment is not compacted again only to copy it; it is
+        // checked again when the other records of the segment are compacted
+        target.liveBytes.addAndGet(length);
+    }
+
+    private void recover() throws IOException {
+        File[] files = baseDir.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) {
+            return;
+        }
+        List<Segment> recovered = new ArrayList<>(files.length);
+        for (File file : files) {
+            String id = file.getName().substring(SEGMENT_PREFIX.length(),
+                file.getName().length() - SEGMENT_SUFFIX.length());
+            try {
+                recovered.add(new Segment(Long.parseLong(id), file.toPath()));
+            } catch (NumberFormatException ex) {
+                logger.log(Level.WARNING, debugStr + "Ignoring unknown file " + file);
+            }
+        }
+        recovered.sort((s1, s2) -> Long.compare(s1.id, s2.id));
+
+        for (Segment segment : recovered) {
+            SegmentReader reader = new SegmentReader(segment);
+            Record record;
+            while ((record = reader.next()) != null) {
+                Entry current = index.get(record.key);
+                switch (record.type) {
+                    case PUT:
+                        index.put(record.key, new Entry(segment, record.valueOffset, record.valueLength,
+                            record.length, record.timestamp));
+                        segment.keys.add(record.key);
+                        segment.liveBytes.addAndGet(record.length);
+                        release(current);
+                        break;
+                    case REMOVE:
+                        index.remove(record.key);
+                        release(current);
+                        break;
+                    default:
+                        if (current != null) {
+                            current.lastAccess = record.timestamp;
+                        }
+                        break;
+                }
+            }
+            if (reader.position < segment.size) {
+                logger.log(Level.WARNING, debugStr + "Truncating incomplete record at " + reader.position
+                    + " in " + segment.path);
+                segment.channel.truncate(reader.position);
+                segment.size = reader.position;
+            }
+            segment.seal(mmap);
+            segments.add(segment);
+        }
+    }
+
+    private void startNewSegment() throws IOException {
+        long id = segments.isEmpty() ? 1 : segments.get(segments.size() - 1).id + 1;
+        Path path = new File(baseDir, SEGMENT_PREFIX + String.format("%016d", id) + SEGMENT_SUFFIX).toPath();
+        activeSegment = new Segment(id, path);
+        segments.add(activeSegment);
+    }
+
+    private void sealActiveSegment() throws IOException {
+        activeSegment.channel.force(false);
+        activeSegment.seal(mmap);
+    }
+
+    private byte[] getSerializedState(V value) throws BackingStoreException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(value);
+        } catch (IOException ioEx) {
+            throw new BackingStoreException("Error during getSerializedState", ioEx);
+        }
+        return bos.toByteArray();
+    }
+
+    private static ByteBuffer encode(byte type, String key, long timestamp, byte[] value) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int valueLength = value == null ? 0 : value.length;
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + keyBytes.length + valueLength);
+        record.putInt(0).put(type).putLong(timestamp).putInt(keyBytes.length).putInt(valueLength).put(keyBytes);
+        if (value != null) {
+            record.put(value);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 4, record.capacity() - 4);
+        record.putInt(0, (int) crc.getValue());
+        record.flip();
+        return record;
+    }
+
+    private static int keyLength(ByteBuffer record) {
+        return record.getInt(4 + 1 + 8);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    /**
+     * Location of the latest value of a key.
+     */
+    private static final class Entry {
+
+        private final Segment segment;
+        private final long valueOffset;
+        private final int valueLength;
+        private final long recordLength;
+        private volatile long lastAccess;
+
+        Entry(Segment segment, long valueOffset, int valueLength, long recordLength, long lastAccess) {
+            this.segment = segment;
+            this.valueOffset = valueOffset;
+            this.valueLength = valueLength;
+            this.recordLength = recordLength;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    /**
+     * One segment file. Only the active segment is written to.
+     */
+    private static final class Segment {
+
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private final AtomicLong liveBytes = new AtomicLong();
+        /** keys with a value in this segment, live or not */
+        private final Set<String> keys = ConcurrentHashMap.newKeySet();
+        private volatile long size;
+        private volatile boolean sealed;
+        private volatile MappedByteBuffer mapped;
+
+        Segment(long id, Path path) throws IOException {
+            this.id = id;
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            this.size = channel.size();
+        }
+
+        boolean isActive() {
+            return !sealed;
+        }
+
+        void seal(boolean map) throws IOException {
+            sealed = true;
+            if (map && size > 0 && size <= Integer.MAX_VALUE) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+        }
+
+        byte[] read(long position, int length) throws IOException {
+            byte[] data = new byte[length];
+            MappedByteBuffer buffer = mapped;
+            if (buffer != null) {
+                buffer.duplicate().position((int) position).get(data);
+                return data;
+            }
+            ByteBuffer target = ByteBuffer.wrap(data);
+            long offset = position;
+            while (target.hasRemaining()) {
+                int count = channel.read(target, offset);
+                if (count < 0) {
+                    throw new IOException("Unexpected end of " + path + " at " + offset);
+                }
+                offset += count;
+            }
+            return data;
+        }
+
+        void close() throws IOException {
+            mapped = null;
+            channel.close();
+        }
+    }
+
+    /**
+     * Sequential reader of the records of a segment. Stops at the first incomplete or corrupted record.
+     */
+    private static final class SegmentReader {
+
+        private final Segment segment;
+        private final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        private long position;
+
+        SegmentReader(Segment segment) {
+            this.segment = segment;
+        }
+
+        Record next() throws IOException {
+            if (position + HEADER_SIZE > segment.size) {
+                return null;
+            }
+            header.clear();
+            if (!readFully(header, position)) {
+                return null;
+            }
+            header.flip();
+            int crc = header.getInt();
+            byte type = header.get();
+            long timestamp = header.getLong();
+            int keyLength = header.getInt();
+            int valueLength = header.getInt();
+            if (type < PUT || type > TOUCH || keyLength < 0 || valueLength < 0
+                || position + HEADER_SIZE + keyLength + valueLength > segment.size) {
+                return null;
+            }
+
+            ByteBuffer body = ByteBuffer.allocate(keyLength + valueLength);
+            if (!readFully(body, position + HEADER_SIZE)) {
+                return null;
+            }
+            CRC32 checksum = new CRC32();
+            checksum.update(header.array(), 4, HEADER_SIZE - 4);
+            checksum.update(body.array(), 0, body.capacity());
+            if ((int) checksum.getValue() != crc) {
+                return null;
+            }
+
+            Record record = new Record();
+            record.type = type;
+            record.timestamp = timestamp;
+            record.key = new String(body.array(), 0, keyLength, StandardCharsets.UTF_8);
+            record.valueOffset = position + HEADER_SIZE + keyLength;
+            record.valueLength = valueLength;
+            record.length = HEADER_SIZE + keyLength + valueLength;
+            position += record.length;
+            return record;
+        }
+
+        private boolean readFully(ByteBuffer buffer, long offset) throws IOException {
+            long current = offset;
+            while (buffer.hasRemaining()) {
+                int count = segment.channel.read(buffer, current);
+                if (count < 0) {
+                    return false;
+                }
+                current += count;
+            }
+            return true;
+        }
+    }
+
+    private static final class Record {
+        private byte type;
+        private long timestamp;
+        private String key;
+        private long valueOffset;
+        private int valueLength;
+        private long length;
+    }
+}
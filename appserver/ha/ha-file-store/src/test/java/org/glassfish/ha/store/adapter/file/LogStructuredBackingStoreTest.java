@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+
+public class LogStructuredBackingStoreTest {
+
+    @TempDir
+    Path baseDir;
+
+    private final List<LogStructuredBackingStore<String, String>> stores = new ArrayList<>();
+
+    @AfterEach
+    public void shutdownStores() {
+        for (LogStructuredBackingStore<String, String> store : stores) {
+            store.shutdown();
+        }
+    }
+
+
+    @Test
+    public void saveLoadRemove() throws Exception {
+        LogStructuredBackingStore<String, String> store = open(null);
+        store.save("a", "one", true);
+        store.save("b", "two", true);
+        store.save("a", "three", false);
+        assertThat(store.load("a", null), is("three"));
+        assertThat(store.load("b", null), is("two"));
+        assertThat(store.size(), is(2));
+
+        store.remove("b");
+        assertThat(store.load("b", null), nullValue());
+        assertThat(store.load("unknown", null), nullValue());
+        assertThat(store.size(), is(1));
+    }
+
+
+    @Test
+    public void recoversFromTheLog() throws Exception {
+        LogStructuredBackingStore<String, String> store = open(null);
+        store.save("a", "one", true);
+        store.save("b", "two", true);
+        store.save("c", "three", true);
+        store.save("a", "four", false);
+        store.remove("b");
+        store.updateTimestamp("c", System.currentTimeMillis());
+        store.shutdown();
+
+        LogStructuredBackingStore<String, String> recovered = open(null);
+        assertThat(recovered.size(), is(2));
+        assertThat(recovered.load("a", null), is("four"));
+        assertThat(recovered.load("b", null), nullValue());
+        assertThat(recovered.load("c", null), is("three"));
+    }
+
+
+    @Test
+    public void ignoresTruncatedFinalRecord() throws Exception {
+        LogStructuredBackingStore<String, String> store = open(null);
+        store.save("a", "one", true);
+        store.save("b", "two", true);
+        store.shutdown();
+
+        List<Path> files = segments();
+        assertThat(files, hasSize(1));
+        Path segment = files.get(0);
+        long length = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(length - 3);
+        }
+
+        LogStructuredBackingStore<String, String> recovered = open(null);
+        assertThat(recovered.size(), is(1));
+        assertThat(recovered.load("a", null), is("one"));
+        assertThat(recovered.load("b", null), nullValue());
+        assertThat("incomplete record removed", Files.size(segment), lessThan(length - 3));
+
+        recovered.save("c", "five", true);
+        recovered.shutdown();
+        LogStructuredBackingStore<String, String> reopened = open(null);
+        assertThat(reopened.size(), is(2));
+        assertThat(reopened.load("a", null), is("one"));
+        assertThat(reopened.load("c", null), is("five"));
+    }
+
+
+    @Test
+    public void compactionKeepsOnlyLiveRecords() throws Exception {
+        LogStructuredBackingStore<String, String> store = open("512");
+        for (int round = 0; round < 20; round++) {
+            for (int key = 0; key < 5; key++) {
+                store.save("key" + key, "value" + key + "-" + round, round == 0);
+            }
+        }
+        store.remove("key4");
+        int segmentsBefore = segments().size();
+        long bytesBefore = totalSize();
+
+        // nothing is idle that long, only compacts
+        assertThat(store.removeExpired(Long.MAX_VALUE / 2), is(0));
+
+        assertThat(segments().size(), lessThan(segmentsBefore));
+        assertThat(totalSize(), lessThan(bytesBefore));
+        assertThat(store.size(), is(4));
+        for (int key = 0; key < 4; key++) {
+            assertThat(store.load("key" + key, null), is("value" + key + "-19"));
+        }
+        assertThat(store.load("key4", null), nullValue());
+
+        store.shutdown();
+        LogStructuredBackingStore<String, String> recovered = open("512");
+        assertThat(recovered.size(), is(4));
+        for (int key = 0; key < 4; key++) {
+            assertThat(recovered.load("key" + key, null), is("value" + key + "-19"));
+        }
+        assertThat(recovered.load("key4", null), nullValue());
+    }
+
+
+    @Test
+    public void compactionDropsTombstonesNoLongerNeeded() throws Exception {
+        LogStructuredBackingStore<String, String> store = open("512");
+        // the first segment stays mostly live, so it is never compacted
+        store.save("removed", "one", true);
+        store.save("kept", "x".repeat(500), true);
+        store.remove("removed");
+
+        long bytesAfterWarmUp = 0;
+        for (int round = 0; round < 50; round++) {
+            store.save("temporary" + round, "y".repeat(400), true);
+            store.remove("temporary" + round);
+            store.removeExpired(Long.MAX_VALUE / 2);
+            if (round == 9) {
+                bytesAfterWarmUp = totalSize();
+            }
+        }
+        // the tombstones of the temporary keys do not pile up
+        assertThat(totalSize(), lessThan(bytesAfterWarmUp + 512));
+
+        store.shutdown();
+        LogStructuredBackingStore<String, String> recovered = open("512");
+        assertThat(recovered.size(), is(1));
+        assertThat(recovered.load("kept", null), is("x".repeat(500)));
+        assertThat(recovered.load("removed", null), nullValue());
+        assertThat(recovered.load("temporary0", null), nullValue());
+    }
+
+
+    @Test
+    public void removesExpiredRecords() throws Exception {
+        LogStructuredBackingStore<String, String> store = open(null);
+        store.save("old", "one", true);
+        store.updateTimestamp("old", System.currentTimeMillis() - 60_000L);
+        store.save("new", "two", true);
+
+        assertThat(store.removeExpired(30_000L), is(1));
+        assertThat(store.load("old", null), nullValue());
+        assertThat(store.load("new", null), is("two"));
+    }
+
+
+    private LogStructuredBackingStore<String, String> open(String segmentSize) throws Exception {
+        BackingStoreConfiguration<String, String> conf = new BackingStoreConfiguration<>();
+        conf.setStoreName("test-" + stores.size()).setInstanceName("instance").setBaseDirectory(baseDir.toFile())
+            .setKeyClazz(String.class).setValueClazz(String.class).setClassLoader(getClass().getClassLoader());
+        conf.getVendorSpecificSettings().put(FileBackingStoreFactory.STORE_MODE, FileBackingStoreFactory.LOG_MODE);
+        if (segmentSize != null) {
+            conf.getVendorSpecificSettings().put(LogStructuredBackingStore.SEGMENT_SIZE, segmentSize);
+        }
+        BackingStore<String, String> store = new FileBackingStoreFactory().createBackingStore(conf);
+        assertThat(store.getClass().getName(), is(LogStructuredBackingStore.class.getName()));
+        LogStructuredBackingStore<String, String> logStore = (LogStructuredBackingStore<String, String>) store;
+        stores.add(logStore);
+        return logStore;
+    }
+
+
+    private List<Path> segments() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> list = Files.list(baseDir)) {
+            list.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().forEach(files::add);
+        }
+        return files;
+    }
+
+
+    private long totalSize() throws IOException {
+        long size = 0;
+        for (Path file : segments()) {
+            size += Files.size(file);
+        }
+        return size;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -273,11 +273,21 @@ public final class JDBCRealm extends DigestRealmBase {
      *
      */
     public String[] authenticate(String username, char[] password) {
+        if (authenticationCache != null) {
+            String[] groups = authenticationCache.get(username, password);
+            if (groups != null) {
+                setGroupNames(username, groups);
+                return groups;
+            }
+        }
         String[] groups = null;
         if (isUserValid(username, password)) {
             groups = findGroups(username);
             groups = addAssignGroups(groups);
             setGroupNames(username, groups);
+            if (authenticationCache != null) {
+                authenticationCache.put(username, password, groups);
+            }
         }
         return groups;
     }
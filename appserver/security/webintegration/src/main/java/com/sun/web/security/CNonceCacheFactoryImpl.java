@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -40,6 +41,14 @@ import org.jvnet.hk2.annotations.Service;
 @Singleton
 public class CNonceCacheFactoryImpl implements CNonceCacheFactory, PostConstruct {
 
+    /**
+     * Security service property selecting the non-HA cache: {@value #CONCURRENT_NONCE_CACHE}, the default, or
+     * {@value #SYNCHRONIZED_NONCE_CACHE} for the cache locked by each request.
+     */
+    public static final String NONCE_CACHE_TYPE_PROP = "NONCE_CACHE_TYPE";
+    public static final String CONCURRENT_NONCE_CACHE = "concurrent";
+    public static final String SYNCHRONIZED_NONCE_CACHE = "synchronized";
+
     @Inject
     @Named("HA-CNonceCache")
     private Provider<CNonceCache> cHANonceCacheProvider;
@@ -48,6 +57,10 @@ public class CNonceCacheFactoryImpl implements CNonceCacheFactory, PostConstruct
     @Named("CNonceCache")
     private Provider<CNonceCache> cNonceCacheProvider;
 
+    @Inject
+    @Named("ConcurrentCNonceCache")
+    private Provider<CNonceCache> concurrentCNonceCacheProvider;
+
     @Inject()
     @Named(ServerEnvironment.DEFAULT_INSTANCE_NAME)
     private SecurityService secService;
@@ -62,6 +75,11 @@ public class CNonceCacheFactoryImpl implements CNonceCacheFactory, PostConstruct
      */
     protected long nonceValidity = 5 * 60 * 1000;
 
+    /**
+     * Whether the non-HA cache is the {@link ConcurrentCNonceCacheImpl}.
+     */
+    protected boolean concurrentCache = true;
+
     @Override
     public void postConstruct() {
         String sz = this.secService.getPropertyValue("NONCE_CACHE_SIZE");
@@ -72,6 +90,10 @@ public class CNonceCacheFactoryImpl implements CNonceCacheFactory, PostConstruct
         if (age != null) {
             this.nonceValidity = Long.parseLong(age);
         }
+        String type = this.secService.getPropertyValue(NONCE_CACHE_TYPE_PROP);
+        if (type != null) {
+            this.concurrentCache = !SYNCHRONIZED_NONCE_CACHE.equalsIgnoreCase(type.trim());
+        }
     }
 
     @Override
@@ -83,6 +105,8 @@ public class CNonceCacheFactoryImpl implements CNonceCacheFactory, PostConstruct
             cache = cHANonceCacheProvider.get();
             map.put(CLUSTER_NAME_PROP, clusterName);
             map.put(INSTANCE_NAME_PROP, instanceName);
+        } else if (concurrentCache) {
+            cache = concurrentCNonceCacheProvider.get();
         } else {
             cache = cNonceCacheProvider.get();
         }
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.web.security;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.hk2.api.PerLookup;
+import org.glassfish.security.common.CNonceCache;
+import org.glassfish.security.common.NonceInfo;
+import org.jvnet.hk2.annotations.Service;
+
+/**
+ * A client nonce cache which does not serialize the requests: the nonces are
+ * kept in a {@link ConcurrentHashMap}, so that the nonce count of a client
+ * nonce is checked and updated atomically by {@link #compute} without a lock
+ * shared by all the requests.
+ *
+ * <p>
+ * The nonces are also tracked in time buckets, each covering a fraction of the
+ * nonce validity. When the time of a bucket has passed the validity, its
+ * expired nonces are removed, and when the cache exceeds its size, the nonces
+ * of the oldest buckets are removed first. These removals are done by a single
+ * thread at a time, the other threads do not wait for it.
+ */
+@Service(name = "ConcurrentCNonceCache")
+@PerLookup
+public final class ConcurrentCNonceCacheImpl extends AbstractMap<String, NonceInfo>
+    implements CNonceCache, ConcurrentMap<String, NonceInfo> {
+
+    private static final Logger log = Logger.getLogger(ConcurrentCNonceCacheImpl.class.getName());
+
+    private static final long LOG_SUPPRESS_TIME = 5 * 60 * 1000;
+
+    /** Number of buckets covering the nonce validity */
+    private static final int BUCKETS = 8;
+
+    /** The buckets of the valid nonces, of the current time, and the next one, cleared in advance */
+    private static final int RING_SIZE = BUCKETS + 2;
+
+    private final ConcurrentMap<String, NonceInfo> nonces = new ConcurrentHashMap<>();
+
+    /** The client nonces written in each time bucket, by bucket number modulo RING_SIZE */
+    private final Set<String>[] buckets;
+
+    private final ReentrantLock expungeLock = new ReentrantLock();
+
+    private final AtomicLong lastLog = new AtomicLong();
+
+    /**
+     * Maximum number of client nonces to keep in the cache. If not specified, the default value of 1000 is used.
+     */
+    private volatile long cnonceCacheSize = 1000;
+
+    /**
+     * How long server nonces are valid for in milliseconds. Defaults to 5 minutes.
+     */
+    private volatile long nonceValidity = 5 * 60 * 1000;
+
+    /** Duration of a time bucket in milliseconds */
+    private volatile long bucketTime;
+
+    /** Last bucket number whose expired nonces were removed */
+    private volatile long expungedBucket;
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentCNonceCacheImpl() {
+        buckets = new Set[RING_SIZE];
+        for (int i = 0; i < RING_SIZE; i++) {
+            buckets[i] = ConcurrentHashMap.newKeySet();
+        }
+        setNonceValidity(nonceValidity);
+    }
+
+    @Override
+    public void init(long size, String name, long validity, Map<String, String> props) {
+        this.cnonceCacheSize = size;
+        setNonceValidity(validity);
+    }
+
+    @Override
+    public long getCnonceCacheSize() {
+        return cnonceCacheSize;
+    }
+
+    @Override
+    public void setCnonceCacheSize(long cnonceCacheSize) {
+        this.cnonceCacheSize = cnonceCacheSize;
+    }
+
+    @Override
+    public long getNonceValidity() {
+        return nonceValidity;
+    }
+
+    @Override
+    public void setNonceValidity(long nonceValidity) {
+        this.nonceValidity = nonceValidity;
+        // rounded up, so that the nonces of a bucket older than all the others are expired
+        this.bucketTime = Math.max(1, (nonceValidity + BUCKETS - 1) / BUCKETS);
+        this.expungedBucket = System.currentTimeMillis() / bucketTime;
+    }
+
+    @Override
+    public void destroy() {
+        clear();
+    }
+
+    @Override
+    public NonceInfo get(Object cnonce) {
+        return nonces.get(cnonce);
+    }
+
+    @Override
+    public boolean containsKey(Object cnonce) {
+        return nonces.containsKey(cnonce);
+    }
+
+    @Override
+    public int size() {
+        return nonces.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return nonces.isEmpty();
+    }
+
+    @Override
+    public NonceInfo put(String cnonce, NonceInfo nonceInfo) {
+        NonceInfo previous = nonces.put(cnonce, nonceInfo);
+        written(cnonce, nonceInfo, previous == null);
+        return previous;
+    }
+
+    @Override
+    public NonceInfo putIfAbsent(String cnonce, NonceInfo nonceInfo) {
+        NonceInfo previous = nonces.putIfAbsent(cnonce, nonceInfo);
+        if (previous == null) {
+            written(cnonce, nonceInfo, true);
+        }
+        return previous;
+    }
+
+    @Override
+    public boolean replace(String cnonce, NonceInfo oldNonceInfo, NonceInfo newNonceInfo) {
+        if (nonces.replace(cnonce, oldNonceInfo, newNonceInfo)) {
+            written(cnonce, newNonceInfo, false);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public NonceInfo replace(String cnonce, NonceInfo nonceInfo) {
+        NonceInfo previous = nonces.replace(cnonce, nonceInfo);
+        if (previous != null) {
+            written(cnonce, nonceInfo, false);
+        }
+        return previous;
+    }
+
+    /**
+     * Computes the nonce info of a client nonce atomically, the other client
+     * nonces are not locked. An exception thrown by the remapping function,
+     * like for a replayed nonce count, leaves the nonce info unchanged.
+     */
+    @Override
+    public NonceInfo compute(String cnonce, BiFunction<? super String, ? super NonceInfo, ? extends NonceInfo> remappingFunction) {
+        boolean[] added = new boolean[1];
+        NonceInfo nonceInfo = nonces.compute(cnonce, (key, previous) -> {
+            added[0] = previous == null;
+            return remappingFunction.apply(key, previous);
+        });
+        if (nonceInfo != null) {
+            written(cnonce, nonceInfo, added[0]);
+        }
+        return nonceInfo;
+    }
+
+    @Override
+    public NonceInfo remove(Object cnonce) {
+        // the bucket entries of the nonce are removed when their bucket expires
+        return nonces.remove(cnonce);
+    }
+
+    @Override
+    public boolean remove(Object cnonce, Object nonceInfo) {
+        return nonces.remove(cnonce, nonceInfo);
+    }
+
+    @Override
+    public void clear() {
+        nonces.clear();
+        for (Set<String> bucket : buckets) {
+            bucket.clear();
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<String, NonceInfo>> entrySet() {
+        return Collections.unmodifiableSet(nonces.entrySet());
+    }
+
+    private void written(String cnonce, NonceInfo nonceInfo, boolean added) {
+        long bucket = nonceInfo.getTimestamp() / bucketTime;
+        buckets[bucketIndex(bucket)].add(cnonce);
+        if (bucket > expungedBucket || (added && nonces.size() > cnonceCacheSize)) {
+            expunge();
+        }
+    }
+
+    private static int bucketIndex(long bucket) {
+        return (int) Math.floorMod(bucket, (long) RING_SIZE);
+    }
+
+    /**
+     * Removes the expired nonces, then the oldest nonces while the cache
+     * exceeds its size. Skipped if another thread is doing it.
+     */
+    private void expunge() {
+        if (!expungeLock.tryLock()) {
+            return;
+        }
+        try {
+            long currentTime = System.currentTimeMillis();
+            long currentBucket = currentTime / bucketTime;
+            // clears the bucket next to the current one, holding the oldest nonces
+            for (long bucket = Math.max(expungedBucket + 1, currentBucket - RING_SIZE + 1); bucket <= currentBucket; bucket++) {
+                removeExpired(bucketIndex(bucket + 1), currentTime);
+            }
+            expungedBucket = currentBucket;
+
+            for (long bucket = currentBucket - RING_SIZE + 2; bucket <= currentBucket + 1 && nonces.size() > cnonceCacheSize; bucket++) {
+                removeOldest(bucket, currentTime);
+            }
+            // nonces not tracked by a bucket, written while their bucket was cleared
+            for (Iterator<String> it = nonces.keySet().iterator(); it.hasNext() && nonces.size() > cnonceCacheSize;) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            expungeLock.unlock();
+        }
+    }
+
+    private void removeExpired(int index, long currentTime) {
+        for (Iterator<String> it = buckets[index].iterator(); it.hasNext();) {
+            String cnonce = it.next();
+            NonceInfo nonceInfo = nonces.get(cnonce);
+            if (nonceInfo == null) {
+                it.remove();
+            } else if (currentTime - nonceInfo.getTimestamp() >= nonceValidity) {
+                nonces.remove(cnonce, nonceInfo);
+                it.remove();
+            } else if (bucketIndex(nonceInfo.getTimestamp() / bucketTime) != index) {
+                // written again since, tracked by a newer bucket
+                it.remove();
+            }
+        }
+    }
+
+    private void removeOldest(long bucket, long currentTime) {
+        Set<String> cnonces = buckets[bucketIndex(bucket)];
+        for (Iterator<String> it = cnonces.iterator(); it.hasNext() && nonces.size() > cnonceCacheSize;) {
+            String cnonce = it.next();
+            NonceInfo nonceInfo = nonces.get(cnonce);
+            if (nonceInfo == null) {
+                it.remove();
+                continue;
+            }
+            long nonceBucket = nonceInfo.getTimestamp() / bucketTime;
+            if (nonceBucket > bucket) {
+                if (bucketIndex(nonceBucket) != bucketIndex(bucket)) {
+                    it.remove();
+                }
+                continue;
+            }
+            if (nonces.remove(cnonce, nonceInfo)) {
+                it.remove();
+                logPossibleReplay(nonceInfo, currentTime);
+            }
+        }
+    }
+
+    private void logPossibleReplay(NonceInfo nonceInfo, long currentTime) {
+        long last = lastLog.get();
+        if (last < currentTime && currentTime - nonceInfo.getTimestamp() < nonceValidity
+            && lastLog.compareAndSet(last, currentTime + LOG_SUPPRESS_TIME)) {
+            // Replay attack is possible
+            log.log(Level.WARNING, "The client nonce cache is full, client nonces still valid were removed and their replay"
+                + " cannot be detected. Increase the NONCE_CACHE_SIZE of {0} to avoid it.", cnonceCacheSize);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021, 2025 Contributors to the Eclipse Foundation.
+ * Copyright 2021, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -77,6 +77,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Logger;
@@ -1942,6 +1943,20 @@ public final class RealmAdapter extends RealmBase implements RealmInitializer, P
         long currentTime = System.currentTimeMillis();
         long count = getCount(nc);
 
+        if (cnonces instanceof ConcurrentMap) {
+            // Checks and updates the count of this cnonce only, without locking the others
+            ((ConcurrentMap<String, NonceInfo>) cnonces).compute(cnonce, (key, previous) -> {
+                if (previous != null && count <= previous.getCount()) {
+                    throw new RuntimeException("Invalid Request : Possible Replay Attack detected ?");
+                }
+                NonceInfo nonceInfo = new NonceInfo();
+                nonceInfo.setCount(count);
+                nonceInfo.setTimestamp(currentTime);
+                return nonceInfo;
+            });
+            return;
+        }
+
         NonceInfo nonceInfo;
         synchronized (cnonces) {
             nonceInfo = cnonces.get(cnonce);
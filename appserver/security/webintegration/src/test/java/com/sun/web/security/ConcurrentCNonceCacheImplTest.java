@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.web.security;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.glassfish.security.common.NonceInfo;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConcurrentCNonceCacheImplTest {
+
+    private static final long VALIDITY = 5 * 60 * 1000;
+
+    @Test
+    public void rejectsReplayedNonceCount() {
+        ConcurrentCNonceCacheImpl cache = createCache(10, VALIDITY);
+        long now = System.currentTimeMillis();
+
+        check(cache, "cnonce", 1, now);
+        assertThrows(RuntimeException.class, () -> check(cache, "cnonce", 1, now));
+        assertThat(cache.get("cnonce").getCount(), is(1L));
+
+        check(cache, "cnonce", 3, now);
+        assertThrows(RuntimeException.class, () -> check(cache, "cnonce", 2, now));
+        assertThat(cache.get("cnonce").getCount(), is(3L));
+
+        check(cache, "other", 1, now);
+        assertThat(cache.size(), is(2));
+    }
+
+    @Test
+    public void acceptsEachNonceCountOnceUnderContention() throws Exception {
+        ConcurrentCNonceCacheImpl cache = createCache(10, VALIDITY);
+        long now = System.currentTimeMillis();
+        int threads = 8;
+        int counts = 1000;
+        Set<Long> accepted = ConcurrentHashMap.newKeySet();
+        AtomicInteger acceptances = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int i = 0; i < threads; i++) {
+                futures[i] = executor.submit(() -> {
+                    start.await();
+                    for (long count = 1; count <= counts; count++) {
+                        try {
+                            check(cache, "cnonce", count, now);
+                            accepted.add(count);
+                            acceptances.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            // replayed
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(acceptances.get(), is(accepted.size()));
+        assertThat(cache.get("cnonce").getCount(), is((long) counts));
+    }
+
+    @Test
+    public void removesTheNoncesOfExpiredBuckets() throws Exception {
+        long validity = 200;
+        ConcurrentCNonceCacheImpl cache = createCache(10, validity);
+        check(cache, "expired", 1, System.currentTimeMillis());
+
+        Thread.sleep(2 * validity);
+        long now = System.currentTimeMillis();
+        // the first nonce of a new bucket removes the expired nonces
+        check(cache, "recent", 1, now - validity / 2);
+        check(cache, "current", 1, now);
+        assertThat(cache.get("expired"), nullValue());
+        assertThat(cache.get("recent"), notNullValue());
+        assertThat(cache.get("current"), notNullValue());
+        assertThat(cache.size(), is(2));
+    }
+
+    @Test
+    public void removesTheOldestNoncesWhenFull() {
+        ConcurrentCNonceCacheImpl cache = createCache(4, VALIDITY);
+        long bucketTime = VALIDITY / 8;
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 4; i++) {
+            check(cache, "cnonce" + i, 1, now - (5 - i) * bucketTime);
+        }
+        assertThat(cache.size(), is(4));
+
+        check(cache, "cnonce4", 1, now);
+        assertThat(cache.size(), is(4));
+        assertThat(cache.get("cnonce0"), nullValue());
+        for (int i = 1; i <= 4; i++) {
+            assertThat(cache.get("cnonce" + i), notNullValue());
+        }
+
+        check(cache, "cnonce5", 1, now);
+        assertThat(cache.size(), is(4));
+        assertThat(cache.get("cnonce1"), nullValue());
+        assertThat(cache.get("cnonce5"), notNullValue());
+    }
+
+    @Test
+    public void sizeIsBoundWhenNoncesShareABucket() {
+        ConcurrentCNonceCacheImpl cache = createCache(100, VALIDITY);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 1000; i++) {
+            check(cache, "cnonce" + i, 1, now);
+        }
+        assertThat(cache.size(), is(100));
+    }
+
+    private static ConcurrentCNonceCacheImpl createCache(long size, long validity) {
+        ConcurrentCNonceCacheImpl cache = new ConcurrentCNonceCacheImpl();
+        cache.init(size, "test", validity, null);
+        return cache;
+    }
+
+    /**
+     * Same check as the one of the Digest authentication in the {@link RealmAdapter}
+     */
+    private static void check(ConcurrentCNonceCacheImpl cache, String cnonce, long count, long timestamp) {
+        cache.compute(cnonce, (key, previous) -> {
+            if (previous != null && count <= previous.getCount()) {
+                throw new RuntimeException("Invalid Request : Possible Replay Attack detected ?");
+            }
+            NonceInfo nonceInfo = new NonceInfo();
+            nonceInfo.setCount(count);
+            nonceInfo.setTimestamp(timestamp);
+            return nonceInfo;
+        });
+    }
+}
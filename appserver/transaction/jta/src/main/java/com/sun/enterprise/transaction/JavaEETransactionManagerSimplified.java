@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -49,13 +49,14 @@ import jakarta.transaction.TransactionManager;
 
 import java.rmi.RemoteException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Hashtable;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -122,12 +123,18 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
     private int purgeCancelledTtransactions = 0;
 
     // admin and monitoring related parameters
-    private static final Hashtable statusMap = new Hashtable();
-    private final List activeTransactions = Collections.synchronizedList(new ArrayList());
-    private boolean monitoringEnabled = false;
+    private static final Map<Integer, String> statusMap = new HashMap<>();
+
+    // In-flight transactions while monitoring is enabled. Begin and completion of
+    // concurrent transactions only contend on a bin of the map, and the admin and
+    // monitoring paths iterate a weakly consistent snapshot without locking it.
+    private final Set<Transaction> activeTransactions = ConcurrentHashMap.newKeySet();
+    private volatile boolean monitoringEnabled = false;
 
     private TransactionServiceProbeProvider monitor;
-    private Hashtable txnTable = null;
+
+    // Transactions by id as last listed by getActiveTransactions(), replaced as a whole
+    private volatile Map<String, Transaction> txnTable = null;
 
     private Cache resourceTable;
 
@@ -1125,11 +1132,9 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
     @Override
     public ArrayList getActiveTransactions() {
         ArrayList tranBeans = new ArrayList();
-        txnTable = new Hashtable();
-        Object[] activeCopy = activeTransactions.toArray(); // get the clone of the active transactions
-        for (Object element : activeCopy) {
+        Map<String, Transaction> table = new ConcurrentHashMap<>();
+        for (Transaction tran : activeTransactions) {
             try {
-                Transaction tran = (Transaction) element;
                 TransactionAdminBean tBean = getDelegate().getTransactionAdminBean(tran);
                 if (tBean == null) {
                     // Shouldn't happen
@@ -1139,13 +1144,14 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
                         LOG.log(Level.FINE, "TM: Adding txnId " + tBean.getId() + " to txnTable");
                     }
 
-                    txnTable.put(tBean.getId(), tran);
+                    table.put(tBean.getId(), tran);
                     tranBeans.add(tBean);
                 }
             } catch (Exception ex) {
                 LOG.log(Level.SEVERE, "transaction.monitor.error_while_getting_monitor_attr", ex);
             }
         }
+        txnTable = table;
         return tranBeans;
     }
 
@@ -1173,13 +1179,15 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
     @Override
     public void forceRollback(String txnId) throws IllegalStateException, SystemException {
         // XXX - WORK AROUND MONITORING BUG
-        if (txnTable == null || txnTable.size() == 0)
+        if (txnTable == null || txnTable.isEmpty())
          {
             getActiveTransactions();
         // XXX - WORK AROUND MONITORING BUG
         }
 
-        if (txnTable == null || txnTable.get(txnId) == null) {
+        Map<String, Transaction> table = txnTable;
+        Transaction tran = table == null ? null : table.get(txnId);
+        if (tran == null) {
             String result = sm.getString("transaction.monitor.rollback_invalid_id");
             throw new IllegalStateException(result);
         } else {
@@ -1187,7 +1195,7 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
                 LOG.log(Level.FINE, "TM: Marking txnId " + txnId + " for rollback");
             }
 
-            ((Transaction) txnTable.get(txnId)).setRollbackOnly();
+            tran.setRollbackOnly();
         }
 
     }
@@ -1257,7 +1265,7 @@ public class JavaEETransactionManagerSimplified implements JavaEETransactionMana
     /************************* Helper Methods ***********************************/
     /****************************************************************************/
     public static String getStatusAsString(int status) {
-        return (String) statusMap.get(status);
+        return statusMap.get(status);
     }
 
     private void delistComponentResources(ComponentInvocation inv, boolean suspend) throws InvocationException {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2009, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -48,4 +48,8 @@ public class TransactionServiceProbeProvider {
     @Probe(name = "freeze")
     public void freezeEvent(@ProbeParam("isFrozen") boolean b) {
     }
+
+    @Probe(name = "timedout")
+    public void transactionTimedOutEvent(@ProbeParam("lag") long lag) {
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -27,8 +27,10 @@ import org.glassfish.external.probe.provider.annotations.ProbeListener;
 import org.glassfish.external.probe.provider.annotations.ProbeParam;
 import org.glassfish.external.statistics.CountStatistic;
 import org.glassfish.external.statistics.StringStatistic;
+import org.glassfish.external.statistics.TimeStatistic;
 import org.glassfish.external.statistics.impl.CountStatisticImpl;
 import org.glassfish.external.statistics.impl.StringStatisticImpl;
+import org.glassfish.external.statistics.impl.TimeStatisticImpl;
 import org.glassfish.gmbal.AMXMetadata;
 import org.glassfish.gmbal.Description;
 import org.glassfish.gmbal.ManagedAttribute;
@@ -60,6 +62,12 @@ public class TransactionServiceStatsProvider {
             "Provides the IDs of the transactions that are currently active a.k.a. in-flight "
                     + "transactions. Every such transaction can be rolled back after freezing the transaction " + "service.");
 
+    private CountStatisticImpl timedOutCount = new CountStatisticImpl("TimedOutCount", "count",
+            "Provides the number of transaction timeouts that have expired.");
+
+    private TimeStatisticImpl timeoutLag = new TimeStatisticImpl(0L, 0L, 0L, 0L, "TimeoutLag", "milliseconds",
+            "Provides the time from the expiry of a transaction timeout until it is handled.", System.currentTimeMillis(), -1L);
+
     private StringStatisticImpl state = new StringStatisticImpl("State", "String", "Indicates if the transaction service has been frozen.");
 
     private boolean isFrozen = false;
@@ -91,6 +99,18 @@ public class TransactionServiceStatsProvider {
         return rolledbackCount;
     }
 
+    @ManagedAttribute(id = "timedoutcount")
+    @Description("Provides the number of transaction timeouts that have expired.")
+    public CountStatistic getTimedOutCount() {
+        return timedOutCount;
+    }
+
+    @ManagedAttribute(id = "timeoutlag")
+    @Description("Provides the time from the expiry of a transaction timeout until it is handled.")
+    public TimeStatistic getTimeoutLag() {
+        return timeoutLag.getStatistic();
+    }
+
     @ManagedAttribute(id = "state")
     @Description("Indicates if the transaction service has been frozen.")
     public StringStatistic getState() {
@@ -194,6 +214,13 @@ public class TransactionServiceStatsProvider {
         isFrozen = b;
     }
 
+    @ProbeListener("glassfish:transaction:transaction-service:timedout")
+    public void transactionTimedOutEvent(@ProbeParam("lag") long lag) {
+        _logger.fine("=== transaction-service timed out, lag " + lag);
+        timedOutCount.increment();
+        timeoutLag.incrementCount(lag);
+    }
+
     private void appendColumn(StringBuffer buf, String text, int length) {
         buf.append(text);
         for (int i = text.length(); i < length; i++) {
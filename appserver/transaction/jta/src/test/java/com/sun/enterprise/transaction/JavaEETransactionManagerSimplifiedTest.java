@@ -1,6 +1,6 @@
 /*
  * Copyright (c) 2008, 2018 Oracle and/or its affiliates. All rights reserved.
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -19,6 +19,7 @@ package com.sun.enterprise.transaction;
 
 import com.sun.enterprise.config.serverbeans.ServerTags;
 import com.sun.enterprise.transaction.api.JavaEETransactionManager;
+import com.sun.enterprise.transaction.api.TransactionAdminBean;
 import com.sun.enterprise.transaction.spi.JavaEETransactionManagerDelegate;
 
 import jakarta.transaction.InvalidTransactionException;
@@ -31,6 +32,14 @@ import jakarta.transaction.TransactionManager;
 import jakarta.transaction.UserTransaction;
 
 import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
 import javax.transaction.xa.XAException;
@@ -385,6 +394,82 @@ public class JavaEETransactionManagerSimplifiedTest {
     }
 
 
+    @Test
+    public void testConcurrentTransactionsWhileMonitored() throws Exception {
+        final int workerCount = 8;
+        final int transactionsPerWorker = 500;
+        // creates the monitoring probe provider
+        ((JavaEETransactionManagerSimplified) txManager).postConstruct();
+        createUtx();
+        txManager.setMonitoringEnabled(true);
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicInteger rolledBack = new AtomicInteger();
+        final AtomicInteger forcedRollbacks = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount + 2);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < workerCount; i++) {
+                workers.add(executor.submit(() -> {
+                    for (int n = 0; n < transactionsPerWorker; n++) {
+                        txManager.begin();
+                        if (n % 2 == 0) {
+                            txManager.rollback();
+                            continue;
+                        }
+                        try {
+                            txManager.commit();
+                        } catch (RollbackException e) {
+                            // marked by forceRollback
+                            rolledBack.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                final boolean forceRollback = i == 0;
+                readers.add(executor.submit(() -> {
+                    while (running.get()) {
+                        List<?> active = txManager.getActiveTransactions();
+                        assertTrue(active.size() <= workerCount, "active transactions: " + active.size());
+                        for (Object bean : active) {
+                            String id = ((TransactionAdminBean) bean).getId();
+                            assertNotNull(id);
+                            if (forceRollback) {
+                                try {
+                                    txManager.forceRollback(id);
+                                    forcedRollbacks.incrementAndGet();
+                                } catch (IllegalStateException e) {
+                                    // already completed
+                                }
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+            running.set(false);
+            for (Future<?> reader : readers) {
+                reader.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+
+        assertTrue(rolledBack.get() <= forcedRollbacks.get(), "rolled back: " + rolledBack + " of " + forcedRollbacks);
+        assertTrue(txManager.getActiveTransactions().isEmpty(), "completed transactions are still listed");
+        assertThrows(IllegalStateException.class, () -> txManager.forceRollback("unknown"));
+    }
+
+
     private UserTransaction createUtx() {
         UserTransaction utx = new UserTransactionImpl();
         InvocationManager im = new org.glassfish.api.invocation.InvocationManagerImpl();
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
  *
@@ -187,6 +188,63 @@ public class Configuration extends Object {
      */
     public final static String TIMEOUT_INTERVAL = "com.sun.jts.timeoutInterval" ;
 
+    /**The property key used to enable the group commit of the transaction log.
+     * Forced writes of concurrent transactions are then coalesced into one force
+     * of the log file, issued at most this many microseconds after the first of them.
+     * <p>
+     * The value is <em><b>com.sun.jts.logGroupCommitDelay</b></em>.
+     * <p>
+     * The default value is 0, every forced write is forced on its own.
+     */
+    public final static String LOG_GROUP_COMMIT_DELAY = "com.sun.jts.logGroupCommitDelay";
+
+    /**The property key used to specify the number of forced writes after which
+     * the group commit forces the log file without waiting for the delay to expire.
+     * <p>
+     * The value is <em><b>com.sun.jts.logGroupCommitBatchSize</b></em>.
+     * <p>
+     * The default value is 64.
+     */
+    public final static String LOG_GROUP_COMMIT_BATCH_SIZE = "com.sun.jts.logGroupCommitBatchSize";
+
+    /**The property key used to specify whether log extents are preallocated by
+     * writing zeros, so that forcing a log record never changes the file size and
+     * only its data has to be forced.
+     * <p>
+     * The value is <em><b>com.sun.jts.logExtentPreallocation</b></em>.
+     * <p>
+     * The default value is false.
+     */
+    public final static String LOG_EXTENT_PREALLOCATION = "com.sun.jts.logExtentPreallocation";
+
+    /**The property key used to enable the batching of the database transaction log.
+     * Inserts and deletes of concurrent transactions are then written in JDBC batches
+     * by a single writer, and deletes are written asynchronously.
+     * <p>
+     * The value is <em><b>com.sun.jts.dbLogBatching</b></em>.
+     * <p>
+     * The default value is false.
+     */
+    public final static String DB_LOG_BATCHING = "com.sun.jts.dbLogBatching";
+
+    /**The property key used to specify the maximum number of statements in one
+     * JDBC batch of the database transaction log.
+     * <p>
+     * The value is <em><b>com.sun.jts.dbLogBatchSize</b></em>.
+     * <p>
+     * The default value is 100.
+     */
+    public final static String DB_LOG_BATCH_SIZE = "com.sun.jts.dbLogBatchSize";
+
+    /**The property key used to specify the maximum time in milliseconds a delete
+     * of the database transaction log is queued before it is written.
+     * <p>
+     * The value is <em><b>com.sun.jts.dbLogFlushInterval</b></em>.
+     * <p>
+     * The default value is 100.
+     */
+    public final static String DB_LOG_FLUSH_INTERVAL = "com.sun.jts.dbLogFlushInterval";
+
     /**The default subdirectory in which log and repository files are stored.
      */
     public final static String JTS_SUBDIRECTORY = "jts"/*#Frozen*/;
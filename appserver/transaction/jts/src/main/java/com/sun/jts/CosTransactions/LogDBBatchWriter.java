@@ -0,0 +1,446 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import com.sun.logging.LogDomains;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**Writes the records of the database transaction log in JDBC batches.
+ * <p>
+ * The inserts and deletes of concurrent transactions are queued and written
+ * by a single writer thread, one database transaction per batch, the deletes
+ * before the inserts. An insert is written as soon as the writer is free and
+ * its caller waits until it is committed, so the record is in the database
+ * before the transaction commits its resources, as with the unbatched log.
+ * While a batch is written the next one is queued.
+ * <p>
+ * A delete only removes the record of a completed transaction, so its caller
+ * does not wait: it is written with the next batch of inserts or at most
+ * the flush interval later. A record whose delete is still queued at a crash
+ * belongs to a transaction without in-doubt branches and is ignored by the
+ * recovery, which flushes the queue before it reads the records.
+ * <p>
+ * If a batch fails, its records are written one by one, so that a failure
+ * only fails the records concerned.
+ * <p>
+ * At shutdown the queued records are written and the writer thread exits,
+ * the records logged afterwards are written directly by their callers.
+ */
+class LogDBBatchWriter implements Runnable {
+
+    private static final Logger _logger = LogDomains.getLogger(LogDBBatchWriter.class, LogDomains.TRANSACTION_LOGGER);
+
+    /**The default maximum number of statements in one JDBC batch.
+     */
+    static final int DEFAULT_BATCH_SIZE = 100;
+
+    /**The default maximum time in milliseconds a queued delete waits.
+     */
+    static final long DEFAULT_FLUSH_INTERVAL = 100;
+
+    private final LogDBHelper helper;
+    private final int maxBatchSize;
+    private final long flushIntervalNanos;
+
+    private final Thread writer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition queued = lock.newCondition();
+    private final Condition written = lock.newCondition();
+
+    // guarded by lock
+    private List<Insert> inserts = new ArrayList<>();
+    private List<Delete> deletes = new ArrayList<>();
+    private long firstDeleteTime;
+    private long queuedCount = 0;
+    private long writtenCount = 0;
+    private int flushRequests = 0;
+    private boolean stopped = false;
+
+    private long batchCount = 0;
+    private long recordCount = 0;
+
+    /**Creates the writer and starts its thread.
+     *
+     * @param helper               The log the records are written to.
+     * @param maxBatchSize         Maximum number of statements in one JDBC batch.
+     * @param flushIntervalMillis  Maximum time a queued delete waits.
+     */
+    LogDBBatchWriter( LogDBHelper helper, int maxBatchSize, long flushIntervalMillis ) {
+        this.helper = helper;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMillis));
+        writer = new Thread(this, "JTS DB Log Writer"/*#Frozen*/);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**Queues the insert of a record and waits until it is committed. Once
+     * the writer is shut down, the record is written directly.
+     *
+     * @param localTID    The local transaction identifier.
+     * @param serverName  The server name.
+     * @param data        The global transaction identifier, null for the mapping record.
+     *
+     * @return  true if the record was written.
+     */
+    boolean insert( long localTID, String serverName, byte[] data ) {
+        Insert insert = new Insert(localTID, serverName, data);
+        boolean interrupted = false;
+        lock.lock();
+        try {
+            if( !stopped ) {
+                inserts.add(insert);
+                queuedCount++;
+                queued.signal();
+                while( !insert.done ) {
+                    try {
+                        written.await();
+                    } catch( InterruptedException e ) {
+                        interrupted = true;
+                    }
+                }
+                return insert.ok;
+            }
+        } finally {
+            lock.unlock();
+            if( interrupted ) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return helper.addRecordNow(localTID, serverName, data);
+    }
+
+    /**Queues the delete of a record. Once the writer is shut down, the
+     * record is deleted directly.
+     *
+     * @param localTID    The local transaction identifier.
+     * @param serverName  The server name.
+     *
+     * @return  true if the delete was queued or done.
+     */
+    boolean delete( long localTID, String serverName ) {
+        lock.lock();
+        try {
+            if( !stopped ) {
+                // the first delete starts the flush interval, a full batch is written now
+                if( deletes.isEmpty() ) {
+                    firstDeleteTime = System.nanoTime();
+                    queued.signal();
+                }
+                deletes.add(new Delete(localTID, serverName));
+                queuedCount++;
+                if( deletes.size() >= maxBatchSize ) {
+                    queued.signal();
+                }
+                return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return helper.deleteRecordNow(localTID, serverName);
+    }
+
+    /**Waits until the records queued before the call are written.
+     */
+    void flush() {
+        boolean interrupted = false;
+        lock.lock();
+        try {
+            long target = queuedCount;
+            if( writtenCount >= target ) {
+                return;
+            }
+            flushRequests++;
+            queued.signal();
+            try {
+                while( writtenCount < target ) {
+                    try {
+                        written.await();
+                    } catch( InterruptedException e ) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                flushRequests--;
+            }
+        } finally {
+            lock.unlock();
+            if( interrupted ) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**Writes the queued records and waits until the writer thread exits.
+     */
+    void shutdown() {
+        lock.lock();
+        try {
+            stopped = true;
+            queued.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        boolean interrupted = false;
+        while( writer.isAlive() ) {
+            try {
+                writer.join();
+            } catch( InterruptedException e ) {
+                interrupted = true;
+            }
+        }
+        if( interrupted ) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**Returns the number of batches written.
+     *
+     * @return  The batch count.
+     */
+    long getBatchCount() {
+        lock.lock();
+        try {
+            return batchCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**Returns the number of records written in batches.
+     *
+     * @return  The record count.
+     */
+    long getRecordCount() {
+        lock.lock();
+        try {
+            return recordCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void run() {
+        while( true ) {
+            List<Insert> batchInserts;
+            List<Delete> batchDeletes;
+            long batchEnd;
+
+            lock.lock();
+            try {
+                while( !isBatchReady() ) {
+                    if( stopped ) {
+                        // nothing is queued anymore
+                        return;
+                    }
+                    try {
+                        if( deletes.isEmpty() ) {
+                            queued.await();
+                        } else {
+                            queued.awaitNanos(flushIntervalNanos - (System.nanoTime() - firstDeleteTime));
+                        }
+                    } catch( InterruptedException e ) {
+                        // keep writing, the records must not be lost
+                    }
+                }
+                batchInserts = inserts;
+                batchDeletes = deletes;
+                inserts = new ArrayList<>();
+                deletes = new ArrayList<>();
+                batchEnd = queuedCount;
+            } finally {
+                lock.unlock();
+            }
+
+            boolean ok = false;
+            try {
+                try {
+                    ok = writeBatch(batchDeletes, batchInserts);
+                } catch( Throwable t ) {
+                    _logger.log(Level.SEVERE, "jts.exception_in_db_log_resource", t);
+                }
+                if( !ok ) {
+                    writeOneByOne(batchDeletes, batchInserts);
+                }
+            } finally {
+                // the callers always get an answer, false for the records not written
+                lock.lock();
+                try {
+                    if( ok ) {
+                        batchCount++;
+                        recordCount += batchDeletes.size() + batchInserts.size();
+                    }
+                    for( Insert insert : batchInserts ) {
+                        insert.done = true;
+                    }
+                    writtenCount = batchEnd;
+                    written.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**Checks whether the queued records have to be written now. Called
+     * with the lock held.
+     */
+    private boolean isBatchReady() {
+        if( !inserts.isEmpty() ) {
+            return true;
+        }
+        if( deletes.isEmpty() ) {
+            return false;
+        }
+        return flushRequests > 0 || stopped || deletes.size() >= maxBatchSize
+            || System.nanoTime() - firstDeleteTime >= flushIntervalNanos;
+    }
+
+    /**Writes the records in one database transaction.
+     *
+     * @return  true if the batch was committed.
+     */
+    private boolean writeBatch( List<Delete> batchDeletes, List<Insert> batchInserts ) throws Exception {
+        if( _logger.isLoggable(Level.FINE) ) {
+            _logger.fine("LogDBBatchWriter writing " + batchDeletes.size() + " deletes and "
+                + batchInserts.size() + " inserts");
+        }
+        Connection conn = helper.getNonTxConnection();
+        boolean autoCommit = true;
+        try {
+            autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                if( !batchDeletes.isEmpty() ) {
+                    try( PreparedStatement stmt = conn.prepareStatement(LogDBHelper.deleteStatement) ) {
+                        int count = 0;
+                        for( Delete delete : batchDeletes ) {
+                            stmt.setString(1, Long.toString(delete.localTID));
+                            stmt.setString(2, delete.serverName);
+                            stmt.addBatch();
+                            if( ++count % maxBatchSize == 0 ) {
+                                stmt.executeBatch();
+                            }
+                        }
+                        if( count % maxBatchSize != 0 ) {
+                            stmt.executeBatch();
+                        }
+                    }
+                }
+                if( !batchInserts.isEmpty() ) {
+                    try( PreparedStatement stmt = conn.prepareStatement(LogDBHelper.insertStatement) ) {
+                        int count = 0;
+                        for( Insert insert : batchInserts ) {
+                            stmt.setString(1, Long.toString(insert.localTID));
+                            stmt.setString(2, insert.serverName);
+                            stmt.setString(3, helper.getInstanceName());
+                            stmt.setBytes(4, insert.data);
+                            stmt.addBatch();
+                            if( ++count % maxBatchSize == 0 ) {
+                                stmt.executeBatch();
+                            }
+                        }
+                        if( count % maxBatchSize != 0 ) {
+                            stmt.executeBatch();
+                        }
+                    }
+                }
+                conn.commit();
+            } catch( SQLException ex ) {
+                _logger.log(Level.WARNING, "jts.exception_in_db_log_resource", ex);
+                try {
+                    conn.rollback();
+                } catch( SQLException ex1 ) {
+                    _logger.log(Level.SEVERE, "jts.exception_in_db_log_resource", ex1);
+                }
+                return false;
+            }
+            for( Insert insert : batchInserts ) {
+                insert.ok = true;
+            }
+            return true;
+        } finally {
+            try {
+                conn.setAutoCommit(autoCommit);
+                conn.close();
+            } catch( Exception ex1 ) {
+                _logger.log(Level.SEVERE, "jts.exception_in_db_log_resource", ex1);
+            }
+        }
+    }
+
+    /**Writes the records of a failed batch one by one. A record which
+     * cannot be written does not prevent the others from being written.
+     */
+    private void writeOneByOne( List<Delete> batchDeletes, List<Insert> batchInserts ) {
+        for( Delete delete : batchDeletes ) {
+            try {
+                helper.deleteRecordNow(delete.localTID, delete.serverName);
+            } catch( Throwable t ) {
+                _logger.log(Level.SEVERE, "jts.exception_in_db_log_resource", t);
+            }
+        }
+        for( Insert insert : batchInserts ) {
+            try {
+                insert.ok = helper.addRecordNow(insert.localTID, insert.serverName, insert.data);
+            } catch( Throwable t ) {
+                _logger.log(Level.SEVERE, "jts.exception_in_db_log_resource", t);
+            }
+        }
+    }
+
+    private static final class Insert {
+
+        final long localTID;
+        final String serverName;
+        final byte[] data;
+
+        // written by the writer thread, read under the lock
+        boolean ok = false;
+        boolean done = false;
+
+        Insert( long localTID, String serverName, byte[] data ) {
+            this.localTID = localTID;
+            this.serverName = serverName;
+            this.data = data;
+        }
+    }
+
+    private static final class Delete {
+
+        final long localTID;
+        final String serverName;
+
+        Delete( long localTID, String serverName ) {
+            this.localTID = localTID;
+            this.serverName = serverName;
+        }
+    }
+}
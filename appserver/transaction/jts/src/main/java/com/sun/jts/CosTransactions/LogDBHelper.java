@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -48,10 +49,11 @@ class LogDBHelper {
 
     private DataSource ds = null;
     private Method getNonTxConnectionMethod = null;
-    private static final String insertStatement =
+    private LogDBBatchWriter batchWriter = null;
+    static final String insertStatement =
              System.getProperty("com.sun.jts.dblogging.insertquery",
                  "insert into  txn_log_table values ( ? , ? , ? , ? )");
-    private static final String deleteStatement =
+    static final String deleteStatement =
              System.getProperty("com.sun.jts.dblogging.deletequery",
                  "delete from txn_log_table where localtid = ? and servername = ? ");
     private static final String selectStatement =
@@ -87,10 +89,77 @@ class LogDBHelper {
             _logger.log(Level.SEVERE,"jts.unconfigured_db_log_resource",resName);
             _logger.log(Level.SEVERE,"",t);
         }
+        if (ds != null && Boolean.parseBoolean(Configuration.getPropertyValue(Configuration.DB_LOG_BATCHING))) {
+            batchWriter = new LogDBBatchWriter(this,
+                    getIntProperty(Configuration.DB_LOG_BATCH_SIZE, LogDBBatchWriter.DEFAULT_BATCH_SIZE),
+                    getIntProperty(Configuration.DB_LOG_FLUSH_INTERVAL, (int) LogDBBatchWriter.DEFAULT_FLUSH_INTERVAL));
+        }
         if (_logger.isLoggable(Level.FINE)) {
             _logger.fine("LogDBHelper.resName: " + resName);
             _logger.fine("LogDBHelper.ds: " + ds);
             _logger.fine("LogDBHelper.getNonTxConnectionMethod: " + getNonTxConnectionMethod);
+            _logger.fine("LogDBHelper.batchWriter: " + batchWriter);
+        }
+    }
+
+    /**
+     * Creates a helper writing to the given data source, used by the tests.
+     * A batch size of 0 disables the batching.
+     */
+    LogDBHelper(DataSource ds, String instanceName, String serverName, int batchSize, long flushInterval) {
+        this.ds = ds;
+        this.instanceName = instanceName;
+        this.serverName = serverName;
+        createTable();
+        if (batchSize > 0) {
+            batchWriter = new LogDBBatchWriter(this, batchSize, flushInterval);
+        }
+    }
+
+    private static int getIntProperty(String name, int defaultValue) {
+        String value = Configuration.getPropertyValue(name);
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                _logger.log(Level.WARNING, "jts.invalid_db_log_property", new Object[] {name, value});
+            }
+        }
+        return defaultValue;
+    }
+
+    String getInstanceName() {
+        return instanceName;
+    }
+
+    /**
+     * Returns a connection which is not enlisted in the current transaction.
+     * Data sources without the GlassFish extension return a plain connection.
+     */
+    Connection getNonTxConnection() throws Exception {
+        if (getNonTxConnectionMethod == null) {
+            return ds.getConnection();
+        }
+        // To avoid compile time dependency to get NonTxConnection
+        return (Connection)(getNonTxConnectionMethod.invoke(ds, null));
+    }
+
+    /**
+     * Waits until the records queued by the batch writer, if any, are written.
+     */
+    void flush() {
+        if (batchWriter != null) {
+            batchWriter.flush();
+        }
+    }
+
+    /**
+     * Writes the records queued by the batch writer, if any, and stops its thread.
+     * The records logged afterwards are written directly.
+     */
+    void shutdown() {
+        if (batchWriter != null) {
+            batchWriter.shutdown();
         }
     }
 
@@ -131,41 +200,51 @@ class LogDBHelper {
                 _logger.fine("LogDBHelper.addRecord for serverName: " + serverName);
                 _logger.fine("LogDBHelper.addRecord for instanceName: " + instanceName);
             }
-            Connection conn = null;
-            PreparedStatement prepStmt1 = null;
-            try {
-                if (useNonTxConnectionForAddRecord)
-            conn = (Connection)(getNonTxConnectionMethod.invoke(ds, null));
-                else
-                    conn = ds.getConnection();
-                prepStmt1 = conn.prepareStatement(insertStatement);
-                prepStmt1.setString(1,Long.toString(localTID));
-                prepStmt1.setString(2,serverName);
-                prepStmt1.setString(3,instanceName);
-                prepStmt1.setBytes(4,data);
-                prepStmt1 .executeUpdate();
-                return true;
-            } catch (Throwable ex) {
-                _logger.log(Level.SEVERE,"jts.exception_in_db_log_resource",ex);
-                return false;
-            } finally {
-                try {
-                    if (prepStmt1 != null)
-                        prepStmt1.close();
-                } catch (Exception ex1) {
-                    _logger.log(Level.SEVERE,"jts.exception_in_db_log_resource",ex1);
-                }
-                try {
-                    if (conn != null)
-                        conn.close();
-                } catch (Exception ex1) {
-                    _logger.log(Level.SEVERE,"jts.exception_in_db_log_resource",ex1);
-                }
+            if (batchWriter != null) {
+                return batchWriter.insert(localTID, serverName, data);
             }
+            return addRecordNow(localTID, serverName, data);
         }
         return false;
     }
 
+    /**
+     * Inserts the record with its own statement.
+     */
+    boolean addRecordNow(long localTID, String serverName0, byte[] data) {
+        Connection conn = null;
+        PreparedStatement prepStmt1 = null;
+        try {
+            if (useNonTxConnectionForAddRecord)
+                conn = getNonTxConnection();
+            else
+                conn = ds.getConnection();
+            prepStmt1 = conn.prepareStatement(insertStatement);
+            prepStmt1.setString(1,Long.toString(localTID));
+            prepStmt1.setString(2,serverName0);
+            prepStmt1.setString(3,instanceName);
+            prepStmt1.setBytes(4,data);
+            prepStmt1 .executeUpdate();
+            return true;
+        } catch (Throwable ex) {
+            _logger.log(Level.SEVERE,"jts.exception_in_db_log_resource",ex);
+            return false;
+        } finally {
+            try {
+                if (prepStmt1 != null)
+                    prepStmt1.close();
+            } catch (Exception ex1) {
+                _logger.log(Level.SEVERE,"jts.exception_in_db_log_resource",ex1);
+            }
+            try {
+                if (conn != null)
+                    conn.close();
+            } catch (Exception ex1) {
+                _logger.log(Level.SEVERE,"jts.exception_in_db_log_resource",ex1);
+            }
+        }
+    }
+
     boolean deleteRecord(long localTID) {
         return deleteRecord(localTID, serverName);
     }
@@ -175,33 +254,42 @@ class LogDBHelper {
             if (_logger.isLoggable(Level.FINE)) {
                 _logger.fine("LogDBHelper.deleteRecord for localTID: " + localTID + " and serverName: " + serverName0);
             }
-            Connection conn = null;
-            PreparedStatement prepStmt1 = null;
-            try {
-                // To avoid compile time dependency to get NonTxConnection
-                conn = (Connection)(getNonTxConnectionMethod.invoke(ds, null));
-                prepStmt1 = conn.prepareStatement(deleteStatement);
-                prepStmt1.setString(1,Long.toString(localTID));
-                prepStmt1.setString(2,serverName0); //Configuration.getServerName());
-                prepStmt1 .executeUpdate();
-                return true;
-            } catch (Exception ex) {
-                _logger.log(Level.SEVERE,"jts.exception_in_db_log_resource",ex);
-                return false;
-            } finally {
-                try {
-                if (prepStmt1 != null)
-                    prepStmt1.close();
-                if (conn != null)
-                    conn.close();
-                } catch (Exception ex1) {
-                    _logger.log(Level.SEVERE,"jts.exception_in_db_log_resource",ex1);
-                }
+            if (batchWriter != null) {
+                return batchWriter.delete(localTID, serverName0);
             }
+            return deleteRecordNow(localTID, serverName0);
         }
         return false;
     }
 
+    /**
+     * Deletes the record with its own statement.
+     */
+    boolean deleteRecordNow(long localTID, String serverName0) {
+        Connection conn = null;
+        PreparedStatement prepStmt1 = null;
+        try {
+            conn = getNonTxConnection();
+            prepStmt1 = conn.prepareStatement(deleteStatement);
+            prepStmt1.setString(1,Long.toString(localTID));
+            prepStmt1.setString(2,serverName0); //Configuration.getServerName());
+            prepStmt1 .executeUpdate();
+            return true;
+        } catch (Exception ex) {
+            _logger.log(Level.SEVERE,"jts.exception_in_db_log_resource",ex);
+            return false;
+        } finally {
+            try {
+            if (prepStmt1 != null)
+                prepStmt1.close();
+            if (conn != null)
+                conn.close();
+            } catch (Exception ex1) {
+                _logger.log(Level.SEVERE,"jts.exception_in_db_log_resource",ex1);
+            }
+        }
+    }
+
 
     Map getGlobalTIDMap() {
         return getGlobalTIDMap(serverName);
@@ -214,12 +302,13 @@ class LogDBHelper {
             if (_logger.isLoggable(Level.FINE)) {
                 _logger.fine("LogDBHelper get records for serverName: " + serverName0);
             }
+            flush();
             Connection conn = null;
             PreparedStatement prepStmt1 = null;
             ResultSet rs = null;
             try {
                 //conn = ds.getConnection();
-                conn = (Connection)(getNonTxConnectionMethod.invoke(ds, null));
+                conn = getNonTxConnection();
                 prepStmt1 = conn.prepareStatement(selectStatement);
                 prepStmt1.setString(1,serverName0); //Configuration.getServerName());
                 rs = prepStmt1.executeQuery();
@@ -268,12 +357,13 @@ class LogDBHelper {
             if (_logger.isLoggable(Level.FINE)) {
                 _logger.fine("LogDBHelper get serverName for instanceName: " + instanceName0);
             }
+            flush();
             Connection conn = null;
             PreparedStatement prepStmt1 = null;
             ResultSet rs = null;
             try {
                 //conn = ds.getConnection();
-                conn = (Connection)(getNonTxConnectionMethod.invoke(ds, null));
+                conn = getNonTxConnection();
                 prepStmt1 = conn.prepareStatement(selectServerNameStatement);
                 prepStmt1.setString(1,instanceName0);
                 rs = prepStmt1.executeQuery();
@@ -317,7 +407,7 @@ class LogDBHelper {
             Connection conn = null;
             Statement stmt1 = null;
             try {
-                conn = (Connection)(getNonTxConnectionMethod.invoke(ds, null));
+                conn = getNonTxConnection();
                 stmt1 = conn.createStatement();
                 stmt1.execute(createTableStatement);
                 _logger.fine("=== table created ===");
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
  *
@@ -106,6 +107,9 @@ class LogFile {
      * <p>
      * Returns true if the write completed successfully and false if the write
      * did not complete.
+     * <p>
+     * This method is not synchronized, the LogHandle serializes the writes itself
+     * and a forced write may wait for the group commit without blocking others.
      *
      * @param writeType   Forced/non-forced write indicator.
      * @param record      Log record data.
@@ -116,10 +120,10 @@ class LogFile {
      *
      * @see
      */
-    synchronized boolean write( int    writeType,
-                                byte[] record,
-                                int    recordType,
-                                LogLSN recordLSN ) {
+    boolean write( int    writeType,
+                   byte[] record,
+                   int    recordType,
+                   LogLSN recordLSN ) {
 
         boolean result = true;
 
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
  *
@@ -36,6 +37,9 @@ import com.sun.enterprise.util.i18n.StringManager;
 import java.io.File;
 import java.io.FileDescriptor;
 import java.io.RandomAccessFile;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**This class encapsulates file I/O operations and the file handle.
  *
@@ -95,6 +99,11 @@ class LogFileHandle {
 
     final static String DSYNC_PROPERTY = "com.sun.appserv.transaction.nofdsync";
 
+    /**Whether the allocated file storage is filled with zeros instead of
+     * leaving a hole, so that forcing the log never changes the file size.
+     */
+    static boolean preallocate = false;
+
     /**The maximum length of a file name.
      */
     //!final static int LOG_FNAME_MAX = FILENAME_MAX;
@@ -114,12 +123,27 @@ class LogFileHandle {
     int bufferUpdateEnd   = -1;
     int buffPos = 0;
 
+    /**Channel used by the group commit to force the file outside of the
+     * log latch, null when the file is closed.
+     */
+    private volatile FileChannel channel = null;
+
+    /**Set when data was flushed to the file system but not forced.
+     */
+    private volatile boolean unforced = false;
+
+    /**Set when a flush extended the file since it was last forced. Cleared
+     * atomically by fileForce, so that a concurrent flush is not lost.
+     */
+    private final AtomicBoolean sizeChanged = new AtomicBoolean();
+
     static {
         dsyncProp = System.getProperty(DSYNC_PROPERTY);
         if (dsyncProp != null) {
             MODE_READWRITEOLD = "rwd";
             MODE_READWRITENEW = "rwd";
         }
+        preallocate = Boolean.parseBoolean(Configuration.getPropertyValue(Configuration.LOG_EXTENT_PREALLOCATION));
     }
 
     /**Default LogFileHandle constructor.
@@ -336,6 +360,7 @@ class LogFileHandle {
         try {
             fhandle = new RandomAccessFile(file,fileMode);
             fd = fhandle.getFD();
+            channel = fhandle.getChannel();
 
             // If buffering, and the opened file has contents, then allocate the buffer
             // and read the file contents in.  Otherwise make the buffer an empty array.
@@ -372,11 +397,12 @@ class LogFileHandle {
             // If buffered, then ensure that the buffer is stored and synced with the
             // file system.
 
-            if( bufferUpdateStart != -1 )
+            if( bufferUpdateStart != -1 || unforced )
                 fileSync();
 
             // Close the file.
 
+            channel = null;
             fhandle.close();
         } catch( Throwable e ) {
             throw new LogException(LogException.LOG_CLOSE_FAILURE,1,
@@ -446,18 +472,23 @@ class LogFileHandle {
      */
     void fileSync() throws LogException {
 
-        // Synchronization is only done for buffered files which have been updated.
+        // Synchronization is only done for buffered files which have been updated,
+        // or flushed by the group commit but not forced yet.
         // Non-buffered files have every write synchronized with the file system.
 
-        if( bufferUpdateStart != -1 )
+        if( bufferUpdateStart != -1 || unforced )
             try {
-                fhandle.seek(bufferUpdateStart);
-                fhandle.write(bufferData,bufferUpdateStart,bufferUpdateEnd-bufferUpdateStart);
+                if( bufferUpdateStart != -1 ) {
+                    fhandle.seek(bufferUpdateStart);
+                    fhandle.write(bufferData,bufferUpdateStart,bufferUpdateEnd-bufferUpdateStart);
+                }
                 if (dsyncProp == null)
                     fd.sync();
 
                 bufferUpdateStart = -1;
                 bufferUpdateEnd   = -1;
+                unforced = false;
+                sizeChanged.set(false);
             } catch (Throwable e) {
                 throw new LogException(LogException.LOG_READ_FAILURE,1,
                         sm.getString("jts.log_file_sync_failed"), e);
@@ -465,6 +496,72 @@ class LogFileHandle {
 
     }
 
+    /**Writes the updated part of the buffer to the file system without
+     * forcing it to permanent storage; the group commit forces it later
+     * by calling fileForce.
+     *
+     * @return  True if there is data to be forced.
+     *
+     * @exception LogException The write failed.
+     */
+    boolean fileFlush() throws LogException {
+
+        if( bufferUpdateStart != -1 )
+            try {
+                boolean extended = bufferUpdateEnd > fhandle.length();
+                fhandle.seek(bufferUpdateStart);
+                fhandle.write(bufferData,bufferUpdateStart,bufferUpdateEnd-bufferUpdateStart);
+
+                // Set after the write, so that a force which clears the flag covers the write
+                if( extended )
+                    sizeChanged.set(true);
+
+                bufferUpdateStart = -1;
+                bufferUpdateEnd   = -1;
+                unforced = true;
+            } catch (Throwable e) {
+                throw new LogException(LogException.LOG_WRITE_FAILURE,1,
+                        sm.getString("jts.log_write_failed"), e);
+            }
+
+        return unforced;
+    }
+
+    /**Forces the data flushed by fileFlush to permanent storage.
+     * <p>
+     * This method may be called without holding the log latch, concurrently
+     * with writes to the file. If the file has been closed meanwhile, it was
+     * forced by fileClose.
+     *
+     * @exception LogException The force failed.
+     */
+    void fileForce() throws LogException {
+
+        FileChannel forceChannel = channel;
+        if( forceChannel == null || !unforced )
+            return;
+
+        // Only the data needs to be forced when the size of the file has not changed,
+        // which is the case for preallocated extents.
+
+        // A flush running meanwhile sets the flags again after they are cleared here,
+        // so that the next force covers it.
+
+        unforced = false;
+        boolean metaData = sizeChanged.getAndSet(false);
+        try {
+            forceChannel.force(metaData);
+        } catch( ClosedChannelException e ) {
+            // forced when it was closed
+        } catch( Throwable e ) {
+            unforced = true;
+            if( metaData )
+                sizeChanged.set(true);
+            throw new LogException(LogException.LOG_ERROR_FORCING_LOG,1,
+                    sm.getString("jts.log_file_sync_failed"), e);
+        }
+    }
+
     /**Reads a vector of records from the file.
      *
      * @param vector  The vector to contain the records to be read.
@@ -564,8 +661,15 @@ class LogFileHandle {
            This is the quick version which only does one write.
         */
 
-        fileSeek(bytesToClear-1,SEEK_RELATIVE);
-        fileWrite(singleChar2);
+        // When preallocating, fill the whole area with zeros so that the file
+        // system allocates the blocks now rather than when the records are forced.
+
+        if( preallocate )
+            fileWrite(new byte[bytesToClear]);
+        else {
+            fileSeek(bytesToClear-1,SEEK_RELATIVE);
+            fileWrite(singleChar2);
+        }
 
         // Move the file pointer back to its original location on the file
         // by seeking -BytesToClear
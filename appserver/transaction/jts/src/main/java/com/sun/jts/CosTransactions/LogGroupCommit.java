@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import com.sun.logging.LogDomains;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**Coalesces the forced writes of concurrent transactions into one force of
+ * the log files.
+ * <p>
+ * A forced write is written to the file system under the log latch and
+ * registered here, then the writer waits outside the latch until a force
+ * covers it. The first waiting writer becomes the leader: it waits until the
+ * batch is full or the delay expires, forces every file written by the batch
+ * and wakes up the others.
+ */
+class LogGroupCommit {
+
+    private static final Logger _logger = LogDomains.getLogger(LogGroupCommit.class, LogDomains.TRANSACTION_LOGGER);
+
+    /**The default number of forced writes after which the files are forced
+     * without waiting for the delay to expire.
+     */
+    static final int DEFAULT_BATCH_SIZE = 64;
+
+    /**The metrics are logged after every this many forces.
+     */
+    private static final long METRICS_LOG_INTERVAL = 1000;
+
+    private final long maxDelayNanos;
+    private final int maxBatchSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    // guarded by lock
+    private Batch current = new Batch();
+    private boolean forcing = false;
+
+    private long forceCount = 0;
+    private long recordCount = 0;
+    private long maxRecordsPerForce = 0;
+
+    /**Creates a group commit.
+     *
+     * @param maxDelayMicros  Maximum time the leader waits for more writes.
+     * @param maxBatchSize    Number of writes which are forced without waiting.
+     */
+    LogGroupCommit( long maxDelayMicros, int maxBatchSize ) {
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(maxDelayMicros);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    /**Creates the group commit from the configuration.
+     *
+     * @return  The group commit or null if it is not enabled.
+     */
+    static LogGroupCommit create() {
+        long delay = parse(Configuration.LOG_GROUP_COMMIT_DELAY, 0);
+        if( delay <= 0 || LogFileHandle.dsyncProp != null ) {
+            return null;
+        }
+        int batchSize = (int) parse(Configuration.LOG_GROUP_COMMIT_BATCH_SIZE, DEFAULT_BATCH_SIZE);
+        if( _logger.isLoggable(Level.FINE) ) {
+            _logger.log(Level.FINE, "Transaction log group commit enabled, delay " + delay + "us, batch size " + batchSize);
+        }
+        return new LogGroupCommit(delay, batchSize);
+    }
+
+    private static long parse( String property, long defaultValue ) {
+        String value = Configuration.getPropertyValue(property);
+        if( value == null ) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch( NumberFormatException e ) {
+            _logger.log(Level.WARNING, "jts.invalid_log_group_commit_property", new Object[] {property, value});
+            return defaultValue;
+        }
+    }
+
+    /**Registers a write which has been flushed to the given file and must be
+     * forced. Called with the log latch held, so that a write never joins a
+     * batch forced before the write was flushed.
+     *
+     * @param handle  The file written.
+     *
+     * @return  The batch to wait for.
+     */
+    Batch register( LogFileHandle handle ) {
+        lock.lock();
+        try {
+            Batch batch = current;
+            batch.handles.add(handle);
+            if( ++batch.records >= maxBatchSize ) {
+                changed.signalAll();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**Waits until the given batch has been forced, forcing it if no other
+     * thread does it. Must be called without holding the log latch.
+     *
+     * @param batch  The batch returned by register.
+     *
+     * @exception LogException The force failed.
+     */
+    void awaitForce( Batch batch ) throws LogException {
+        boolean interrupted = false;
+        lock.lock();
+        try {
+            while( !batch.done ) {
+                if( forcing ) {
+                    try {
+                        changed.await();
+                    } catch( InterruptedException e ) {
+                        interrupted = true;
+                    }
+                    continue;
+                }
+
+                // Become the leader of the current batch, which is the batch being
+                // waited for, and wait for more writes to join it.
+
+                forcing = true;
+                long remaining = maxDelayNanos;
+                while( current.records < maxBatchSize && remaining > 0 ) {
+                    try {
+                        remaining = changed.awaitNanos(remaining);
+                    } catch( InterruptedException e ) {
+                        interrupted = true;
+                    }
+                }
+                forceBatch();
+            }
+        } finally {
+            lock.unlock();
+            if( interrupted ) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if( batch.failure != null ) {
+            throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 1, null, batch.failure);
+        }
+    }
+
+    /**Forces the files of the current batch. Called by the leader with
+     * the lock held, which is released while forcing.
+     */
+    private void forceBatch() {
+        Batch batch = current;
+        current = new Batch();
+
+        LogException forceFailure = null;
+        lock.unlock();
+        try {
+            for( LogFileHandle handle : batch.handles ) {
+                handle.fileForce();
+            }
+        } catch( LogException le ) {
+            forceFailure = le;
+        } finally {
+            lock.lock();
+        }
+
+        if( forceFailure == null ) {
+            forceCount++;
+            recordCount += batch.records;
+            maxRecordsPerForce = Math.max(maxRecordsPerForce, batch.records);
+            if( forceCount % METRICS_LOG_INTERVAL == 0 && _logger.isLoggable(Level.FINE) ) {
+                _logger.log(Level.FINE, "Transaction log group commit: " + forceCount + " forces, "
+                    + recordCount + " records, " + ((double) recordCount / forceCount) + " records per force, "
+                    + maxRecordsPerForce + " max");
+            }
+        } else {
+            // the writes of the batch fail, the files are forced again by the next batch
+            current.handles.addAll(batch.handles);
+            batch.failure = forceFailure;
+        }
+        batch.done = true;
+        forcing = false;
+        changed.signalAll();
+    }
+
+    /**Returns the number of forces done by the group commit.
+     *
+     * @return  The force count.
+     */
+    long getForceCount() {
+        lock.lock();
+        try {
+            return forceCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**Returns the number of forced writes covered by the forces.
+     *
+     * @return  The record count.
+     */
+    long getRecordCount() {
+        lock.lock();
+        try {
+            return recordCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**Returns the largest number of forced writes covered by one force.
+     *
+     * @return  The maximum records per force.
+     */
+    long getMaxRecordsPerForce() {
+        lock.lock();
+        try {
+            return maxRecordsPerForce;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**Returns the average number of forced writes covered by one force.
+     *
+     * @return  The records per force.
+     */
+    double getRecordsPerForce() {
+        lock.lock();
+        try {
+            return forceCount == 0 ? 0 : (double) recordCount / forceCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LogGroupCommit[forces=" + getForceCount() + ", records=" + getRecordCount()
+            + ", recordsPerForce=" + getRecordsPerForce() + ", maxRecordsPerForce=" + getMaxRecordsPerForce() + "]";
+    }
+
+    /**The forced writes which are forced together.
+     */
+    static final class Batch {
+
+        // guarded by the lock of the group commit
+        private final Set<LogFileHandle> handles = new HashSet<>();
+        private int records = 0;
+        private boolean done = false;
+        private LogException failure = null;
+    }
+}
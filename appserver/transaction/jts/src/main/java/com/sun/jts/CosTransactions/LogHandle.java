@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
  *
@@ -206,6 +207,7 @@ class LogHandle {
     LogFileHandle        logFileHandle = null;
     LogControlDescriptor logControlDescriptor = null;
     LogControl           logControl = null;
+    LogGroupCommit       groupCommit = null;
 
 
     /**Creates a LogHandle object for the given log instance.
@@ -237,6 +239,7 @@ class LogHandle {
         logControlDescriptor = new LogControlDescriptor();
         cursors = new ArrayList();
         extentTable = new Hashtable(EXTENT_TABLE_SIZE);
+        groupCommit = LogGroupCommit.create();
 
     }
 
@@ -252,9 +255,49 @@ class LogHandle {
      *
      * @see
      */
-    synchronized LogLSN writeRecord( byte[] record,
-                                     int    recordType,
-                                     int    writeMode )
+    LogLSN writeRecord( byte[] record,
+                        int    recordType,
+                        int    writeMode )
+        throws LogException {
+
+        if( writeMode != FORCE || groupCommit == null )
+            return writeRecord(record,recordType,writeMode,null);
+
+        // With group commit, the record is written under the latch but the force
+        // is awaited outside of it, so that concurrent forced writes share it.
+
+        LogGroupCommit.Batch[] forceBatch = new LogGroupCommit.Batch[1];
+        LogLSN result = writeRecord(record,recordType,writeMode,forceBatch);
+        if( forceBatch[0] != null )
+            try {
+                groupCommit.awaitForce(forceBatch[0]);
+            } catch (LogException le) {
+                throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 14,
+                        sm.getString("jts.log_file_sync_failed"), le);
+            }
+
+        return result;
+    }
+
+    /**Writes a record to the log.
+     *
+     * @param record       The log record.
+     * @param recordType   The log record type.
+     * @param writeMode    The write mode.
+     * @param forceBatch   If not null, a forced record is only flushed and this is an
+     *                     array with a single element which will be set to the group
+     *                     commit batch to wait for.
+     *
+     * @return  The LSN of the written record
+     *
+     * @exception LogException The write failed.
+     *
+     * @see
+     */
+    private synchronized LogLSN writeRecord( byte[] record,
+                                             int    recordType,
+                                             int    writeMode,
+                                             LogGroupCommit.Batch[/*1*/] forceBatch )
         throws LogException {
 
         // Check BlockValid field in Log_FileDescriptor block pointed to
@@ -532,6 +575,8 @@ class LogHandle {
         //         Return LOG_ERROR_FORCING_LOG
         //       Set 'extent written' flag to FALSE
         //   ENDLOOP
+        // With group commit the extent file is only flushed here and registered
+        // to be forced together with the concurrent writes.
 
         if( writeMode == FORCE ) {
             Enumeration extents = extentTable.elements();
@@ -539,7 +584,10 @@ class LogHandle {
                 LogExtent nextEDP = (LogExtent)extents.nextElement();
                 if( nextEDP.writtenSinceLastForce )
                     try {
-                        nextEDP.fileHandle.fileSync();
+                        if( forceBatch == null )
+                            nextEDP.fileHandle.fileSync();
+                        else if( nextEDP.fileHandle.fileFlush() )
+                            forceBatch[0] = groupCommit.register(nextEDP.fileHandle);
                         nextEDP.writtenSinceLastForce = false;
                     } catch (LogException le) {
                         throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 14,
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2024 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
  *
@@ -746,6 +746,12 @@ public class RecoveryManager {
             CoordinatorLog.finalizeAll();
         }
 
+        // Write the deletes still queued by the batched database log and stop its writer.
+
+        if (!immediate && Configuration.isDBLoggingEnabled()) {
+            LogDBHelper.getInstance().shutdown();
+        }
+
         //$Continue with shutdown/quiesce.
     }
 
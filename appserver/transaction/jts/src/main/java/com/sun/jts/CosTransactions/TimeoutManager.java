@@ -1,7 +1,7 @@
 /*
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -31,13 +31,15 @@
 
 package com.sun.jts.CosTransactions;
 
+import com.sun.enterprise.transaction.monitoring.TransactionServiceProbeProvider;
 import com.sun.jts.jtsxa.XID;
 import com.sun.logging.LogDomains;
 
-import java.util.Date;
-import java.util.Enumeration;
-import java.util.Hashtable;
-import java.util.Vector;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -46,6 +48,11 @@ import org.omg.CosTransactions.Status;
 /**
  * This class records state for timing out transactions, and runs a thread
  * which performs occasional checks to time out transactions.
+ * <p>
+ * The timeouts are kept in a {@link TimeoutWheel}, so that setting and
+ * cancelling a timeout takes constant time and each check only visits the
+ * timeouts due. A timeout stays due, and is handled again at every check,
+ * until it is cancelled.
  *
  * @version 0.01
  *
@@ -75,12 +82,25 @@ class TimeoutManager {
      */
     private static boolean initialised = false;
 
-    private static Hashtable     pendingTimeouts = new Hashtable();
-    private static Hashtable     indoubtTimeouts = new Hashtable();
+    /**
+     * The number of buckets of the timing wheel.
+     */
+    static final int WHEEL_SIZE = 512;
+
+    private static final Map<Long, TimeoutInfo> pendingTimeouts = new ConcurrentHashMap<>();
+    private static final Map<Long, TimeoutInfo> indoubtTimeouts = new ConcurrentHashMap<>();
+    private static volatile TimeoutWheel timeoutWheel = null;
     private static TimeoutThread timeoutThread = null;
-    private static boolean       timeoutActive = false;
-    private static boolean       quiescing = false;
-    private static boolean       isSetTimeout = false;
+    private static volatile boolean timeoutActive = false;
+    private static volatile boolean quiescing = false;
+    private static volatile boolean isSetTimeout = false;
+
+    // timeout lag statistics, the lag being the time from the expiry of
+    // a timeout until the timeout thread handles it
+    private static final AtomicLong timedOutCount = new AtomicLong();
+    private static final AtomicLong totalTimeoutLag = new AtomicLong();
+    private static final AtomicLong maxTimeoutLag = new AtomicLong();
+    private static final TransactionServiceProbeProvider probeProvider = new TransactionServiceProbeProvider();
 
     /*
         Logger to log transaction messages
@@ -119,8 +139,9 @@ class TimeoutManager {
         if (isSetTimeout) {
             return;
         }
-        isSetTimeout = true;
         timeoutThread = new TimeoutThread();
+        timeoutWheel = new TimeoutWheel(timeoutThread.getInterval(), WHEEL_SIZE, System.currentTimeMillis());
+        isSetTimeout = true;
         timeoutThread.start();
     }
 
@@ -159,10 +180,10 @@ class TimeoutManager {
                         initSetTimeout();
                     }
                     timeoutInfo = new TimeoutInfo();
-                    timeoutInfo.expireTime = new Date().getTime() + seconds * 1000L;
+                    timeoutInfo.expireTime = System.currentTimeMillis() + seconds * 1000L;
                     timeoutInfo.localTID = localTID;
                     timeoutInfo.timeoutType = timeoutType;
-                    pendingTimeouts.put(localTID, timeoutInfo);
+                    schedule(pendingTimeouts, timeoutInfo);
                     break;
                 case TimeoutManager.IN_DOUBT_TIMEOUT:
                     if (!isSetTimeout) {
@@ -170,10 +191,10 @@ class TimeoutManager {
                         // isSetTimeout = true;
                     }
                     timeoutInfo = new TimeoutInfo();
-                    timeoutInfo.expireTime = new Date().getTime() + seconds * 1000L;
+                    timeoutInfo.expireTime = System.currentTimeMillis() + seconds * 1000L;
                     timeoutInfo.localTID = localTID;
                     timeoutInfo.timeoutType = timeoutType;
-                    indoubtTimeouts.put(localTID, timeoutInfo);
+                    schedule(indoubtTimeouts, timeoutInfo);
                     break;
 
                 // For any other type, remove the timeout if there is one.
@@ -182,9 +203,9 @@ class TimeoutManager {
                     if (!isSetTimeout) {
                         break;
                     }
-                    result = (pendingTimeouts.remove(localTID) != null);
+                    result = cancel(pendingTimeouts, localTID);
                     if (!result) {
-                        result = (indoubtTimeouts.remove(localTID) != null);
+                        result = cancel(indoubtTimeouts, localTID);
                     }
 
                     // If the transaction service is quiescing and
@@ -192,9 +213,8 @@ class TimeoutManager {
                     // deactivate timeout and stop the timeout thread.
 
                     if (quiescing && pendingTimeouts.isEmpty() && indoubtTimeouts.isEmpty()) {
-                        timeoutThread.stop();
+                        timeoutThread.interrupt();
                         timeoutActive = false;
-                        // pendingTimeouts = null;
                     }
                     break;
             }
@@ -206,6 +226,31 @@ class TimeoutManager {
         return result;
     }
 
+    /**
+     * Records the timeout of a transaction, replacing its previous one.
+     */
+    private static void schedule(Map<Long, TimeoutInfo> timeouts, TimeoutInfo timeoutInfo) {
+        TimeoutInfo previous = timeouts.put(timeoutInfo.localTID, timeoutInfo);
+        if (previous != null) {
+            timeoutWheel.cancel(previous);
+        }
+        timeoutWheel.schedule(timeoutInfo);
+    }
+
+    /**
+     * Removes the timeout of a transaction.
+     *
+     * @return  true if there was a timeout.
+     */
+    private static boolean cancel(Map<Long, TimeoutInfo> timeouts, Long localTID) {
+        TimeoutInfo timeoutInfo = timeouts.remove(localTID);
+        if (timeoutInfo == null) {
+            return false;
+        }
+        timeoutWheel.cancel(timeoutInfo);
+        return true;
+    }
+
     /**
      * Takes appropriate action for a timeout.
      * <p>
@@ -326,129 +371,116 @@ class TimeoutManager {
      * Periodically checks the existing timeouts.
      * <p>
      * This is done to discover if any transactions have overrun their allotted
-     * time.  Those which have are returned as an Enumeration.
+     * time.  Those which have are returned, and scheduled again for the next
+     * check in case they are still there then.
      * <p>
      * Note that this method should not do anything that will cause a
      * synchronized method in the RecoveryManager to be called, as this could
      * cause a deadlock when RecoveryManager methods on other threads call
      * setTimeout.
      *
-     * @param
+     * @param now  The current time in milliseconds.
      *
      * @return  The information for transactions which have timed out.
      *
      * @see
      */
-     static Enumeration checkTimeouts() {
-        if (!isSetTimeout) {
+    static List<TimeoutInfo> checkTimeouts(long now) {
+        if (!isSetTimeout || !timeoutActive) {
             return null;
         }
 
-        Enumeration result = null;
-
-        // When woken up, go through all current timeouts and identify those
-        // which have expired.
+        List<TimeoutInfo> timedOut = new ArrayList<>();
+        for (TimeoutInfo timeoutInfo : timeoutWheel.advance(now)) {
 
-        if (timeoutActive && (pendingTimeouts.size() != 0 || indoubtTimeouts.size() != 0)) {
-            Vector timedOut = null;
+            // Skip the timeouts cancelled or replaced meanwhile.
 
-            Enumeration timeouts = null;
-
-            synchronized (pendingTimeouts) {
-                timeouts = pendingTimeouts.elements();
-
-                while (timeouts.hasMoreElements()) {
-
-                    TimeoutInfo timeoutInfo = (TimeoutInfo)timeouts.nextElement();
-
-                    // For each timeout in the list, check whether it has expired.
-                    // If so, look up the Coordinator and roll it back.
-
-                    if (new Date().getTime() > timeoutInfo.expireTime) {
-
-                       // Add the TimeoutInfo to the queue of
-                       //those that have timed out.
-
-                       if (timedOut == null) {
-                           timedOut = new Vector();
-                       }
-
-                       timedOut.addElement(timeoutInfo);
-                    }
-               }
+            Map<Long, TimeoutInfo> timeouts = timeoutInfo.timeoutType == IN_DOUBT_TIMEOUT ? indoubtTimeouts : pendingTimeouts;
+            if (timeouts.get(timeoutInfo.localTID) != timeoutInfo) {
+                continue;
             }
 
-            synchronized (indoubtTimeouts) {
-
-                timeouts = indoubtTimeouts.elements();
-
-                while (timeouts.hasMoreElements()) {
-
-                    TimeoutInfo timeoutInfo = (TimeoutInfo)timeouts.nextElement();
-
-                    // For each timeout in the list, check whether it has expired.
-                    // If so, look up the Coordinator and roll it back.
-
-                    if (new Date().getTime() > timeoutInfo.expireTime) {
-
-                        // Add the TimeoutInfo to the queue of
-                        //those that have timed out.
-
-                        if (timedOut == null) {
-                            timedOut = new Vector();
-                        }
-
-                        timedOut.addElement(timeoutInfo);
-                    }
-                }
-
-            }
-            // Enumerate the transactions which have timed out.
-
-            if (timedOut != null) {
-                result = timedOut.elements();
+            if (!timeoutInfo.expired) {
+                timeoutInfo.expired = true;
+                recordTimeoutLag(now - timeoutInfo.expireTime);
             }
+            timedOut.add(timeoutInfo);
+            timeoutWheel.schedule(timeoutInfo);
         }
 
         // The remainder of the timeout processing is not carried out here
         // because we would get deadlocked with addCoordinator or
         // removeCoordinator that also update the timeout list.  Hence the
-        // returned enumeration, which may be processed with
+        // returned list, which may be processed with
         // no concurrency control.
 
-        return result;
+        return timedOut;
     }
 
     /**
-     * @return a set of in-doubt transaction ids.
+     * Returns the time at which the timeouts are checked next.
+     *
+     * @return  The time in milliseconds.
      */
-     static XID[] getInDoubtXids() {
+    static long nextCheckTime() {
+        return timeoutWheel.nextTickTime();
+    }
 
-         synchronized (indoubtTimeouts) {
-             Vector inDoubtList = new Vector();
+    private static void recordTimeoutLag(long lag) {
+        timedOutCount.incrementAndGet();
+        totalTimeoutLag.addAndGet(lag);
+        maxTimeoutLag.accumulateAndGet(lag, Math::max);
+        probeProvider.transactionTimedOutEvent(lag);
+    }
 
-             Enumeration timeouts = indoubtTimeouts.elements();
+    /**
+     * @return the number of timeouts which expired.
+     */
+    static long getTimedOutCount() {
+        return timedOutCount.get();
+    }
 
-             while (timeouts.hasMoreElements()) {
+    /**
+     * @return the average time in milliseconds from the expiry of a timeout
+     *         until it is handled.
+     */
+    static long getAverageTimeoutLag() {
+        long count = timedOutCount.get();
+        return count == 0 ? 0 : totalTimeoutLag.get() / count;
+    }
 
-                 TimeoutInfo timeoutInfo = (TimeoutInfo) timeouts.nextElement();
+    /**
+     * @return the longest time in milliseconds from the expiry of a timeout
+     *         until it is handled.
+     */
+    static long getMaxTimeoutLag() {
+        return maxTimeoutLag.get();
+    }
 
-                 // Look up the Coordinator for the transaction.
-                 // If there is none, then the transaction has already gone.
-                 // Otherwise do something with the transaction.
+    /**
+     * @return a set of in-doubt transaction ids.
+     */
+     static XID[] getInDoubtXids() {
 
-                 CoordinatorImpl coord =
-                     RecoveryManager.getLocalCoordinator(timeoutInfo.localTID);
+         List<XID> inDoubtList = new ArrayList<>();
 
-                 if (coord != null) {
-                     XID xid = new XID();
-                     xid.copy(coord.getGlobalTID());
-                     inDoubtList.addElement(xid);
-                 }
-             }
+         for (TimeoutInfo timeoutInfo : indoubtTimeouts.values()) {
+
+             // Look up the Coordinator for the transaction.
+             // If there is none, then the transaction has already gone.
+             // Otherwise do something with the transaction.
+
+             CoordinatorImpl coord =
+                 RecoveryManager.getLocalCoordinator(timeoutInfo.localTID);
 
-             return (XID[]) inDoubtList.toArray(new XID[] {});
+             if (coord != null) {
+                 XID xid = new XID();
+                 xid.copy(coord.getGlobalTID());
+                 inDoubtList.add(xid);
+             }
          }
+
+         return inDoubtList.toArray(new XID[] {});
      }
 
     /**
@@ -464,13 +496,13 @@ class TimeoutManager {
      */
     static long timeLeft(Long localTID) {
 
-        TimeoutInfo timeoutInfo = (TimeoutInfo) pendingTimeouts.get(localTID);
+        TimeoutInfo timeoutInfo = pendingTimeouts.get(localTID);
         if (timeoutInfo == null) {
-            timeoutInfo = (TimeoutInfo) indoubtTimeouts.get(localTID);
+            timeoutInfo = indoubtTimeouts.get(localTID);
         }
         long result = -1;
         if (timeoutInfo != null) {
-            result = timeoutInfo.expireTime - new Date().getTime();
+            result = timeoutInfo.expireTime - System.currentTimeMillis();
             if (result < 0) {
                 result = 0;
             }
@@ -500,17 +532,13 @@ class TimeoutManager {
         // timeouts, there is nothing to quiesce so
         // shutdown immediately regardless.
 
-        if (immediate ||
-            pendingTimeouts == null || pendingTimeouts.isEmpty()) {
+        if (immediate || pendingTimeouts.isEmpty()) {
             if (timeoutThread != null) {
-                timeoutThread.stop();
+                timeoutThread.interrupt();
             }
 
-            if (pendingTimeouts != null) {
-                pendingTimeouts.clear();
-            }
+            pendingTimeouts.clear();
 
-            pendingTimeouts = null;
             timeoutThread = null;
             timeoutActive = false;
         } else {
@@ -583,6 +611,16 @@ class TimeoutInfo extends Object {
     Long localTID = null;
     long expireTime = 0;
     int  timeoutType = TimeoutManager.NO_TIMEOUT;
+
+    // accessed by the timeout thread only
+    boolean expired = false;
+
+    // scheduling state in the TimeoutWheel, guarded by the lock of the bucket
+    long tick;
+    TimeoutInfo prev;
+    TimeoutInfo next;
+    volatile TimeoutWheel.Bucket bucket;
+    volatile boolean cancelled = false;
 }
 
 /**
@@ -637,6 +675,13 @@ class TimeoutThread extends Thread {
         }
     }
 
+    /**
+     * @return the time in milliseconds between timeout checks.
+     */
+    int getInterval() {
+        return TIMEOUT_INTERVAL;
+    }
+
     /**
      * Performs timeout checking on a regular basis (every ten seconds or so).
      *
@@ -648,36 +693,47 @@ class TimeoutThread extends Thread {
      */
     public void run() {
         try {
-            while (true) {
+            while (!isInterrupted()) {
 
-                // Sleep for a while between checks.
+                // Sleep until the next check.
 
-                Thread.sleep(TIMEOUT_INTERVAL);
+                long now = System.currentTimeMillis();
+                long wait = TimeoutManager.nextCheckTime() - now;
+                if (wait > 0) {
+                    Thread.sleep(wait);
+                    now = System.currentTimeMillis();
+                }
 
                 // Perform timeout checks, getting a list of timed-out
                 // transactions.
 
-                Enumeration timedOut = TimeoutManager.checkTimeouts();
+                List<TimeoutInfo> timedOut = TimeoutManager.checkTimeouts(now);
+
+                // While the timeouts are not active, the wheel does not
+                // advance, so wait a whole interval before checking again.
+
+                if (timedOut == null) {
+                    Thread.sleep(TIMEOUT_INTERVAL);
+                    continue;
+                }
 
                 // Now we must go through the list, telling each
                 // timed-out Coordinator to do something appropriate.
 
-                if (timedOut != null) {
-                    while (timedOut.hasMoreElements()) {
-                        TimeoutInfo timeoutInfo = (TimeoutInfo) timedOut.nextElement();
+                for (TimeoutInfo timeoutInfo : timedOut) {
 
-                        // Look up the Coordinator and tell it to roll back
-                        // if it still exists. Note that we rely on the
-                        // Coordinator calling removeCoordinator when it
-                        // has finished, which will remove the timeout from
-                        // the list, and remove other associations as well.
+                    // Look up the Coordinator and tell it to roll back
+                    // if it still exists. Note that we rely on the
+                    // Coordinator calling removeCoordinator when it
+                    // has finished, which will remove the timeout from
+                    // the list, and remove other associations as well.
 
-                        TimeoutManager.timeoutCoordinator(timeoutInfo.localTID, timeoutInfo.timeoutType);
-                    }
+                    TimeoutManager.timeoutCoordinator(timeoutInfo.localTID, timeoutInfo.timeoutType);
                 }
             }
         } catch (InterruptedException exc) {
-            _logger.log(Level.INFO,"jts.time_out_thread_stopped");
+            // stopped while sleeping
         }
+        _logger.log(Level.INFO,"jts.time_out_thread_stopped");
     }
 }
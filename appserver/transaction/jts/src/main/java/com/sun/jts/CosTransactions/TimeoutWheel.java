@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hashed timing wheel holding the transaction timeouts.
+ * <p>
+ * Time is divided in ticks, and a timeout is linked into the bucket of the
+ * first tick at or after its expiry time, the ticks being hashed into a fixed
+ * number of buckets. Scheduling and cancelling a timeout lock only its bucket
+ * and take constant time. Each tick, the timeout thread visits one bucket and
+ * expires the timeouts due at that tick, the others belonging to later turns
+ * of the wheel.
+ *
+ * @see TimeoutManager
+ */
+class TimeoutWheel {
+
+    private final long tickMillis;
+    private final long startTime;
+    private final Bucket[] buckets;
+    private final int mask;
+
+    /**
+     * Timeouts scheduled for a tick whose bucket was already visited, expired
+     * with the next tick.
+     */
+    private final ConcurrentLinkedQueue<TimeoutInfo> overdue = new ConcurrentLinkedQueue<>();
+
+    // the last tick visited, written by the timeout thread only
+    private volatile long currentTick;
+
+    /**
+     * Creates a wheel.
+     *
+     * @param tickMillis  The length of a tick in milliseconds.
+     * @param size        The number of buckets, rounded up to a power of two.
+     * @param now         The current time in milliseconds.
+     */
+    TimeoutWheel(long tickMillis, int size, long now) {
+        this.tickMillis = Math.max(1, tickMillis);
+        int count = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+        buckets = new Bucket[count];
+        for (int i = 0; i < count; i++) {
+            buckets[i] = new Bucket();
+        }
+        mask = count - 1;
+        startTime = now;
+    }
+
+    /**
+     * Schedules a timeout at its expiry time, or at the next tick if it is
+     * already due.
+     *
+     * @param info  The timeout, not scheduled.
+     */
+    void schedule(TimeoutInfo info) {
+        long tick = Math.max((info.expireTime - startTime + tickMillis - 1) / tickMillis, currentTick + 1);
+        Bucket bucket = buckets[(int) (tick & mask)];
+        bucket.lock.lock();
+        try {
+            if (tick <= bucket.visitedTick) {
+                // the timeout thread went past the tick meanwhile
+                overdue.add(info);
+                return;
+            }
+            info.tick = tick;
+            bucket.link(info);
+
+            // a concurrent cancel may not have seen the bucket
+            if (info.cancelled) {
+                bucket.unlink(info);
+            }
+        } finally {
+            bucket.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a timeout from the wheel. A timeout cancelled while it is being
+     * expired may still be returned by that expiry.
+     *
+     * @param info  The timeout.
+     */
+    void cancel(TimeoutInfo info) {
+        info.cancelled = true;
+        Bucket bucket = info.bucket;
+        if (bucket != null) {
+            bucket.lock.lock();
+            try {
+                if (info.bucket == bucket) {
+                    bucket.unlink(info);
+                }
+            } finally {
+                bucket.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the time at which the next tick is due.
+     *
+     * @return  The time in milliseconds.
+     */
+    long nextTickTime() {
+        return startTime + (currentTick + 1) * tickMillis;
+    }
+
+    /**
+     * Visits the ticks due at the given time and removes the timeouts expired.
+     * Called by the timeout thread only.
+     *
+     * @param now  The current time in milliseconds.
+     *
+     * @return  The timeouts expired, which are no longer scheduled.
+     */
+    List<TimeoutInfo> advance(long now) {
+        List<TimeoutInfo> expired = new ArrayList<>();
+
+        TimeoutInfo late;
+        while ((late = overdue.poll()) != null) {
+            if (!late.cancelled) {
+                expired.add(late);
+            }
+        }
+
+        long lastTick = (now - startTime) / tickMillis;
+
+        // after a long pause every bucket is visited once, at its latest tick
+        long tick = Math.max(currentTick + 1, lastTick - mask);
+        for (; tick <= lastTick; tick++) {
+            currentTick = tick;
+            Bucket bucket = buckets[(int) (tick & mask)];
+            bucket.lock.lock();
+            try {
+                bucket.visitedTick = tick;
+                TimeoutInfo info = bucket.head;
+                while (info != null) {
+                    TimeoutInfo next = info.next;
+                    if (info.tick <= tick) {
+                        bucket.unlink(info);
+                        expired.add(info);
+                    }
+                    info = next;
+                }
+            } finally {
+                bucket.lock.unlock();
+            }
+        }
+        return expired;
+    }
+
+    static final class Bucket {
+
+        final ReentrantLock lock = new ReentrantLock();
+
+        // guarded by lock
+        TimeoutInfo head;
+        long visitedTick = -1;
+
+        void link(TimeoutInfo info) {
+            info.prev = null;
+            info.next = head;
+            if (head != null) {
+                head.prev = info;
+            }
+            head = info;
+            info.bucket = this;
+        }
+
+        void unlink(TimeoutInfo info) {
+            if (info.prev != null) {
+                info.prev.next = info.next;
+            } else {
+                head = info.next;
+            }
+            if (info.next != null) {
+                info.next.prev = info.prev;
+            }
+            info.prev = null;
+            info.next = null;
+            info.bucket = null;
+        }
+    }
+}
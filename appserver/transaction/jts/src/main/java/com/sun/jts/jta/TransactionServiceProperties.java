@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -121,6 +122,36 @@ public class TransactionServiceProperties {
                                 jtsProperties.put(JTS_XA_SERVER_NAME, value);
                             }
 
+                        } else if (name.equals("log-group-commit-delay")) {
+                            if (isValueSet(value)) {
+                                jtsProperties.put(Configuration.LOG_GROUP_COMMIT_DELAY, value);
+                            }
+
+                        } else if (name.equals("log-group-commit-batch-size")) {
+                            if (isValueSet(value)) {
+                                jtsProperties.put(Configuration.LOG_GROUP_COMMIT_BATCH_SIZE, value);
+                            }
+
+                        } else if (name.equals("log-extent-preallocation")) {
+                            if (isValueSet(value)) {
+                                jtsProperties.put(Configuration.LOG_EXTENT_PREALLOCATION, value);
+                            }
+
+                        } else if (name.equals("db-logging-batch")) {
+                            if (isValueSet(value)) {
+                                jtsProperties.put(Configuration.DB_LOG_BATCHING, value);
+                            }
+
+                        } else if (name.equals("db-logging-batch-size")) {
+                            if (isValueSet(value)) {
+                                jtsProperties.put(Configuration.DB_LOG_BATCH_SIZE, value);
+                            }
+
+                        } else if (name.equals("db-logging-flush-interval")) {
+                            if (isValueSet(value)) {
+                                jtsProperties.put(Configuration.DB_LOG_FLUSH_INTERVAL, value);
+                            }
+
                         } else if (name.equals("pending-txn-cleanup-interval")) {
                             if (isValueSet(value)) {
                                 jtsProperties.put("pending-txn-cleanup-interval", value);
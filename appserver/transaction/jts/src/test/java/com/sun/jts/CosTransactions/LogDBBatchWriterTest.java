@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The batches always fail because the data source has no connection, so the
+ * records are written one by one by the helper.
+ */
+public class LogDBBatchWriterTest {
+
+    private static final String SERVER = "server";
+
+    private static final String WRITER_THREAD = "JTS DB Log Writer";
+
+    @Test
+    public void failingRecordDoesNotBlockTheCallers() throws Exception {
+        RecordingHelper helper = new RecordingHelper(16, 50, 13L);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 1; i <= 20; i++) {
+                long localTID = i;
+                results.add(executor.submit(() -> helper.addRecord(localTID, new byte[] {1})));
+            }
+            for (int i = 1; i <= 20; i++) {
+                assertThat("record " + i, results.get(i - 1).get(30, TimeUnit.SECONDS), is(i != 13));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(helper.inserted.size(), is(19));
+        helper.shutdown();
+    }
+
+    @Test
+    public void shutdownWritesTheQueuedRecordsAndStopsTheWriter() throws Exception {
+        int writers = countWriterThreads();
+        RecordingHelper helper = new RecordingHelper(16, 60_000, -1L);
+        assertThat(countWriterThreads(), is(writers + 1));
+        assertTrue(helper.addRecord(1, new byte[] {1}));
+        assertTrue(helper.deleteRecord(1, SERVER));
+        assertTrue(helper.deleteRecord(2, SERVER));
+
+        helper.shutdown();
+        assertThat(helper.deleted, containsInAnyOrder(1L, 2L));
+        assertThat(countWriterThreads(), is(writers));
+
+        // written directly once the writer is stopped
+        assertTrue(helper.addRecord(3, new byte[] {1}));
+        assertTrue(helper.deleteRecord(3, SERVER));
+        assertThat(helper.inserted, containsInAnyOrder(1L, 3L));
+        assertThat(helper.deleted, containsInAnyOrder(1L, 2L, 3L));
+    }
+
+    @Test
+    public void shutdownWithoutRecordsStopsTheWriter() {
+        int writers = countWriterThreads();
+        RecordingHelper helper = new RecordingHelper(16, 50, -1L);
+        helper.shutdown();
+        assertThat(countWriterThreads(), is(writers));
+    }
+
+    private static int countWriterThreads() {
+        int count = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (WRITER_THREAD.equals(thread.getName()) && thread.isAlive()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static DataSource unavailableDataSource() {
+        return (DataSource) Proxy.newProxyInstance(LogDBBatchWriterTest.class.getClassLoader(),
+            new Class<?>[] {DataSource.class}, (proxy, method, args) -> {
+                throw new SQLException("unavailable");
+            });
+    }
+
+    /**
+     * Records the records written one by one, and fails the insert of the given record.
+     */
+    private static final class RecordingHelper extends LogDBHelper {
+
+        private final long failingTID;
+
+        private final Set<Long> inserted = ConcurrentHashMap.newKeySet();
+
+        private final Set<Long> deleted = ConcurrentHashMap.newKeySet();
+
+        RecordingHelper(int batchSize, long flushInterval, long failingTID) {
+            super(unavailableDataSource(), "instance", SERVER, batchSize, flushInterval);
+            this.failingTID = failingTID;
+        }
+
+        @Override
+        boolean addRecordNow(long localTID, String serverName0, byte[] data) {
+            if (localTID == failingTID) {
+                throw new IllegalStateException("record " + localTID);
+            }
+            inserted.add(localTID);
+            return true;
+        }
+
+        @Override
+        boolean deleteRecordNow(long localTID, String serverName0) {
+            deleted.add(localTID);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.derby.jdbc.EmbeddedDataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogDBHelperTest {
+
+    private static final String SERVER = "server";
+
+    @Test
+    public void concurrentInsertsAreReadByRecovery() throws Exception {
+        LogDBHelper helper = new LogDBHelper(dataSource("concurrentInserts"), "instance", SERVER, 16, 50);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 1; i <= 200; i++) {
+                long localTID = i;
+                results.add(executor.submit(() -> helper.addRecord(localTID, gtid(localTID).toTidBytes())));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Map<?, ?> gtidMap = helper.getGlobalTIDMap(SERVER);
+        assertThat(gtidMap.size(), is(200));
+        assertThat(gtidMap.get(gtid(42)), is(42L));
+    }
+
+    @Test
+    public void queuedDeletesAreWrittenBeforeRecoveryReads() throws Exception {
+        LogDBHelper helper = new LogDBHelper(dataSource("recoveryReads"), "instance", SERVER, 16, 60_000);
+        for (long i = 1; i <= 10; i++) {
+            assertTrue(helper.addRecord(i, gtid(i).toTidBytes()));
+        }
+        for (long i = 1; i <= 5; i++) {
+            assertTrue(helper.deleteRecord(i, SERVER));
+        }
+
+        Map<?, ?> gtidMap = helper.getGlobalTIDMap(SERVER);
+        assertThat(gtidMap.size(), is(5));
+        assertThat(gtidMap.containsKey(gtid(3)), is(false));
+        assertThat(gtidMap.get(gtid(8)), is(8L));
+    }
+
+    @Test
+    public void queuedDeletesAreWrittenWithinTheFlushInterval() throws Exception {
+        EmbeddedDataSource ds = dataSource("flushInterval");
+        LogDBHelper helper = new LogDBHelper(ds, "instance", SERVER, 16, 50);
+        assertTrue(helper.addRecord(1, gtid(1).toTidBytes()));
+        assertTrue(helper.deleteRecord(1, SERVER));
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (countRecords(ds) > 0) {
+            assertThat(System.currentTimeMillis(), lessThan(deadline));
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void unbatchedHelperWritesDirectly() throws Exception {
+        EmbeddedDataSource ds = dataSource("unbatched");
+        LogDBHelper helper = new LogDBHelper(ds, "instance", SERVER, 0, 0);
+        assertTrue(helper.addRecord(1, gtid(1).toTidBytes()));
+        assertTrue(helper.addRecord(2, gtid(2).toTidBytes()));
+        assertTrue(helper.deleteRecord(1, SERVER));
+        assertThat(countRecords(ds), is(1));
+    }
+
+    private static GlobalTID gtid(long localTID) {
+        return GlobalTID.fromTIDBytes(("gtid-" + localTID).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static EmbeddedDataSource dataSource(String name) {
+        EmbeddedDataSource ds = new EmbeddedDataSource();
+        ds.setDatabaseName("memory:" + name);
+        ds.setCreateDatabase("create");
+        return ds;
+    }
+
+    private static int countRecords(EmbeddedDataSource ds) throws Exception {
+        try (Connection conn = ds.getConnection();
+            Statement stmt = conn.createStatement();
+            ResultSet rs = stmt.executeQuery("select count(*) from txn_log_table")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
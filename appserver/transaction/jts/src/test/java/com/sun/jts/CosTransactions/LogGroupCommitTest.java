@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LogGroupCommitTest {
+
+    private static final long ONE_MINUTE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    @Test
+    public void everyWriteReturnsAfterAForceCoveringIt() throws Exception {
+        final int threadCount = 8;
+        final int writesPerThread = 500;
+        LogGroupCommit groupCommit = new LogGroupCommit(100, 4);
+        FakeLog log = new FakeLog();
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            tasks.add(() -> {
+                for (int i = 0; i < writesPerThread; i++) {
+                    log.writeRecord(groupCommit);
+                }
+                return null;
+            });
+        }
+        runAll(tasks);
+
+        assertThat(log.uncovered.get(), is(0));
+        assertThat(groupCommit.getRecordCount(), is((long) threadCount * writesPerThread));
+        assertThat(groupCommit.getForceCount(), is((long) log.handle.forces.get()));
+        assertThat(groupCommit.getMaxRecordsPerForce(), greaterThanOrEqualTo(1L));
+    }
+
+    @Test
+    public void fullBatchIsForcedWithoutWaitingForTheDelay() throws Exception {
+        final int batchSize = 4;
+        LogGroupCommit groupCommit = new LogGroupCommit(ONE_MINUTE_MICROS, batchSize);
+        FakeLog log = new FakeLog();
+
+        long start = System.nanoTime();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < batchSize; t++) {
+            tasks.add(() -> {
+                log.writeRecord(groupCommit);
+                return null;
+            });
+        }
+        runAll(tasks);
+
+        assertThat(System.nanoTime() - start, lessThan(TimeUnit.SECONDS.toNanos(30)));
+        assertThat(log.uncovered.get(), is(0));
+        assertThat(groupCommit.getForceCount(), is(1L));
+        assertThat(groupCommit.getMaxRecordsPerForce(), is((long) batchSize));
+    }
+
+    @Test
+    public void leaderWaitsForTheDelay() throws Exception {
+        final long delayMicros = TimeUnit.MILLISECONDS.toMicros(200);
+        LogGroupCommit groupCommit = new LogGroupCommit(delayMicros, LogGroupCommit.DEFAULT_BATCH_SIZE);
+        FakeLog log = new FakeLog();
+
+        long start = System.nanoTime();
+        log.writeRecord(groupCommit);
+
+        assertThat(System.nanoTime() - start, greaterThanOrEqualTo(TimeUnit.MICROSECONDS.toNanos(delayMicros)));
+        assertThat(log.uncovered.get(), is(0));
+        assertThat(groupCommit.getForceCount(), is(1L));
+        assertThat(groupCommit.getRecordCount(), is(1L));
+    }
+
+    @Test
+    public void forceFailureReachesEveryWaiter() throws Exception {
+        final int batchSize = 4;
+        LogGroupCommit groupCommit = new LogGroupCommit(ONE_MINUTE_MICROS, batchSize);
+        FakeLog log = new FakeLog();
+        log.handle.failing = true;
+
+        AtomicInteger failures = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < batchSize; t++) {
+            tasks.add(() -> {
+                assertThrows(LogException.class, () -> log.writeRecord(groupCommit));
+                failures.incrementAndGet();
+                return null;
+            });
+        }
+        runAll(tasks);
+
+        assertThat(failures.get(), is(batchSize));
+        assertThat(log.handle.forces.get(), is(1));
+        assertThat(groupCommit.getForceCount(), is(0L));
+
+        // the files of the failed batch are forced again by the next one
+        log.handle.failing = false;
+        FakeHandle other = new FakeHandle(log);
+        LogGroupCommit.Batch batch = null;
+        for (int i = 0; i < batchSize; i++) {
+            batch = groupCommit.register(other);
+        }
+        groupCommit.awaitForce(batch);
+        assertThat(log.handle.forces.get(), is(2));
+        assertThat(other.forces.get(), is(1));
+        assertThat(groupCommit.getForceCount(), is(1L));
+    }
+
+    private static void runAll(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<Void> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Writes records the way LogHandle does: each record is flushed and registered
+     * under the log latch, and the force is awaited outside of it.
+     */
+    private static final class FakeLog {
+
+        private final Object latch = new Object();
+
+        private final FakeHandle handle = new FakeHandle(this);
+
+        /** Sequence number of the last flushed record. */
+        private final AtomicLong flushed = new AtomicLong();
+
+        /** Sequence number of the last record covered by a completed force. */
+        private final AtomicLong forced = new AtomicLong();
+
+        private final AtomicInteger uncovered = new AtomicInteger();
+
+        void writeRecord(LogGroupCommit groupCommit) throws LogException {
+            long record;
+            LogGroupCommit.Batch batch;
+            synchronized (latch) {
+                record = flushed.incrementAndGet();
+                batch = groupCommit.register(handle);
+            }
+            groupCommit.awaitForce(batch);
+            if (forced.get() < record) {
+                uncovered.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class FakeHandle extends LogFileHandle {
+
+        private final FakeLog log;
+
+        private final AtomicInteger forces = new AtomicInteger();
+
+        private volatile boolean failing;
+
+        FakeHandle(FakeLog log) {
+            this.log = log;
+        }
+
+        @Override
+        void fileForce() throws LogException {
+            // covers every record flushed before the force started
+            long covered = log.flushed.get();
+            forces.incrementAndGet();
+            if (failing) {
+                throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 1, null, null);
+            }
+            log.forced.accumulateAndGet(covered, Math::max);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+public class TimeoutWheelTest {
+
+    private static final long START = 1_000_000L;
+    private static final long TICK = 1000L;
+
+    @Test
+    public void timeoutExpiresAtTheFirstTickAfterItsExpiry() {
+        TimeoutWheel wheel = new TimeoutWheel(TICK, 8, START);
+        TimeoutInfo info = timeout(1, START + 2500);
+        wheel.schedule(info);
+
+        assertThat(wheel.advance(START + 1000), empty());
+        assertThat(wheel.advance(START + 2000), empty());
+        assertThat(wheel.nextTickTime(), is(START + 3000));
+        assertThat(wheel.advance(START + 3000), contains(info));
+        assertThat(wheel.advance(START + 4000), empty());
+    }
+
+    @Test
+    public void cancelledTimeoutDoesNotExpire() {
+        TimeoutWheel wheel = new TimeoutWheel(TICK, 8, START);
+        TimeoutInfo cancelled = timeout(1, START + 1000);
+        TimeoutInfo kept = timeout(2, START + 1000);
+        wheel.schedule(cancelled);
+        wheel.schedule(kept);
+        wheel.cancel(cancelled);
+
+        assertThat(wheel.advance(START + 1000), contains(kept));
+    }
+
+    @Test
+    public void timeoutBeyondOneTurnWaitsForItsTurn() {
+        TimeoutWheel wheel = new TimeoutWheel(TICK, 8, START);
+        TimeoutInfo info = timeout(1, START + 11_000);
+        wheel.schedule(info);
+
+        for (long t = 1; t <= 10; t++) {
+            assertThat(wheel.advance(START + t * TICK), empty());
+        }
+        assertThat(wheel.advance(START + 11_000), contains(info));
+    }
+
+    @Test
+    public void lateAdvanceExpiresEverythingDue() {
+        TimeoutWheel wheel = new TimeoutWheel(TICK, 8, START);
+        TimeoutInfo first = timeout(1, START + 1000);
+        TimeoutInfo second = timeout(2, START + 5000);
+        TimeoutInfo third = timeout(3, START + 30_000);
+        TimeoutInfo later = timeout(4, START + 60_000);
+        wheel.schedule(first);
+        wheel.schedule(second);
+        wheel.schedule(third);
+        wheel.schedule(later);
+
+        List<TimeoutInfo> expired = wheel.advance(START + 40_000);
+        assertThat(expired, containsInAnyOrder(first, second, third));
+        assertThat(wheel.advance(START + 60_000), contains(later));
+    }
+
+    @Test
+    public void rescheduledTimeoutExpiresAtTheNextTick() {
+        TimeoutWheel wheel = new TimeoutWheel(TICK, 8, START);
+        TimeoutInfo info = timeout(1, START + 1000);
+        wheel.schedule(info);
+        assertThat(wheel.advance(START + 1000), contains(info));
+
+        wheel.schedule(info);
+        assertThat(wheel.advance(START + 2000), contains(info));
+    }
+
+    private static TimeoutInfo timeout(long localTID, long expireTime) {
+        TimeoutInfo info = new TimeoutInfo();
+        info.localTID = localTID;
+        info.expireTime = expireTime;
+        info.timeoutType = TimeoutManager.ACTIVE_TIMEOUT;
+        return info;
+    }
+}
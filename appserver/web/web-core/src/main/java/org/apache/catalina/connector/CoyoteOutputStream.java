@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -20,7 +21,9 @@ package org.apache.catalina.connector;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.WriteListener;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ResourceBundle;
 
 import org.apache.catalina.LogFacade;
@@ -115,6 +118,44 @@ public class CoyoteOutputStream
     }
 
 
+    /**
+     * Writes the remaining bytes of the buffer without copying them
+     * into the response buffer.
+     *
+     * @param buffer bytes to write, must not be changed until the response is complete
+     */
+    public void write(ByteBuffer buffer)
+        throws IOException {
+        // Disallow operation if the object has gone out of scope
+        if (ob == null) {
+            throw new IllegalStateException(rb.getString(LogFacade.OBJECT_INVALID_SCOPE_EXCEPTION));
+        }
+
+        ob.write(buffer);
+    }
+
+
+    /**
+     * Sends a region of a file to the client without reading it into the
+     * heap, if the connection allows it.
+     *
+     * @param file the file
+     * @param offset offset of the first byte to send
+     * @param length number of bytes to send
+     * @return true if the region was sent, false if it must be written to this stream
+     * @see OutputBuffer#sendFile(File, long, long)
+     */
+    public boolean sendFile(File file, long offset, long length)
+        throws IOException {
+        // Disallow operation if the object has gone out of scope
+        if (ob == null) {
+            throw new IllegalStateException(rb.getString(LogFacade.OBJECT_INVALID_SCOPE_EXCEPTION));
+        }
+
+        return ob.sendFile(file, offset, length);
+    }
+
+
     /**
      * Will send the buffer to the client.
      */
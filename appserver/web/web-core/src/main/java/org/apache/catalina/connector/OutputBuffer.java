@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -21,8 +22,10 @@ import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.nio.channels.InterruptedByTimeoutException;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -40,7 +43,10 @@ import org.apache.catalina.core.StandardContext;
 import org.apache.catalina.core.StandardHost;
 import org.apache.catalina.util.RequestUtil;
 import org.glassfish.common.util.InputValidationUtil;
+import org.glassfish.grizzly.FileTransfer;
 import org.glassfish.grizzly.WriteHandler;
+import org.glassfish.grizzly.http.HttpResponsePacket;
+import org.glassfish.grizzly.http.Protocol;
 import org.glassfish.grizzly.http.util.ByteChunk;
 
 /**
@@ -300,6 +306,79 @@ public class OutputBuffer extends Writer
     }
 
 
+    /**
+     * Hands the remaining bytes of the given buffer over to the Grizzly
+     * output buffer without copying them. The content of the buffer must
+     * not be changed until the response is complete.
+     */
+    public void write(ByteBuffer buffer) throws IOException {
+
+        if (suspended)
+            return;
+
+        if (grizzlyOutputBuffer.isClosed())
+            return;
+        if (log.isLoggable(Level.FINE))
+            log.log(Level.FINE, "write(buffer)");
+
+        int len = buffer.remaining();
+        grizzlyOutputBuffer.writeByteBuffer(buffer);
+        bytesWritten += len;
+
+    }
+
+
+    /**
+     * Sends a region of a file to the client with
+     * {@link java.nio.channels.FileChannel#transferTo}, so that its bytes are
+     * neither read into the heap nor copied into the response buffer.
+     * <p>
+     * The bytes already written are flushed first, committing the response,
+     * and the file region is queued after them on the connection. This is only
+     * possible for a plain HTTP/1.x connection, without a write listener, when
+     * the response has a content length and is not compressed by the
+     * connector: otherwise nothing is written and the caller must write the
+     * bytes itself.
+     *
+     * @param file the file
+     * @param offset offset of the first byte to send
+     * @param length number of bytes to send
+     * @return true if the region was sent, false if the caller must write it
+     * @throws IOException An underlying IOException occurred
+     */
+    public boolean sendFile(File file, long offset, long length) throws IOException {
+
+        if (suspended || grizzlyResponse == null || writeHandler != null)
+            return false;
+
+        if (grizzlyOutputBuffer.isClosed() || !grizzlyResponse.isSendFileEnabled())
+            return false;
+
+        org.glassfish.grizzly.http.server.Request grizzlyRequest = grizzlyResponse.getRequest();
+        Protocol protocol = grizzlyRequest.getProtocol();
+        if (grizzlyRequest.isSecure() || (protocol != Protocol.HTTP_1_1 && protocol != Protocol.HTTP_1_0))
+            return false;
+
+        if (log.isLoggable(Level.FINE))
+            log.log(Level.FINE, "sendFile(" + file + ", " + offset + ", " + length + ")");
+
+        try {
+            grizzlyOutputBuffer.flush();
+        } catch (IOException e) {
+            throw new ClientAbortException(e);
+        }
+        HttpResponsePacket packet = grizzlyResponse.getResponse();
+        if (packet.isChunked() || !packet.getContentEncodings().isEmpty())
+            return false;
+
+        // written by the connection after the flushed bytes, in order
+        grizzlyRequest.getContext().write(new FileTransfer(file, offset, length));
+        bytesWritten = (int) Math.min(Integer.MAX_VALUE, bytesWritten + length);
+        return true;
+
+    }
+
+
     // XXX Char or byte ?
     public void writeByte(int b)
         throws IOException {
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -60,7 +61,8 @@ final class ApplicationFilterChain implements FilterChain {
     // -------------------------------------------------------------- Constants
 
 
-    public static final int INCREMENT = 10;
+    private static final ApplicationFilterConfig[] NO_FILTERS =
+        new ApplicationFilterConfig[0];
 
 
     // ----------------------------------------------------------- Constructors
@@ -78,10 +80,9 @@ final class ApplicationFilterChain implements FilterChain {
 
 
     /**
-     * Filters.
+     * Filters, shared with the other chains executing the same filters.
      */
-    private ApplicationFilterConfig[] filters =
-        new ApplicationFilterConfig[0];
+    private ApplicationFilterConfig[] filters = NO_FILTERS;
 
 
     /**
@@ -309,18 +310,15 @@ final class ApplicationFilterChain implements FilterChain {
 
 
     /**
-     * Add a filter to the set of filters that will be executed in this chain.
+     * Set the filters that will be executed in this chain.
      *
-     * @param filterConfig The FilterConfig for the servlet to be executed
+     * @param filters The FilterConfigs of the filters to be executed, in
+     *  order, which are not modified by the chain
      */
-    void addFilter(ApplicationFilterConfig filterConfig) {
-        if (n == filters.length) {
-            ApplicationFilterConfig[] newFilters =
-                new ApplicationFilterConfig[n + INCREMENT];
-            System.arraycopy(filters, 0, newFilters, 0, n);
-            filters = newFilters;
-        }
-        filters[n++] = filterConfig;
+    void setFilters(ApplicationFilterConfig[] filters) {
+        this.filters = filters;
+        n = filters.length;
+        pos = 0;
     }
 
 
@@ -328,6 +326,7 @@ final class ApplicationFilterChain implements FilterChain {
      * Release references to the filters and wrapper executed by this chain.
      */
     void release() {
+        filters = NO_FILTERS;
         n = 0;
         pos = 0;
         servlet = null;
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.core;
+
+import jakarta.servlet.DispatcherType;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.catalina.deploy.FilterMap;
+
+/**
+ * The filter mappings of a {@link StandardContext}, compiled once so that the
+ * filters of a request are found without matching every mapping.
+ * <p>
+ * The URL patterns are indexed by kind: an exact path or a path prefix is
+ * found by one lookup per segment of the request path, and an extension by
+ * one lookup. The filters of a chain are cached by servlet, dispatcher type
+ * and set of matching URL patterns, so requests to different paths matching
+ * the same patterns share their filters.
+ * <p>
+ * The cache is built for a version of the mappings, see
+ * {@link StandardContext#getFilterChainCache()}, and is replaced when the
+ * mappings or the filters of the context change.
+ */
+final class FilterChainCache {
+
+    private static final ApplicationFilterConfig[] NO_FILTERS = new ApplicationFilterConfig[0];
+
+    /**
+     * Bound on the number of cached chains. The chains of the other
+     * combinations of patterns are computed for each request.
+     */
+    private static final int MAX_CHAINS = 1024;
+
+    private final StandardContext context;
+
+    private final int version;
+
+    private final boolean caseSensitiveMapping;
+
+    /** The mappings of each dispatcher type, by ordinal */
+    private final DispatcherMappings[] mappings = new DispatcherMappings[DispatcherType.values().length];
+
+    private final ConcurrentMap<ChainKey, ApplicationFilterConfig[]> chains = new ConcurrentHashMap<>();
+
+    /**
+     * Compiles the filter mappings of a context.
+     *
+     * @param context the context
+     * @param version the version of the filter mappings of the context
+     */
+    FilterChainCache(StandardContext context, int version) {
+        this.context = context;
+        this.version = version;
+        this.caseSensitiveMapping = context.isCaseSensitiveMapping();
+        List<FilterMap> filterMaps = new ArrayList<>(context.findFilterMaps());
+        for (DispatcherType dispatcher : DispatcherType.values()) {
+            mappings[dispatcher.ordinal()] = new DispatcherMappings(filterMaps, dispatcher, caseSensitiveMapping);
+        }
+    }
+
+    int getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the filters to execute, in chain order: the filters mapped to a
+     * matching URL pattern, then those mapped to the servlet name.
+     *
+     * @param dispatcher the dispatcher type of the request
+     * @param requestPath the context relative request path, or null
+     * @param servletName the name of the servlet executed, or null
+     * @return the filters, an empty array if there are none, not to be modified
+     */
+    ApplicationFilterConfig[] getFilters(DispatcherType dispatcher, String requestPath, String servletName) {
+        DispatcherMappings dispatcherMappings = mappings[dispatcher.ordinal()];
+        if (dispatcherMappings.isEmpty()) {
+            return NO_FILTERS;
+        }
+        ChainKey key = new ChainKey(dispatcher, servletName, dispatcherMappings.matchURL(requestPath));
+        ApplicationFilterConfig[] filters = chains.get(key);
+        if (filters == null) {
+            filters = toFilterConfigs(dispatcherMappings.getFilterMaps(key.urlMatches, servletName));
+            if (chains.size() < MAX_CHAINS) {
+                chains.putIfAbsent(key, filters);
+            }
+        }
+        return filters;
+    }
+
+    /**
+     * Returns the filter mappings matching a request, in chain order.
+     *
+     * @param dispatcher the dispatcher type of the request
+     * @param requestPath the context relative request path, or null
+     * @param servletName the name of the servlet executed, or null
+     * @return the filter mappings
+     */
+    List<FilterMap> getFilterMaps(DispatcherType dispatcher, String requestPath, String servletName) {
+        DispatcherMappings dispatcherMappings = mappings[dispatcher.ordinal()];
+        return dispatcherMappings.getFilterMaps(dispatcherMappings.matchURL(requestPath), servletName);
+    }
+
+    private ApplicationFilterConfig[] toFilterConfigs(List<FilterMap> filterMaps) {
+        List<ApplicationFilterConfig> filterConfigs = new ArrayList<>(filterMaps.size());
+        for (FilterMap filterMap : filterMaps) {
+            ApplicationFilterConfig filterConfig = (ApplicationFilterConfig)
+                context.findFilterConfig(filterMap.getFilterName());
+            if (filterConfig == null) {
+                // FIXME - log configuration problem
+                continue;
+            }
+            filterConfigs.add(filterConfig);
+        }
+        return filterConfigs.isEmpty() ? NO_FILTERS : filterConfigs.toArray(NO_FILTERS);
+    }
+
+
+    /**
+     * The filter mappings of one dispatcher type.
+     */
+    private static final class DispatcherMappings {
+
+        private final boolean caseSensitiveMapping;
+
+        /** The mappings with a URL pattern, in definition order */
+        private final FilterMap[] urlMaps;
+
+        /** The mappings with a servlet name, in definition order */
+        private final FilterMap[] servletMaps;
+
+        /** Indexes in urlMaps of the "/*" patterns */
+        private final BitSet matchAll = new BitSet();
+
+        /** Indexes in urlMaps by pattern, which also matches itself exactly */
+        private final Map<String, BitSet> exact = new HashMap<>();
+
+        /** Indexes in urlMaps of the "/path/*" patterns, by path */
+        private final Map<String, BitSet> prefix = new HashMap<>();
+
+        /** Indexes in urlMaps of the "*.ext" patterns, by extension */
+        private final Map<String, BitSet> extension = new HashMap<>();
+
+        DispatcherMappings(List<FilterMap> filterMaps, DispatcherType dispatcher, boolean caseSensitiveMapping) {
+            this.caseSensitiveMapping = caseSensitiveMapping;
+            List<FilterMap> urlMapList = new ArrayList<>();
+            List<FilterMap> servletMapList = new ArrayList<>();
+            for (FilterMap filterMap : filterMaps) {
+                if (!filterMap.getDispatcherTypes().contains(dispatcher)) {
+                    continue;
+                }
+                String pattern = filterMap.getURLPattern();
+                if (pattern != null) {
+                    if (!caseSensitiveMapping) {
+                        pattern = pattern.toLowerCase(Locale.ENGLISH);
+                    }
+                    int index = urlMapList.size();
+                    urlMapList.add(filterMap);
+                    add(exact, pattern, index);
+                    if (pattern.equals("/*")) {
+                        matchAll.set(index);
+                    } else if (pattern.endsWith("/*")) {
+                        add(prefix, pattern.substring(0, pattern.length() - 2), index);
+                    } else if (pattern.startsWith("*.")) {
+                        add(extension, pattern.substring(2), index);
+                    }
+                }
+                if (filterMap.getServletName() != null) {
+                    servletMapList.add(filterMap);
+                }
+            }
+            urlMaps = urlMapList.toArray(new FilterMap[0]);
+            servletMaps = servletMapList.toArray(new FilterMap[0]);
+        }
+
+        private static void add(Map<String, BitSet> index, String key, int value) {
+            index.computeIfAbsent(key, k -> new BitSet()).set(value);
+        }
+
+        boolean isEmpty() {
+            return urlMaps.length == 0 && servletMaps.length == 0;
+        }
+
+        /**
+         * Returns the indexes in urlMaps of the patterns matching a path.
+         */
+        BitSet matchURL(String requestPath) {
+            BitSet matches = new BitSet(urlMaps.length);
+            if (requestPath == null || urlMaps.length == 0) {
+                return matches;
+            }
+            String path = caseSensitiveMapping ? requestPath : requestPath.toLowerCase(Locale.ENGLISH);
+
+            // Case 1 - Exact Match
+            or(matches, exact.get(path));
+
+            // Case 2 - Path Match ("/.../*"), the path itself or up to one of its slashes
+            matches.or(matchAll);
+            if (!prefix.isEmpty()) {
+                or(matches, prefix.get(path));
+                for (int slash = path.lastIndexOf('/'); slash >= 0; slash = path.lastIndexOf('/', slash - 1)) {
+                    or(matches, prefix.get(path.substring(0, slash)));
+                }
+            }
+
+            // Case 3 - Extension Match
+            if (!extension.isEmpty()) {
+                int slash = path.lastIndexOf('/');
+                int period = path.lastIndexOf('.');
+                if (slash >= 0 && period > slash && period != path.length() - 1) {
+                    or(matches, extension.get(path.substring(period + 1)));
+                }
+            }
+
+            // Case 4 - "Default" Match, not relevant for selecting filters
+            return matches;
+        }
+
+        private static void or(BitSet matches, BitSet patterns) {
+            if (patterns != null) {
+                matches.or(patterns);
+            }
+        }
+
+        List<FilterMap> getFilterMaps(BitSet urlMatches, String servletName) {
+            List<FilterMap> filterMaps = new ArrayList<>();
+            for (int i = urlMatches.nextSetBit(0); i >= 0; i = urlMatches.nextSetBit(i + 1)) {
+                filterMaps.add(urlMaps[i]);
+            }
+            if (servletName != null) {
+                for (FilterMap filterMap : servletMaps) {
+                    if (servletName.equals(filterMap.getServletName()) || "*".equals(filterMap.getServletName())) {
+                        filterMaps.add(filterMap);
+                    }
+                }
+            }
+            return filterMaps;
+        }
+    }
+
+
+    private static final class ChainKey {
+
+        final DispatcherType dispatcher;
+        final String servletName;
+        final BitSet urlMatches;
+        private final int hash;
+
+        ChainKey(DispatcherType dispatcher, String servletName, BitSet urlMatches) {
+            this.dispatcher = dispatcher;
+            this.servletName = servletName;
+            this.urlMatches = urlMatches;
+            this.hash = (31 * dispatcher.hashCode() + (servletName == null ? 0 : servletName.hashCode())) * 31
+                + urlMatches.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ChainKey)) {
+                return false;
+            }
+            ChainKey other = (ChainKey) obj;
+            return dispatcher == other.dispatcher && urlMatches.equals(other.urlMatches)
+                && (servletName == null ? other.servletName == null : servletName.equals(other.servletName));
+        }
+    }
+}
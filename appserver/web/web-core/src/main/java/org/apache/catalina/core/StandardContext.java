@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2024 Contributors to Eclipse Foundation.
+ * Copyright (c) 2021, 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -434,6 +434,16 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
      */
     private final List<FilterMap> filterMaps = new ArrayList<>();
 
+    /**
+     * The version of the filter mappings and filter configurations, incremented when they change.
+     */
+    private final AtomicInteger filterMappingsVersion = new AtomicInteger();
+
+    /**
+     * The filter mappings compiled for the request processing, rebuilt when their version changes.
+     */
+    private volatile FilterChainCache filterChainCache;
+
     /**
      * The list of classnames of InstanceListeners that will be added to each newly created Wrapper by
      * <code>createWrapper()</code>.
@@ -648,6 +658,11 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
      */
     protected int cacheTTL = 5000;
 
+    /**
+     * Are the cached resources removed when their directory reports they changed?
+     */
+    protected boolean cacheWatched = true;
+
     /**
      * Non proxied resources.
      */
@@ -863,6 +878,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
      */
     public void setCaseSensitiveMapping(boolean caseSensitiveMap) {
         caseSensitiveMapping = caseSensitiveMap;
+        filterMappingsVersion.incrementAndGet();
     }
 
     /**
@@ -900,6 +916,22 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         return cacheTTL;
     }
 
+    /**
+     * Set whether the cached resources of a directory are removed when the
+     * directory reports they changed, instead of being checked when the cache
+     * TTL has passed.
+     */
+    public void setCacheWatched(boolean cacheWatched) {
+        this.cacheWatched = cacheWatched;
+    }
+
+    /**
+     * @return true if the cached resources are removed when their directory reports they changed.
+     */
+    public boolean isCacheWatched() {
+        return cacheWatched;
+    }
+
     /**
      * @return the maximum size of the cache in KB.
      */
@@ -1607,6 +1639,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
             baseDirContext.setCached(isCachingAllowed());
             baseDirContext.setCacheTTL(getCacheTTL());
             baseDirContext.setCacheMaxSize(getCacheMaxSize());
+            baseDirContext.setCacheWatched(isCacheWatched());
         }
 
         if (resources instanceof FileDirContext) {
@@ -1638,6 +1671,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
             ((BaseDirContext) resources).setCached(isCachingAllowed());
             ((BaseDirContext) resources).setCacheTTL(getCacheTTL());
             ((BaseDirContext) resources).setCacheMaxSize(getCacheMaxSize());
+            ((BaseDirContext) resources).setCacheWatched(isCacheWatched());
         }
 
         if (resources instanceof FileDirContext) {
@@ -2118,6 +2152,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         } else {
             filterMaps.add(0, filterMap);
         }
+        filterMappingsVersion.incrementAndGet();
 
         if (notifyContainerListeners) {
             fireContainerEvent("addFilterMap", filterMap);
@@ -3624,6 +3659,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         }
 
         filterMaps.clear();
+        filterMappingsVersion.incrementAndGet();
     }
 
     @Override
@@ -3900,6 +3936,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
                 }
             }
         }
+        filterMappingsVersion.incrementAndGet();
 
         return ok;
     }
@@ -3922,6 +3959,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
             }
             filterConfigs.clear();
         }
+        filterMappingsVersion.incrementAndGet();
 
         return true;
     }
@@ -3937,6 +3975,20 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         return filterConfigs.get(name);
     }
 
+    /**
+     * Return the filter mappings of this Context compiled for matching requests, built again
+     * after the filter mappings or the filters changed.
+     */
+    FilterChainCache getFilterChainCache() {
+        int version = filterMappingsVersion.get();
+        FilterChainCache cache = filterChainCache;
+        if (cache == null || cache.getVersion() != version) {
+            cache = new FilterChainCache(this, version);
+            filterChainCache = cache;
+        }
+        return cache;
+    }
+
     /**
      * Notifies all ServletContextListeners at their contextInitialized method.
      */
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -57,6 +57,7 @@ import java.util.Iterator;
 import java.util.Locale;
 import java.util.ResourceBundle;
 import java.util.StringTokenizer;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.naming.InitialContext;
 import javax.naming.NameClassPair;
@@ -74,6 +75,7 @@ import javax.xml.transform.stream.StreamSource;
 
 import org.apache.catalina.Globals;
 import org.apache.catalina.LogFacade;
+import org.apache.catalina.connector.CoyoteOutputStream;
 import org.apache.catalina.core.ContextsAdapterUtility;
 import org.apache.catalina.util.ServerInfo;
 import org.apache.catalina.util.URLEncoder;
@@ -234,17 +236,38 @@ public class DefaultServlet
 
 
     /**
-     * Minimum size for sendfile usage in bytes.
+     * Minimum size for sendfile usage in bytes. The files, or the ranges of
+     * files, of at least this size are sent by the connector without being
+     * read into the heap, when it allows it. A negative value disables it.
      */
     protected int sendfileSize = 48 * 1024;
 
 
+    /**
+     * Number of bytes of static resources sent without being read into the heap.
+     */
+    private final LongAdder zeroCopyBytes = new LongAdder();
+
+
+    /**
+     * Number of bytes of static resources copied to the response.
+     */
+    private final LongAdder bufferedBytes = new LongAdder();
+
+
     /**
      * Should the Accept-Ranges: bytes header be send with static resources?
      */
     protected boolean useAcceptRanges = true;
 
 
+    /**
+     * Should a precompressed variant of a static resource, with the .br or .gz
+     * extension, be sent to the clients accepting its encoding?
+     */
+    protected boolean precompressed = false;
+
+
     /**
      * Full range marker.
      */
@@ -301,6 +324,13 @@ public class DefaultServlet
     protected static final int BUFFER_SIZE = 4096;
 
 
+    /**
+     * Content encodings of the precompressed variants, in order of
+     * preference, and the extensions of their names.
+     */
+    private static final String[][] PRECOMPRESSED_ENCODINGS = { { "br", ".br" }, { "gzip", ".gz" } };
+
+
     // --------------------------------------------------------- Public Methods
 
 
@@ -309,7 +339,27 @@ public class DefaultServlet
      */
     @Override
     public void destroy() {
-        // NOOP
+        if (debug > 0) {
+            log("DefaultServlet.destroy:  zeroCopyBytes=" + getZeroCopyBytes()
+                + ", bufferedBytes=" + getBufferedBytes());
+        }
+    }
+
+
+    /**
+     * @return the number of bytes of static resources sent without being
+     *         read into the heap
+     */
+    public long getZeroCopyBytes() {
+        return zeroCopyBytes.sum();
+    }
+
+
+    /**
+     * @return the number of bytes of static resources copied to the response
+     */
+    public long getBufferedBytes() {
+        return bufferedBytes.sum();
     }
 
 
@@ -363,6 +413,8 @@ public class DefaultServlet
             useAcceptRanges = Boolean.parseBoolean(sc.getInitParameter("useAcceptRanges"));
         }
 
+        precompressed = Boolean.parseBoolean(sc.getInitParameter("precompressed"));
+
         // Sanity check on the specified buffer sizes
         if (input < 256) {
             input = 256;
@@ -812,21 +864,8 @@ public class DefaultServlet
             }
         }
 
-        CacheEntry cacheEntry = null;
         ProxyDirContext proxyDirContext = resources;
-        if (alternateDocBases == null
-                || alternateDocBases.size() == 0) {
-            cacheEntry = proxyDirContext.lookupCache(path);
-        } else {
-            AlternateDocBase match = AlternateDocBase.findMatch(
-                                            path, alternateDocBases);
-            if (match != null) {
-                cacheEntry = ((ProxyDirContext) ContextsAdapterUtility.unwrap(match.getResources())).lookupCache(path);
-            } else {
-                // None of the url patterns for alternate docbases matched
-                cacheEntry = proxyDirContext.lookupCache(path);
-            }
-        }
+        CacheEntry cacheEntry = lookupCache(path);
 
         if (!cacheEntry.exists) {
             // Check if we're included so we can return the appropriate
@@ -882,6 +921,24 @@ public class DefaultServlet
             }
         }
 
+        // Send a precompressed variant of the resource to a client accepting
+        // its encoding, except to an include whose headers are ignored
+        CacheEntry resourceEntry = cacheEntry;
+        if (precompressed && (cacheEntry.context == null)
+                && (request.getAttribute(RequestDispatcher.INCLUDE_REQUEST_URI) == null)) {
+            response.addHeader("Vary", "Accept-Encoding");
+            for (String[] encoding : PRECOMPRESSED_ENCODINGS) {
+                if (acceptsEncoding(request, encoding[0])) {
+                    CacheEntry variant = lookupCache(path + encoding[1]);
+                    if (variant.exists && (variant.context == null)) {
+                        response.setHeader("Content-Encoding", encoding[0]);
+                        cacheEntry = variant;
+                        break;
+                    }
+                }
+            }
+        }
+
         // Check if the conditions specified in the optional If headers are
         // satisfied.
         if (cacheEntry.context == null) {
@@ -897,10 +954,10 @@ public class DefaultServlet
         }
 
         // Find content type.
-        String contentType = cacheEntry.attributes.getMimeType();
-        if (contentType == null && !cacheEntry.attributes.isMimeTypeInitialized()) {
-            contentType = getServletContext().getMimeType(cacheEntry.name);
-            cacheEntry.attributes.setMimeType(contentType);
+        String contentType = resourceEntry.attributes.getMimeType();
+        if (contentType == null && !resourceEntry.attributes.isMimeTypeInitialized()) {
+            contentType = getServletContext().getMimeType(resourceEntry.name);
+            resourceEntry.attributes.setMimeType(contentType);
         }
 
         ArrayList<Range> ranges = null;
@@ -1016,11 +1073,16 @@ public class DefaultServlet
                     // Silent catch
                 }
                 if (ostream != null) {
-                    if (!checkSendfile(request, response, cacheEntry, contentLength, null)) {
+                    if (checkSendfile(request, response, cacheEntry, contentLength, null)
+                            || sendFile(cacheEntry, ostream, 0, contentLength)) {
+                        zeroCopyBytes.add(contentLength);
+                    } else {
                         copy(cacheEntry, renderResult, ostream);
+                        countBuffered(cacheEntry, contentLength);
                     }
                 } else {
                     copy(cacheEntry, renderResult, writer);
+                    countBuffered(cacheEntry, contentLength);
                 }
             }
 
@@ -1069,11 +1131,16 @@ public class DefaultServlet
                         // Silent catch
                     }
                     if (ostream != null) {
-                        if (!checkSendfile(request, response, cacheEntry, range.end - range.start + 1, range)) {
+                        if (checkSendfile(request, response, cacheEntry, length, range)
+                                || sendFile(cacheEntry, ostream, range.start, length)) {
+                            zeroCopyBytes.add(length);
+                        } else {
                             copy(cacheEntry, ostream, range);
+                            bufferedBytes.add(length);
                         }
                     } else {
                         copy(cacheEntry, writer, range);
+                        bufferedBytes.add(length);
                     }
                 }
 
@@ -1082,6 +1149,16 @@ public class DefaultServlet
                 response.setContentType("multipart/byteranges; boundary="
                                         + mimeSeparation);
 
+                if (content && isSendFileCandidate(cacheEntry, ostream, ranges)) {
+                    // a chunked response cannot be sent by the connector
+                    long length = getMultipartLength(ranges, contentType);
+                    if (length < Integer.MAX_VALUE) {
+                        response.setContentLength((int) length);
+                    } else {
+                        response.setHeader("content-length", "" + length);
+                    }
+                }
+
                 if (content) {
                     try {
                         response.setBufferSize(output);
@@ -1924,6 +2001,67 @@ public class DefaultServlet
     }
 
 
+    /**
+     * Looks up a resource in the resources of the alternate doc base matching
+     * its path, if any, or in the resources of the web application.
+     *
+     * @param path the path of the resource
+     * @return the cache entry of the resource
+     */
+    private CacheEntry lookupCache(String path) {
+        if (alternateDocBases != null && !alternateDocBases.isEmpty()) {
+            AlternateDocBase match = AlternateDocBase.findMatch(path, alternateDocBases);
+            if (match != null) {
+                return ((ProxyDirContext) ContextsAdapterUtility.unwrap(match.getResources())).lookupCache(path);
+            }
+            // None of the url patterns for alternate docbases matched
+        }
+        return resources.lookupCache(path);
+    }
+
+
+    /**
+     * Checks if the client accepts a content encoding, with a quality value
+     * which is not zero.
+     *
+     * @param request The servlet request we are processing
+     * @param encoding the content encoding
+     * @return true if the content encoding is accepted
+     */
+    static boolean acceptsEncoding(HttpServletRequest request, String encoding) {
+        boolean anyAccepted = false;
+        Enumeration<String> headers = request.getHeaders("Accept-Encoding");
+        while (headers != null && headers.hasMoreElements()) {
+            for (String value : headers.nextElement().split(",")) {
+                String[] parameters = value.split(";");
+                String coding = parameters[0].trim();
+                if (coding.equalsIgnoreCase(encoding)) {
+                    return getQuality(parameters) > 0;
+                }
+                if (coding.equals("*")) {
+                    anyAccepted = getQuality(parameters) > 0;
+                }
+            }
+        }
+        return anyAccepted;
+    }
+
+
+    private static double getQuality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+
     // -------------------------------------------------------- protected Methods
 
 
@@ -1957,6 +2095,106 @@ public class DefaultServlet
     }
 
 
+    /**
+     * Sends a region of the file of a resource through the connector, which
+     * transfers it from the file to the connection without reading it into
+     * the heap, if the region is at least {@link #sendfileSize} bytes long.
+     *
+     * @param entry the resource
+     * @param ostream the output stream of the response
+     * @param start offset of the first byte of the region
+     * @param length length of the region
+     * @return true if the region was sent, false if it must be copied
+     * @exception IOException if an input/output error occurs
+     */
+    protected boolean sendFile(CacheEntry entry, ServletOutputStream ostream,
+                               long start, long length)
+        throws IOException {
+        if (!isSendFileCandidate(entry, ostream) || (length < sendfileSize)) {
+            return false;
+        }
+        File file = new File(entry.attributes.getCanonicalPath());
+        // the file may have changed since its attributes were cached
+        if (!file.isFile() || (file.length() < start + length)) {
+            return false;
+        }
+        return ((CoyoteOutputStream) ostream).sendFile(file, start, length);
+    }
+
+
+    /**
+     * Can a region of the resource be sent through the connector?
+     */
+    private boolean isSendFileCandidate(CacheEntry entry, ServletOutputStream ostream) {
+        return (sendfileSize > 0)
+            && (entry.resource != null)
+            && (entry.attributes.getCanonicalPath() != null)
+            && (ostream instanceof CoyoteOutputStream);
+    }
+
+
+    /**
+     * Can one of the ranges of the resource be sent through the connector?
+     */
+    private boolean isSendFileCandidate(CacheEntry entry, ServletOutputStream ostream,
+                                        ArrayList<Range> ranges) {
+        if (!isSendFileCandidate(entry, ostream)) {
+            return false;
+        }
+        for (Range range : ranges) {
+            if (range.end - range.start + 1 >= sendfileSize) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Length of the multipart/byteranges content written for the ranges.
+     */
+    private long getMultipartLength(ArrayList<Range> ranges, String contentType) {
+        long length = getMultipartTrailer().length();
+        for (Range range : ranges) {
+            length += getPartHeader(range, contentType).length();
+            length += range.end - range.start + 1;
+        }
+        return length;
+    }
+
+
+    /**
+     * Boundary and headers written before a range of a multipart/byteranges
+     * content.
+     */
+    private static String getPartHeader(Range range, String contentType) {
+        StringBuilder header = new StringBuilder();
+        header.append("\r\n--").append(mimeSeparation).append("\r\n");
+        if (contentType != null) {
+            header.append("Content-Type: ").append(contentType).append("\r\n");
+        }
+        header.append("Content-Range: bytes ").append(range.start)
+            .append('-').append(range.end).append('/').append(range.length)
+            .append("\r\n\r\n");
+        return header.toString();
+    }
+
+
+    /**
+     * Boundary closing a multipart/byteranges content.
+     */
+    private static String getMultipartTrailer() {
+        return "\r\n--" + mimeSeparation + "--";
+    }
+
+
+    private void countBuffered(CacheEntry entry, long length) {
+        if ((entry.resource != null) && (length > 0)) {
+            bufferedBytes.add(length);
+        }
+    }
+
+
     /**
      * Check if the if-match condition is satisfied.
      *
@@ -2322,28 +2560,27 @@ public class DefaultServlet
 
         while ( (exception == null) && (ranges.hasNext()) ) {
 
+            Range currentRange = ranges.next();
+            long length = currentRange.end - currentRange.start + 1;
+
+            // Writing MIME header.
+            ostream.print(getPartHeader(currentRange, contentType));
+
+            // Printing content
+            if (sendFile(cacheEntry, ostream, currentRange.start, length)) {
+                zeroCopyBytes.add(length);
+                continue;
+            }
+
             InputStream resourceInputStream = cacheEntry.resource.streamContent();
             InputStream istream = null;
             try {
                 istream =
                     new BufferedInputStream(resourceInputStream, input);
 
-                Range currentRange = ranges.next();
-
-                // Writing MIME header.
-                ostream.println();
-                ostream.println("--" + mimeSeparation);
-                if (contentType != null) {
-                    ostream.println("Content-Type: " + contentType);
-                }
-                ostream.println("Content-Range: bytes " + currentRange.start
-                               + "-" + currentRange.end + "/"
-                               + currentRange.length);
-                ostream.println();
-
-                // Printing content
                 exception = copyRange(istream, ostream, currentRange.start,
                                       currentRange.end);
+                bufferedBytes.add(length);
 
             } finally {
                 if (istream != null) {
@@ -2352,8 +2589,7 @@ public class DefaultServlet
             }
         }
 
-        ostream.println();
-        ostream.print("--" + mimeSeparation + "--");
+        ostream.print(getMultipartTrailer());
 
         // Rethrow any exception that has occurred
         if (exception != null) {
@@ -2408,6 +2644,7 @@ public class DefaultServlet
             // Printing content
             exception = copyRange(reader, writer, currentRange.start,
                                   currentRange.end);
+            bufferedBytes.add(currentRange.end - currentRange.start + 1);
 
             reader.close();
         }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -19,6 +20,7 @@ package org.apache.catalina.session;
 
 import com.sun.enterprise.util.uuid.UuidGenerator;
 import com.sun.enterprise.util.uuid.UuidGeneratorImpl;
+import com.sun.enterprise.util.uuid.UuidGeneratorPaddedImpl;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
@@ -144,7 +146,7 @@ public abstract class ManagerBase implements Manager {
     /**
      * A random number generator to use when generating session identifiers.
      */
-    private Random random = null;
+    private volatile Random random = null;
 
 
     /**
@@ -186,6 +188,12 @@ public abstract class ManagerBase implements Manager {
      */
     protected Map<String, Session> sessions = new ConcurrentHashMap<String, Session>();
 
+    /**
+     * The active Sessions, by the time they may expire, so that the
+     * background processing only checks the Sessions which are due.
+     */
+    private final SessionExpirationQueue expirationQueue = new SessionExpirationQueue();
+
     // Number of sessions created by this manager
     protected int sessionCounter=0;
 
@@ -516,7 +524,15 @@ public abstract class ManagerBase implements Manager {
      * generating session identifiers.  If there is no such generator
      * currently defined, construct and seed a new one.
      */
-    public synchronized Random getRandom() {
+    public Random getRandom() {
+        Random random = this.random;
+        if (random == null) {
+            random = initRandom();
+        }
+        return random;
+    }
+
+    private synchronized Random initRandom() {
         if (this.random == null) {
             // Calculate the new random number generator seed
             long seed = System.currentTimeMillis();
@@ -526,19 +542,22 @@ public abstract class ManagerBase implements Manager {
                  long update = ((byte) entropy[i]) << ((i % 8) * 8);
                  seed ^= update;
             }
+            Random newRandom;
             try {
                  // Construct and seed a new random number generator
                  Class<?> clazz = Class.forName(randomClass);
-                 this.random = (Random) clazz.newInstance();
-                 this.random.setSeed(seed);
+                 newRandom = (Random) clazz.newInstance();
+                 newRandom.setSeed(seed);
             } catch (Exception e) {
                  // Fall back to the simple case
                 String msg = MessageFormat.format(rb.getString(LogFacade.INIT_RANDOM_NUMBER_GENERATOR_EXCEPTION),
                                                   randomClass);
                  log.log(Level.SEVERE, msg, e);
-                 this.random = new java.util.Random();
-                 this.random.setSeed(seed);
+                 newRandom = new java.util.Random();
+                 newRandom.setSeed(seed);
             }
+            // published seeded
+            this.random = newRandom;
             long t2=System.currentTimeMillis();
             if( (t2-t1) > 100 )
                  if (log.isLoggable(Level.FINE)) {
@@ -658,6 +677,7 @@ public abstract class ManagerBase implements Manager {
      */
     public void add(Session session) {
         sessions.put(session.getIdInternal(), session);
+        scheduleExpiration(session);
         int size = sessions.size();
         if (size > maxActive) {
             synchronized(maxActiveUpdateLock) {
@@ -838,6 +858,7 @@ public abstract class ManagerBase implements Manager {
      */
     public void clearSessions() {
         sessions.clear();
+        expirationQueue.clear();
     }
 
 
@@ -863,6 +884,7 @@ public abstract class ManagerBase implements Manager {
      */
     public void remove(Session session) {
         sessions.remove(session.getIdInternal());
+        unscheduleExpiration(session);
     }
 
     @Override
@@ -926,19 +948,75 @@ public abstract class ManagerBase implements Manager {
     }
 
 
+    /**
+     * Put a Session in the bucket of the time it may expire, or back in it
+     * after it was returned by {@link #findSessionsDue()} and did not expire.
+     * Does nothing if the Session is not one of the active Sessions of this
+     * Manager.
+     *
+     * @param session the Session
+     */
+    protected void scheduleExpiration(Session session) {
+        if (session instanceof StandardSession && sessions.get(session.getIdInternal()) == session) {
+            expirationQueue.schedule((StandardSession) session, System.currentTimeMillis());
+        }
+    }
+
+
+    /**
+     * Remove a Session from the bucket of the time it may expire.
+     *
+     * @param session the Session
+     */
+    protected void unscheduleExpiration(Session session) {
+        if (session instanceof StandardSession) {
+            expirationQueue.unschedule((StandardSession) session);
+        }
+    }
+
+
+    /**
+     * Return the active Sessions which may have expired, which are the
+     * Sessions whose expiration time has passed when they were last put in
+     * their bucket. The Sessions which do not expire must be given back to
+     * {@link #scheduleExpiration(Session)}.
+     */
+    protected Session[] findSessionsDue() {
+        List<StandardSession> due = expirationQueue.poll(System.currentTimeMillis());
+        List<Session> list = new ArrayList<Session>(due.size());
+        for (StandardSession session : due) {
+            // ignore the sessions removed meanwhile
+            if (sessions.get(session.getIdInternal()) == session) {
+                list.add(session);
+            }
+        }
+        return list.toArray(new Session[list.size()]);
+    }
+
+
     /**
      * Generate and return a new session identifier.
+     * The identifiers of the built-in UuidGenerators are generated
+     * concurrently, the other UuidGenerators are called under the lock of
+     * this Manager, as they may not be thread safe.
      * Hercules:added
      */
-    protected synchronized String generateSessionId(Object obj) {
-        return uuidGenerator.generateUuid(obj);
+    protected String generateSessionId(Object obj) {
+        UuidGenerator generator = uuidGenerator;
+        if (generator.getClass() == UuidGeneratorImpl.class
+                || generator.getClass() == UuidGeneratorPaddedImpl.class) {
+            return generator.generateUuid(obj);
+        }
+        synchronized (this) {
+            return generator.generateUuid(obj);
+        }
     }
 
     /**
      * Generate and return a new session identifier.
      * Hercules:modified
      */
-    protected synchronized String generateSessionId() {
+    protected String generateSessionId() {
         return generateSessionId(new Object());
     }
 
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -552,6 +553,7 @@ public abstract class PersistentManagerBase
 
     /**
      * Invalidate all sessions that have expired.
+     * Only the sessions which are due are checked.
      * Hercules: modified method
      */
     protected void processExpires() {
@@ -559,7 +561,7 @@ public abstract class PersistentManagerBase
         if (!started)
             return;
 
-        Session sessions[] = findSessions();
+        Session sessions[] = findSessionsDue();
 
         for (int i = 0; i < sessions.length; i++) {
             StandardSession session = (StandardSession) sessions[i];
@@ -576,7 +578,9 @@ public abstract class PersistentManagerBase
                         session.unlockBackground();
                     }
                 }
-        }
+            }
+            // accessed meanwhile or in use, checked again later
+            scheduleExpiration(session);
         }
     }
 
@@ -768,7 +772,7 @@ public abstract class PersistentManagerBase
     public void load() {
 
         // Initialize our internal data structures
-        sessions.clear();
+        clearSessions();
 
         if (store == null)
             return;
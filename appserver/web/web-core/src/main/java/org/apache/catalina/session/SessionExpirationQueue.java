@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The sessions of a manager, in buckets by the tick of their expiration time,
+ * so that the background expiration only checks the sessions which may have
+ * expired instead of all of them.
+ *
+ * <p>
+ * A session is not moved when it is accessed: when its bucket is due, the
+ * session is checked, and put back in the bucket of its new expiration time if
+ * it was accessed meanwhile. A session is so checked at most once per maximum
+ * inactive interval, and the requests do not contend on the buckets.
+ *
+ * <p>
+ * A session may stay in a bucket after it was removed from its manager, or be
+ * in two buckets for a while; the manager ignores the due sessions it no longer
+ * has, and a session checked twice is only expired once.
+ */
+final class SessionExpirationQueue {
+
+    /** Duration of a tick, in milliseconds */
+    static final long TICK = 1000L;
+
+    /** Value of {@link StandardSession#expirationTick} of a session in no bucket */
+    static final long UNSCHEDULED = 0L;
+
+    private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+
+
+    /**
+     * Puts a session in the bucket of its expiration time, unless it is
+     * already in an earlier bucket. An invalid session, or a session which has
+     * already expired, goes in the bucket of the next tick.
+     *
+     * @param session the session
+     * @param now the current time, in milliseconds
+     */
+    void schedule(StandardSession session, long now) {
+        int interval = session.getMaxInactiveInterval();
+        boolean valid = session.getIsValid();
+        if (valid && interval < 0) {
+            // never expires
+            unschedule(session);
+            return;
+        }
+        long due = valid ? session.thisAccessedTime + interval * 1000L : now;
+        long tick = Math.max(ceilTick(due), floorTick(now) + 1);
+        long current = session.expirationTick;
+        if (current != UNSCHEDULED && current <= tick) {
+            // checked earlier, and put back then if it has not expired
+            return;
+        }
+        while (!buckets.computeIfAbsent(tick, t -> new Bucket()).add(session)) {
+            // the bucket was just polled, the next poll gets the new one
+        }
+        session.expirationTick = tick;
+        if (current != UNSCHEDULED) {
+            remove(current, session);
+        }
+    }
+
+
+    /**
+     * Removes a session from its bucket.
+     *
+     * @param session the session
+     */
+    void unschedule(StandardSession session) {
+        long current = session.expirationTick;
+        if (current != UNSCHEDULED) {
+            session.expirationTick = UNSCHEDULED;
+            remove(current, session);
+        }
+    }
+
+
+    /**
+     * Removes the buckets which are due.
+     *
+     * @param now the current time, in milliseconds
+     * @return the sessions of the due buckets, which must be scheduled again
+     *         if they do not expire
+     */
+    List<StandardSession> poll(long now) {
+        ConcurrentNavigableMap<Long, Bucket> due = buckets.headMap(floorTick(now), true);
+        if (due.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<StandardSession> sessions = new ArrayList<>();
+        Map.Entry<Long, Bucket> entry;
+        while ((entry = due.pollFirstEntry()) != null) {
+            long tick = entry.getKey();
+            for (StandardSession session : entry.getValue().close()) {
+                if (session.expirationTick == tick) {
+                    session.expirationTick = UNSCHEDULED;
+                }
+                sessions.add(session);
+            }
+        }
+        return sessions;
+    }
+
+
+    /**
+     * Removes all the sessions.
+     */
+    void clear() {
+        Map.Entry<Long, Bucket> entry;
+        while ((entry = buckets.pollFirstEntry()) != null) {
+            for (StandardSession session : entry.getValue().close()) {
+                session.expirationTick = UNSCHEDULED;
+            }
+        }
+    }
+
+
+    private void remove(long tick, StandardSession session) {
+        Bucket bucket = buckets.get(tick);
+        if (bucket != null) {
+            bucket.remove(session);
+        }
+    }
+
+
+    private static long floorTick(long time) {
+        return Math.floorDiv(time, TICK);
+    }
+
+
+    private static long ceilTick(long time) {
+        return -Math.floorDiv(-time, TICK);
+    }
+
+
+    /**
+     * The sessions expiring in the same tick. A polled bucket is closed and no
+     * longer changes, a session added concurrently goes in a new bucket.
+     */
+    private static final class Bucket {
+
+        private final Set<StandardSession> sessions = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private boolean closed;
+
+        synchronized boolean add(StandardSession session) {
+            if (closed) {
+                return false;
+            }
+            sessions.add(session);
+            return true;
+        }
+
+        synchronized void remove(StandardSession session) {
+            if (!closed) {
+                sessions.remove(session);
+            }
+        }
+
+        synchronized Set<StandardSession> close() {
+            closed = true;
+            return sessions;
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -443,7 +444,7 @@ public class StandardManager
             throws ClassNotFoundException, IOException {
 
         // Initialize our internal data structures
-        sessions.clear();
+        clearSessions();
 
         ObjectInputStream ois = null;
         try {
@@ -481,6 +482,7 @@ public class StandardManager
                         StandardSession.deserialize(ois, this);
                     session.setManager(this);
                     sessions.put(session.getIdInternal(), session);
+                    scheduleExpiration(session);
                     session.activate();
                 }
             } catch (ClassNotFoundException e) {
@@ -929,23 +931,23 @@ public class StandardManager
 
     /**
      * Invalidate all sessions that have expired.
+     * Only the sessions which are due are checked.
      */
     public void processExpires() {
 
         long timeNow = System.currentTimeMillis();
 
-        Session[] sessions = findSessions();
-        if (sessions != null) {
-            for (Session session : sessions) {
-                StandardSession sess = (StandardSession) session;
-                if (sess.lockBackground()) {
-                    try {
-                        sess.isValid();
-                    } finally {
-                        sess.unlockBackground();
-                    }
+        for (Session session : findSessionsDue()) {
+            StandardSession sess = (StandardSession) session;
+            if (sess.lockBackground()) {
+                try {
+                    sess.isValid();
+                } finally {
+                    sess.unlockBackground();
                 }
             }
+            // accessed meanwhile or in use, checked again later
+            scheduleExpiration(sess);
         }
 
         long timeEnd = System.currentTimeMillis();
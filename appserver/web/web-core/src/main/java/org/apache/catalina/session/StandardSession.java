@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -299,6 +300,12 @@ public class StandardSession
      */
     protected long thisAccessedTime = creationTime;
 
+    /**
+     * The tick of the expiration bucket of this session in its manager, see
+     * {@link SessionExpirationQueue}.
+     */
+    transient volatile long expirationTick = SessionExpirationQueue.UNSCHEDULED;
+
     /**
      * The session version, incremented and used by in-memory-replicating
      * session managers
@@ -625,6 +632,8 @@ public class StandardSession
         this.maxInactiveInterval = interval;
         if (isValid && interval == 0) {
             expire();
+        } else if (id != null && manager instanceof ManagerBase) {
+            ((ManagerBase) manager).scheduleExpiration(this);
         }
 
     }
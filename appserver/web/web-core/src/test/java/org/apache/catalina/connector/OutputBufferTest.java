@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.connector;
+
+import jakarta.servlet.WriteListener;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.easymock.Capture;
+import org.glassfish.grizzly.FileTransfer;
+import org.glassfish.grizzly.filterchain.FilterChainContext;
+import org.glassfish.grizzly.http.ContentEncoding;
+import org.glassfish.grizzly.http.HttpResponsePacket;
+import org.glassfish.grizzly.http.Protocol;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.easymock.EasyMock.capture;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.newCapture;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class OutputBufferTest {
+
+    @TempDir
+    File directory;
+
+    private File file;
+
+    private Response response;
+
+    private Request request;
+
+    private org.glassfish.grizzly.http.server.Response grizzlyResponse;
+
+    private org.glassfish.grizzly.http.server.Request grizzlyRequest;
+
+    private org.glassfish.grizzly.http.io.OutputBuffer grizzlyOutputBuffer;
+
+    private HttpResponsePacket packet;
+
+    /** Fails the tests expecting a fallback if the file is written */
+    private FilterChainContext context;
+
+    @BeforeEach
+    public void createMocks() throws Exception {
+        file = new File(directory, "data.bin");
+        Files.write(file.toPath(), new byte[8192]);
+
+        response = createNiceMock(Response.class);
+        request = createNiceMock(Request.class);
+        grizzlyResponse = createNiceMock(org.glassfish.grizzly.http.server.Response.class);
+        grizzlyRequest = createNiceMock(org.glassfish.grizzly.http.server.Request.class);
+        grizzlyOutputBuffer = createNiceMock(org.glassfish.grizzly.http.io.OutputBuffer.class);
+        packet = createNiceMock(HttpResponsePacket.class);
+        context = createMock(FilterChainContext.class);
+
+        expect(response.getCoyoteResponse()).andReturn(grizzlyResponse).anyTimes();
+        expect(response.getRequest()).andReturn(request).anyTimes();
+        expect(request.isAsyncStarted()).andReturn(true).anyTimes();
+        expect(grizzlyResponse.getOutputBuffer()).andReturn(grizzlyOutputBuffer).anyTimes();
+        expect(grizzlyResponse.getRequest()).andReturn(grizzlyRequest).anyTimes();
+        expect(grizzlyResponse.getResponse()).andReturn(packet).anyTimes();
+        expect(grizzlyRequest.getContext()).andReturn(context).anyTimes();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = Protocol.class, names = {"HTTP_1_0", "HTTP_1_1"})
+    public void sendsTheFileThroughTheConnection(Protocol protocol) throws Exception {
+        expectConnection(protocol, false, true);
+        expect(packet.getContentEncodings()).andReturn(List.of()).anyTimes();
+        Capture<Object> message = newCapture();
+        context.write(capture(message));
+        expectLastCall().once();
+        OutputBuffer outputBuffer = createOutputBuffer();
+
+        assertThat(outputBuffer.sendFile(file, 1000L, 2048L), is(true));
+        verify(context);
+        assertThat(((FileTransfer) message.getValue()).remaining(), is(2048L));
+        assertThat(outputBuffer.getBytesWritten(), is(2048));
+    }
+
+    @Test
+    public void copiesToASecureConnection() throws Exception {
+        expectConnection(Protocol.HTTP_1_1, true, true);
+        assertFallback(createOutputBuffer());
+    }
+
+    @Test
+    public void copiesToAnHttp2Stream() throws Exception {
+        expectConnection(Protocol.HTTP_2_0, false, true);
+        assertFallback(createOutputBuffer());
+    }
+
+    @Test
+    public void copiesWhenSendFileIsDisabled() throws Exception {
+        expectConnection(Protocol.HTTP_1_1, false, false);
+        assertFallback(createOutputBuffer());
+    }
+
+    @Test
+    public void copiesToANonBlockingOutput() throws Exception {
+        expectConnection(Protocol.HTTP_1_1, false, true);
+        OutputBuffer outputBuffer = createOutputBuffer();
+        outputBuffer.setWriteListener(createNiceMock(WriteListener.class));
+        assertFallback(outputBuffer);
+    }
+
+    @Test
+    public void copiesToAChunkedResponse() throws Exception {
+        expectConnection(Protocol.HTTP_1_1, false, true);
+        expect(packet.isChunked()).andReturn(true).anyTimes();
+        assertFallback(createOutputBuffer());
+    }
+
+    @Test
+    public void copiesToACompressedResponse() throws Exception {
+        expectConnection(Protocol.HTTP_1_1, false, true);
+        expect(packet.getContentEncodings()).andReturn(List.of(createNiceMock(ContentEncoding.class))).anyTimes();
+        assertFallback(createOutputBuffer());
+    }
+
+    private void expectConnection(Protocol protocol, boolean secure, boolean sendFileEnabled) {
+        expect(grizzlyRequest.getProtocol()).andReturn(protocol).anyTimes();
+        expect(grizzlyRequest.isSecure()).andReturn(secure).anyTimes();
+        expect(grizzlyResponse.isSendFileEnabled()).andReturn(sendFileEnabled).anyTimes();
+    }
+
+    private OutputBuffer createOutputBuffer() {
+        replay(response, request, grizzlyResponse, grizzlyRequest, grizzlyOutputBuffer, packet, context);
+        OutputBuffer outputBuffer = new OutputBuffer();
+        outputBuffer.setCoyoteResponse(response);
+        return outputBuffer;
+    }
+
+    private void assertFallback(OutputBuffer outputBuffer) throws Exception {
+        assertThat(outputBuffer.sendFile(file, 1000L, 2048L), is(false));
+        verify(context);
+        assertThat(outputBuffer.getBytesWritten(), is(0));
+    }
+}
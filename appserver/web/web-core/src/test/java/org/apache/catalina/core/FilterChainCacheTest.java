@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.core;
+
+import jakarta.servlet.DispatcherType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.catalina.deploy.FilterDef;
+import org.apache.catalina.deploy.FilterMap;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Compares the filter mappings matched by the {@link FilterChainCache} with the
+ * matching of every mapping for each request, done by the
+ * {@link ApplicationFilterFactory} before.
+ */
+public class FilterChainCacheTest {
+
+    private static final String[] URL_PATTERNS = {
+        "/*", "", "/index.html", "/app/*", "/app/admin/*", "/App/*", "*.jsp", "*.JSP", "*.do", "/app/page.jsp",
+        "/static/*", "/app", "/api/v1/*", "*.", "/a/b/c/*",
+    };
+
+    private static final String[] SERVLET_NAMES = {"default", "jsp", "*", "rest"};
+
+    private static final String[] REQUEST_PATHS = {
+        null, "", "/", "/index.html", "/app", "/app/", "/app/page.jsp", "/APP/Page.JSP", "/app/admin", "/app/administrator",
+        "/app/admin/users/list.do", "/static/css/site.css", "/static", "/staticx", "/api/v1", "/api/v1/orders/12",
+        "/a/b/c", "/a/b/cd", "/a/b/c/d.jsp", "/file.", "/dir.jsp/file", "page.jsp", "/app//x", "/.jsp",
+    };
+
+    @Test
+    public void matchesLikeEveryMapping() {
+        for (boolean caseSensitive : new boolean[] {true, false}) {
+            StandardContext context = createContext(URL_PATTERNS, SERVLET_NAMES);
+            context.setCaseSensitiveMapping(caseSensitive);
+            FilterChainCache cache = context.getFilterChainCache();
+            for (DispatcherType dispatcher : DispatcherType.values()) {
+                for (String requestPath : REQUEST_PATHS) {
+                    for (String servletName : new String[] {null, "default", "jsp", "other"}) {
+                        assertThat(dispatcher + " " + requestPath + " " + servletName,
+                            cache.getFilterMaps(dispatcher, requestPath, servletName),
+                            is(matchEveryMapping(context, dispatcher, requestPath, servletName)));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void keepsMappingOrder() {
+        StandardContext context = createContext(new String[] {"*.jsp", "/app/*", "/*"}, new String[] {"jsp"});
+        List<FilterMap> filterMaps = context.getFilterChainCache().getFilterMaps(DispatcherType.REQUEST, "/app/page.jsp", "jsp");
+        List<String> filterNames = new ArrayList<>();
+        for (FilterMap filterMap : filterMaps) {
+            filterNames.add(filterMap.getFilterName());
+        }
+        assertThat(filterNames, contains("url0", "url1", "url2", "servlet0"));
+        // only url1 is mapped to forwards
+        assertThat(context.getFilterChainCache().getFilterMaps(DispatcherType.FORWARD, "/app/page.jsp", "jsp"), hasSize(1));
+    }
+
+    @Test
+    public void rebuiltWhenMappingsChange() {
+        StandardContext context = createContext(new String[] {"/app/*"}, new String[0]);
+        FilterChainCache cache = context.getFilterChainCache();
+        assertThat(context.getFilterChainCache(), sameInstance(cache));
+        assertThat(cache.getFilterMaps(DispatcherType.REQUEST, "/other", null), empty());
+
+        addFilter(context, "late", "/other", null);
+        FilterChainCache rebuilt = context.getFilterChainCache();
+        assertThat(rebuilt, not(sameInstance(cache)));
+        assertThat(rebuilt.getFilterMaps(DispatcherType.REQUEST, "/other", null), hasSize(1));
+
+        context.setCaseSensitiveMapping(false);
+        assertThat(context.getFilterChainCache().getFilterMaps(DispatcherType.REQUEST, "/OTHER", null), hasSize(1));
+
+        context.removeFilterMaps();
+        assertThat(context.getFilterChainCache().getFilterMaps(DispatcherType.REQUEST, "/other", null), empty());
+    }
+
+
+    @Test
+    public void createFilterChain_benchmark() throws Exception {
+        Options options = new OptionsBuilder().include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(200L))
+            .measurementIterations(1).measurementTime(TimeValue.milliseconds(500L))
+            .forks(1).threads(4).shouldFailOnError(true)
+            .timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS).mode(Mode.Throughput)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+    }
+
+
+    @Benchmark
+    public void matchFilters(ContextState state, Blackhole blackhole) {
+        for (String requestPath : REQUEST_PATHS) {
+            if ("cached".equals(state.matching)) {
+                blackhole.consume(state.context.getFilterChainCache().getFilters(DispatcherType.REQUEST, requestPath, "jsp"));
+            } else {
+                blackhole.consume(matchEveryMapping(state.context, DispatcherType.REQUEST, requestPath, "jsp"));
+            }
+        }
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class ContextState {
+
+        @Param({"every-mapping", "cached"})
+        public String matching;
+
+        StandardContext context;
+
+        @Setup
+        public void createContext() {
+            // an application with about 30 filters
+            List<String> urlPatterns = new ArrayList<>(List.of(URL_PATTERNS));
+            for (int i = 0; i < 12; i++) {
+                urlPatterns.add("/module" + i + "/*");
+            }
+            context = FilterChainCacheTest.createContext(urlPatterns.toArray(new String[0]), SERVLET_NAMES);
+        }
+    }
+
+
+    private static StandardContext createContext(String[] urlPatterns, String[] servletNames) {
+        StandardContext context = new StandardContext();
+        context.setName("filterChainCacheTest");
+        for (int i = 0; i < urlPatterns.length; i++) {
+            addFilter(context, "url" + i, urlPatterns[i], null);
+        }
+        for (int i = 0; i < servletNames.length; i++) {
+            addFilter(context, "servlet" + i, null, servletNames[i]);
+        }
+        return context;
+    }
+
+    private static void addFilter(StandardContext context, String filterName, String urlPattern, String servletName) {
+        FilterDef filterDef = new FilterDef();
+        filterDef.setFilterName(filterName);
+        filterDef.setFilterClassName("org.example.Filter");
+        context.addFilterDef(filterDef);
+
+        FilterMap filterMap = new FilterMap();
+        filterMap.setFilterName(filterName);
+        filterMap.setURLPattern(urlPattern);
+        filterMap.setServletName(servletName);
+        if (filterName.endsWith("1")) {
+            filterMap.setDispatcherTypes(EnumSet.of(DispatcherType.REQUEST, DispatcherType.FORWARD));
+        }
+        context.addFilterMap(filterMap);
+    }
+
+    /**
+     * Matches every filter mapping, like the ApplicationFilterFactory did for each request.
+     */
+    private static List<FilterMap> matchEveryMapping(StandardContext context, DispatcherType dispatcher, String requestPath,
+        String servletName) {
+        List<FilterMap> matches = new ArrayList<>();
+        for (FilterMap filterMap : context.findFilterMaps()) {
+            if (filterMap.getDispatcherTypes().contains(dispatcher)
+                && matchFiltersURL(filterMap, requestPath, context.isCaseSensitiveMapping())) {
+                context.findFilterConfig(filterMap.getFilterName());
+                matches.add(filterMap);
+            }
+        }
+        for (FilterMap filterMap : context.findFilterMaps()) {
+            if (filterMap.getDispatcherTypes().contains(dispatcher) && servletName != null
+                && (servletName.equals(filterMap.getServletName()) || "*".equals(filterMap.getServletName()))) {
+                context.findFilterConfig(filterMap.getFilterName());
+                matches.add(filterMap);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean matchFiltersURL(FilterMap filterMap, String requestPath, boolean caseSensitiveMapping) {
+        if (requestPath == null) {
+            return false;
+        }
+        String testPath = filterMap.getURLPattern();
+        if (testPath == null) {
+            return false;
+        }
+        if (!caseSensitiveMapping) {
+            requestPath = requestPath.toLowerCase(Locale.ENGLISH);
+            testPath = testPath.toLowerCase(Locale.ENGLISH);
+        }
+        if (testPath.equals(requestPath)) {
+            return true;
+        }
+        if (testPath.equals("/*")) {
+            return true;
+        }
+        if (testPath.endsWith("/*")) {
+            if (testPath.regionMatches(0, requestPath, 0, testPath.length() - 2)) {
+                if (requestPath.length() == (testPath.length() - 2)) {
+                    return true;
+                } else if ('/' == requestPath.charAt(testPath.length() - 2)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (testPath.startsWith("*.")) {
+            int slash = requestPath.lastIndexOf('/');
+            int period = requestPath.lastIndexOf('.');
+            if ((slash >= 0) && (period > slash) && (period != requestPath.length() - 1)
+                && ((requestPath.length() - period) == (testPath.length() - 1))) {
+                return testPath.regionMatches(2, requestPath, period + 1, testPath.length() - 2);
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,563 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.servlets;
+
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.catalina.Globals;
+import org.apache.catalina.connector.CoyoteOutputStream;
+import org.apache.naming.resources.FileDirContext;
+import org.apache.naming.resources.ProxyDirContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class DefaultServletTest {
+
+    private static final String CONTENT = "<html><body>Hello</body></html>";
+
+    private static final String RANGES = "bytes=0-99,1000-3047,5000-";
+
+    private static final byte[] DATA = new byte[8192];
+
+    static {
+        for (int i = 0; i < DATA.length; i++) {
+            DATA[i] = (byte) (i % 251);
+        }
+    }
+
+    @TempDir
+    Path docBase;
+
+    private ProxyDirContext resources;
+
+    @BeforeEach
+    public void createResources() throws Exception {
+        Files.writeString(docBase.resolve("index.html"), CONTENT);
+        Files.writeString(docBase.resolve("index.html.br"), "brotli");
+        Files.writeString(docBase.resolve("index.html.gz"), "gzipped");
+        Files.writeString(docBase.resolve("page.html"), CONTENT);
+        Files.writeString(docBase.resolve("page.html.gz"), "gzipped page");
+        Files.write(docBase.resolve("data.txt"), DATA);
+        FileDirContext dirContext = new FileDirContext();
+        dirContext.setDocBase(docBase.toString());
+        resources = new ProxyDirContext(new Hashtable<>(), dirContext);
+    }
+
+    @Test
+    public void acceptsListedEncodings() {
+        assertThat(DefaultServlet.acceptsEncoding(request("/", "br, gzip"), "br"), is(true));
+        assertThat(DefaultServlet.acceptsEncoding(request("/", "br, gzip"), "gzip"), is(true));
+        assertThat(DefaultServlet.acceptsEncoding(request("/", "br, gzip"), "deflate"), is(false));
+        assertThat(DefaultServlet.acceptsEncoding(request("/", "deflate, GZip"), "gzip"), is(true));
+        assertThat(DefaultServlet.acceptsEncoding(request("/", "br", "gzip"), "gzip"), is(true));
+        assertThat(DefaultServlet.acceptsEncoding(request("/", "identity"), "gzip"), is(false));
+        assertThat(DefaultServlet.acceptsEncoding(request("/"), "gzip"), is(false));
+    }
+
+    @Test
+    public void rejectsEncodingsOfQualityZero() {
+        assertThat(DefaultServlet.acceptsEncoding(request("/", "gzip;q=0, br;q=0.5"), "gzip"), is(false));
+        assertThat(DefaultServlet.acceptsEncoding(request("/", "gzip;q=0, br;q=0.5"), "br"), is(true));
+        assertThat(DefaultServlet.acceptsEncoding(request("/", "gzip; q=0.0"), "gzip"), is(false));
+        assertThat(DefaultServlet.acceptsEncoding(request("/", "gzip;q=0.001"), "gzip"), is(true));
+        assertThat(DefaultServlet.acceptsEncoding(request("/", "gzip;q=invalid"), "gzip"), is(false));
+    }
+
+    @Test
+    public void wildcardAcceptsTheEncodingsNotListed() {
+        assertThat(DefaultServlet.acceptsEncoding(request("/", "*"), "br"), is(true));
+        assertThat(DefaultServlet.acceptsEncoding(request("/", "*;q=0"), "br"), is(false));
+        assertThat(DefaultServlet.acceptsEncoding(request("/", "*, gzip;q=0"), "gzip"), is(false));
+        assertThat(DefaultServlet.acceptsEncoding(request("/", "gzip;q=0, *"), "gzip"), is(false));
+        assertThat(DefaultServlet.acceptsEncoding(request("/", "gzip;q=0, *"), "br"), is(true));
+        assertThat(DefaultServlet.acceptsEncoding(request("/", "*;q=0, br"), "br"), is(true));
+    }
+
+    @Test
+    public void sendsTheBrotliVariantFirst() throws Exception {
+        DefaultServlet servlet = createServlet("precompressed", "true");
+        TestResponse response = new TestResponse();
+        servlet.doGet(request("/index.html", "gzip, deflate, br"), response);
+
+        assertThat(response.getBody(), is("brotli"));
+        assertThat(response.headers.get("Content-Encoding"), contains("br"));
+        assertThat(response.headers.get("Vary"), contains("Accept-Encoding"));
+        assertThat(response.contentType, is("text/html"));
+        assertThat(response.contentLength, is((long) "brotli".length()));
+    }
+
+    @Test
+    public void sendsTheGzipVariantOfAnotherClient() throws Exception {
+        DefaultServlet servlet = createServlet("precompressed", "true");
+        TestResponse response = new TestResponse();
+        servlet.doGet(request("/index.html", "br;q=0, gzip"), response);
+
+        assertThat(response.getBody(), is("gzipped"));
+        assertThat(response.headers.get("Content-Encoding"), contains("gzip"));
+        assertThat(response.headers.get("Vary"), contains("Accept-Encoding"));
+        assertThat(response.contentType, is("text/html"));
+    }
+
+    @Test
+    public void sendsTheNextEncodingWhenAVariantIsMissing() throws Exception {
+        DefaultServlet servlet = createServlet("precompressed", "true");
+        TestResponse response = new TestResponse();
+        servlet.doGet(request("/page.html", "br, gzip"), response);
+
+        assertThat(response.getBody(), is("gzipped page"));
+        assertThat(response.headers.get("Content-Encoding"), contains("gzip"));
+        assertThat(response.headers.get("Vary"), contains("Accept-Encoding"));
+    }
+
+    @Test
+    public void sendsTheResourceToAClientRejectingTheEncodings() throws Exception {
+        DefaultServlet servlet = createServlet("precompressed", "true");
+        TestResponse response = new TestResponse();
+        servlet.doGet(request("/index.html", "*;q=0, identity"), response);
+
+        assertThat(response.getBody(), is(CONTENT));
+        assertThat(response.headers.get("Content-Encoding"), nullValue());
+        // the response still depends on the Accept-Encoding header
+        assertThat(response.headers.get("Vary"), contains("Accept-Encoding"));
+        assertThat(response.contentLength, is((long) CONTENT.length()));
+    }
+
+    @Test
+    public void ignoresTheVariantsUnlessPrecompressed() throws Exception {
+        DefaultServlet servlet = createServlet();
+        TestResponse response = new TestResponse();
+        servlet.doGet(request("/index.html", "br, gzip"), response);
+
+        assertThat(response.getBody(), is(CONTENT));
+        assertThat(response.headers.get("Content-Encoding"), nullValue());
+        assertThat(response.headers.get("Vary"), nullValue());
+    }
+
+    @Test
+    public void sendsTheRangesOfAMultipartResponseWithoutCopy() throws Exception {
+        DefaultServlet servlet = createServlet("sendfileSize", "1");
+        TestResponse response = new TestResponse(true);
+        servlet.doGet(rangeRequest("/data.txt", RANGES), response);
+
+        assertThat(response.status, is(HttpServletResponse.SC_PARTIAL_CONTENT));
+        assertThat(response.contentType, is("multipart/byteranges; boundary=CATALINA_MIME_BOUNDARY"));
+        assertThat(response.body.toByteArray(), is(multipartBody("text/plain", 0, 99, 1000, 3047, 5000, 8191)));
+        assertThat(response.contentLength, is((long) response.body.size()));
+        // the first range is shorter than the sendfileSize
+        assertThat(((ZeroCopyOutputStream) response.getOutputStream()).sentFiles, is(2));
+        assertThat(servlet.getZeroCopyBytes(), is(2048L + 3192L));
+        assertThat(servlet.getBufferedBytes(), is(100L));
+    }
+
+    @Test
+    public void copiesTheRangesTheConnectorDoesNotSend() throws Exception {
+        DefaultServlet servlet = createServlet("sendfileSize", "1");
+        TestResponse response = new TestResponse(false);
+        servlet.doGet(rangeRequest("/data.txt", RANGES), response);
+
+        assertThat(response.status, is(HttpServletResponse.SC_PARTIAL_CONTENT));
+        assertThat(response.body.toByteArray(), is(multipartBody("text/plain", 0, 99, 1000, 3047, 5000, 8191)));
+        // the length was set before the connector refused to send the file
+        assertThat(response.contentLength, is((long) response.body.size()));
+        assertThat(((ZeroCopyOutputStream) response.getOutputStream()).sentFiles, is(0));
+        assertThat(servlet.getZeroCopyBytes(), is(0L));
+        assertThat(servlet.getBufferedBytes(), is(100L + 2048L + 3192L));
+    }
+
+    @Test
+    public void copiesTheRangesShorterThanTheSendfileSize() throws Exception {
+        DefaultServlet servlet = createServlet();
+        TestResponse response = new TestResponse(true);
+        servlet.doGet(rangeRequest("/data.txt", RANGES), response);
+
+        assertThat(response.body.toByteArray(), is(multipartBody("text/plain", 0, 99, 1000, 3047, 5000, 8191)));
+        // chunked
+        assertThat(response.contentLength, is(-1L));
+        assertThat(((ZeroCopyOutputStream) response.getOutputStream()).sentFiles, is(0));
+        assertThat(servlet.getBufferedBytes(), is(100L + 2048L + 3192L));
+    }
+
+    @Test
+    public void copiesTheRangesToAnotherOutputStream() throws Exception {
+        DefaultServlet servlet = createServlet("sendfileSize", "1");
+        TestResponse response = new TestResponse();
+        servlet.doGet(rangeRequest("/data.txt", RANGES), response);
+
+        assertThat(response.status, is(HttpServletResponse.SC_PARTIAL_CONTENT));
+        assertThat(response.body.toByteArray(), is(multipartBody("text/plain", 0, 99, 1000, 3047, 5000, 8191)));
+        assertThat(response.contentLength, is(-1L));
+        assertThat(servlet.getZeroCopyBytes(), is(0L));
+    }
+
+    @Test
+    public void sendsASingleRangeWithoutCopy() throws Exception {
+        DefaultServlet servlet = createServlet("sendfileSize", "1");
+        TestResponse response = new TestResponse(true);
+        servlet.doGet(rangeRequest("/data.txt", "bytes=1000-3047"), response);
+
+        assertThat(response.status, is(HttpServletResponse.SC_PARTIAL_CONTENT));
+        assertThat(response.headers.get("Content-Range"), contains("bytes 1000-3047/8192"));
+        assertThat(response.body.toByteArray(), is(Arrays.copyOfRange(DATA, 1000, 3048)));
+        assertThat(response.contentLength, is(2048L));
+        assertThat(servlet.getZeroCopyBytes(), is(2048L));
+    }
+
+    @Test
+    public void sendsTheWholeFileWithoutCopy() throws Exception {
+        DefaultServlet servlet = createServlet("sendfileSize", "1");
+        TestResponse response = new TestResponse(true);
+        servlet.doGet(request("/data.txt"), response);
+
+        assertThat(response.body.toByteArray(), is(DATA));
+        assertThat(response.contentLength, is((long) DATA.length));
+        assertThat(servlet.getZeroCopyBytes(), is((long) DATA.length));
+        assertThat(servlet.getBufferedBytes(), is(0L));
+    }
+
+    private DefaultServlet createServlet(String... initParameters) throws Exception {
+        ServletContext context = createNiceMock(ServletContext.class);
+        expect(context.getAttribute(Globals.RESOURCES_ATTR)).andReturn(resources).anyTimes();
+        expect(context.getMimeType("/index.html")).andReturn("text/html").anyTimes();
+        expect(context.getMimeType("/page.html")).andReturn("text/html").anyTimes();
+        expect(context.getMimeType("/data.txt")).andReturn("text/plain").anyTimes();
+        ServletConfig config = createNiceMock(ServletConfig.class);
+        expect(config.getServletContext()).andReturn(context).anyTimes();
+        for (int i = 0; i < initParameters.length; i += 2) {
+            expect(config.getInitParameter(initParameters[i])).andReturn(initParameters[i + 1]).anyTimes();
+        }
+        replay(context, config);
+
+        DefaultServlet servlet = new DefaultServlet();
+        servlet.init(config);
+        return servlet;
+    }
+
+    private static TestRequest request(String path, String... acceptEncoding) {
+        TestRequest request = new TestRequest(path);
+        for (String value : acceptEncoding) {
+            request.addHeader("Accept-Encoding", value);
+        }
+        return request;
+    }
+
+    private static TestRequest rangeRequest(String path, String range) {
+        TestRequest request = new TestRequest(path);
+        request.addHeader("Range", range);
+        return request;
+    }
+
+    /**
+     * multipart/byteranges content of the ranges of {@link #DATA}, given as
+     * pairs of first and last byte positions.
+     */
+    private static byte[] multipartBody(String contentType, long... positions) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (int i = 0; i < positions.length; i += 2) {
+            String header = "\r\n--CATALINA_MIME_BOUNDARY\r\n"
+                + "Content-Type: " + contentType + "\r\n"
+                + "Content-Range: bytes " + positions[i] + "-" + positions[i + 1] + "/" + DATA.length + "\r\n\r\n";
+            body.writeBytes(header.getBytes(ISO_8859_1));
+            body.write(DATA, (int) positions[i], (int) (positions[i + 1] - positions[i] + 1));
+        }
+        body.writeBytes("\r\n--CATALINA_MIME_BOUNDARY--".getBytes(ISO_8859_1));
+        return body.toByteArray();
+    }
+
+    private static <T> T createReplayedMock(Class<T> type) {
+        T mock = createNiceMock(type);
+        replay(mock);
+        return mock;
+    }
+
+
+    /**
+     * GET request of a resource of the web application, with the headers of
+     * the test.
+     */
+    static class TestRequest extends HttpServletRequestWrapper {
+
+        private final String path;
+
+        private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        TestRequest(String path) {
+            super(createReplayedMock(HttpServletRequest.class));
+            this.path = path;
+        }
+
+        void addHeader(String name, String value) {
+            headers.computeIfAbsent(name, n -> new ArrayList<>()).add(value);
+        }
+
+        @Override
+        public String getMethod() {
+            return "GET";
+        }
+
+        @Override
+        public String getServletPath() {
+            return path;
+        }
+
+        @Override
+        public String getPathInfo() {
+            return null;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            List<String> values = headers.get(name);
+            return values == null ? null : values.get(0);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return Collections.enumeration(headers.getOrDefault(name, List.of()));
+        }
+
+        @Override
+        public long getDateHeader(String name) {
+            return -1L;
+        }
+    }
+
+
+    /**
+     * Response keeping its headers and its body.
+     */
+    static class TestResponse extends HttpServletResponseWrapper {
+
+        final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        int status = HttpServletResponse.SC_OK;
+
+        String contentType;
+
+        long contentLength = -1L;
+
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        private final ServletOutputStream outputStream;
+
+        TestResponse() {
+            super(createReplayedMock(HttpServletResponse.class));
+            this.outputStream = new ServletOutputStream() {
+
+                @Override
+                public void write(int b) {
+                    body.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    body.write(b, off, len);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        /**
+         * @param sendFile does the connector send the regions of files?
+         */
+        TestResponse(boolean sendFile) {
+            super(createReplayedMock(HttpServletResponse.class));
+            this.outputStream = new ZeroCopyOutputStream(body, sendFile);
+        }
+
+        String getBody() {
+            return new String(body.toByteArray(), UTF_8);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if ("Content-Length".equalsIgnoreCase(name)) {
+                contentLength = Long.parseLong(value);
+            }
+            headers.put(name, new ArrayList<>(List.of(value)));
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            headers.computeIfAbsent(name, n -> new ArrayList<>()).add(value);
+        }
+
+        @Override
+        public void setContentLength(int length) {
+            contentLength = length;
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+            contentLength = length;
+        }
+
+        @Override
+        public void setContentType(String type) {
+            contentType = type;
+        }
+
+        @Override
+        public void setStatus(int status) {
+            this.status = status;
+        }
+
+        @Override
+        public void sendError(int status) {
+            this.status = status;
+        }
+
+        @Override
+        public void sendError(int status, String message) {
+            this.status = status;
+        }
+
+        @Override
+        public void setBufferSize(int size) {
+            // not buffered
+        }
+    }
+
+
+    /**
+     * Output stream of the connector, which writes the regions of files it
+     * sends to the body too.
+     */
+    static class ZeroCopyOutputStream extends CoyoteOutputStream {
+
+        private final ByteArrayOutputStream body;
+
+        private final boolean sendFile;
+
+        int sentFiles;
+
+        ZeroCopyOutputStream(ByteArrayOutputStream body, boolean sendFile) {
+            super(null);
+            this.body = body;
+            this.sendFile = sendFile;
+        }
+
+        @Override
+        public boolean sendFile(File file, long offset, long length) throws IOException {
+            if (!sendFile) {
+                return false;
+            }
+            byte[] region = new byte[(int) length];
+            try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+                input.seek(offset);
+                input.readFully(region);
+            }
+            body.write(region);
+            sentFiles++;
+            return true;
+        }
+
+        @Override
+        public void write(int b) {
+            body.write(b);
+        }
+
+        @Override
+        public void write(byte[] b) {
+            body.writeBytes(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            body.write(b, off, len);
+        }
+
+        @Override
+        public void write(ByteBuffer buffer) {
+            while (buffer.hasRemaining()) {
+                body.write(buffer.get());
+            }
+        }
+
+        @Override
+        public void print(String s) {
+            body.writeBytes(s.getBytes(ISO_8859_1));
+        }
+
+        @Override
+        public void flush() {
+            // not buffered
+        }
+
+        @Override
+        public void close() {
+            // the body remains readable
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+
+public class SessionExpirationQueueTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final StandardManager manager = new StandardManager();
+
+    private final SessionExpirationQueue queue = new SessionExpirationQueue();
+
+    @Test
+    public void pollsOnlyTheDueSessions() {
+        StandardSession shortLived = createSession(NOW, 10);
+        StandardSession longLived = createSession(NOW, 60);
+        queue.schedule(shortLived, NOW);
+        queue.schedule(longLived, NOW);
+
+        assertThat(queue.poll(NOW + 9_999), empty());
+        assertThat(queue.poll(NOW + 10_000), contains(shortLived));
+        assertThat(queue.poll(NOW + 10_000), empty());
+        assertThat(queue.poll(NOW + 120_000), contains(longLived));
+    }
+
+    @Test
+    public void accessedSessionGoesInItsNewBucket() {
+        StandardSession session = createSession(NOW, 10);
+        queue.schedule(session, NOW);
+        session.thisAccessedTime = NOW + 5_000;
+
+        assertThat(queue.poll(NOW + 10_000), contains(session));
+        queue.schedule(session, NOW + 10_000);
+        assertThat(queue.poll(NOW + 14_999), empty());
+        assertThat(queue.poll(NOW + 15_000), contains(session));
+    }
+
+    @Test
+    public void earlierExpirationMovesTheSession() {
+        StandardSession session = createSession(NOW, 60);
+        queue.schedule(session, NOW);
+        session.maxInactiveInterval = 10;
+        queue.schedule(session, NOW);
+
+        assertThat(queue.poll(NOW + 10_000), contains(session));
+        assertThat(queue.poll(NOW + 60_000), empty());
+    }
+
+    @Test
+    public void invalidOrExpiredSessionIsDueAtTheNextTick() {
+        StandardSession invalid = createSession(NOW, 60);
+        invalid.setValid(false);
+        StandardSession expired = createSession(NOW - 20_000, 10);
+        queue.schedule(invalid, NOW);
+        queue.schedule(expired, NOW);
+
+        assertThat(queue.poll(NOW), empty());
+        assertThat(queue.poll(NOW + SessionExpirationQueue.TICK), containsInAnyOrder(invalid, expired));
+    }
+
+    @Test
+    public void unscheduledSessionsAreNotPolled() {
+        StandardSession removed = createSession(NOW, 10);
+        StandardSession immortal = createSession(NOW, -1);
+        StandardSession cleared = createSession(NOW, 10);
+        queue.schedule(removed, NOW);
+        queue.schedule(immortal, NOW);
+        queue.unschedule(removed);
+
+        assertThat(queue.poll(NOW + 3_600_000), empty());
+
+        queue.schedule(cleared, NOW);
+        queue.clear();
+        assertThat(queue.poll(NOW + 3_600_000), empty());
+        queue.schedule(cleared, NOW);
+        assertThat(queue.poll(NOW + 10_000), contains(cleared));
+    }
+
+    private StandardSession createSession(long accessedTime, int maxInactiveInterval) {
+        StandardSession session = new StandardSession(manager);
+        session.setValid(true);
+        session.setCreationTime(accessedTime);
+        session.setMaxInactiveInterval(maxInactiveInterval);
+        return session;
+    }
+}
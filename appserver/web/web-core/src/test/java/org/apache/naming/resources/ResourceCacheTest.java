@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.naming.resources;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class ResourceCacheTest {
+
+    private final ResourceCache cache = new ResourceCache();
+
+    @Test
+    public void loadAndUnloadCountTheEntrySizes() {
+        cache.load(createEntry("/a.html", 3));
+        cache.load(createEntry("/b.html", 5));
+        cache.load(createNotFoundEntry("/missing.html"));
+        assertThat(cache.getCacheSize(), is(9));
+
+        // an entry loaded again by another thread is not counted twice
+        cache.load(createEntry("/a.html", 3));
+        cache.load(createNotFoundEntry("/missing.html"));
+        assertThat(cache.getCacheSize(), is(9));
+
+        assertThat(cache.unload("/a.html"), is(true));
+        assertThat(cache.getCacheSize(), is(6));
+        assertThat(cache.unload("/a.html"), is(false));
+        assertThat(cache.getCacheSize(), is(6));
+        assertThat(cache.unload("/missing.html"), is(true));
+        assertThat(cache.getCacheSize(), is(5));
+
+        cache.clear();
+        assertThat(cache.getCacheSize(), is(0));
+        assertThat(cache.lookup("/b.html"), nullValue());
+    }
+
+    @Test
+    public void unloadAllRemovesTheEntriesOfAPrefix() {
+        cache.load(createEntry("/dir/a.html", 2));
+        cache.load(createEntry("/dir/sub/b.html", 3));
+        cache.load(createNotFoundEntry("/dir/c.html"));
+        cache.load(createEntry("/directory.html", 4));
+
+        cache.unloadAll("/dir/");
+        assertThat(cache.getCacheSize(), is(4));
+        assertThat(cache.lookup("/dir/a.html"), nullValue());
+        assertThat(cache.lookup("/dir/sub/b.html"), nullValue());
+        assertThat(cache.lookup("/dir/c.html"), nullValue());
+        assertThat(cache.lookup("/directory.html"), notNullValue());
+    }
+
+    @Test
+    public void allocateRemovesTheEntriesRarelyAccessed() {
+        cache.setCacheMaxSize(100);
+        for (int i = 0; i < 10; i++) {
+            CacheEntry entry = createEntry("/" + i + ".html", 10);
+            cache.load(entry);
+            for (int access = 0; access < 10; access++) {
+                cache.lookup(entry.name);
+            }
+            // the even entries are accessed often enough to stay
+            entry.accessCount = i % 2 == 0 ? 10 : 0;
+        }
+        assertThat(cache.getCacheSize(), is(100));
+
+        assertThat(cache.allocate(10), is(true));
+        assertThat(cache.getCacheSize(), lessThanOrEqualTo(90));
+        int size = 0;
+        for (int i = 0; i < 10; i++) {
+            CacheEntry entry = cache.cache.get("/" + i + ".html");
+            if (i % 2 == 0) {
+                assertThat(entry, notNullValue());
+            }
+            if (entry != null) {
+                size += entry.size;
+            }
+        }
+        assertThat(cache.getCacheSize(), is(size));
+    }
+
+    @Test
+    public void allocateKeepsTheEntriesFrequentlyAccessed() {
+        cache.setCacheMaxSize(100);
+        for (int i = 0; i < 10; i++) {
+            CacheEntry entry = createEntry("/" + i + ".html", 10);
+            cache.load(entry);
+            cache.lookup(entry.name);
+            entry.accessCount = 1;
+        }
+
+        assertThat(cache.allocate(10), is(false));
+        assertThat(cache.getCacheSize(), is(100));
+        assertThat(cache.cache.size(), is(10));
+    }
+
+    @Test
+    public void allocateRemovesTheSpareNotFoundEntriesFirst() {
+        cache.setCacheMaxSize(20);
+        cache.setSpareNotFoundEntries(5);
+        CacheEntry entry = createEntry("/found.html", 10);
+        cache.load(entry);
+        entry.accessCount = 1;
+        for (int i = 0; i < 10; i++) {
+            cache.load(createNotFoundEntry("/" + i + ".html"));
+        }
+        assertThat(cache.getCacheSize(), is(20));
+
+        assertThat(cache.allocate(5), is(true));
+        assertThat(cache.getCacheSize(), is(10));
+        assertThat(cache.notFoundCache.size(), is(0));
+        assertThat(cache.lookup("/found.html"), notNullValue());
+    }
+
+    @Test
+    public void sizeMatchesTheEntriesUnderConcurrentUpdates() throws Exception {
+        cache.setCacheMaxSize(200);
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int i = 0; i < threads; i++) {
+                futures[i] = executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int operation = 0; operation < 20_000; operation++) {
+                        String name = "/" + random.nextInt(100) + ".html";
+                        switch (random.nextInt(4)) {
+                            case 0:
+                                CacheEntry entry = createEntry(name, 1 + random.nextInt(8));
+                                if (cache.allocate(entry.size)) {
+                                    cache.load(entry);
+                                }
+                                break;
+                            case 1:
+                                cache.load(createNotFoundEntry(name));
+                                break;
+                            case 2:
+                                cache.unload(name);
+                                break;
+                            default:
+                                cache.lookup(name);
+                                break;
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int size = cache.notFoundCache.size();
+        for (CacheEntry entry : cache.cache.values()) {
+            size += entry.size;
+        }
+        assertThat(cache.getCacheSize(), is(size));
+
+        cache.clear();
+        assertThat(cache.getCacheSize(), is(0));
+    }
+
+    private static CacheEntry createEntry(String name, int size) {
+        CacheEntry entry = new CacheEntry();
+        entry.name = name;
+        entry.size = size;
+        return entry;
+    }
+
+    private static CacheEntry createNotFoundEntry(String name) {
+        CacheEntry entry = new CacheEntry();
+        entry.name = name;
+        entry.exists = false;
+        return entry;
+    }
+}
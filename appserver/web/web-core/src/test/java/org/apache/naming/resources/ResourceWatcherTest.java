@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.naming.resources;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Hashtable;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that the resources cached by a {@link ProxyDirContext} of a file
+ * system directory are removed from the cache when the {@link ResourceWatcher}
+ * reports they changed, their time to live being too long to expire.
+ */
+public class ResourceWatcherTest {
+
+    private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+    @TempDir
+    Path base;
+
+    private ProxyDirContext resources;
+
+    @BeforeEach
+    public void createResources() throws Exception {
+        FileDirContext dirContext = new FileDirContext();
+        dirContext.setDocBase(base.toString());
+        dirContext.setCacheTTL(Integer.MAX_VALUE);
+        resources = new ProxyDirContext(new Hashtable<>(), dirContext);
+    }
+
+    @Test
+    public void modifiedFileIsRemoved() throws Exception {
+        Path file = createFile("a/index.html", "v1");
+        assertThat(read("/a/index.html"), is("v1"));
+
+        Files.writeString(file, "version 2");
+        awaitUnloaded("/a/index.html");
+        assertThat(read("/a/index.html"), is("version 2"));
+    }
+
+    @Test
+    public void modifiedFileOfTheDocumentBaseIsRemoved() throws Exception {
+        Path file = createFile("index.html", "v1");
+        assertThat(read("/index.html"), is("v1"));
+
+        Files.writeString(file, "version 2");
+        awaitUnloaded("/index.html");
+        assertThat(read("/index.html"), is("version 2"));
+    }
+
+    @Test
+    public void deletedFileIsRemoved() throws Exception {
+        Path file = createFile("a/index.html", "v1");
+        assertThat(read("/a/index.html"), is("v1"));
+
+        Files.delete(file);
+        awaitUnloaded("/a/index.html");
+        assertThat(resources.lookupCache("/a/index.html").exists, is(false));
+    }
+
+    @Test
+    public void createdFileReplacesTheNotFoundEntry() throws Exception {
+        createFile("a/index.html", "v1");
+        assertThat(read("/a/index.html"), is("v1"));
+        assertThat(resources.lookupCache("/a/new.html").exists, is(false));
+
+        createFile("a/new.html", "new");
+        awaitUnloaded("/a/new.html");
+        assertThat(read("/a/new.html"), is("new"));
+    }
+
+    @Test
+    public void filesOfARenamedDirectoryAreRemoved() throws Exception {
+        createFile("a/b/c.html", "c");
+        createFile("a/b/d/e.html", "e");
+        assertThat(read("/a/b/c.html"), is("c"));
+        assertThat(read("/a/b/d/e.html"), is("e"));
+
+        Files.move(base.resolve("a/b"), base.resolve("a/renamed"));
+        awaitUnloaded("/a/b/c.html");
+        awaitUnloaded("/a/b/d/e.html");
+        assertThat(resources.lookupCache("/a/b/c.html").exists, is(false));
+        assertThat(read("/a/renamed/c.html"), is("c"));
+
+        // watched again under its new name
+        Files.writeString(base.resolve("a/renamed/c.html"), "changed");
+        awaitUnloaded("/a/renamed/c.html");
+        assertThat(read("/a/renamed/c.html"), is("changed"));
+    }
+
+    private Path createFile(String name, String content) throws Exception {
+        Path file = base.resolve(name);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+
+    private String read(String name) {
+        CacheEntry entry = resources.lookupCache(name);
+        assertThat(entry.exists, is(true));
+        assertThat(entry.resource.getContent(), notNullValue());
+        // read from the cache, as long as the directory does not report a change
+        assumeTrue(entry.timestamp == Long.MAX_VALUE, "The directory of " + name + " is not watched");
+        return new String(entry.resource.getContent(), UTF_8);
+    }
+
+    private void awaitUnloaded(String name) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (resources.getCache().lookup(name) != null) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("The cached resource " + name + " was not removed");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,6 +18,7 @@
 package com.sun.appserv.web.cache;
 
 import com.sun.appserv.util.cache.Cache;
+import com.sun.appserv.web.cache.filter.HttpCacheEntry;
 import com.sun.appserv.web.cache.mapping.CacheMapping;
 
 import jakarta.servlet.ServletContext;
@@ -48,6 +50,16 @@ public class CacheManager {
     public static final String DEFAULT_CACHE_CLASSNAME =
         "com.sun.appserv.util.cache.LruCache";
 
+    public static final String BODY_STORAGE_PROPERTY = "cacheBodyStorage";
+
+    public static final String BODY_STORAGE_HEAP = "heap";
+
+    public static final String BODY_STORAGE_DIRECT = "direct";
+
+    public static final String SPILL_THRESHOLD_PROPERTY = "cacheSpillThreshold";
+
+    public static final int DEFAULT_SPILL_THRESHOLD = 1024 * 1024;
+
     private static final Logger _logger = LogFacade.getLogger();
 
     /**
@@ -60,6 +72,16 @@ public class CacheManager {
     int defaultTimeout = DEFAULT_CACHE_TIMEOUT;
     String cacheClassName = DEFAULT_CACHE_CLASSNAME;
 
+    // keep the cached response bodies off-heap?
+    boolean directBodies = false;
+    int spillThreshold = DEFAULT_SPILL_THRESHOLD;
+
+    // the virtual server of this application and its off-heap limits
+    String virtualServerName;
+    long maxDirectMemory = CachedBodyStore.DEFAULT_MAX_DIRECT_MEMORY;
+    long maxSpillSize = CachedBodyStore.DEFAULT_MAX_SPILL_SIZE;
+    CachedBodyStore bodyStore;
+
     boolean enabled = false;
 
     // application servlet context
@@ -133,6 +155,10 @@ public class CacheManager {
     public void addProperty(String name, String value) {
         if (name.equalsIgnoreCase("cacheClassName")) {
            cacheClassName = value;
+        } else if (name.equalsIgnoreCase(BODY_STORAGE_PROPERTY)) {
+            directBodies = BODY_STORAGE_DIRECT.equalsIgnoreCase(value.trim());
+        } else if (name.equalsIgnoreCase(SPILL_THRESHOLD_PROPERTY)) {
+            spillThreshold = Integer.parseInt(value.trim());
         } else {
             if (cacheProps == null) {
                 cacheProps = new Properties();
@@ -141,6 +167,19 @@ public class CacheManager {
         }
     }
 
+    /**
+     * set the virtual server of this application and the limits of the
+     * off-heap storage of cached bodies, shared by all its applications
+     * @param name virtual server name
+     * @param maxDirectMemory cap on the direct memory in bytes
+     * @param maxSpillSize cap on the size of the spill files in bytes
+     */
+    public void setVirtualServer(String name, long maxDirectMemory, long maxSpillSize) {
+        this.virtualServerName = name;
+        this.maxDirectMemory = maxDirectMemory;
+        this.maxSpillSize = maxSpillSize;
+    }
+
     /**
      * add a CacheHelper definition
      * @param name CacheHelper name
@@ -201,6 +240,18 @@ public class CacheManager {
             throw new LifecycleException(_rb.getString(LogFacade.CACHE_MANAGER_EXCEPTION_CREATING_CACHE), e);
         }
 
+        if (directBodies) {
+            bodyStore = CachedBodyStore.acquire(
+                virtualServerName == null ? "" : virtualServerName,
+                maxDirectMemory, maxSpillSize);
+            // evicted responses give their off-heap memory back
+            defaultCache.addCacheListener((key, value) -> {
+                if (value instanceof HttpCacheEntry) {
+                    ((HttpCacheEntry) value).releaseBody();
+                }
+            });
+        }
+
         // initialize the "default" helper
         defaultHelper = new DefaultCacheHelper();
         defaultHelper.setCacheManager(this);
@@ -295,6 +346,23 @@ public class CacheManager {
         return defaultCache;
     }
 
+    /**
+     * get the off-heap store of the cached response bodies
+     * @return the store, null if the bodies are kept on the heap
+     */
+    public CachedBodyStore getBodyStore() {
+        return bodyStore;
+    }
+
+    /**
+     * get the size above which cached bodies are spilled to memory-mapped
+     * files instead of direct memory
+     * @return size in bytes, 0 if spilling is disabled
+     */
+    public int getSpillThreshold() {
+        return spillThreshold;
+    }
+
     /**
      * add cache mapping
      * @param name unique name of the mapping
@@ -398,6 +466,20 @@ public class CacheManager {
             }
         }
         cacheHelpers.clear();
+
+        // give the off-heap memory of the cached bodies back
+        if (bodyStore != null) {
+            Iterator<?> entries = defaultCache.values();
+            while (entries.hasNext()) {
+                Object entry = entries.next();
+                if (entry instanceof HttpCacheEntry) {
+                    ((HttpCacheEntry) entry).releaseBody();
+                }
+            }
+            CachedBodyStore.release(bodyStore);
+            bodyStore = null;
+        }
+
         cacheMappings.clear();
         cacheHelpersByFilterName.clear();
         listeners.clear();
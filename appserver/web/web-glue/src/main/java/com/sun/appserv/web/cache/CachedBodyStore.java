@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.web.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.web.LogFacade;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Off-heap storage of cached response bodies.
+ * <p>
+ * A body is copied once into a direct buffer when the response is cached. Bodies larger than
+ * the spill threshold are written to a file which is mapped into memory instead. Cache hits
+ * hand a read-only view of the buffer to the connector, which writes it to the client without
+ * copying it back to the heap.
+ * <p>
+ * All web modules deployed to the same virtual server share one store, so the caps on direct
+ * memory and on the size of the spill files apply per virtual server. When a cap would be
+ * exceeded, the body simply stays on the heap.
+ * <p>
+ * Buffers are not pooled: the connector may still be writing a buffer after its cache entry
+ * was replaced, so the memory of a released body is left to the garbage collector and only
+ * the accounting is updated immediately.
+ */
+public final class CachedBodyStore {
+
+    public static final long DEFAULT_MAX_DIRECT_MEMORY = 64L * 1024 * 1024;
+
+    public static final long DEFAULT_MAX_SPILL_SIZE = 1024L * 1024 * 1024;
+
+    private static final Logger _logger = LogFacade.getLogger();
+
+    // stores indexed by the virtual server name, guarded by the class lock
+    private static final Map<String, CachedBodyStore> stores = new HashMap<String, CachedBodyStore>();
+
+    private final String name;
+    private final long maxDirectMemory;
+    private final long maxSpillSize;
+
+    private final AtomicLong directMemory = new AtomicLong();
+    private final AtomicLong spillSize = new AtomicLong();
+
+    // guarded by the class lock
+    private int references;
+
+    // created on the first spill, guarded by this
+    private Path spillDirectory;
+
+    private CachedBodyStore(String name, long maxDirectMemory, long maxSpillSize) {
+        this.name = name;
+        this.maxDirectMemory = maxDirectMemory;
+        this.maxSpillSize = maxSpillSize;
+    }
+
+    /**
+     * get the store of the given virtual server, creating it if necessary.
+     * Every call must be paired with {@link #release(CachedBodyStore)}.
+     * @param virtualServer name of the virtual server
+     * @param maxDirectMemory cap on the direct memory in bytes,
+     *        used only when the store is created
+     * @param maxSpillSize cap on the size of the spill files in bytes,
+     *        used only when the store is created
+     * @return the shared store
+     */
+    public static synchronized CachedBodyStore acquire(String virtualServer,
+            long maxDirectMemory, long maxSpillSize) {
+        CachedBodyStore store = stores.get(virtualServer);
+        if (store == null) {
+            store = new CachedBodyStore(virtualServer, maxDirectMemory, maxSpillSize);
+            stores.put(virtualServer, store);
+        }
+        store.references++;
+        return store;
+    }
+
+    /**
+     * release the store; the last release removes the spill files.
+     * @param store store obtained from {@link #acquire(String, long, long)}
+     */
+    public static void release(CachedBodyStore store) {
+        synchronized (CachedBodyStore.class) {
+            if (--store.references > 0) {
+                return;
+            }
+            stores.remove(store.name);
+        }
+        store.deleteSpillDirectory();
+    }
+
+    /**
+     * copy the body out of the heap
+     * @param bytes response body
+     * @param spillThreshold bodies larger than this are spilled to a
+     *        memory-mapped file; 0 disables spilling
+     * @return the stored body or null if the caps do not allow it
+     */
+    public Body store(byte[] bytes, int spillThreshold) {
+        if (spillThreshold > 0 && bytes.length > spillThreshold) {
+            Body body = spill(bytes);
+            if (body != null) {
+                return body;
+            }
+        }
+
+        if (!reserve(directMemory, maxDirectMemory, bytes.length)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return new Body(buffer.asReadOnlyBuffer(), null);
+    }
+
+    /**
+     * @return direct memory in bytes held by the bodies of this store
+     */
+    public long getDirectMemory() {
+        return directMemory.get();
+    }
+
+    /**
+     * @return size in bytes of the spill files of this store
+     */
+    public long getSpillSize() {
+        return spillSize.get();
+    }
+
+    private Body spill(byte[] bytes) {
+        if (!reserve(spillSize, maxSpillSize, bytes.length)) {
+            return null;
+        }
+
+        Path file = null;
+        try {
+            file = Files.createTempFile(getSpillDirectory(), "body", ".cache");
+            try (FileChannel channel = FileChannel.open(file, READ, WRITE)) {
+                ByteBuffer source = ByteBuffer.wrap(bytes);
+                while (source.hasRemaining()) {
+                    channel.write(source);
+                }
+                // the mapping stays valid after the channel is closed
+                return new Body(channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes.length), file);
+            }
+        } catch (IOException e) {
+            spillSize.addAndGet(-bytes.length);
+            _logger.log(Level.WARNING, LogFacade.CACHE_BODY_SPILL_FAILED, new Object[] {name, e});
+            if (file != null) {
+                deleteFile(file);
+            }
+            return null;
+        }
+    }
+
+    private synchronized Path getSpillDirectory() throws IOException {
+        if (spillDirectory == null) {
+            spillDirectory = Files.createTempDirectory("cache-" + name.replaceAll("[^A-Za-z0-9_.-]", "_") + "-");
+        }
+        return spillDirectory;
+    }
+
+    private synchronized void deleteSpillDirectory() {
+        if (spillDirectory == null) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spillDirectory)) {
+            for (Path file : files) {
+                deleteFile(file);
+            }
+        } catch (IOException e) {
+            _logger.log(Level.FINE, LogFacade.CANNOT_DELETE_FILE, spillDirectory);
+        }
+        deleteFile(spillDirectory);
+        spillDirectory = null;
+    }
+
+    private void free(Body body) {
+        int size = body.size();
+        if (body.file == null) {
+            directMemory.addAndGet(-size);
+        } else {
+            spillSize.addAndGet(-size);
+            deleteFile(body.file);
+        }
+    }
+
+    private static boolean reserve(AtomicLong counter, long max, int size) {
+        while (true) {
+            long current = counter.get();
+            if (current + size > max) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current + size)) {
+                return true;
+            }
+        }
+    }
+
+    private static void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // a file still mapped by a running write cannot be deleted on some platforms
+            _logger.log(Level.FINE, LogFacade.CANNOT_DELETE_FILE, file);
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    /**
+     * A response body stored by the {@link CachedBodyStore}.
+     */
+    public final class Body {
+
+        private final ByteBuffer buffer;
+        private final Path file;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Body(ByteBuffer buffer, Path file) {
+            this.buffer = buffer;
+            this.file = file;
+        }
+
+        /**
+         * @return size of the body in bytes
+         */
+        public int size() {
+            return buffer.capacity();
+        }
+
+        /**
+         * @return true if the body is stored in a memory-mapped file
+         */
+        public boolean isSpilled() {
+            return file != null;
+        }
+
+        /**
+         * @return a new read-only view of the body, positioned at its start;
+         *         every writer needs its own view
+         */
+        public ByteBuffer newView() {
+            return buffer.duplicate();
+        }
+
+        /**
+         * return the reserved memory to the store; the body must not be
+         * read by new requests afterwards. Repeated calls have no effect.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                free(this);
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2024 Contributors to Eclipse Foundation.
+ * Copyright (c) 2024, 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -18,8 +18,10 @@
 package com.sun.appserv.web.cache.filter;
 
 import com.sun.appserv.util.cache.Cache;
+import com.sun.appserv.util.cache.ConcurrentCache;
 import com.sun.appserv.web.cache.CacheHelper;
 import com.sun.appserv.web.cache.CacheManager;
+import com.sun.appserv.web.cache.CachedBodyStore;
 import com.sun.appserv.web.cache.CacheManagerListener;
 import com.sun.appserv.web.cache.DefaultCacheHelper;
 
@@ -35,12 +37,14 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.apache.catalina.connector.CoyoteOutputStream;
 import org.glassfish.web.LogFacade;
 
 public class CachingFilter implements Filter, CacheManagerListener {
@@ -229,19 +233,29 @@ public class CachingFilter implements Filter, CacheManagerListener {
                             entry.computeExpireTime(timeout);
                         }
 
-                        cache.put(key, entry, entry.getSize());
+                        boolean cached = putEntry(cache, key, entry,
+                                manager.getBodyStore(), manager.getSpillThreshold());
 
                         cache.notifyRefresh(index);
                         needNotify = false;
 
                         // transmit the response body content
-                        writeBody(entry, response);
+                        try {
+                            writeBody(entry, response);
+                        } finally {
+                            if (!cached) {
+                                entry.releaseBody();
+                            }
+                        }
                     } else {
                         /** either there was an error or response from this
                          *  resource is not cacheable anymore; so, remove the
                          *  old entry from the cache.
                          */
-                        cache.remove(key);
+                        Object oldEntry = cache.remove(key);
+                        if (oldEntry instanceof HttpCacheEntry) {
+                            ((HttpCacheEntry) oldEntry).releaseBody();
+                        }
                     }
                 } finally {
                     // IT 12891
@@ -335,6 +349,37 @@ public class CachingFilter implements Filter, CacheManagerListener {
         writeBody(entry, response);
     }
 
+    /**
+     * called by doFilter to put a new response entry in the cache, after
+     * its body was moved to the body store
+     * @param cache cache of the entry
+     * @param key key of the entry
+     * @param entry new response entry
+     * @param bodyStore body store of the virtual server, may be null
+     * @param spillThreshold size in bytes above which the body is spilled
+     * @return false if the cache did not admit the entry; the caller must
+     *         then release its body once the body has been written
+     */
+    static boolean putEntry(Cache cache, Object key, HttpCacheEntry entry,
+                            CachedBodyStore bodyStore, int spillThreshold) {
+        if (bodyStore != null) {
+            entry.storeBody(bodyStore, spillThreshold);
+        }
+
+        Object oldEntry = cache.put(key, entry, entry.getSize());
+        if (oldEntry instanceof HttpCacheEntry) {
+            ((HttpCacheEntry) oldEntry).releaseBody();
+        }
+
+        // only the concurrent cache refuses new keys; nothing holds the body then.
+        // If the entry is replaced or evicted in the meantime, its body is released
+        // by that thread too, and releasing a body twice is harmless.
+        if (entry.body == null || !(cache instanceof ConcurrentCache)) {
+            return true;
+        }
+        return ((ConcurrentCache) cache).peek(key) == entry;
+    }
+
     /**
      * called by doFilter/sendCachedResponse to write the body content
      * @param entry cached response entry
@@ -345,7 +390,24 @@ public class CachingFilter implements Filter, CacheManagerListener {
                            HttpServletResponse response)
                            throws IOException {
         ServletOutputStream out = response.getOutputStream();
-        out.write(entry.bytes);
+        CachedBodyStore.Body body = entry.body;
+        if (body == null) {
+            out.write(entry.bytes);
+            return;
+        }
+
+        ByteBuffer view = body.newView();
+        if (out instanceof CoyoteOutputStream) {
+            // hand the off-heap buffer to the connector without copying
+            ((CoyoteOutputStream) out).write(view);
+        } else {
+            byte[] chunk = new byte[Math.min(view.remaining(), 8192)];
+            while (view.hasRemaining()) {
+                int len = Math.min(chunk.length, view.remaining());
+                view.get(chunk, 0, len);
+                out.write(chunk, 0, len);
+            }
+        }
     }
 
     /**
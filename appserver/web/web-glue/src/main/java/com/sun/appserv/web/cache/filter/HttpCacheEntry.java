@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,6 +17,8 @@
 
 package com.sun.appserv.web.cache.filter;
 
+import com.sun.appserv.web.cache.CachedBodyStore;
+
 import jakarta.servlet.http.Cookie;
 
 import java.util.ArrayList;
@@ -47,6 +50,9 @@ public class HttpCacheEntry {
     // XXX: other cacheable response info
     byte[] bytes;
 
+    // the response bytes when they are kept off-heap; bytes is null then
+    volatile CachedBodyStore.Body body;
+
     volatile long expireTime = 0;
 
     /**
@@ -76,10 +82,39 @@ public class HttpCacheEntry {
         return (expireTime > System.currentTimeMillis() || expireTime == -1);
     }
 
+    /**
+     * move the response bytes off-heap, if the store has room for them
+     * @param store the body store of the virtual server
+     * @param spillThreshold size in bytes above which the body is spilled
+     *        to a memory-mapped file
+     */
+    public void storeBody(CachedBodyStore store, int spillThreshold) {
+        if (bytes == null || bytes.length == 0) {
+            return;
+        }
+        CachedBodyStore.Body stored = store.store(bytes, spillThreshold);
+        if (stored != null) {
+            body = stored;
+            bytes = null;
+        }
+    }
+
+    /**
+     * release the off-heap response bytes, if any. Called when this entry
+     * leaves the cache.
+     */
+    public void releaseBody() {
+        CachedBodyStore.Body stored = body;
+        if (stored != null) {
+            stored.release();
+        }
+    }
+
     /**
      * clear the contents
      */
     public void clear() {
+        releaseBody();
         bytes = null;
         responseHeaders = null;
         cookies = null;
@@ -94,6 +129,8 @@ public class HttpCacheEntry {
         int size = 0;
         if (bytes != null) {
             size = bytes.length;
+        } else if (body != null) {
+            size = body.size();
         }
 
         // size of response bytes plus headers (each approx 20 chars or 40 bytes)
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,6 +18,7 @@
 package com.sun.enterprise.web;
 
 import com.sun.appserv.web.cache.CacheManager;
+import com.sun.appserv.web.cache.CachedBodyStore;
 import com.sun.appserv.web.cache.mapping.CacheMapping;
 import com.sun.appserv.web.cache.mapping.ConstraintField;
 import com.sun.appserv.web.cache.mapping.Field;
@@ -51,6 +53,22 @@ public final class CacheModule {
 
     public static final Logger logger = LogFacade.getLogger();
 
+    private static long getSizeProperty(VirtualServer vs, String name,
+                                        long defaultValue) throws Exception {
+        if (vs.getBean() == null) {
+            return defaultValue;
+        }
+        String value = vs.getBean().getPropertyValue(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new Exception("invalid " + name, e);
+        }
+    }
+
     private static String trim(String str) {
         if (str != null)
             return str.trim();
@@ -83,6 +101,16 @@ public final class CacheModule {
         // create the CacheManager object for this app
         CacheManager manager = new CacheManager();
 
+        // off-heap cached bodies are limited per virtual server
+        if (app.getParent() instanceof VirtualServer) {
+            VirtualServer vs = (VirtualServer) app.getParent();
+            manager.setVirtualServer(vs.getName(),
+                getSizeProperty(vs, Constants.CACHE_MAX_DIRECT_MEMORY_PROPERTY,
+                                CachedBodyStore.DEFAULT_MAX_DIRECT_MEMORY),
+                getSizeProperty(vs, Constants.CACHE_MAX_SPILL_SIZE_PROPERTY,
+                                CachedBodyStore.DEFAULT_MAX_SPILL_SIZE));
+        }
+
         String name, value;
         value = cacheConfig.getAttributeValue(Cache.ENABLED);
         if (value != null) {
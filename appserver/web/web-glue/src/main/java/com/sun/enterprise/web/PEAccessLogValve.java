@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -24,6 +24,8 @@ import com.sun.enterprise.config.serverbeans.HttpService;
 import com.sun.enterprise.config.serverbeans.VirtualServer;
 import com.sun.enterprise.util.io.FileUtils;
 import com.sun.enterprise.web.accesslog.AccessLogFormatter;
+import com.sun.enterprise.web.accesslog.AsyncAccessLogWriter;
+import com.sun.enterprise.web.accesslog.AsyncAccessLogWriter.OverflowPolicy;
 import com.sun.enterprise.web.accesslog.CombinedAccessLogFormatterImpl;
 import com.sun.enterprise.web.accesslog.CommonAccessLogFormatterImpl;
 import com.sun.enterprise.web.accesslog.DefaultAccessLogFormatterImpl;
@@ -36,13 +38,17 @@ import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 import java.text.MessageFormat;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
 import java.util.ResourceBundle;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -68,6 +74,10 @@ import static java.time.Instant.ofEpochMilli;
  * </p>This class uses a direct <code>ByteBuffer</code> to store and write
  * logs.
  *
+ * <p>In the asynchronous mode, request threads format their entries into
+ * thread-local buffers and pass them to an {@link AsyncAccessLogWriter},
+ * so that they never wait for the log file or for each other.
+ *
  * @author Jean-Francois Arcand
  * @author Charlie J. Hunt
  */
@@ -105,6 +115,12 @@ public final class PEAccessLogValve
     private final static int MIN_BUFFER_SIZE = 5120;
 
 
+    /**
+     * The default number of entries queued in the asynchronous mode.
+     */
+    private static final int DEFAULT_QUEUE_SIZE = 8192;
+
+
     // ----------------------------------------------------- Instance Variables
 
 
@@ -279,6 +295,45 @@ public final class PEAccessLogValve
     private final Object lock = new Object();
 
 
+    /**
+     * Should the entries be written by the asynchronous writer?
+     */
+    private boolean async;
+
+
+    /**
+     * Maximal number of entries queued for the asynchronous writer.
+     */
+    private int queueSize = DEFAULT_QUEUE_SIZE;
+
+
+    /**
+     * What to do with an entry when the asynchronous writer's queue is full.
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+
+    /**
+     * The asynchronous writer, null if not started or if the async mode is off.
+     */
+    private volatile AsyncAccessLogWriter asyncWriter;
+
+
+    /**
+     * Per thread buffers used to format entries in the asynchronous mode.
+     */
+    private final ThreadLocal<CharBuffer> threadCharBuffer = ThreadLocal.withInitial(() -> CharBuffer.allocate(bufferSize));
+
+
+    /**
+     * Per thread encoders of the entries in the asynchronous mode.
+     */
+    private final ThreadLocal<CharsetEncoder> threadEncoder = ThreadLocal.withInitial(
+        () -> Charset.defaultCharset().newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE));
+
+
     /**
      * Return writerThread interval (seconds)
      */
@@ -335,6 +390,75 @@ public final class PEAccessLogValve
         return bufferSize;
     }
 
+
+    /**
+     * Are the entries written by a background writer?
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+
+    /**
+     * Set whether the entries should be queued and written by a background
+     * writer instead of by the request threads.
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+
+    /**
+     * Return the maximal number of entries queued in the asynchronous mode.
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+
+    /**
+     * Set the maximal number of entries queued in the asynchronous mode.
+     */
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize > 0 ? queueSize : DEFAULT_QUEUE_SIZE;
+    }
+
+
+    /**
+     * Return the policy used when the asynchronous queue is full.
+     */
+    public String getOverflowPolicy() {
+        return overflowPolicy.name().toLowerCase(Locale.ROOT);
+    }
+
+
+    /**
+     * Set the policy used when the asynchronous queue is full,
+     * <code>block</code> (default) or <code>drop</code>.
+     */
+    public void setOverflowPolicy(String policy) {
+        overflowPolicy = OverflowPolicy.parse(policy);
+    }
+
+
+    /**
+     * Return the number of entries waiting for the asynchronous writer.
+     */
+    public long getQueuedEntryCount() {
+        AsyncAccessLogWriter writer = asyncWriter;
+        return writer == null ? 0L : writer.getQueuedCount();
+    }
+
+
+    /**
+     * Return the number of entries dropped by the asynchronous writer
+     * since the valve was started.
+     */
+    public long getDroppedEntryCount() {
+        AsyncAccessLogWriter writer = asyncWriter;
+        return writer == null ? 0L : writer.getDroppedCount();
+    }
+
     // ------------------------------------------------------------- Properties
 
 
@@ -548,6 +672,12 @@ public final class PEAccessLogValve
             return;
         }
 
+        AsyncAccessLogWriter writer = asyncWriter;
+        if (writer != null) {
+            logAsync(writer, request, response);
+            return;
+        }
+
         synchronized (lock){
             // Reset properly the buffer in case of an unexpected
             // exception.
@@ -582,12 +712,84 @@ public final class PEAccessLogValve
     }
 
 
+    /**
+     * Formats the entry into the thread's own buffer and queues it
+     * for the asynchronous writer.
+     * <p>
+     * The encoded entry gets its own byte buffer: the writer thread owns it
+     * until the gathering write, while the request thread already formats
+     * its next entry, so a per thread byte buffer cannot be reused without
+     * handing it back from the writer thread.
+     */
+    private void logAsync(AsyncAccessLogWriter writer, Request request, Response response) {
+        if (formatter == null) {
+            return;
+        }
+        CharBuffer buffer = threadCharBuffer.get();
+        buffer.clear();
+        try {
+            formatter.appendLogEntry(request, response, buffer);
+            buffer.put('\n');
+        } catch (BufferOverflowException ex) {
+            _logger.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {ex});
+            return;
+        }
+        buffer.flip();
+        ByteBuffer entry;
+        try {
+            entry = threadEncoder.get().encode(buffer);
+        } catch (CharacterCodingException ex) {
+            _logger.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {ex});
+            return;
+        }
+        writer.enqueue(entry);
+    }
+
+
+    /**
+     * Writes a batch of entries queued by the request threads. Called only
+     * by the asynchronous writer thread.
+     */
+    private void writeBatch(ByteBuffer[] buffers, int length) throws IOException {
+        rotateIfNeeded();
+        ByteBuffer last = buffers[length - 1];
+        int offset = 0;
+        while (last.hasRemaining()) {
+            fileChannel.write(buffers, offset, length - offset);
+            while (offset < length && !buffers[offset].hasRemaining()) {
+                offset++;
+            }
+        }
+    }
+
+
     /**
      * Log the specified message to the log file, switching files if the date
      * has changed since the previous log call.
      */
     public void log() throws IOException {
+        rotateIfNeeded();
+
+        synchronized (lock) {
+            try {
+                charBuffer.flip();
+                ByteBuffer byteBuffer = ByteBuffer.wrap(charBuffer.toString().getBytes(Charset.defaultCharset()));
+                while (byteBuffer.hasRemaining()) {
+                    fileChannel.write(byteBuffer);
+                }
+            } catch (IOException ex) {
+
+            } finally {
+                charBuffer.clear();
+            }
+        }
+    }
+
 
+    /**
+     * Switches files if the date has changed since the previous log call.
+     */
+    private void rotateIfNeeded() {
         if (rotatable){
             long systime = System.currentTimeMillis();
             long rotationIntervalLong = rotationInterval * 1000L;
@@ -609,20 +811,6 @@ public final class PEAccessLogValve
                 }
             }
         }
-
-        synchronized (lock) {
-            try {
-                charBuffer.flip();
-                ByteBuffer byteBuffer = ByteBuffer.wrap(charBuffer.toString().getBytes(Charset.defaultCharset()));
-                while (byteBuffer.hasRemaining()) {
-                    fileChannel.write(byteBuffer);
-                }
-            } catch (IOException ex) {
-
-            } finally {
-                charBuffer.clear();
-            }
-        }
     }
 
 
@@ -745,6 +933,17 @@ public final class PEAccessLogValve
             }
         }
 
+        setAsync(Boolean.parseBoolean(vsBean.getPropertyValue(Constants.ACCESS_LOG_ASYNC_PROPERTY)));
+        String acQueueSize = vsBean.getPropertyValue(Constants.ACCESS_LOG_QUEUE_SIZE_PROPERTY);
+        if (acQueueSize != null) {
+            try {
+                setQueueSize(Integer.parseInt(acQueueSize));
+            } catch (NumberFormatException ex) {
+                _logger.log(Level.WARNING, "Invalid accessLogQueueSize: {0}", acQueueSize);
+            }
+        }
+        setOverflowPolicy(vsBean.getPropertyValue(Constants.ACCESS_LOG_OVERFLOW_POLICY_PROPERTY));
+
         return true;
     }
 
@@ -1008,7 +1207,10 @@ public final class PEAccessLogValve
         }
         lastAccessLogCreationTime = systime;
 
-        if (!flushRealTime){
+        if (async) {
+            asyncWriter = new AsyncAccessLogWriter(this::writeBatch, queueSize, overflowPolicy, "AccessLogWriter");
+            asyncWriter.start();
+        } else if (!flushRealTime){
             // Start the background writer writerThread
             threadStart();
         }
@@ -1036,7 +1238,13 @@ public final class PEAccessLogValve
         lifecycle.fireLifecycleEvent(STOP_EVENT, null);
         started = false;
 
-        if (!flushRealTime){
+        AsyncAccessLogWriter writer = asyncWriter;
+        if (writer != null) {
+            // Writes the queued entries before the file is closed,
+            // the entries of the requests still running are dropped
+            writer.stop();
+            asyncWriter = null;
+        } else if (!flushRealTime){
             // Stop the background writer thread
             threadStop();
         }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2024 Contributors to Eclipse Foundation.
+ * Copyright (c) 2021, 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -2576,6 +2576,10 @@ public class WebContainer implements org.glassfish.api.container.Container, Post
             vs.reconfigureAccessLog(globalAccessLogBufferSize, globalAccessLogWriteInterval, serviceLocator, domain, globalAccessLoggingEnabled);
         } else if (Constants.ACCESS_LOG_BUFFER_SIZE_PROPERTY.equals(name)) {
             vs.reconfigureAccessLog(globalAccessLogBufferSize, globalAccessLogWriteInterval, serviceLocator, domain, globalAccessLoggingEnabled);
+        } else if (Constants.ACCESS_LOG_ASYNC_PROPERTY.equals(name)
+                || Constants.ACCESS_LOG_QUEUE_SIZE_PROPERTY.equals(name)
+                || Constants.ACCESS_LOG_OVERFLOW_POLICY_PROPERTY.equals(name)) {
+            vs.reconfigureAccessLog(globalAccessLogBufferSize, globalAccessLogWriteInterval, serviceLocator, domain, globalAccessLoggingEnabled);
         } else if ("allowRemoteHost".equals(name) || "denyRemoteHost".equals(name)) {
             vs.configureRemoteHostFilterValve();
         } else if ("allowRemoteAddress".equals(name) || "denyRemoteAddress".equals(name)) {
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.web.accesslog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.web.LogFacade;
+
+/**
+ * Asynchronous writer of access log entries.
+ * <p>
+ * Request threads hand their already encoded entries to {@link #enqueue(ByteBuffer)}, which
+ * puts them into a bounded lock-free ring buffer. A single writer thread drains the ring in
+ * batches and passes every batch to the {@link Sink} at once, so that the file is written
+ * with one gathering write instead of one write per request.
+ * <p>
+ * When the ring buffer is full, the entry is either dropped or the request thread waits
+ * for free space, depending on the {@link OverflowPolicy}.
+ * <p>
+ * The sink is never called once {@link #stop()} has returned, so its owner can close the
+ * file right after. Entries passed to {@link #enqueue(ByteBuffer)} later are dropped and
+ * counted.
+ */
+public final class AsyncAccessLogWriter implements Runnable {
+
+    private static final Logger _logger = LogFacade.getLogger();
+
+    /** Maximal number of entries written by one gathering write. */
+    private static final int MAX_BATCH_SIZE = 256;
+
+    /** How long the writer thread waits for new entries before it checks the sink again. */
+    private static final long IDLE_PARK_NANOS = 100_000_000L;
+
+    /** How long a blocked request thread waits before it checks for free space again. */
+    private static final long FULL_PARK_NANOS = 50_000L;
+
+    /** Minimal interval between two warnings about dropped entries. */
+    private static final long DROP_REPORT_INTERVAL_MILLIS = 60_000L;
+
+    /**
+     * What to do with a new entry when the ring buffer is full.
+     */
+    public enum OverflowPolicy {
+        /** The request thread waits until the writer makes room. No entry is lost. */
+        BLOCK,
+        /** The new entry is dropped and counted. Request threads never wait. */
+        DROP;
+
+        /**
+         * @param value policy name, case insensitive
+         * @return the policy, {@link #BLOCK} if the value is null or unknown
+         */
+        public static OverflowPolicy parse(String value) {
+            if (value != null && DROP.name().equalsIgnoreCase(value.trim())) {
+                return DROP;
+            }
+            return BLOCK;
+        }
+    }
+
+    /**
+     * Destination of the batches, called only by the writer thread.
+     */
+    @FunctionalInterface
+    public interface Sink {
+
+        /**
+         * Writes all remaining bytes of the first {@code length} buffers.
+         */
+        void write(ByteBuffer[] buffers, int length) throws IOException;
+    }
+
+    private final Sink sink;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicReferenceArray<ByteBuffer> ring;
+    private final int mask;
+
+    /** Next slot to be claimed by a request thread. */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** Next slot to be read by the writer thread. */
+    private final AtomicLong head = new AtomicLong();
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    /** Number of request threads inside {@link #enqueue(ByteBuffer)}. */
+    private final AtomicInteger producers = new AtomicInteger();
+
+    private final Thread writerThread;
+
+    private volatile boolean writerParked;
+
+    /** Set by {@link #stop()}, new entries are dropped. */
+    private volatile boolean stopped;
+
+    /** Set once no request thread can publish an entry anymore, the writer exits when the ring is empty. */
+    private volatile boolean producersDone;
+
+    /**
+     * @param sink destination of the entries
+     * @param capacity maximal number of queued entries, rounded up to the next power of two
+     * @param overflowPolicy what to do when the queue is full
+     * @param threadName name of the writer thread
+     */
+    public AsyncAccessLogWriter(Sink sink, int capacity, OverflowPolicy overflowPolicy, String threadName) {
+        int size = Integer.highestOneBit(Math.max(2, Math.min(capacity, 1 << 30)));
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.sink = sink;
+        this.overflowPolicy = overflowPolicy;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.writerThread = new Thread(this, threadName);
+        this.writerThread.setDaemon(true);
+    }
+
+
+    public void start() {
+        writerThread.start();
+    }
+
+
+    /**
+     * Stops queueing new entries, waits for the request threads already queueing one, then
+     * writes the queued entries and waits for the writer thread. Entries passed to
+     * {@link #enqueue(ByteBuffer)} afterwards are dropped.
+     */
+    public void stop() {
+        stopped = true;
+        // A request thread either sees the flag, or is counted here until its entry is published
+        while (producers.get() > 0) {
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+        }
+        producersDone = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    /**
+     * Queues the entry for writing.
+     *
+     * @param entry encoded access log line, must not be modified after this call
+     * @return false if the entry was dropped, because the queue was full or the writer stopped
+     */
+    public boolean enqueue(ByteBuffer entry) {
+        producers.incrementAndGet();
+        try {
+            long slot;
+            while (true) {
+                if (stopped) {
+                    dropped.increment();
+                    return false;
+                }
+                slot = claimSlot();
+                if (slot >= 0) {
+                    break;
+                }
+                if (overflowPolicy == OverflowPolicy.DROP) {
+                    dropped.increment();
+                    return false;
+                }
+                LockSupport.unpark(writerThread);
+                LockSupport.parkNanos(this, FULL_PARK_NANOS);
+            }
+            ring.lazySet((int) (slot & mask), entry);
+            enqueued.increment();
+            if (writerParked) {
+                LockSupport.unpark(writerThread);
+            }
+            return true;
+        } finally {
+            producers.decrementAndGet();
+        }
+    }
+
+
+    /**
+     * @return number of entries waiting for the writer thread
+     */
+    public long getQueuedCount() {
+        return Math.max(0L, tail.get() - head.get());
+    }
+
+
+    /**
+     * @return number of entries accepted since start
+     */
+    public long getEnqueuedCount() {
+        return enqueued.sum();
+    }
+
+
+    /**
+     * @return number of entries dropped because the queue was full or the writer stopped
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+
+    /**
+     * @return number of entries passed to the sink
+     */
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+
+    @Override
+    public void run() {
+        ByteBuffer[] batch = new ByteBuffer[MAX_BATCH_SIZE];
+        long reportedDrops = 0;
+        long lastReportTime = 0;
+        while (true) {
+            int length = drain(batch);
+            if (length > 0) {
+                write(batch, length);
+                continue;
+            }
+
+            long drops = dropped.sum();
+            long now = System.currentTimeMillis();
+            if (drops != reportedDrops && (producersDone || now - lastReportTime >= DROP_REPORT_INTERVAL_MILLIS)) {
+                _logger.log(Level.WARNING, LogFacade.ACCESS_LOG_ENTRIES_DROPPED,
+                    new Object[] {writerThread.getName(), drops - reportedDrops});
+                reportedDrops = drops;
+                lastReportTime = now;
+            }
+
+            if (producersDone && tail.get() == head.get()) {
+                return;
+            }
+            writerParked = true;
+            if (tail.get() == head.get() && !producersDone) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            writerParked = false;
+        }
+    }
+
+
+    private void write(ByteBuffer[] batch, int length) {
+        try {
+            sink.write(batch, length);
+            written.add(length);
+        } catch (IOException ex) {
+            _logger.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {ex});
+        } finally {
+            for (int i = 0; i < length; i++) {
+                batch[i] = null;
+            }
+        }
+    }
+
+
+    private long claimSlot() {
+        while (true) {
+            long current = tail.get();
+            if (current - head.get() > mask) {
+                return -1L;
+            }
+            if (tail.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+
+    /**
+     * Moves published entries from the ring to the batch.
+     */
+    private int drain(ByteBuffer[] batch) {
+        long next = head.get();
+        long limit = tail.get();
+        int length = 0;
+        while (next < limit && length < batch.length) {
+            int index = (int) (next & mask);
+            ByteBuffer entry = ring.get(index);
+            if (entry == null) {
+                // claimed, but not yet published
+                break;
+            }
+            ring.lazySet(index, null);
+            batch[length++] = entry;
+            next++;
+        }
+        head.lazySet(next);
+        return length;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2024 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2024, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -144,6 +144,11 @@ public class PECoyoteConnector extends Connector {
      */
     private int queueSizeInBytes = 4096;
 
+    /**
+     * True if requests are processed on virtual threads.
+     */
+    private boolean virtualThreads;
+
     /**
      * Server socket backlog.
      */
@@ -331,6 +336,24 @@ public class PECoyoteConnector extends Connector {
     }
 
 
+    /**
+     * Set whether requests are processed on virtual threads, in which case
+     * the maximum processors limit the concurrently processed requests.
+     */
+    public void setVirtualThreads(boolean virtualThreads){
+        this.virtualThreads = virtualThreads;
+        setProperty("virtualThreads", String.valueOf(virtualThreads));
+    }
+
+
+    /**
+     * Return true if requests are processed on virtual threads.
+     */
+    public boolean isVirtualThreads(){
+        return virtualThreads;
+    }
+
+
     /**
      * Set the <code>SocketServer</code> backlog.
      */
@@ -1061,6 +1084,7 @@ public class PECoyoteConnector extends Connector {
      */
     public void configureThreadPool(ThreadPool pool){
         if (pool != null) {
+            setVirtualThreads(ThreadPool.VIRTUAL_THREAD_POOL_CLASS_NAME.equals(pool.getClassname()));
             try {
                 setMaxProcessors(Integer.parseInt(
                     pool.getMaxThreadPoolSize()));
@@ -1068,12 +1092,17 @@ public class PECoyoteConnector extends Connector {
                 String msg = MessageFormat.format(_rb.getString(LogFacade.INVALID_THREAD_POOL_ATTRIBUTE), "max-thread-pool-size");
                 _logger.log(Level.WARNING, msg, ex);
             }
-            try {
-                setMinProcessors(Integer.parseInt(
-                    pool.getMinThreadPoolSize()));
-            } catch (NumberFormatException ex) {
-                String msg = MessageFormat.format(_rb.getString(LogFacade.INVALID_THREAD_POOL_ATTRIBUTE), "min-thread-pool-size");
-                _logger.log(Level.WARNING, msg, ex);
+            if (virtualThreads) {
+                // virtual threads are started per request, none are kept idle
+                setMinProcessors(0);
+            } else {
+                try {
+                    setMinProcessors(Integer.parseInt(
+                        pool.getMinThreadPoolSize()));
+                } catch (NumberFormatException ex) {
+                    String msg = MessageFormat.format(_rb.getString(LogFacade.INVALID_THREAD_POOL_ATTRIBUTE), "min-thread-pool-size");
+                    _logger.log(Level.WARNING, msg, ex);
+                }
             }
             try {
                 setQueueSizeInBytes(Integer.parseInt(
@@ -1,6 +1,6 @@
 /*
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -1549,4 +1549,18 @@ public class LogFacade {
         message = "Exception getting Validator Factory from JNDI: {0}",
         level = "WARNING")
     public static final String EXCEPTION_GETTING_VALIDATOR_FACTORY = prefix + "00285";
+
+    @LogMessageInfo(
+        message = "{0}: {1} access log entries were dropped because the queue was full",
+        level = "WARNING",
+        cause = "The access log writer cannot keep up with the request rate",
+        action = "Increase the accessLogQueueSize property or use the block overflow policy")
+    public static final String ACCESS_LOG_ENTRIES_DROPPED = prefix + "00286";
+
+    @LogMessageInfo(
+        message = "{0}: Cannot spill a cached response body to a file, keeping it in memory: {1}",
+        level = "WARNING",
+        cause = "The temporary directory is not writable or full",
+        action = "Check the temporary directory or lower the cacheMaxSpillSize property")
+    public static final String CACHE_BODY_SPILL_FAILED = prefix + "00287";
 }
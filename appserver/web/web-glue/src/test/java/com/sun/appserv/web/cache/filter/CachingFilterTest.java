@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.web.cache.filter;
+
+import com.sun.appserv.util.cache.ConcurrentCache;
+import com.sun.appserv.util.cache.Constants;
+import com.sun.appserv.web.cache.CachedBodyStore;
+
+import java.util.Properties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachingFilterTest {
+
+    private static final int CAPACITY = 8;
+
+    private final ConcurrentCache cache = new ConcurrentCache();
+
+    private CachedBodyStore store;
+
+    @BeforeEach
+    void init() {
+        Properties props = new Properties();
+        props.setProperty(ConcurrentCache.SEGMENTS_PROPERTY, "1");
+        cache.init(CAPACITY, 0.75f, props);
+        store = CachedBodyStore.acquire("CachingFilterTest", 1024 * 1024, 1024 * 1024);
+    }
+
+    @AfterEach
+    void release() {
+        CachedBodyStore.release(store);
+    }
+
+
+    @Test
+    void rejectedEntryReturnsItsDirectMemory() {
+        fillWithPopularEntries(0);
+        assertEquals(CAPACITY * 100L, store.getDirectMemory());
+
+        HttpCacheEntry rejected = entry(100);
+        assertFalse(CachingFilter.putEntry(cache, "cold", rejected, store, 0));
+        assertNull(cache.get("cold"));
+        // still held while the response is written
+        assertEquals((CAPACITY + 1) * 100L, store.getDirectMemory());
+
+        rejected.releaseBody();
+        assertEquals(CAPACITY * 100L, store.getDirectMemory());
+    }
+
+
+    @Test
+    void rejectedEntryReturnsItsSpillFile() {
+        fillWithPopularEntries(50);
+        assertEquals(CAPACITY * 100L, store.getSpillSize());
+
+        HttpCacheEntry rejected = entry(100);
+        assertFalse(CachingFilter.putEntry(cache, "cold", rejected, store, 50));
+        assertEquals((CAPACITY + 1) * 100L, store.getSpillSize());
+
+        rejected.releaseBody();
+        assertEquals(CAPACITY * 100L, store.getSpillSize());
+        assertEquals(0L, store.getDirectMemory());
+    }
+
+
+    @Test
+    void replacedEntryReturnsItsBody() {
+        fillWithPopularEntries(0);
+
+        HttpCacheEntry replacement = entry(40);
+        assertTrue(CachingFilter.putEntry(cache, "hot0", replacement, store, 0));
+        assertSame(replacement, cache.get("hot0"));
+        assertEquals((CAPACITY - 1) * 100L + 40L, store.getDirectMemory());
+    }
+
+
+    @Test
+    void admissionCheckIsNotAHit() {
+        fillWithPopularEntries(0);
+        Object hits = cache.getStatByName(Constants.STAT_BASECACHE_HIT_COUNT);
+        Object misses = cache.getStatByName(Constants.STAT_BASECACHE_MISS_COUNT);
+
+        assertTrue(CachingFilter.putEntry(cache, "hot1", entry(40), store, 0));
+        assertFalse(CachingFilter.putEntry(cache, "cold", entry(100), store, 0));
+        assertEquals(hits, cache.getStatByName(Constants.STAT_BASECACHE_HIT_COUNT));
+        assertEquals(misses, cache.getStatByName(Constants.STAT_BASECACHE_MISS_COUNT));
+    }
+
+
+    @Test
+    void entryWithoutStoredBodyIsNotChecked() {
+        HttpCacheEntry empty = new HttpCacheEntry();
+        assertTrue(CachingFilter.putEntry(cache, "empty", empty, store, 0));
+        assertTrue(CachingFilter.putEntry(cache, "noStore", entry(100), null, 0));
+        assertEquals(0L, store.getDirectMemory());
+    }
+
+
+    private void fillWithPopularEntries(int spillThreshold) {
+        for (int i = 0; i < CAPACITY; i++) {
+            String key = "hot" + i;
+            for (int hit = 0; hit < 5; hit++) {
+                cache.get(key);
+            }
+            assertTrue(CachingFilter.putEntry(cache, key, entry(100), store, spillThreshold));
+        }
+    }
+
+
+    private static HttpCacheEntry entry(int size) {
+        HttpCacheEntry entry = new HttpCacheEntry();
+        entry.bytes = new byte[size];
+        return entry;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.web.accesslog;
+
+import com.sun.enterprise.web.accesslog.AsyncAccessLogWriter.OverflowPolicy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncAccessLogWriterTest {
+
+    private final List<String> lines = Collections.synchronizedList(new ArrayList<>());
+
+    private void write(ByteBuffer[] buffers, int length) {
+        for (int i = 0; i < length; i++) {
+            lines.add(StandardCharsets.UTF_8.decode(buffers[i]).toString());
+        }
+    }
+
+
+    @Test
+    void writesEntriesInOrder() throws Exception {
+        AsyncAccessLogWriter writer = new AsyncAccessLogWriter(this::write, 16, OverflowPolicy.BLOCK, "test");
+        writer.start();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            String prefix = t + ":";
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    assertTrue(writer.enqueue(entry(prefix + i)));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        writer.stop();
+
+        assertEquals(20_000, lines.size());
+        assertEquals(20_000L, writer.getWrittenCount());
+        assertEquals(0L, writer.getDroppedCount());
+        int[] next = new int[threads.length];
+        for (String line : lines) {
+            int separator = line.indexOf(':');
+            int thread = Integer.parseInt(line.substring(0, separator));
+            assertEquals(next[thread]++, Integer.parseInt(line.substring(separator + 1)), line);
+        }
+    }
+
+
+    @Test
+    void countsDroppedEntries() {
+        AsyncAccessLogWriter writer = new AsyncAccessLogWriter(this::write, 4, OverflowPolicy.DROP, "test");
+        for (int i = 0; i < 4; i++) {
+            assertTrue(writer.enqueue(entry("kept" + i)));
+        }
+        assertFalse(writer.enqueue(entry("dropped0")));
+        assertFalse(writer.enqueue(entry("dropped1")));
+        assertEquals(4L, writer.getQueuedCount());
+        assertEquals(4L, writer.getEnqueuedCount());
+        assertEquals(2L, writer.getDroppedCount());
+
+        writer.start();
+        writer.stop();
+        assertEquals(List.of("kept0", "kept1", "kept2", "kept3"), lines);
+        assertEquals(2L, writer.getDroppedCount());
+    }
+
+
+    @Test
+    void stopDrainsTheQueue() {
+        AsyncAccessLogWriter writer = new AsyncAccessLogWriter((buffers, length) -> {
+            LockSupport.parkNanos(100_000L);
+            write(buffers, length);
+        }, 1024, OverflowPolicy.BLOCK, "test");
+        writer.start();
+        for (int i = 0; i < 1_000; i++) {
+            writer.enqueue(entry("line" + i));
+        }
+        writer.stop();
+
+        assertEquals(1_000, lines.size());
+        assertEquals("line999", lines.get(999));
+        assertEquals(0L, writer.getQueuedCount());
+        assertEquals(1_000L, writer.getWrittenCount());
+    }
+
+
+    @Test
+    void dropsEntriesAfterStop() {
+        AsyncAccessLogWriter writer = new AsyncAccessLogWriter(this::write, 4, OverflowPolicy.BLOCK, "test");
+        writer.start();
+        writer.enqueue(entry("before"));
+        writer.stop();
+        for (int i = 0; i < 8; i++) {
+            assertFalse(writer.enqueue(entry("after" + i)));
+        }
+
+        assertEquals(List.of("before"), lines);
+        assertEquals(1L, writer.getWrittenCount());
+        assertEquals(8L, writer.getDroppedCount());
+        assertEquals(0L, writer.getQueuedCount());
+    }
+
+
+    @Test
+    void neverWritesAfterStopReturned() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        AtomicInteger lateWrites = new AtomicInteger();
+        AsyncAccessLogWriter writer = new AsyncAccessLogWriter((buffers, length) -> {
+            if (closed.get()) {
+                lateWrites.incrementAndGet();
+            }
+            write(buffers, length);
+        }, 8, OverflowPolicy.BLOCK, "test");
+        writer.start();
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger attempted = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    attempted.incrementAndGet();
+                    if (writer.enqueue(entry("line" + i))) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        LockSupport.parkNanos(5_000_000L);
+        writer.stop();
+        // the valve closes the file here
+        closed.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, lateWrites.get());
+        assertEquals(accepted.get(), lines.size());
+        assertEquals(accepted.get(), writer.getWrittenCount());
+        assertEquals(attempted.get() - accepted.get(), writer.getDroppedCount());
+        assertEquals(0L, writer.getQueuedCount());
+    }
+
+
+    private static ByteBuffer entry(String line) {
+        return ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+    }
+}
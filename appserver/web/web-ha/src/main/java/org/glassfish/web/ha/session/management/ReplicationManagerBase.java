@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -171,6 +172,7 @@ public abstract class ReplicationManagerBase<T extends Storeable> extends Persis
         }
         Session removed = null;
         removed = sessions.remove(session.getIdInternal());
+        unscheduleExpiration(session);
         if (removed != null && _logger.isLoggable(Level.FINE)){
             _logger.fine("Remove from manager cache id=" + session.getId());
         }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -105,6 +106,14 @@ public abstract class BaseDirContext implements DirContext {
     protected int cacheMaxSize = 10240; // 10 MB
 
 
+    /**
+     * Are the cached resources of a file system directory removed when their
+     * directory reports they changed, rather than checked when the cache TTL
+     * has passed ?
+     */
+    protected boolean cacheWatched = true;
+
+
     // ------------------------------------------------------------- Properties
 
     /**
@@ -201,6 +210,22 @@ public abstract class BaseDirContext implements DirContext {
     }
 
 
+    /**
+     * Set cache watched.
+     */
+    public void setCacheWatched(boolean cacheWatched) {
+        this.cacheWatched = cacheWatched;
+    }
+
+
+    /**
+     * Is cache watched ?
+     */
+    public boolean isCacheWatched() {
+        return cacheWatched;
+    }
+
+
     // --------------------------------------------------------- Public Methods
 
 
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -18,10 +19,14 @@
 package org.apache.naming.resources;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Hashtable;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.naming.Binding;
 import javax.naming.Context;
@@ -74,6 +79,9 @@ public class ProxyDirContext implements DirContext {
                 cache.setCacheMaxSize(baseDirContext.getCacheMaxSize());
                 cacheTTL = baseDirContext.getCacheTTL();
                 cacheObjectMaxSize = baseDirContext.getCacheMaxSize() / 20;
+                if (baseDirContext.isCacheWatched() && dirContext instanceof FileDirContext) {
+                    watcher = ResourceWatcher.getInstance();
+                }
             }
         }
         hostName = env.get(HOST);
@@ -127,6 +135,26 @@ public class ProxyDirContext implements DirContext {
     protected int cacheObjectMaxSize = 512; // 512 KB
 
 
+    /**
+     * Watcher of the directories of the cached resources, null if the cached
+     * resources are checked when the cache TTL has passed.
+     */
+    private ResourceWatcher watcher;
+
+
+    /**
+     * Listener of the changes of the watched directories, referenced by this
+     * context as the watcher does not keep it.
+     */
+    private final ResourceWatcher.Listener watchListener = this::resourceChanged;
+
+
+    /**
+     * Number of changes reported by the watched directories.
+     */
+    private final AtomicLong watchedChanges = new AtomicLong();
+
+
     /**
      * Immutable name not found exception.
      */
@@ -1483,6 +1511,11 @@ public class ProxyDirContext implements DirContext {
 
         String name = entry.name;
 
+        // Watch the directory before reading the entry, so that a change made
+        // while reading it is not missed
+        long changes = watchedChanges.get();
+        boolean watched = watch(name);
+
         // Retrieve missing info
         boolean exists = true;
 
@@ -1557,17 +1590,96 @@ public class ProxyDirContext implements DirContext {
         // Set existence flag
         entry.exists = exists;
 
-        // Set timestamp
-        entry.timestamp = System.currentTimeMillis() + cacheTTL;
+        // Set timestamp, a watched entry is valid until its directory reports
+        // it changed
+        if (watched) {
+            entry.timestamp = Long.MAX_VALUE;
+        } else {
+            entry.timestamp = System.currentTimeMillis() + cacheTTL;
+        }
 
         // Add new entry to cache
-        synchronized (cache) {
-            // Check cache size, and remove elements if too big
-            if ((cache.lookup(name) == null) && cache.allocate(entry.size)) {
-                cache.load(entry);
+        // Check cache size, and remove elements if too big
+        if ((cache.lookup(name) == null) && cache.allocate(entry.size)) {
+            cache.load(entry);
+            if (watched && watchedChanges.get() != changes) {
+                // Changed while read, read again by the next lookup
+                cache.unload(name);
+            }
+        }
+
+    }
+
+
+    /**
+     * Watches the directory of a resource of a file system directory.
+     *
+     * @param name the name of the resource
+     * @return true if the resource will be removed from the cache when it
+     *         changes
+     */
+    protected boolean watch(String name) {
+        if (watcher == null) {
+            return false;
+        }
+        FileDirContext fileDirContext = (FileDirContext) dirContext;
+        File base = fileDirContext.base;
+        // Names whose file is found by several names, or whose file is not
+        // in the document base, are checked when the cache TTL has passed
+        if (base == null || fileDirContext.getAllowLinking() || !fileDirContext.isCaseSensitive()) {
+            return false;
+        }
+        if (!name.startsWith("/") || name.endsWith("/") || name.indexOf('\\') >= 0
+            || !name.equals(fileDirContext.normalize(name))) {
+            return false;
+        }
+        // The ancestors are watched too, as they report their renamed or
+        // deleted subdirectories
+        Path directory = base.toPath();
+        if (!watcher.watch(directory, watchListener)) {
+            return false;
+        }
+        for (String element : name.substring(0, name.lastIndexOf('/')).split("/")) {
+            if (!element.isEmpty()) {
+                directory = directory.resolve(element);
+                if (!watcher.watch(directory, watchListener)) {
+                    return false;
+                }
             }
         }
+        return true;
+    }
+
 
+    /**
+     * Removes from the cache a resource reported changed by its directory.
+     *
+     * @param directory the directory of the resource
+     * @param fileName the name of the resource in the directory, or null if
+     *            any resource may have changed
+     */
+    private void resourceChanged(Path directory, String fileName) {
+        watchedChanges.incrementAndGet();
+        File base = ((FileDirContext) dirContext).base;
+        if ((fileName == null) || (base == null)) {
+            cache.clear();
+            return;
+        }
+        StringBuilder name = new StringBuilder();
+        for (Path element : base.toPath().relativize(directory)) {
+            if (!element.toString().isEmpty()) {
+                name.append('/').append(element);
+            }
+        }
+        name.append('/').append(fileName);
+        cacheUnload(name.toString());
+        Path file = directory.resolve(fileName);
+        if (!Files.isRegularFile(file)) {
+            // The resources of a renamed directory are not reported changed
+            // by the watch of the directory itself
+            watcher.forget(file);
+            cache.unloadAll(name.append('/').toString());
+        }
     }
 
 
@@ -1577,9 +1689,7 @@ public class ProxyDirContext implements DirContext {
     protected boolean cacheUnload(String name) {
         if (cache == null)
             return false;
-        synchronized (cache) {
-            return cache.unload(name);
-        }
+        return cache.unload(name);
     }
 
 
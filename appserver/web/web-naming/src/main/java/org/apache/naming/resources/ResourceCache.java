@@ -1,7 +1,7 @@
 /*
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,11 +18,21 @@
 
 package org.apache.naming.resources;
 
-import java.security.SecureRandom;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * Implements a special purpose cache.
  *
+ * <p>
+ * The entries are kept in hash maps, so that a lookup, a load or an unload
+ * neither locks the cache nor copies it. Only the removal of entries to make
+ * space, done by {@link #allocate}, is done by a single thread at a time.
+ *
  * @author <a href="mailto:remm@apache.org">Remy Maucherat</a>
  * @version $Revision: 1.3 $
  */
@@ -40,23 +50,30 @@ public class ResourceCache {
 
 
     /**
-     * Random generator used to determine elements to free.
+     * Cache.
+     * Path -> Cache entry.
      */
-    protected SecureRandom random = new SecureRandom();
+    protected ConcurrentMap<String, CacheEntry> cache = new ConcurrentHashMap<>();
 
 
     /**
-     * Cache.
-     * Path -> Cache entry.
+     * Not found cache.
      */
-    protected CacheEntry[] cache = new CacheEntry[0];
+    protected ConcurrentMap<String, CacheEntry> notFoundCache = new ConcurrentHashMap<>();
 
 
     /**
-     * Not found cache.
+     * Lock of the removals of entries to make space.
+     */
+    protected final ReentrantLock allocateLock = new ReentrantLock();
+
+
+    /**
+     * Position of the removals of entries to make space, going over the
+     * entries like a clock hand, so that each removal starts after the
+     * entries examined by the previous one.
      */
-    protected HashMap<String, CacheEntry> notFoundCache =
-        new HashMap<String, CacheEntry>();
+    protected Iterator<CacheEntry> allocateIterator;
 
 
     /**
@@ -87,19 +104,19 @@ public class ResourceCache {
     /**
      * Current cache size in KB.
      */
-    protected int cacheSize = 0;
+    protected final AtomicInteger cacheSize = new AtomicInteger();
 
 
     /**
      * Number of accesses to the cache.
      */
-    protected long accessCount = 0;
+    protected final LongAdder accessCount = new LongAdder();
 
 
     /**
      * Number of cache hits.
      */
-    protected long hitsCount = 0;
+    protected final LongAdder hitsCount = new LongAdder();
 
 
     // ------------------------------------------------------------- Properties
@@ -111,7 +128,7 @@ public class ResourceCache {
      * accurate.
      */
     public long getAccessCount() {
-        return accessCount;
+        return accessCount.sum();
     }
 
 
@@ -135,7 +152,7 @@ public class ResourceCache {
      * Return the current cache size in KB.
      */
     public int getCacheSize() {
-        return cacheSize;
+        return cacheSize.get();
     }
 
 
@@ -161,7 +178,7 @@ public class ResourceCache {
      * accurate.
      */
     public long getHitsCount() {
-        return hitsCount;
+        return hitsCount.sum();
     }
 
 
@@ -200,112 +217,86 @@ public class ResourceCache {
     // --------------------------------------------------------- Public Methods
 
 
+    /**
+     * Makes space for an entry, removing the not found entries if there are
+     * too many, then the entries accessed less often than the desired entry
+     * access ratio, the space of each one being its size.
+     *
+     * @param space the size of the entry in KB
+     * @return true if there is space for the entry
+     */
     public boolean allocate(int space) {
 
-        int toFree = space - (cacheMaxSize - cacheSize);
+        int toFree = space - (cacheMaxSize - cacheSize.get());
 
         if (toFree <= 0) {
             return true;
         }
 
-        // Increase the amount to free so that allocate won't have to run right
-        // away again
-        toFree += (cacheMaxSize / 20);
-
-        int size = notFoundCache.size();
-        if (size > spareNotFoundEntries) {
-            notFoundCache.clear();
-            cacheSize -= size;
-            toFree -= size;
-        }
+        allocateLock.lock();
+        try {
+            // Another thread may have made space meanwhile
+            toFree = space - (cacheMaxSize - cacheSize.get());
+            if (toFree <= 0) {
+                return true;
+            }
 
-        if (toFree <= 0) {
-            return true;
-        }
+            // Increase the amount to free so that allocate won't have to run right
+            // away again
+            toFree += (cacheMaxSize / 20);
 
-        int attempts = 0;
-        int entriesFound = 0;
-        long totalSpace = 0;
-        int[] toRemove = new int[maxAllocateIterations];
-        while (toFree > 0) {
-            if (attempts == maxAllocateIterations) {
-                // Give up, no changes are made to the current cache
-                return false;
-            }
-            if (toFree > 0) {
-                // Randomly select an entry in the array
-                int entryPos = -1;
-                boolean unique = false;
-                int count = 0;
-                while (!unique) {
-                    unique = true;
-                    entryPos = random.nextInt(cache.length) ;
-                    // Guarantee uniqueness
-                    for (int i = 0; i < entriesFound; i++) {
-                        if (toRemove[i] == entryPos) {
-                            unique = false;
-                        }
+            if (notFoundCache.size() > spareNotFoundEntries) {
+                for (Iterator<CacheEntry> it = notFoundCache.values().iterator(); it.hasNext();) {
+                    CacheEntry entry = it.next();
+                    if (notFoundCache.remove(entry.name, entry)) {
+                        cacheSize.decrementAndGet();
+                        toFree--;
                     }
                 }
-                long entryAccessRatio =
-                    ((cache[entryPos].accessCount * 100) / accessCount);
-                if (entryAccessRatio < desiredEntryAccessRatio) {
-                    toRemove[entriesFound] = entryPos;
-                    totalSpace += cache[entryPos].size;
-                    toFree -= cache[entryPos].size;
-                    entriesFound++;
-                }
             }
-            attempts++;
-        }
 
-        // Now remove the selected entries
-        java.util.Arrays.sort(toRemove, 0, entriesFound);
-        CacheEntry[] newCache = new CacheEntry[cache.length - entriesFound];
-        int pos = 0;
-        int n = -1;
-        if (entriesFound > 0) {
-            n = toRemove[0];
-            for (int i = 0; i < cache.length; i++) {
-                if (i == n) {
-                    if ((pos + 1) < entriesFound) {
-                        n = toRemove[pos + 1];
-                        pos++;
-                    } else {
-                        pos++;
-                        n = -1;
+            if (toFree <= 0) {
+                return true;
+            }
+
+            long accesses = Math.max(1, accessCount.sum());
+            int attempts = 0;
+            while (toFree > 0) {
+                if (attempts == maxAllocateIterations) {
+                    // Give up, the entries examined are kept
+                    return false;
+                }
+                if (allocateIterator == null || !allocateIterator.hasNext()) {
+                    allocateIterator = cache.values().iterator();
+                    if (!allocateIterator.hasNext()) {
+                        return false;
                     }
-                } else {
-                    newCache[i - pos] = cache[i];
                 }
+                CacheEntry entry = allocateIterator.next();
+                long entryAccessRatio = ((entry.accessCount * 100) / accesses);
+                if (entryAccessRatio < desiredEntryAccessRatio && cache.remove(entry.name, entry)) {
+                    cacheSize.addAndGet(-entry.size);
+                    toFree -= entry.size;
+                }
+                attempts++;
             }
+            return true;
+        } finally {
+            allocateLock.unlock();
         }
-        cache = newCache;
-        cacheSize -= totalSpace;
-
-        return true;
 
     }
 
 
     public CacheEntry lookup(String name) {
 
-        CacheEntry cacheEntry = null;
-        CacheEntry[] currentCache = cache;
-        accessCount++;
-        int pos = find(currentCache, name);
-        if ((pos != -1) && (name.equals(currentCache[pos].name))) {
-            cacheEntry = currentCache[pos];
-        }
+        accessCount.increment();
+        CacheEntry cacheEntry = cache.get(name);
         if (cacheEntry == null) {
-            try {
-                cacheEntry = notFoundCache.get(name);
-            } catch (Exception e) {
-                // Ignore: the reliability of this lookup is not critical
-            }
+            cacheEntry = notFoundCache.get(name);
         }
         if (cacheEntry != null) {
-            hitsCount++;
+            hitsCount.increment();
         }
         return cacheEntry;
 
@@ -314,25 +305,24 @@ public class ResourceCache {
 
     public void load(CacheEntry entry) {
         if (entry.exists) {
-            if (insertCache(entry)) {
-                cacheSize += entry.size;
+            if (cache.putIfAbsent(entry.name, entry) == null) {
+                cacheSize.addAndGet(entry.size);
             }
         } else {
-            int sizeIncrement = (notFoundCache.get(entry.name) == null) ? 1 : 0;
-            notFoundCache.put(entry.name, entry);
-            cacheSize += sizeIncrement;
+            if (notFoundCache.put(entry.name, entry) == null) {
+                cacheSize.incrementAndGet();
+            }
         }
     }
 
 
     public boolean unload(String name) {
-        CacheEntry removedEntry = removeCache(name);
+        CacheEntry removedEntry = cache.remove(name);
         if (removedEntry != null) {
-            cacheSize -= removedEntry.size;
+            cacheSize.addAndGet(-removedEntry.size);
             return true;
         } else if (notFoundCache.remove(name) != null) {
-
-            cacheSize--;
+            cacheSize.decrementAndGet();
             return true;
         }
         return false;
@@ -340,85 +330,29 @@ public class ResourceCache {
 
 
     /**
-     * Find a map elemnt given its name in a sorted array of map elements.
-     * This will return the index for the closest inferior or equal item in the
-     * given array.
+     * Removes the entries whose name starts with a prefix.
+     *
+     * @param prefix the prefix of the names
      */
-    private static final int find(CacheEntry[] map, String name) {
-
-        int a = 0;
-        int b = map.length - 1;
-
-        // Special cases: -1 and 0
-        if (b == -1) {
-            return -1;
-        }
-        if (name.compareTo(map[0].name) < 0) {
-            return -1;
-        }
-        if (b == 0) {
-            return 0;
-        }
-
-        int i = 0;
-        while (true) {
-            i = (b + a) >>> 1;
-            int result = name.compareTo(map[i].name);
-            if (result > 0) {
-                a = i;
-            } else if (result == 0) {
-                return i;
-            } else {
-                b = i;
-            }
-            if ((b - a) == 1) {
-                int result2 = name.compareTo(map[b].name);
-                if (result2 < 0) {
-                    return a;
-                } else {
-                    return b;
-                }
+    public void unloadAll(String prefix) {
+        for (String name : cache.keySet()) {
+            if (name.startsWith(prefix)) {
+                unload(name);
             }
         }
-
-    }
-
-
-    /**
-     * Insert into the right place in a sorted MapElement array, and prevent
-     * duplicates.
-     */
-    private final boolean insertCache(CacheEntry newElement) {
-        CacheEntry[] oldCache = cache;
-        int pos = find(oldCache, newElement.name);
-        if ((pos != -1) && (newElement.name.equals(oldCache[pos].name))) {
-            return false;
+        for (String name : notFoundCache.keySet()) {
+            if (name.startsWith(prefix)) {
+                unload(name);
+            }
         }
-        CacheEntry[] newCache = new CacheEntry[cache.length + 1];
-        System.arraycopy(oldCache, 0, newCache, 0, pos + 1);
-        newCache[pos + 1] = newElement;
-        System.arraycopy
-            (oldCache, pos + 1, newCache, pos + 2, oldCache.length - pos - 1);
-        cache = newCache;
-        return true;
     }
 
 
     /**
-     * Insert into the right place in a sorted MapElement array.
+     * Removes all the entries.
      */
-    private final CacheEntry removeCache(String name) {
-        CacheEntry[] oldCache = cache;
-        int pos = find(oldCache, name);
-        if ((pos != -1) && (name.equals(oldCache[pos].name))) {
-            CacheEntry[] newCache = new CacheEntry[cache.length - 1];
-            System.arraycopy(oldCache, 0, newCache, 0, pos);
-            System.arraycopy(oldCache, pos + 1, newCache, pos,
-                             oldCache.length - pos - 1);
-            cache = newCache;
-            return oldCache[pos];
-        }
-        return null;
+    public void clear() {
+        unloadAll("");
     }
 
 
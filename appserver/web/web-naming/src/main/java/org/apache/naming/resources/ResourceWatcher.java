@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.naming.resources;
+
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.ref.WeakReference;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.WARNING;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches the directories of the resources cached by the proxy directory
+ * contexts, so that a changed resource is removed from the cache when it
+ * changes instead of being checked again when its time to live has passed.
+ *
+ * <p>
+ * A single watch service and thread serve all the contexts. The listeners are
+ * weakly referenced, a directory is no longer watched once the contexts
+ * watching it are gone.
+ */
+final class ResourceWatcher implements Runnable {
+
+    private static final Logger LOG = System.getLogger(ResourceWatcher.class.getName());
+
+    /** Time between the removals of the directories without listener, in seconds */
+    private static final long PURGE_INTERVAL = 60;
+
+    private static ResourceWatcher instance;
+
+    private static boolean unavailable;
+
+    private final WatchService watchService;
+
+    private final ConcurrentMap<Path, Registration> directories = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<WatchKey, Registration> registrations = new ConcurrentHashMap<>();
+
+
+    /**
+     * Listener of the changes of the watched directories.
+     */
+    interface Listener {
+
+        /**
+         * Called when a file of a watched directory is created, modified or
+         * deleted, or when changes may have been lost.
+         *
+         * @param directory the watched directory
+         * @param fileName the name of the file in the directory, or null if
+         *            changes may have been lost
+         */
+        void changed(Path directory, String fileName);
+    }
+
+
+    private ResourceWatcher(WatchService watchService) {
+        this.watchService = watchService;
+    }
+
+
+    /**
+     * Returns the watcher, starting it the first time.
+     *
+     * @return the watcher, or null if the file system cannot be watched
+     */
+    static synchronized ResourceWatcher getInstance() {
+        if (instance == null && !unavailable) {
+            try {
+                instance = new ResourceWatcher(FileSystems.getDefault().newWatchService());
+            } catch (IOException | UnsupportedOperationException e) {
+                LOG.log(WARNING, "Cannot watch the resource directories, the cached resources will be checked again"
+                    + " when their time to live has passed.", e);
+                unavailable = true;
+                return null;
+            }
+            Thread thread = new Thread(instance, "ResourceWatcher");
+            thread.setDaemon(true);
+            // not the class loader of the web application starting it
+            thread.setContextClassLoader(ResourceWatcher.class.getClassLoader());
+            thread.start();
+        }
+        return instance;
+    }
+
+
+    /**
+     * Watches a directory.
+     *
+     * @param directory the directory
+     * @param listener the listener of its changes
+     * @return true if the directory is watched, false if it cannot be watched,
+     *         like a directory which does not exist
+     */
+    boolean watch(Path directory, Listener listener) {
+        Registration registration = directories.compute(directory, (dir, current) -> {
+            Registration watched = current;
+            if (watched == null || watched.moved || !watched.key.isValid()) {
+                watched = register(dir);
+            }
+            if (watched != null) {
+                watched.add(listener);
+            }
+            return watched;
+        });
+        return registration != null;
+    }
+
+
+    private Registration register(Path directory) {
+        try {
+            WatchKey key = directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+            Registration registration = new Registration(directory, key);
+            Registration previous = registrations.put(key, registration);
+            if (previous != null && !previous.directory.equals(directory)) {
+                // the same directory, watched under its previous name
+                previous.moved = true;
+                previous.changed(null);
+            }
+            return registration;
+        } catch (IOException | RuntimeException e) {
+            LOG.log(DEBUG, () -> "Cannot watch the directory " + directory, e);
+            return null;
+        }
+    }
+
+
+    /**
+     * Stops watching a directory and its subdirectories, renamed or deleted.
+     *
+     * @param directory the directory
+     */
+    void forget(Path directory) {
+        for (Path watched : directories.keySet()) {
+            if (watched.startsWith(directory)) {
+                directories.computeIfPresent(watched, (dir, registration) -> {
+                    registration.moved = true;
+                    if (registrations.remove(registration.key, registration)) {
+                        registration.key.cancel();
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+
+    @Override
+    public void run() {
+        long nextPurge = System.nanoTime() + TimeUnit.SECONDS.toNanos(PURGE_INTERVAL);
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.poll(PURGE_INTERVAL, TimeUnit.SECONDS);
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            if (key != null) {
+                Registration registration = registrations.get(key);
+                if (registration != null) {
+                    dispatch(key, registration);
+                }
+            }
+            if (System.nanoTime() - nextPurge >= 0) {
+                purge();
+                nextPurge = System.nanoTime() + TimeUnit.SECONDS.toNanos(PURGE_INTERVAL);
+            }
+        }
+    }
+
+
+    private void dispatch(WatchKey key, Registration registration) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                registration.changed(null);
+            } else {
+                registration.changed(event.context().toString());
+            }
+        }
+        if (!key.reset()) {
+            // the directory was deleted, or is no longer accessible
+            remove(registration);
+            registration.changed(null);
+        }
+    }
+
+
+    private void purge() {
+        for (Path directory : directories.keySet()) {
+            directories.computeIfPresent(directory, (dir, registration) -> {
+                if (!registration.moved && !registration.isUnused()) {
+                    return registration;
+                }
+                // the key of a moved directory may be used under its new name
+                if (registrations.remove(registration.key, registration)) {
+                    registration.key.cancel();
+                }
+                return null;
+            });
+        }
+    }
+
+
+    private void remove(Registration registration) {
+        directories.remove(registration.directory, registration);
+        registrations.remove(registration.key, registration);
+    }
+
+
+    private static final class Registration {
+
+        final Path directory;
+
+        final WatchKey key;
+
+        /** Is the directory watched under another name, or no longer watched? */
+        volatile boolean moved;
+
+        private final Set<WeakReference<Listener>> listeners = ConcurrentHashMap.newKeySet();
+
+        Registration(Path directory, WatchKey key) {
+            this.directory = directory;
+            this.key = key;
+        }
+
+        void add(Listener listener) {
+            for (WeakReference<Listener> reference : listeners) {
+                if (reference.get() == listener) {
+                    return;
+                }
+            }
+            listeners.add(new WeakReference<>(listener));
+        }
+
+        void changed(String fileName) {
+            for (WeakReference<Listener> reference : listeners) {
+                Listener listener = reference.get();
+                if (listener == null) {
+                    listeners.remove(reference);
+                } else {
+                    listener.changed(directory, fileName);
+                }
+            }
+        }
+
+        boolean isUnused() {
+            listeners.removeIf(reference -> reference.get() == null);
+            return listeners.isEmpty();
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -312,6 +312,22 @@ public interface ModuleMonitoringLevels extends ConfigBeanProxy, PropertyBag {
      */
     void setJersey(String jersey) throws PropertyVetoException;
 
+    /**
+     * Gets the value of the {@code naming} property.
+     *
+     * @return possible object is {@link String}
+     */
+    @Attribute(defaultValue = "OFF")
+    @Pattern(regexp = MONITORING_LEVELS, message = MONITORING_LEVELS_MSG)
+    String getNaming();
+
+    /**
+     * Sets the value of the {@code naming} property.
+     *
+     * @param naming allowed object is {@link String}
+     */
+    void setNaming(String naming) throws PropertyVetoException;
+
     /**
      * Gets the value of the {@code cloudTenantManager} property.
      *
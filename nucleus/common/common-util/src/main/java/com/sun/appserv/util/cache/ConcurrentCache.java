@@ -0,0 +1,600 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.util.cache;
+
+import com.sun.enterprise.util.CULoggerInfo;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ConcurrentCache
+ * in-memory bounded cache for read-mostly workloads.
+ * <p>
+ * The entries are spread over independent segments. Each segment keeps its entries in
+ * a {@link ConcurrentHashMap}, so {@link #get(Object)} takes no lock; the segment monitor
+ * is held only by the operations adding or removing entries.
+ * <p>
+ * Instead of maintaining an LRU list on every hit, the cache records the access frequency
+ * of keys in a small count-min sketch (as TinyLFU does). When a full segment receives a new
+ * key, a few random entries of the segment are sampled, the least frequently (and then least
+ * recently) used one is the eviction candidate, and the new key is admitted only if it is
+ * not used less often than this candidate. Rarely used pages therefore cannot push popular
+ * pages out of the cache.
+ * <p>
+ * Multi-valued keys are not supported: {@link #add(Object, Object)} replaces the value like
+ * {@link #put(Object, Object)}.
+ * <p>
+ * Properties:
+ * <ul>
+ * <li>{@value #SEGMENTS_PROPERTY} - number of segments, rounded up to a power of two;
+ *     by default four times the number of processors
+ * </ul>
+ * The web container uses it when the <code>cacheClassName</code> property of the
+ * <code>cache</code> element in <code>sun-web.xml</code> is set to this class.
+ */
+public class ConcurrentCache implements Cache {
+
+    public static final String SEGMENTS_PROPERTY = "ConcurrentCacheSegments";
+
+    static final int MAX_ENTRIES = 1 << 30;
+
+    /** number of entries compared when looking for an eviction candidate */
+    private static final int SAMPLE_SIZE = 8;
+
+    /** access times closer than this are not updated, to avoid writes on hot entries */
+    private static final long ACCESS_TIME_GRANULARITY_NANOS = 1_000_000L;
+
+    // maximum number of entries this cache may ever hold
+    protected int maxEntries;
+
+    private Segment[] segments;
+    private int segmentMask;
+    private FrequencySketch sketch;
+
+    // locks and flags for item thread-safe refreshes
+    private Object[] refreshLocks;
+    private boolean[] refreshFlags;
+    private int refreshMask;
+
+    protected final List<CacheListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder removalCount = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+    private final LongAdder addCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * default constructor for the concurrent cache
+     */
+    public ConcurrentCache() { }
+
+    @Override
+    public void init(int maxEntries, Properties props) throws Exception {
+        init(maxEntries, BaseCache.DEFAULT_LOAD_FACTOR, props);
+    }
+
+    /**
+     * initialize the cache
+     * @param maxEntries maximum number of entries the cache may hold
+     * @param loadFactor ignored; the cache never holds more than maxEntries
+     * @param props opaque list of properties for a given cache implementation
+     */
+    @Override
+    public void init(int maxEntries, float loadFactor, Properties props) {
+        if (maxEntries <= 0) {
+            String msg = CULoggerInfo.getString(CULoggerInfo.illegalMaxEntries);
+            throw new IllegalArgumentException(MessageFormat.format(msg, Integer.valueOf(maxEntries)));
+        }
+        this.maxEntries = Math.min(maxEntries, MAX_ENTRIES);
+
+        int segmentCount = 4 * Runtime.getRuntime().availableProcessors();
+        if (props != null) {
+            String prop = props.getProperty(SEGMENTS_PROPERTY);
+            if (prop != null) {
+                try {
+                    segmentCount = Integer.parseInt(prop);
+                } catch (NumberFormatException nfe) {}
+            }
+        }
+        // keep at least a few entries per segment, so that sampling makes sense
+        segmentCount = powerOfTwo(Math.max(1, Math.min(segmentCount, this.maxEntries / SAMPLE_SIZE)));
+
+        int segmentCapacity = (this.maxEntries + segmentCount - 1) / segmentCount;
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+        segmentMask = segmentCount - 1;
+
+        sketch = new FrequencySketch(this.maxEntries);
+
+        int refreshSlots = powerOfTwo(Math.min(this.maxEntries, 1 << 16));
+        refreshLocks = new Object[refreshSlots];
+        refreshFlags = new boolean[refreshSlots];
+        for (int i = 0; i < refreshSlots; i++) {
+            refreshLocks[i] = new Object();
+        }
+        refreshMask = refreshSlots - 1;
+    }
+
+    @Override
+    public void addCacheListener(CacheListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Returns a well spread hash code for non-null Object x.
+     */
+    protected int hash(Object x) {
+        int h = x.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public int getIndex(Object key) {
+        return hash(key) & refreshMask;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int hashCode = hash(key);
+        sketch.increment(hashCode);
+
+        Node node = segmentFor(hashCode).map.get(key);
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+
+        long now = System.nanoTime();
+        if (now - node.accessTime > ACCESS_TIME_GRANULARITY_NANOS) {
+            node.accessTime = now;
+        }
+        hitCount.increment();
+        return node.value;
+    }
+
+    /**
+     * get the item stored at the key, without recording an access:
+     * the hit and miss counts and the key frequency are left unchanged.
+     * @param key lookup key
+     * @return the item stored at the key; null if not found.
+     */
+    public Object peek(Object key) {
+        Node node = segmentFor(hash(key)).map.get(key);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public Iterator getAll(Object key) {
+        Object value = get(key);
+        if (value == null) {
+            return Collections.emptyIterator();
+        }
+        return Collections.singletonList(value).iterator();
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Iterator keys() {
+        ArrayList<Object> keyList = new ArrayList<>(getEntryCount());
+        for (Segment segment : segments) {
+            keyList.addAll(segment.map.keySet());
+        }
+        return keyList.iterator();
+    }
+
+    @Override
+    public Enumeration elements() {
+        ArrayList<Object> keyList = new ArrayList<>(getEntryCount());
+        for (Segment segment : segments) {
+            keyList.addAll(segment.map.keySet());
+        }
+        return Collections.enumeration(keyList);
+    }
+
+    @Override
+    public Iterator values() {
+        ArrayList<Object> valueList = new ArrayList<>(getEntryCount());
+        for (Segment segment : segments) {
+            for (Node node : segment.map.values()) {
+                valueList.add(node.value);
+            }
+        }
+        return valueList.iterator();
+    }
+
+    @Override
+    public Object put(Object key, Object value) {
+        return put(key, value, -1);
+    }
+
+    @Override
+    public Object put(Object key, Object value, int size) {
+        int hashCode = hash(key);
+        Segment segment = segmentFor(hashCode);
+        Node evicted = null;
+
+        synchronized (segment) {
+            Node node = segment.map.get(key);
+            if (node != null) {
+                Object oldValue = node.value;
+                node.value = value;
+                node.size = size;
+                refreshCount.increment();
+                return oldValue;
+            }
+
+            if (segment.size >= segment.capacity) {
+                Node candidate = segment.sampleVictim(sketch);
+                if (sketch.frequency(hashCode) < sketch.frequency(candidate.hashCode)) {
+                    // the new key is less popular than anything we would evict
+                    rejectedCount.increment();
+                    return null;
+                }
+                segment.map.remove(candidate.key);
+                segment.removeSlot(candidate);
+                evicted = candidate;
+            }
+
+            node = new Node(hashCode, key, value, size);
+            segment.map.put(key, node);
+            segment.addSlot(node);
+        }
+        addCount.increment();
+
+        if (evicted != null) {
+            evictionCount.increment();
+            for (CacheListener listener : listeners) {
+                listener.trimEvent(evicted.key, evicted.value);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void add(Object key, Object value) {
+        put(key, value, -1);
+    }
+
+    @Override
+    public void add(Object key, Object value, int size) {
+        put(key, value, size);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return remove(key, null);
+    }
+
+    @Override
+    public Object remove(Object key, Object value) {
+        Segment segment = segmentFor(hash(key));
+        Node node;
+        synchronized (segment) {
+            node = segment.map.get(key);
+            if (node != null && (value == null || value == node.value)) {
+                segment.map.remove(key);
+                segment.removeSlot(node);
+            } else {
+                node = null;
+            }
+        }
+
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+        removalCount.increment();
+        hitCount.increment();
+        return node.value;
+    }
+
+    @Override
+    public void removeAll(Object key) {
+        remove(key, null);
+    }
+
+    @Override
+    public boolean waitRefresh(int index) {
+        synchronized (refreshLocks[index]) {
+            if (refreshFlags[index] == false) {
+                refreshFlags[index] = true;
+                return false;
+            }
+
+            // wait till refresh is finished
+            try {
+                while (refreshFlags[index]) {
+                    refreshLocks[index].wait();
+                }
+            } catch (InterruptedException ie) {}
+        }
+        return true;
+    }
+
+    @Override
+    public void notifyRefresh(int index) {
+        // notify other threads waiting for refresh
+        synchronized (refreshLocks[index]) {
+            refreshFlags[index] = false;
+            refreshLocks[index].notifyAll();
+        }
+    }
+
+    @Override
+    public int clear() {
+        int count = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                count += segment.size;
+                segment.clear();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getEntryCount() == 0;
+    }
+
+    @Override
+    public int getEntryCount() {
+        int count = 0;
+        for (Segment segment : segments) {
+            count += segment.map.size();
+        }
+        return count;
+    }
+
+    @Override
+    public Object getStatByName(String key) {
+        if (key == null) {
+            return null;
+        }
+        return getStats().get(key);
+    }
+
+    @Override
+    public Map getStats() {
+        HashMap<String, Integer> stats = new HashMap<>();
+
+        stats.put(Constants.STAT_BASECACHE_MAX_ENTRIES, Integer.valueOf(maxEntries));
+        stats.put(Constants.STAT_BASECACHE_THRESHOLD, Integer.valueOf(maxEntries));
+        stats.put(Constants.STAT_BASECACHE_TABLE_SIZE, Integer.valueOf(maxEntries));
+        stats.put(Constants.STAT_BASECACHE_ENTRY_COUNT, Integer.valueOf(getEntryCount()));
+        stats.put(Constants.STAT_BASECACHE_HIT_COUNT, Integer.valueOf(hitCount.intValue()));
+        stats.put(Constants.STAT_BASECACHE_MISS_COUNT, Integer.valueOf(missCount.intValue()));
+        stats.put(Constants.STAT_BASECACHE_REMOVAL_COUNT, Integer.valueOf(removalCount.intValue()));
+        stats.put(Constants.STAT_BASECACHE_REFRESH_COUNT, Integer.valueOf(refreshCount.intValue()));
+        stats.put(Constants.STAT_BASECACHE_OVERFLOW_COUNT, Integer.valueOf(0));
+        stats.put(Constants.STAT_BASECACHE_ADD_COUNT, Integer.valueOf(addCount.intValue()));
+        stats.put(Constants.STAT_CONCURRENTCACHE_SEGMENT_COUNT, Integer.valueOf(segments.length));
+        stats.put(Constants.STAT_CONCURRENTCACHE_EVICTION_COUNT, Integer.valueOf(evictionCount.intValue()));
+        stats.put(Constants.STAT_CONCURRENTCACHE_REJECTED_COUNT, Integer.valueOf(rejectedCount.intValue()));
+
+        return stats;
+    }
+
+    @Override
+    public void clearStats() {
+        hitCount.reset();
+        missCount.reset();
+        removalCount.reset();
+        refreshCount.reset();
+        addCount.reset();
+        evictionCount.reset();
+        rejectedCount.reset();
+    }
+
+    /**
+     * The cached values do not expire by themselves, the callers
+     * check the validity of the values they get.
+     */
+    @Override
+    public void trimExpiredEntries(int maxCount) {}
+
+    @Override
+    public void destroy() {
+        if (segments != null) {
+            clear();
+        }
+        listeners.clear();
+    }
+
+    private Segment segmentFor(int hashCode) {
+        // the low bits select the slot in the refresh table and the sketch
+        return segments[(hashCode >>> 16) & segmentMask];
+    }
+
+    private static int powerOfTwo(int value) {
+        int result = Integer.highestOneBit(value);
+        return result < value ? result << 1 : result;
+    }
+
+    /**
+     * a cached entry
+     */
+    private static final class Node {
+        final int hashCode;
+        final Object key;
+        volatile Object value;
+        volatile int size;
+
+        // racy, only used to pick eviction candidates
+        long accessTime;
+
+        // position in the segment's sampling array, guarded by the segment
+        int slot;
+
+        Node(int hashCode, Object key, Object value, int size) {
+            this.hashCode = hashCode;
+            this.key = key;
+            this.value = value;
+            this.size = size;
+            this.accessTime = System.nanoTime();
+        }
+    }
+
+    /**
+     * A part of the cache with its own capacity and monitor.
+     * The nodes are also kept in an array, so that random entries
+     * can be sampled in constant time.
+     */
+    private static final class Segment {
+        final ConcurrentHashMap<Object, Node> map = new ConcurrentHashMap<>();
+        final int capacity;
+
+        Node[] nodes;
+        int size;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.nodes = new Node[Math.min(capacity, 16)];
+        }
+
+        void addSlot(Node node) {
+            if (size == nodes.length) {
+                Node[] grown = new Node[Math.min(capacity, nodes.length * 2)];
+                System.arraycopy(nodes, 0, grown, 0, size);
+                nodes = grown;
+            }
+            node.slot = size;
+            nodes[size++] = node;
+        }
+
+        void removeSlot(Node node) {
+            Node last = nodes[--size];
+            nodes[node.slot] = last;
+            last.slot = node.slot;
+            nodes[size] = null;
+        }
+
+        Node sampleVictim(FrequencySketch sketch) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Node victim = null;
+            int victimFrequency = Integer.MAX_VALUE;
+            for (int i = 0; i < Math.min(SAMPLE_SIZE, size); i++) {
+                Node node = nodes[random.nextInt(size)];
+                int frequency = sketch.frequency(node.hashCode);
+                if (frequency < victimFrequency
+                    || (frequency == victimFrequency && node.accessTime < victim.accessTime)) {
+                    victim = node;
+                    victimFrequency = frequency;
+                }
+            }
+            return victim;
+        }
+
+        void clear() {
+            map.clear();
+            for (int i = 0; i < size; i++) {
+                nodes[i] = null;
+            }
+            size = 0;
+        }
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters estimating how often a key was requested.
+     * The counters are halved periodically, so that the old popularity fades away.
+     * <p>
+     * Updates are not atomic; a lost increment only makes the estimate a little
+     * lower, which is cheaper than synchronizing every cache hit.
+     */
+    static final class FrequencySketch {
+
+        private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final int MAX_COUNT = 15;
+
+        private final long[] table;
+        private final int counterMask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maxEntries) {
+            int length = powerOfTwo(Math.max(16, Math.min(maxEntries, 1 << 24)));
+            table = new long[length];
+            counterMask = (length << 4) - 1;
+            sampleSize = 10 * Math.max(maxEntries, 16);
+        }
+
+        int frequency(int hashCode) {
+            int frequency = MAX_COUNT;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int index = counterIndex(hashCode, i);
+                int count = (int) ((table[index >>> 4] >>> ((index & 15) << 2)) & 0xF);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        void increment(int hashCode) {
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int index = counterIndex(hashCode, i);
+                int shift = (index & 15) << 2;
+                long word = table[index >>> 4];
+                if (((word >>> shift) & 0xF) < MAX_COUNT) {
+                    table[index >>> 4] = word + (1L << shift);
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        private synchronized void reset() {
+            if (additions < sampleSize) {
+                return;
+            }
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions = sampleSize / 2;
+        }
+
+        private int counterIndex(int hashCode, int i) {
+            long h = (hashCode + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return (int) h & counterMask;
+        }
+    }
+}
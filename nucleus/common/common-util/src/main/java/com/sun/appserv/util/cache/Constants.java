@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -52,4 +53,8 @@ public class Constants {
 
     public final static String STAT_BOUNDEDMULTILRUCACHE_CURRENT_SIZE="cache.BoundedMultiLruCache.stat_currentSize";
     public final static String STAT_BOUNDEDMULTILRUCACHE_MAX_SIZE="cache.BoundedMultiLruCache.stat_maxSize";
+
+    public final static String STAT_CONCURRENTCACHE_SEGMENT_COUNT="cache.ConcurrentCache.stat_segmentCount";
+    public final static String STAT_CONCURRENTCACHE_EVICTION_COUNT="cache.ConcurrentCache.stat_evictionCount";
+    public final static String STAT_CONCURRENTCACHE_REJECTED_COUNT="cache.ConcurrentCache.stat_rejectedCount";
 }
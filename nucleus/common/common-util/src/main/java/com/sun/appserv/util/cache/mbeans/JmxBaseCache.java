@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -21,7 +22,7 @@
 
 package com.sun.appserv.util.cache.mbeans;
 
-import com.sun.appserv.util.cache.BaseCache;
+import com.sun.appserv.util.cache.Cache;
 import com.sun.appserv.util.cache.Constants;
 
 /**
@@ -33,9 +34,9 @@ import com.sun.appserv.util.cache.Constants;
 public class JmxBaseCache implements JmxBaseCacheMBean {
 
     private String name;
-    private BaseCache baseCache;
+    private Cache baseCache;
 
-    public JmxBaseCache(BaseCache baseCache, String name) {
+    public JmxBaseCache(Cache baseCache, String name) {
         this.baseCache = baseCache;
         this.name = name;
     }
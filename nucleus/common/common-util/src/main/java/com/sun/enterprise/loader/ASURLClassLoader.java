@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2006, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -53,6 +53,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -78,6 +79,11 @@ import static java.util.logging.Level.INFO;
  *
  * <p>This class loader also keeps cache of not found classes and resources.
  *
+ * <p>The packages of the jars are indexed, so that a class or resource is only
+ * looked for in the jars containing its package, and in the directories.
+ * Lookups do not lock the class loader: they read an immutable snapshot of
+ * the index, rebuilt after urls have been appended.
+ *
  * @author Nazrul Islam
  * @author Kenneth Saks
  * @author Sivakumar Thyagarajan
@@ -99,6 +105,13 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
      */
     private final Set<URLEntry> urlSet = Collections.synchronizedSet(new LinkedHashSet<>());
 
+    /**
+     * package index of the url entries, null when it has to be rebuilt.
+     * <p>
+     * Must be 'volatile'; it is read without locking by the lookups.
+     */
+    private volatile PackageIndex packageIndex;
+
     /** cache of not found resources */
     private final Map<String, String> notFoundResources = new ConcurrentHashMap<>();
 
@@ -123,6 +136,8 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
 
     private final static StringManager sm = StringManager.getManager(ASURLClassLoader.class);
 
+    private static final String MULTI_RELEASE_PREFIX = "META-INF/versions/";
+
     //holder for declared and ee permissions
     private final PermsHolder permissionsHolder;
 
@@ -192,6 +207,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
             // Presumably OK to set this flag now while the rest of the cleanup proceeds,
             // because we've taken the snapshot.
             doneCalled = true;
+            packageIndex = null;
 
             // closes the jar handles and sets the url entries to null
             for (URLEntry u : this.urlSet) {
@@ -206,6 +222,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
                     u.table.clear();
                     u.table = null;
                 }
+                u.packages = null;
                 u = null;
             }
 
@@ -284,6 +301,11 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
                 }
             }
 
+            // the index is rebuilt by the next lookup, so that appending many urls
+            // does not rebuild it each time. It must be dropped before the "not found"
+            // caches are cleared, see isIndexCurrent.
+            packageIndex = null;
+
             // clears the "not found" cache since we are adding a new url
             clearNotFoundCaches();
         } catch (IOException ioe) {
@@ -385,6 +407,43 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
     }
 
 
+    /**
+     * Returns the package index of the url entries, building it if urls have
+     * been appended since it was last built.
+     *
+     * @return the current package index
+     */
+    private PackageIndex getPackageIndex() {
+        PackageIndex index = packageIndex;
+        if (index != null) {
+            return index;
+        }
+        synchronized (this) {
+            index = packageIndex;
+            if (index == null) {
+                index = new PackageIndex(urlSet.toArray(new URLEntry[0]));
+                if (!doneCalled) {
+                    packageIndex = index;
+                }
+            }
+            return index;
+        }
+    }
+
+
+    /**
+     * Checks that no url has been appended since the lookup using the given
+     * index started. Called after a name has been added to a "not found"
+     * cache, which must be undone if the new url was not searched.
+     *
+     * @param index the index used by the lookup
+     * @return true if the index is still current
+     */
+    private boolean isIndexCurrent(PackageIndex index) {
+        return packageIndex == index;
+    }
+
+
     /**
      * Internal implementation of find resource.
      *
@@ -447,14 +506,9 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
             return null;
         }
 
-        // This code is dubious, because it iterates over items that could
-        // be changing via another thread.   It appears that since 'urlSet' cannot shrink
-        // that the iteration at least won't go out of bounds.  And it's probably OK
-        // if more than one thread adds the same resource to 'notFoundResources'.
-        //
-        // HOWEVER, there is still a race condition from the check for 'doneCalled' above.
-        // That's OK for 'notFoundResources', but it could lead to an ArrayIndexOutOfBounds
-        // exception for 'urlSet', should the set be cleared while looping.
+        // The lookup iterates over an immutable snapshot of the url entries, so it does
+        // not need the class loader lock. It's OK if more than one thread adds the same
+        // resource to 'notFoundResources'.
 
         // resource is in the not found list
         String nf = notFoundResources.get(name);
@@ -462,22 +516,27 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
             return null;
         }
 
-        synchronized(this) {
-            for (final URLEntry u : this.urlSet) {
+        final PackageIndex index = getPackageIndex();
+        for (final URLEntry u : index.getCandidates(name)) {
+            if (doneCalled) {
+                return null;
+            }
 
-                if (!u.hasItem(name)) {
-                    continue;
-                }
+            if (!u.hasItem(name)) {
+                continue;
+            }
 
-                final URL url = findResource0(u, name);
-                if (url != null) {
-                    return url;
-                }
+            final URL url = findResource0(u, name);
+            if (url != null) {
+                return url;
             }
         }
 
         // add resource to the not found list
         notFoundResources.put(name, name);
+        if (!isIndexCurrent(index)) {
+            notFoundResources.remove(name);
+        }
         return null;
     }
 
@@ -485,16 +544,11 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
     /**
      * Returns an enumeration of java.net.URL objects
      * representing all the resources with the given name.
-     * This method is synchronized to avoid
-     * <ol>
-     * <li>race condition checking 'doneCalled',
-     * <li>changes to contents or length of 'resourcesList' and/or 'notFoundResources' while
-     * iterating over them,
-     * <li>thread visibility to all of the above.
-     * </ol>
+     * Like {@link #findResource(String)}, it searches an immutable snapshot
+     * of the url entries without locking the class loader.
      */
     @Override
-    public synchronized Enumeration<URL> findResources(String name) throws IOException {
+    public Enumeration<URL> findResources(String name) throws IOException {
         if (doneCalled) {
             _logger.log(Level.WARNING, CULoggerInfo.doneAlreadyCalled, new Object[] {name, doneSnapshot});
             return Collections.emptyEnumeration();
@@ -506,7 +560,11 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
             return Collections.emptyEnumeration();
         }
 
-        for (URLEntry urlEntry : this.urlSet) {
+        final PackageIndex index = getPackageIndex();
+        for (URLEntry urlEntry : index.getCandidates(name)) {
+            if (doneCalled) {
+                return Collections.emptyEnumeration();
+            }
             final URL url = findResource0(urlEntry, name);
             if (url != null) {
                 resourcesList.add(url);
@@ -516,6 +574,9 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
         if (resourcesList.isEmpty()) {
             // add resource to the not found list
             notFoundResources.put(name, name);
+            if (!isIndexCurrent(index)) {
+                notFoundResources.remove(name);
+            }
         }
         return Collections.enumeration(resourcesList);
     }
@@ -723,14 +784,15 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
      * have to be read and reading the bytes. It does not actually define
      * the Class object.
      * <p>
-     * To preclude a race condition on checking 'doneCalled', as well as transient errors
-     * if done() is called while running, this method is 'synchronized'.
+     * This method is not 'synchronized', so that classes are loaded in parallel:
+     * it searches an immutable snapshot of the url entries, and stops searching
+     * if done() is called while running.
      *
      * @param name class name in java.lang.Object format
      * @return class bytes as well protection domain information
      * @throws ClassNotFoundException
      */
-    private synchronized ClassData findClassData(String name) throws ClassNotFoundException {
+    private ClassData findClassData(String name) throws ClassNotFoundException {
         if (doneCalled) {
             ClassNotFoundException exception = new ClassNotFoundException(name);
             _logger.log(Level.WARNING, CULoggerInfo.getString(CULoggerInfo.findClassAfterDone, name, this), exception);
@@ -744,7 +806,11 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
         // search through the JARs for a file of the form java/lang/Object.class
         String entryName = name.replace('.', '/') + ".class";
 
-        for (URLEntry u : this.urlSet) {
+        final PackageIndex index = getPackageIndex();
+        for (URLEntry u : index.getCandidates(entryName)) {
+            if (doneCalled) {
+                throw new ClassNotFoundException(name);
+            }
             if (!u.hasItem(entryName)) {
                 continue;
             }
@@ -764,6 +830,9 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
 
         // add to the not found classes list
         notFoundClasses.put(name, name);
+        if (!isIndexCurrent(index)) {
+            notFoundClasses.remove(name);
+        }
         throw new ClassNotFoundException(name);
     }
 
@@ -916,8 +985,18 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
          */
         volatile boolean isJar = false;
 
-        /** ensure thread visibility by making it 'volatile' */
-        volatile HashMap<String, String> table = null;
+        /**
+         * names of the files known in a directory url,
+         * concurrent because lookups add the files created after the loader,
+         * ensure thread visibility by making it 'volatile'
+         */
+        volatile ConcurrentHashMap<String, String> table = null;
+
+        /**
+         * packages of the entries if url is a jar, else null,
+         * ensure thread visibility by making it 'volatile'
+         */
+        volatile Set<String> packages = null;
 
         /**
          * ProtectionDomain with signers if jar is signed,
@@ -941,12 +1020,43 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
 
             if (isJar) {
                 zip = new ProtectedJarFile(file);
+                packages = readPackages(zip);
+            }
+
+            table = new ConcurrentHashMap<>();
+        }
+
+        /**
+         * Returns the packages of the entries of a jar, that is the names of
+         * the directories holding them, as returned by {@link ASURLClassLoader#getPackagePath(String)}.
+         * The entries of a multi-release jar are also recorded under their
+         * unversioned name.
+         */
+        private static Set<String> readPackages(JarFile jar) {
+            Set<String> result = new HashSet<>();
+            Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                addPackages(result, name);
+                if (name.startsWith(MULTI_RELEASE_PREFIX)) {
+                    int versionEnd = name.indexOf('/', MULTI_RELEASE_PREFIX.length());
+                    if (versionEnd != -1) {
+                        addPackages(result, name.substring(versionEnd + 1));
+                    }
+                }
             }
+            return result;
+        }
 
-            table = new HashMap<>();
+        private static void addPackages(Set<String> packages, String name) {
+            packages.add(getPackagePath(name));
+            // a directory entry is also found by its name without the trailing slash
+            if (name.endsWith("/")) {
+                packages.add(getPackagePath(name.substring(0, name.length() - 1)));
+            }
         }
 
-        private void fillTable(File f, HashMap<String, String> t, String parent) throws IOException {
+        private void fillTable(File f, Map<String, String> t, String parent) throws IOException {
             String localName = parent.isEmpty() ? "" : parent + "/";
             File[] children = f.listFiles();
             for (File child : children) {
@@ -961,12 +1071,12 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
          * Invokes fillTable for subdirectories which in turn invokes processFile
          * recursively.
          * @param fileToProcess the File to be processed
-         * @param t the HashMap that holds the files the loader knows about
+         * @param t the map that holds the files the loader knows about
          * @param parentLocalName prefix to be used for the full path; should be
          * non-empty only for recursive invocations
          * @throws IOException in case of errors working with the fileToProcess
          */
-        private void processFile(File fileToProcess, HashMap<String, String> t, String parentLocalName) throws IOException {
+        private void processFile(File fileToProcess, Map<String, String> t, String parentLocalName) throws IOException {
             String key = parentLocalName + fileToProcess.getName();
             if (fileToProcess.isFile()) {
                 t.put(key, key);
@@ -979,7 +1089,12 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
         private boolean hasItem(String item) {
             // in the case of ejbc stub compilation, ASURLClassLoader is created before stubs
             // gets generated, thus we need to return true for this case.
-            if (table.isEmpty()) {
+            // read once, done() may clear it while a lookup is running
+            final Map<String, String> t = table;
+            if (t == null) {
+                return false;
+            }
+            if (t.isEmpty()) {
                 return true;
             }
 
@@ -998,7 +1113,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
                 target = item.substring(2);
             }
 
-            result = table.containsKey(target);
+            result = t.containsKey(target);
             if ( ! result && ! isJar) {
                 /*
                  * If the file exists now then it has been added to the directory since the
@@ -1008,7 +1123,7 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
                 File targetFile = privilegedCheckForFile(target);
                 if (targetFile != null) {
                     try {
-                        processFile(targetFile, table, "");
+                        processFile(targetFile, t, "");
                         result = true;
                     } catch (IOException ioe) {
                         _logger.log(Level.SEVERE,
@@ -1113,6 +1228,65 @@ public class ASURLClassLoader extends GlassfishUrlClassLoader
 
     }
 
+    /**
+     * Immutable snapshot of the url entries, with the jars containing each package.
+     */
+    private static final class PackageIndex {
+
+        /** url entries which are not indexed, i.e. the directories */
+        private final URLEntry[] unindexed;
+
+        /** jars containing each package, merged with the unindexed entries in search order */
+        private final Map<String, URLEntry[]> candidates;
+
+        PackageIndex(URLEntry[] entries) {
+            List<URLEntry> unindexedList = new ArrayList<>();
+            Map<String, List<URLEntry>> lists = new HashMap<>();
+            for (URLEntry entry : entries) {
+                Set<String> packages = entry.packages;
+                if (packages == null) {
+                    unindexedList.add(entry);
+                    for (List<URLEntry> list : lists.values()) {
+                        list.add(entry);
+                    }
+                } else {
+                    for (String pkg : packages) {
+                        lists.computeIfAbsent(pkg, k -> new ArrayList<>(unindexedList)).add(entry);
+                    }
+                }
+            }
+            unindexed = unindexedList.toArray(new URLEntry[0]);
+            candidates = new HashMap<>(lists.size() * 4 / 3 + 1);
+            for (Map.Entry<String, List<URLEntry>> list : lists.entrySet()) {
+                candidates.put(list.getKey(), list.getValue().toArray(new URLEntry[0]));
+            }
+        }
+
+        /**
+         * Returns the url entries which may contain the given class or resource,
+         * in search order.
+         *
+         * @param name name of the class file or resource
+         * @return the url entries to search
+         */
+        URLEntry[] getCandidates(String name) {
+            URLEntry[] result = candidates.get(getPackagePath(name));
+            return result == null ? unindexed : result;
+        }
+    }
+
+    /**
+     * Returns the package of a jar entry or resource name, i.e. its name up to
+     * the last slash.
+     *
+     * @param name name of the entry or resource
+     * @return the package in the jar format, empty for the root
+     */
+    private static String getPackagePath(String name) {
+        int lastSlash = name.lastIndexOf('/');
+        return lastSlash == -1 ? "" : name.substring(0, lastSlash);
+    }
+
     /**
      * To properly close streams obtained through URL.getResource().getStream():
      * this opens the input stream on a JarFile that is already open as part
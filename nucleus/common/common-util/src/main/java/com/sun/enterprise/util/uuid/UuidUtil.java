@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -24,7 +25,10 @@ package com.sun.enterprise.util.uuid;
 
 import java.net.InetAddress;
 import java.rmi.server.UID;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Class UuidUtil
@@ -162,8 +166,29 @@ public class UuidUtil
         return result;
     }
 
-    private static synchronized int getNextInt() {
-        return _seeder.nextInt();
+    /**
+     * Takes a generator from the pool, so that the threads generating uuids
+     * concurrently do not wait for each other, and gives it back.
+     */
+    private static int getNextInt() {
+        SecureRandom seeder = _seeders.poll();
+        if (seeder == null) {
+            seeder = createSeeder();
+        }
+        try {
+            return seeder.nextInt();
+        } finally {
+            _seeders.offer(seeder);
+        }
+    }
+
+    private static SecureRandom createSeeder() {
+        try {
+            // locks only its own state, unlike the default native generator
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
     }
 
     private static String getNextRandomString() {
@@ -182,7 +207,8 @@ public class UuidUtil
         return result;
     }
 
-    private static SecureRandom _seeder = new SecureRandom();
+    /** Generators not used at the moment, there are at most as many as concurrent threads */
+    private static final Queue<SecureRandom> _seeders = new ConcurrentLinkedQueue<>();
 
     /**
      * Method main
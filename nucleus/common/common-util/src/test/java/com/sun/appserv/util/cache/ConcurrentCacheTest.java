@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.util.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentCacheTest {
+
+    @Test
+    public void putGetRemove() throws Exception {
+        ConcurrentCache cache = createCache(100);
+        assertThat(cache.put("a", "1"), nullValue());
+        assertThat(cache.put("a", "2"), is("1"));
+        assertThat(cache.get("a"), is("2"));
+        assertThat(cache.get("b"), nullValue());
+        assertThat(cache.remove("a", "1"), nullValue());
+        assertThat(cache.remove("a"), is("2"));
+        assertTrue(cache.isEmpty());
+
+        assertThat(cache.getStatByName(Constants.STAT_BASECACHE_HIT_COUNT), is(2));
+        assertThat(cache.getStatByName(Constants.STAT_BASECACHE_MISS_COUNT), is(2));
+        assertThat(cache.getStatByName(Constants.STAT_BASECACHE_REFRESH_COUNT), is(1));
+        assertThat(cache.getStatByName(Constants.STAT_BASECACHE_ADD_COUNT), is(1));
+    }
+
+    @Test
+    public void neverExceedsMaxEntries() throws Exception {
+        ConcurrentCache cache = createCache(64);
+        List<Object> trimmed = new ArrayList<>();
+        cache.addCacheListener((key, value) -> trimmed.add(key));
+        for (int i = 0; i < 1000; i++) {
+            cache.get("key" + i);
+            cache.put("key" + i, i);
+        }
+
+        assertThat(cache.getEntryCount(), lessThanOrEqualTo(64));
+        assertThat(cache.getStatByName(Constants.STAT_CONCURRENTCACHE_EVICTION_COUNT), is(trimmed.size()));
+    }
+
+    @Test
+    public void popularEntriesSurviveScan() throws Exception {
+        ConcurrentCache cache = createCache(64);
+        for (int i = 0; i < 32; i++) {
+            cache.put("hot" + i, i);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 32; i++) {
+                cache.get("hot" + i);
+            }
+        }
+
+        // one-time keys must not push the frequently used ones out
+        for (int i = 0; i < 10_000; i++) {
+            cache.get("hot" + (i % 32));
+            cache.get("scan" + i);
+            cache.put("scan" + i, i);
+        }
+
+        int survivors = 0;
+        for (int i = 0; i < 32; i++) {
+            if (cache.get("hot" + i) != null) {
+                survivors++;
+            }
+        }
+        assertThat(survivors, greaterThan(28));
+        assertThat((Integer) cache.getStatByName(Constants.STAT_CONCURRENTCACHE_REJECTED_COUNT), greaterThan(0));
+    }
+
+    @Test
+    public void peekRecordsNoAccess() throws Exception {
+        ConcurrentCache cache = new ConcurrentCache();
+        Properties props = new Properties();
+        props.setProperty(ConcurrentCache.SEGMENTS_PROPERTY, "1");
+        cache.init(4, props);
+        for (int i = 0; i < 4; i++) {
+            cache.get("key" + i);
+            cache.put("key" + i, i);
+        }
+        for (int i = 0; i < 5; i++) {
+            assertThat(cache.peek("key0"), is(0));
+            assertThat(cache.peek("cold"), nullValue());
+        }
+        assertThat(cache.getStatByName(Constants.STAT_BASECACHE_HIT_COUNT), is(0));
+        assertThat(cache.getStatByName(Constants.STAT_BASECACHE_MISS_COUNT), is(4));
+
+        // the peeks did not make the new key more popular than the cached ones
+        cache.put("cold", "value");
+        assertThat(cache.peek("cold"), nullValue());
+        assertThat(cache.getStatByName(Constants.STAT_CONCURRENTCACHE_REJECTED_COUNT), is(1));
+    }
+
+    @Test
+    public void refreshFlags() throws Exception {
+        ConcurrentCache cache = createCache(16);
+        int index = cache.getIndex("page");
+        assertFalse(cache.waitRefresh(index));
+        cache.notifyRefresh(index);
+        assertFalse(cache.waitRefresh(index));
+    }
+
+    @Test
+    public void invalidMaxEntries() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentCache().init(0, new Properties()));
+    }
+
+    private static ConcurrentCache createCache(int maxEntries) throws Exception {
+        ConcurrentCache cache = new ConcurrentCache();
+        Properties props = new Properties();
+        props.setProperty(ConcurrentCache.SEGMENTS_PROPERTY, "4");
+        cache.init(maxEntries, props);
+        return cache;
+    }
+}
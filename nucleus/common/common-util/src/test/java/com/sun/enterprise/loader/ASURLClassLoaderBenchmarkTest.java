@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.loader;
+
+import com.sun.enterprise.util.io.FileUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Measures the startup of a synthetic large application: an EAR with many library jars,
+ * whose classes are loaded from several threads.
+ */
+public class ASURLClassLoaderBenchmarkTest {
+
+    private static final int JAR_COUNT = 200;
+    private static final int PACKAGES_PER_JAR = 4;
+    private static final int CLASSES_PER_PACKAGE = 10;
+    private static final int THREAD_COUNT = 8;
+
+    @Test
+    public void startup_benchmark() throws Exception {
+        Options options = new OptionsBuilder().include(getClass().getName() + ".*")
+            .warmupIterations(2).measurementIterations(5)
+            .forks(1).threads(1).shouldFailOnError(true)
+            .timeout(TimeValue.seconds(60L))
+            .timeUnit(TimeUnit.MILLISECONDS).mode(Mode.SingleShotTime)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(1));
+    }
+
+
+    @Benchmark
+    public int startup(Application application) throws Exception {
+        ExecutorService executor = application.executor;
+        List<String> classNames = application.classNames;
+        try (ASURLClassLoader loader = new ASURLClassLoader("ear", ClassLoader.getPlatformClassLoader())) {
+            for (File jar : application.jars) {
+                loader.appendURL(jar);
+            }
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int t = 0; t < THREAD_COUNT; t++) {
+                final int slice = t;
+                tasks.add(() -> {
+                    int found = 0;
+                    for (int i = slice; i < classNames.size(); i += THREAD_COUNT) {
+                        String className = classNames.get(i);
+                        loader.loadClass(className);
+                        // like the bean introspection done while deploying, which mostly misses
+                        if (loader.findResource(className.replace('.', '/') + "BeanInfo.class") != null) {
+                            found++;
+                        }
+                    }
+                    return found;
+                });
+            }
+            int found = 0;
+            for (Future<Integer> future : executor.invokeAll(tasks)) {
+                found += future.get();
+            }
+            return found;
+        }
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        File dir;
+        List<File> jars;
+        List<String> classNames;
+        ExecutorService executor;
+
+        @Setup
+        public void createJars() throws Exception {
+            dir = Files.createTempDirectory("ASURLClassLoaderBenchmark").toFile();
+            jars = new ArrayList<>();
+            classNames = new ArrayList<>();
+            for (int j = 0; j < JAR_COUNT; j++) {
+                jars.add(ASURLClassLoaderTest.createLibrary(dir, j, PACKAGES_PER_JAR, CLASSES_PER_PACKAGE, classNames));
+            }
+            executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        }
+
+
+        @TearDown
+        public void deleteJars() {
+            executor.shutdown();
+            FileUtils.whack(dir);
+        }
+    }
+}
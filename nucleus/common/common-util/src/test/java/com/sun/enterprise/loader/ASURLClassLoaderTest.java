@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.loader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ASURLClassLoaderTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    public void findsClassesAndResourcesInSearchOrder() throws Exception {
+        File first = createJar("first.jar", Map.of("p/a/A.class", classBytes("p/a/A"), "p/a/res.txt", bytes("first")));
+        File second = createJar("second.jar", Map.of("p/b/B.class", classBytes("p/b/B"), "p/a/res.txt", bytes("second")));
+        File classes = new File(tempDir, "classes");
+        File dirClass = new File(classes, "p/a/D.class");
+        dirClass.getParentFile().mkdirs();
+        Files.write(dirClass.toPath(), classBytes("p/a/D"));
+
+        try (ASURLClassLoader loader = new ASURLClassLoader("test", ClassLoader.getPlatformClassLoader())) {
+            loader.appendURL(first);
+            loader.appendURL(second);
+            loader.appendURL(classes);
+
+            assertThat(loader.loadClass("p.a.A").getClassLoader(), is(loader));
+            assertThat(loader.loadClass("p.b.B").getClassLoader(), is(loader));
+            assertThat(loader.loadClass("p.a.D").getClassLoader(), is(loader));
+            assertThrows(ClassNotFoundException.class, () -> loader.loadClass("p.c.C"));
+
+            assertThat(read(loader.findResource("p/a/res.txt")), is("first"));
+            assertThat(Collections.list(loader.findResources("p/a/res.txt")), hasSize(2));
+            assertThat(loader.findResource("p/a/missing.txt"), nullValue());
+            assertThat(loader.findResource("p/a/D.class").toString(), endsWith("classes/p/a/D.class"));
+        }
+    }
+
+    @Test
+    public void searchesUrlAppendedAfterMiss() throws Exception {
+        File jar = createJar("late.jar", Map.of("p/late/L.class", classBytes("p/late/L"), "p/late/res.txt", bytes("late")));
+
+        try (ASURLClassLoader loader = new ASURLClassLoader("test", ClassLoader.getPlatformClassLoader())) {
+            loader.appendURL(createJar("early.jar", Map.of("p/a/A.class", classBytes("p/a/A"))));
+            assertThrows(ClassNotFoundException.class, () -> loader.loadClass("p.late.L"));
+            assertThat(loader.findResource("p/late/res.txt"), nullValue());
+
+            loader.appendURL(jar);
+            assertThat(loader.loadClass("p.late.L").getClassLoader(), is(loader));
+            assertThat(read(loader.findResource("p/late/res.txt")), is("late"));
+        }
+    }
+
+    @Test
+    public void findsVersionedClassOfMultiReleaseJar() throws Exception {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.MULTI_RELEASE, "true");
+        File jar = createJar("mr.jar", manifest, Map.of("META-INF/versions/11/p/mr/V.class", classBytes("p/mr/V")));
+
+        try (ASURLClassLoader loader = new ASURLClassLoader("test", ClassLoader.getPlatformClassLoader())) {
+            loader.appendURL(jar);
+            assertThat(loader.loadClass("p.mr.V").getClassLoader(), is(loader));
+        }
+    }
+
+    @Test
+    public void loadsClassesConcurrently() throws Exception {
+        final int threadCount = 4;
+        List<File> jars = new ArrayList<>();
+        List<String> classNames = new ArrayList<>();
+        for (int j = 0; j < 10; j++) {
+            jars.add(createLibrary(tempDir, j, 2, 5, classNames));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try (ASURLClassLoader loader = new ASURLClassLoader("ear", ClassLoader.getPlatformClassLoader())) {
+            for (File jar : jars) {
+                loader.appendURL(jar);
+            }
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                final int slice = t;
+                tasks.add(() -> {
+                    int loaded = 0;
+                    for (int i = slice; i < classNames.size(); i += threadCount) {
+                        String className = classNames.get(i);
+                        assertThat(loader.loadClass(className).getClassLoader(), is(loader));
+                        loaded++;
+                        assertThat(loader.findResource(className.replace('.', '/') + "BeanInfo.class"), nullValue());
+                    }
+                    return loaded;
+                });
+            }
+            int loaded = 0;
+            for (Future<Integer> future : executor.invokeAll(tasks)) {
+                loaded += future.get();
+            }
+            assertThat(loaded, is(classNames.size()));
+            assertThat(read(loader.findResource("META-INF/services/lib9")), is("lib9"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void findsResourcesCreatedInDirectoryConcurrently() throws Exception {
+        final int threadCount = 4;
+        final int fileCount = 200;
+        File classes = new File(tempDir, "classes");
+        classes.mkdirs();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try (ASURLClassLoader loader = new ASURLClassLoader("test", ClassLoader.getPlatformClassLoader())) {
+            loader.appendURL(classes);
+            // created after the loader, every thread looks them all up
+            for (int i = 0; i < fileCount; i++) {
+                File file = new File(classes, "late/res" + i + ".txt");
+                file.getParentFile().mkdirs();
+                Files.write(file.toPath(), bytes("res" + i));
+            }
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                final int offset = t * fileCount / threadCount;
+                tasks.add(() -> {
+                    int found = 0;
+                    for (int i = 0; i < fileCount; i++) {
+                        int index = (offset + i) % fileCount;
+                        assertThat(read(loader.findResource("late/res" + index + ".txt")), is("res" + index));
+                        found++;
+                    }
+                    return found;
+                });
+            }
+            int found = 0;
+            for (Future<Integer> future : executor.invokeAll(tasks)) {
+                found += future.get();
+            }
+            assertThat(found, is(threadCount * fileCount));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Creates a library jar with the given number of packages and classes, and a service file.
+     *
+     * @param classNames receives the names of the created classes
+     */
+    static File createLibrary(File dir, int index, int packages, int classesPerPackage, List<String> classNames)
+        throws IOException {
+        Map<String, byte[]> entries = new HashMap<>();
+        for (int p = 0; p < packages; p++) {
+            for (int c = 0; c < classesPerPackage; c++) {
+                String internalName = "lib" + index + "/pkg" + p + "/C" + c;
+                entries.put(internalName + ".class", classBytes(internalName));
+                classNames.add(internalName.replace('/', '.'));
+            }
+        }
+        entries.put("META-INF/services/lib" + index, bytes("lib" + index));
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        return createJar(new File(dir, "lib" + index + ".jar"), manifest, entries);
+    }
+
+    private File createJar(String name, Map<String, byte[]> entries) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        return createJar(name, manifest, entries);
+    }
+
+    private File createJar(String name, Manifest manifest, Map<String, byte[]> entries) throws IOException {
+        return createJar(new File(tempDir, name), manifest, entries);
+    }
+
+    private static File createJar(File jar, Manifest manifest, Map<String, byte[]> entries) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar), manifest)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                out.putNextEntry(new JarEntry(entry.getKey()));
+                out.write(entry.getValue());
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String read(URL url) throws IOException {
+        try (InputStream in = url.openStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Returns the class file of an empty public class.
+     *
+     * @param internalName class name in the java/lang/Object format
+     */
+    private static byte[] classBytes(String internalName) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(52);
+            // constant pool: the class and its super class
+            out.writeShort(5);
+            out.writeByte(1);
+            out.writeUTF(internalName);
+            out.writeByte(7);
+            out.writeShort(1);
+            out.writeByte(1);
+            out.writeUTF("java/lang/Object");
+            out.writeByte(7);
+            out.writeShort(3);
+            // public super, this class, super class, no interfaces, fields, methods, attributes
+            out.writeShort(0x21);
+            out.writeShort(2);
+            out.writeShort(4);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(0);
+        }
+        return bytes.toByteArray();
+    }
+}
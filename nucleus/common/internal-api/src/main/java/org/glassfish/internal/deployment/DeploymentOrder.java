@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -19,6 +20,7 @@ package org.glassfish.internal.deployment;
 import com.sun.enterprise.config.serverbeans.Application;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
@@ -97,4 +99,55 @@ public class DeploymentOrder {
     }
     return appList.iterator();
   }
+
+  /**
+   * Returns the applications in deployment order, grouped in tiers which
+   * must be deployed one after the other. The applications of a tier are of
+   * the same deployment type and have the same deployment-order, so they do
+   * not depend on each other and can be deployed concurrently.
+   */
+  public static List<List<Application>> getApplicationDeploymentTiers() {
+    return getApplicationDeploymentTiers(application_deployments);
+  }
+
+  /**
+   * Groups the given applications in tiers.
+   *
+   * @param deployments the applications, sorted by <CODE>APPLICATION_COMPARATOR</CODE>
+   */
+  static List<List<Application>> getApplicationDeploymentTiers(Collection<ApplicationOrderInfo> deployments) {
+    List<List<Application>> tiers = new ArrayList<List<Application>>();
+    List<Application> tier = null;
+    DeploymentType tierType = null;
+    String tierOrder = null;
+    Iterator<ApplicationOrderInfo> it = deployments.iterator();
+    while (it.hasNext()) {
+      ApplicationOrderInfo appOrderInfo = it.next();
+      Application app = appOrderInfo.getApplication();
+      DeploymentType depType = getDeploymentType(appOrderInfo);
+      String order = app.getDeploymentOrder();
+      if (tier == null || depType != tierType || !sameDeploymentOrder(order, tierOrder)) {
+        tier = new ArrayList<Application>();
+        tiers.add(tier);
+        tierType = depType;
+        tierOrder = order;
+      }
+      tier.add(app);
+    }
+    return tiers;
+  }
+
+  private static DeploymentType getDeploymentType(ApplicationOrderInfo appOrderInfo) {
+    for (int i = 0; i < APPLICATION_DEPLOYMENT_ORDER.length; i++) {
+      if (APPLICATION_DEPLOYMENT_ORDER[i].isInstance(appOrderInfo)) {
+        return APPLICATION_DEPLOYMENT_ORDER[i];
+      }
+    }
+    // unrecognized type
+    throw new RuntimeException("unrecognized type");
+  }
+
+  private static boolean sameDeploymentOrder(String order1, String order2) {
+    return Integer.valueOf(order1).equals(Integer.valueOf(order2));
+  }
 }
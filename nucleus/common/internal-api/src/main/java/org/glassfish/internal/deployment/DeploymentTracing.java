@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2006, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -131,6 +132,21 @@ public class DeploymentTracing {
         }
     }
 
+    private class CacheEvent extends Event {
+        final String cacheName;
+        final long hits;
+        final long misses;
+
+        private CacheEvent(String cacheName, long hits, long misses) {
+            this.cacheName = cacheName;
+            this.hits = hits;
+            this.misses = misses;
+        }
+        void print(PrintStream ps) {
+            ps.println("Cache : " + cacheName + " hits " + hits + " misses " + misses + " at " + elapsedInMs());
+        }
+    }
+
     final long inception = System.currentTimeMillis();
     final List<Event> events = new ArrayList<Event>();
 
@@ -150,6 +166,17 @@ public class DeploymentTracing {
         events.add(new ModuleEvent(mark, moduleName));
     }
 
+    /**
+     * Records the use of a cache by the deployment.
+     *
+     * @param cacheName name of the cache
+     * @param hits number of lookups found in the cache
+     * @param misses number of lookups not found in the cache
+     */
+    public void addCacheStatistics(String cacheName, long hits, long misses) {
+        events.add(new CacheEvent(cacheName, hits, misses));
+    }
+
     public void print(PrintStream ps) {
         for (int i=0;i<events.size(); i++) {
             events.get(i).print(ps);
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.internal.deployment;
+
+import com.sun.enterprise.config.serverbeans.Application;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+public class DeploymentOrderTest {
+
+    private static final String SYSTEM = DeploymentType.SYSTEM_PREFIX + "all";
+
+    private final TreeSet<ApplicationOrderInfo> deployments = new TreeSet<>(DeploymentOrder.APPLICATION_COMPARATOR);
+
+    @Test
+    public void noApplicationNoTier() {
+        assertThat(tiers(), empty());
+    }
+
+    @Test
+    public void applicationsWithEqualOrdersShareATier() {
+        add("a", DeploymentType.USER, "100", false);
+        add("b", DeploymentType.USER, "100", false);
+        add("c", DeploymentType.USER, "0100", false);
+
+        assertThat(tiers(), contains(List.of("a", "b", "c")));
+    }
+
+    @Test
+    public void mixedOrdersAreLoadedInAscendingTiers() {
+        add("a", DeploymentType.USER, "200", false);
+        add("b", DeploymentType.USER, "100", false);
+        add("c", DeploymentType.USER, "200", false);
+        add("d", DeploymentType.USER, "50", false);
+        add("e", DeploymentType.USER, "100", false);
+
+        // the applications of a tier keep the order of domain.xml
+        assertThat(tiers(), contains(List.of("d"), List.of("b", "e"), List.of("a", "c")));
+    }
+
+    @Test
+    public void deploymentTypesAreSeparateTiers() {
+        add("app", DeploymentType.USER, "100", false);
+        add("rar", DeploymentType.USER, "100", true);
+        add("admin", SYSTEM, "100", false);
+        add("early-app", DeploymentType.USER, "10", false);
+
+        assertThat(tiers(), contains(List.of("admin"), List.of("rar"), List.of("early-app"), List.of("app")));
+    }
+
+    private void add(String name, String objectType, String deploymentOrder, boolean connector) {
+        Application app = (Application) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] {Application.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getName":
+                    case "toString":
+                        return name;
+                    case "getObjectType":
+                        return objectType;
+                    case "getDeploymentOrder":
+                        return deploymentOrder;
+                    case "containsSnifferType":
+                    case "isStandaloneModule":
+                        return connector;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        deployments.add(new ApplicationOrderInfo(app, deployments.size()));
+    }
+
+    private List<List<String>> tiers() {
+        List<List<String>> names = new ArrayList<>();
+        for (List<Application> tier : DeploymentOrder.getApplicationDeploymentTiers(deployments)) {
+            List<String> tierNames = new ArrayList<>();
+            for (Application app : tier) {
+                tierNames.add(app.getName());
+            }
+            names.add(tierNames);
+        }
+        return names;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2006, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -59,6 +59,7 @@ import org.glassfish.api.deployment.archive.WritableArchive;
 import org.glassfish.api.event.EventListener.Event;
 import org.glassfish.api.event.EventTypes;
 import org.glassfish.api.event.Events;
+import org.glassfish.deployment.common.AnnotationScanCache;
 import org.glassfish.deployment.common.ApplicationConfigInfo;
 import org.glassfish.deployment.common.DeploymentContextImpl;
 import org.glassfish.deployment.common.DeploymentUtils;
@@ -142,6 +143,13 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
     @Inject
     ServiceLocator habitat;
 
+    /**
+     * System property setting how many applications are loaded concurrently
+     * at startup, or true for as many as there are processors. The
+     * applications are loaded one at a time by default.
+     */
+    public static final String STARTUP_PARALLELISM_PROPERTY = "org.glassfish.deployment.startup.parallelism";
+
     private String deploymentTracingEnabled = null;
 
     private final Map<String,Integer> appOrderInfoMap = new HashMap<>();
@@ -236,11 +244,16 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
             }
         }
 
-        Iterator iter = DeploymentOrder.getApplicationDeployments();
-        while (iter.hasNext()) {
-          Application app = (Application)iter.next();
-          ApplicationRef appRef = server.getApplicationRef(app.getName());
-          processApplication(app, appRef);
+        int parallelism = getStartupParallelism();
+        if (parallelism > 1) {
+            processApplicationsInParallel(DeploymentOrder.getApplicationDeploymentTiers(), parallelism);
+        } else {
+            Iterator iter = DeploymentOrder.getApplicationDeployments();
+            while (iter.hasNext()) {
+              Application app = (Application)iter.next();
+              ApplicationRef appRef = server.getApplicationRef(app.getName());
+              processApplication(app, appRef);
+            }
         }
 
         // does the user want us to run a particular application
@@ -325,6 +338,56 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
 
     }
 
+    private int getStartupParallelism() {
+        String value = System.getProperty(STARTUP_PARALLELISM_PROPERTY);
+        if (value == null) {
+            return 1;
+        }
+        if ("true".equalsIgnoreCase(value)) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            logger.log(Level.WARNING, "Ignoring invalid value {0} of {1}", new Object[] {value, STARTUP_PARALLELISM_PROPERTY});
+            return 1;
+        }
+    }
+
+    /**
+     * Loads the applications tier after tier, the applications of a tier being
+     * loaded concurrently by at most the given number of threads. The tiers
+     * follow the deployment types and the deployment-order of the
+     * applications, so an application is only loaded once the applications
+     * ordered before it are loaded.
+     *
+     * @param tiers the applications to load, grouped in tiers
+     * @param parallelism maximum number of applications loaded concurrently
+     */
+    private void processApplicationsInParallel(List<List<Application>> tiers, int parallelism) {
+        long startTime = System.currentTimeMillis();
+
+        // the services looked up by processApplication are created once, by this thread
+        initializeRuntimeDependencies();
+
+        // the cache counters are shared by the concurrent loads, only their totals are reported
+        AnnotationScanCache scanCache = AnnotationScanCache.getInstance();
+        long scanCacheHits = scanCache.getHitCount();
+        long scanCacheMisses = scanCache.getMissCount();
+
+        // the loading threads get the context class loader of the startup, see authenticationService
+        TieredApplicationLoader<Application> loader = new TieredApplicationLoader<>(parallelism,
+                Thread.currentThread().getContextClassLoader());
+        loader.load(tiers, Application::getName,
+                app -> processApplication(app, server.getApplicationRef(app.getName()), false));
+
+        logger.log(Level.INFO, KernelLoggerInfo.parallelLoadingTime, new Object[] {loader.getApplicationCount(),
+                System.currentTimeMillis() - startTime, parallelism, loader.getCriticalPathTime(), loader.getCriticalPath()});
+        logger.log(Level.FINE, "Annotation scan cache of the {0} applications: {1} archives found in the cache, {2} scanned",
+                new Object[] {loader.getApplicationCount(), scanCache.getHitCount() - scanCacheHits,
+                scanCache.getMissCount() - scanCacheMisses});
+    }
+
     private void initializeRuntimeDependencies() {
         // ApplicationLoaderService needs to be initialized after
         // ManagedBeanManagerImpl. By injecting ManagedBeanManagerImpl,
@@ -345,6 +408,14 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
 
 
     public void processApplication(Application app, ApplicationRef appRef) {
+        processApplication(app, appRef, true);
+    }
+
+    /**
+     * @param reportScanCache false if other applications are loaded concurrently, the annotation
+     *            scan cache counters are then not reported for this application alone
+     */
+    private void processApplication(Application app, ApplicationRef appRef, boolean reportScanCache) {
 
         long operationStartTime = Calendar.getInstance().getTimeInMillis();
 
@@ -376,6 +447,9 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
                     if (deploymentTracingEnabled != null) {
                         tracing = new DeploymentTracing();
                     }
+                    AnnotationScanCache scanCache = AnnotationScanCache.getInstance();
+                    long scanCacheHits = scanCache.getHitCount();
+                    long scanCacheMisses = scanCache.getMissCount();
                     DeployCommandParameters deploymentParams =
                         app.getDeployParameters(appRef);
                     deploymentParams.target = server.getName();
@@ -405,11 +479,20 @@ public class ApplicationLoaderService implements org.glassfish.hk2.api.PreDestro
                     deployment.deploy(deployment.getSniffersFromApp(app), depContext);
                     loadApplicationForTenants(app, appRef, report);
                     if (report.getActionExitCode().equals(ActionReport.ExitCode.SUCCESS)) {
+                        long scanHits = scanCache.getHitCount() - scanCacheHits;
+                        long scanMisses = scanCache.getMissCount() - scanCacheMisses;
                         if (tracing!=null) {
+                            if (reportScanCache) {
+                                tracing.addCacheStatistics(AnnotationScanCache.CACHE_DIR_NAME, scanHits, scanMisses);
+                            }
                             tracing.print(System.out);
                         }
                         logger.log(Level.INFO, KernelLoggerInfo.loadingApplicationTime, new Object[] {
                                 appName, (Calendar.getInstance().getTimeInMillis() - operationStartTime)});
+                        if (reportScanCache) {
+                            logger.log(Level.FINE, "Annotation scan cache of {0}: {1} archives found in the cache, {2} scanned",
+                                    new Object[] {appName, scanHits, scanMisses});
+                        }
                     } else {
                         logger.log(Level.SEVERE, KernelLoggerInfo.deployFail, report.getMessage());
                     }
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.v3.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.kernel.KernelLoggerInfo;
+
+/**
+ * Loads applications tier after tier, the applications of a tier being
+ * loaded concurrently by at most the given number of threads. An application
+ * is only loaded once every application of the previous tiers is loaded,
+ * whether it succeeded or failed.
+ *
+ * @param <A> type of the applications
+ */
+final class TieredApplicationLoader<A> {
+
+    private static final Logger LOG = KernelLoggerInfo.getLogger();
+
+    private final int parallelism;
+    private final ClassLoader contextClassLoader;
+
+    private int applicationCount;
+    private long criticalPathTime;
+    private final StringBuilder criticalPath = new StringBuilder();
+
+    /**
+     * @param parallelism maximum number of applications loaded concurrently
+     * @param contextClassLoader context class loader of the loading threads
+     */
+    TieredApplicationLoader(int parallelism, ClassLoader contextClassLoader) {
+        this.parallelism = Math.max(1, parallelism);
+        this.contextClassLoader = contextClassLoader;
+    }
+
+    /**
+     * Loads the applications and waits until all of them are loaded. The
+     * failure of an application is logged and does not stop the loading.
+     *
+     * @param tiers the applications to load, grouped in tiers
+     * @param names returns the name of an application
+     * @param loader loads an application
+     */
+    void load(List<List<A>> tiers, Function<A, String> names, Consumer<A> loader) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "glassfish-application-loader-" + threadCount.incrementAndGet());
+            thread.setContextClassLoader(contextClassLoader);
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (List<A> tier : tiers) {
+                List<Future<Long>> loads = new ArrayList<>(tier.size());
+                for (A app : tier) {
+                    loads.add(executor.submit(() -> {
+                        long appStartTime = System.currentTimeMillis();
+                        loader.accept(app);
+                        return System.currentTimeMillis() - appStartTime;
+                    }));
+                }
+
+                // the next tier is loaded once this one is, after its slowest application
+                String slowestApp = null;
+                long slowestTime = 0;
+                for (int i = 0; i < tier.size(); i++) {
+                    String appName = names.apply(tier.get(i));
+                    long time = waitForLoad(loads.get(i));
+                    LOG.log(Level.FINE, "Application {0} processed in {1} ms", new Object[] {appName, time});
+                    if (slowestApp == null || time > slowestTime) {
+                        slowestApp = appName;
+                        slowestTime = time;
+                    }
+                }
+                applicationCount += tier.size();
+                if (slowestApp != null) {
+                    criticalPathTime += slowestTime;
+                    if (criticalPath.length() > 0) {
+                        criticalPath.append(" -> ");
+                    }
+                    criticalPath.append(slowestApp).append(" (").append(slowestTime).append(" ms)");
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * @return number of applications loaded, successfully or not
+     */
+    int getApplicationCount() {
+        return applicationCount;
+    }
+
+    /**
+     * @return sum of the loading times of the slowest application of each tier
+     */
+    long getCriticalPathTime() {
+        return criticalPathTime;
+    }
+
+    /**
+     * @return the slowest application of each tier, with its loading time
+     */
+    String getCriticalPath() {
+        return criticalPath.toString();
+    }
+
+    private static long waitForLoad(Future<Long> load) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return load.get();
+                } catch (InterruptedException e) {
+                    // the startup goes on, the next tiers depend on this one
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    LOG.log(Level.SEVERE, KernelLoggerInfo.deployException, e.getCause());
+                    return 0;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
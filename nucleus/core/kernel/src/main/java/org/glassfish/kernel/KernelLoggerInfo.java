@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023, 2024 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2023, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -626,4 +626,9 @@ public class KernelLoggerInfo {
             message = "Automatically resumed command {0} finished with exit code {1}. \nMessage: {2}",
             level = "INFO")
     public static final String checkpointAutoResumeDone = LOGMSG_PREFIX + "-00096";
+
+    @LogMessageInfo(
+            message = "Loaded {0} applications in {1} ms with up to {2} concurrent loads. Critical path of {3} ms: {4}",
+            level = "INFO")
+    public static final String parallelLoadingTime = LOGMSG_PREFIX + "-00097";
 }
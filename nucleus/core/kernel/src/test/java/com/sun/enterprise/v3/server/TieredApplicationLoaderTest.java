@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.v3.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+public class TieredApplicationLoaderTest {
+
+    private static final Function<String, String> NAMES = Function.identity();
+
+    /** The starts and ends of the loads, in their order */
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> started = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> finished = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    @Test
+    public void tiersAreLoadedOneAfterTheOther() {
+        List<List<String>> tiers = List.of(List.of("a1", "a2", "a3"), List.of("b1"), List.of("c1", "c2"));
+        TieredApplicationLoader<String> loader = new TieredApplicationLoader<>(4, null);
+        loader.load(tiers, NAMES, recording(app -> sleep(20)));
+
+        for (int tier = 1; tier < tiers.size(); tier++) {
+            for (String previous : tiers.get(tier - 1)) {
+                for (String app : tiers.get(tier)) {
+                    assertThat(previous + " before " + app, events.indexOf("end " + previous),
+                        lessThan(events.indexOf("start " + app)));
+                }
+            }
+        }
+        assertThat(loader.getApplicationCount(), is(6));
+    }
+
+    @Test
+    public void applicationsOfATierAreLoadedConcurrently() {
+        CyclicBarrier barrier = new CyclicBarrier(3);
+        TieredApplicationLoader<String> loader = new TieredApplicationLoader<>(3, null);
+        loader.load(List.of(List.of("a1", "a2", "a3", "a4", "a5", "a6")), NAMES, recording(app -> {
+            try {
+                // only passes if three applications are loaded at the same time
+                barrier.await(30, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+
+        assertThat(finished, containsInAnyOrder("a1", "a2", "a3", "a4", "a5", "a6"));
+        assertThat(maxRunning.get(), is(3));
+    }
+
+    @Test
+    public void parallelismOfOneLoadsInDeploymentOrder() {
+        TieredApplicationLoader<String> loader = new TieredApplicationLoader<>(1, null);
+        loader.load(List.of(List.of("a1", "a2"), List.of("b1"), List.of("c1", "c2")), NAMES, recording(app -> sleep(5)));
+
+        assertThat(started, contains("a1", "a2", "b1", "c1", "c2"));
+        assertThat(finished, contains("a1", "a2", "b1", "c1", "c2"));
+        assertThat(maxRunning.get(), is(1));
+    }
+
+    @Test
+    public void failedApplicationDoesNotStopTheLoading() {
+        TieredApplicationLoader<String> loader = new TieredApplicationLoader<>(2, null);
+        loader.load(List.of(List.of("a1", "a2"), List.of("b1")), NAMES, recording(app -> {
+            if (app.equals("a1")) {
+                throw new IllegalStateException("cannot load " + app);
+            }
+        }));
+
+        assertThat(started, containsInAnyOrder("a1", "a2", "b1"));
+        assertThat(finished, containsInAnyOrder("a2", "b1"));
+        assertThat(loader.getApplicationCount(), is(3));
+    }
+
+    @Test
+    public void loadingThreadsGetTheContextClassLoader() {
+        ClassLoader contextClassLoader = new ClassLoader(null) {
+        };
+        List<ClassLoader> seen = Collections.synchronizedList(new ArrayList<>());
+        TieredApplicationLoader<String> loader = new TieredApplicationLoader<>(2, contextClassLoader);
+        loader.load(List.of(List.of("a1", "a2")), NAMES, app -> seen.add(Thread.currentThread().getContextClassLoader()));
+
+        assertThat(seen, contains(contextClassLoader, contextClassLoader));
+    }
+
+    /**
+     * Records the start and the end of the loads, and the number of concurrent loads.
+     */
+    private Consumer<String> recording(Consumer<String> load) {
+        return app -> {
+            events.add("start " + app);
+            started.add(app);
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                load.accept(app);
+                finished.add(app);
+                events.add("end " + app);
+            } finally {
+                running.decrementAndGet();
+            }
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
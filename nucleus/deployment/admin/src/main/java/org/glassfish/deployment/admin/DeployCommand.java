@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2008, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -67,6 +67,7 @@ import org.glassfish.api.event.EventListener;
 import org.glassfish.api.event.Events;
 import org.glassfish.config.support.CommandTarget;
 import org.glassfish.config.support.TargetType;
+import org.glassfish.deployment.common.AnnotationScanCache;
 import org.glassfish.deployment.common.ApplicationConfigInfo;
 import org.glassfish.deployment.common.Artifacts;
 import org.glassfish.deployment.common.DeploymentContextImpl;
@@ -161,6 +162,8 @@ public class DeployCommand extends DeployCommandParameters implements AdminComma
     private ReadableArchive archive;
     private ActionReport report;
     private DeploymentTracing timing;
+    private long scanCacheHits;
+    private long scanCacheMisses;
     private transient DeployCommandSupplementalInfo suppInfo;
 
     public DeployCommand() {
@@ -175,6 +178,8 @@ public class DeployCommand extends DeployCommandParameters implements AdminComma
         context.getActionReport().setResultType(DeployCommandSupplementalInfo.class, suppInfo);
 
         timing = new DeploymentTracing();
+        scanCacheHits = AnnotationScanCache.getInstance().getHitCount();
+        scanCacheMisses = AnnotationScanCache.getInstance().getMissCount();
         tracing = null;
         if (System.getProperty("org.glassfish.deployment.trace") != null) {
             tracing = new DeploymentTracing();
@@ -533,7 +538,12 @@ public class DeployCommand extends DeployCommandParameters implements AdminComma
                         path.getAbsolutePath()), e);
             }
 
+            // counts the archives scanned by the concurrent deployments as well
+            long scanHits = AnnotationScanCache.getInstance().getHitCount() - scanCacheHits;
+            long scanMisses = AnnotationScanCache.getInstance().getMissCount() - scanCacheMisses;
+
             if (tracing != null) {
+                tracing.addCacheStatistics(AnnotationScanCache.CACHE_DIR_NAME, scanHits, scanMisses);
                 tracing.print(System.out);
             }
 
@@ -547,6 +557,14 @@ public class DeployCommand extends DeployCommandParameters implements AdminComma
                         "Deployment of {0} done is {1} ms",
                         name,
                         timing.elapsed()));
+                if (scanHits + scanMisses > 0) {
+                    logger.info(localStrings.getLocalString(
+                            "deploy.annotation.scan.cache",
+                            "Annotation scan cache of {0}: {1} archives found in the cache, {2} scanned",
+                            name,
+                            scanHits,
+                            scanMisses));
+                }
             } else if (report.getActionExitCode().equals(ActionReport.ExitCode.FAILURE)) {
                 String errorMessage = report.getMessage();
                 Throwable cause = report.getFailureCause();
@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.deployment.common;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.glassfish.api.admin.ServerEnvironment;
+import org.glassfish.api.deployment.archive.ReadableArchive;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.internal.api.Globals;
+import org.glassfish.logging.annotation.LogMessageInfo;
+import org.objectweb.asm.AnnotationVisitor;
+
+/**
+ * Cache of the class level annotations of the archives scanned by the
+ * {@link GenericAnnotationDetector}, kept on disk so that an unchanged archive
+ * is not scanned again by the next deployment or after a restart.
+ * <p>
+ * An archive is identified by a hash of its content: the bytes of a jar, or the
+ * names, sizes and modification times of the files of a directory. The same
+ * jar copied to another location, as done by each deployment, is therefore
+ * found again. The annotations of an archive are all read by one scan, so that
+ * the detectors looking for different annotations share the result.
+ * <p>
+ * The cache is kept in the {@value #CACHE_DIR_NAME} directory of the generated
+ * directory of the instance, and can be disabled with the system property
+ * {@value #ENABLED_PROPERTY} set to false.
+ */
+public class AnnotationScanCache {
+
+    public static final Logger deplLogger = org.glassfish.deployment.common.DeploymentContextImpl.deplLogger;
+
+    @LogMessageInfo(message = "Cannot write the annotation scan cache file {0}: {1}", level="WARNING")
+    private static final String CACHE_WRITE_FAILED = "NCLS-DEPLOYMENT-00047";
+
+    public static final String CACHE_DIR_NAME = "annotation-scan-cache";
+
+    public static final String ENABLED_PROPERTY = "org.glassfish.deployment.annotationScanCache";
+
+    /** First line of the cache files, to be changed with their format */
+    private static final String FILE_HEADER = "annotation-scan-cache 1";
+
+    private static final String FILE_SUFFIX = ".idx";
+
+    private static final int MAX_MEMORY_ENTRIES = 256;
+
+    private static final int MAX_FILES = 1024;
+
+    private static volatile AnnotationScanCache instance;
+
+    private final boolean enabled;
+
+    /** directory of the cache files, null if the cache is kept in memory only */
+    private final File directory;
+
+    /** annotations by archive hash, most recently used last */
+    private final Map<String, Set<String>> memory = Collections.synchronizedMap(
+        new LinkedHashMap<String, Set<String>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Set<String>> eldest) {
+                return size() > MAX_MEMORY_ENTRIES;
+            }
+        });
+
+    /** hashes of the jars already read, so that an unchanged jar is not read again */
+    private final Map<File, JarHash> jarHashes = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a cache.
+     *
+     * @param directory directory of the cache files, null to keep the cache in memory only
+     * @param enabled false to scan the archives each time
+     */
+    public AnnotationScanCache(File directory, boolean enabled) {
+        this.directory = directory;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the cache of this process, kept in the generated directory of
+     * the instance when running in the server.
+     *
+     * @return the cache
+     */
+    public static AnnotationScanCache getInstance() {
+        AnnotationScanCache cache = instance;
+        if (cache == null) {
+            synchronized (AnnotationScanCache.class) {
+                cache = instance;
+                if (cache == null) {
+                    File directory = null;
+                    ServiceLocator locator = Globals.getDefaultHabitat();
+                    ServerEnvironment env = locator == null ? null : locator.getService(ServerEnvironment.class);
+                    if (env != null) {
+                        directory = new File(env.getApplicationStubPath(), CACHE_DIR_NAME);
+                    }
+                    boolean enabled = Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+                    cache = new AnnotationScanCache(directory, enabled);
+                    instance = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the descriptors of the class level annotations of the classes of
+     * the archive and of its top level jars, scanning it if it is not cached.
+     *
+     * @param archive archive to scan
+     * @return the annotation descriptors, or null if the archive cannot be
+     * cached, in which case it must be scanned by the caller
+     */
+    public Set<String> getAnnotations(ReadableArchive archive) {
+        if (!enabled) {
+            return null;
+        }
+        File file = toFile(archive.getURI());
+        if (file == null) {
+            return null;
+        }
+        String hash;
+        try {
+            hash = hash(file);
+        } catch (IOException e) {
+            deplLogger.log(Level.FINE, "Cannot hash " + file + " for the annotation scan cache", e);
+            return null;
+        }
+
+        Set<String> annotations = memory.get(hash);
+        if (annotations == null) {
+            annotations = read(hash);
+            if (annotations != null) {
+                memory.put(hash, annotations);
+            }
+        }
+        if (annotations != null) {
+            hits.incrementAndGet();
+            return annotations;
+        }
+
+        misses.incrementAndGet();
+        Indexer indexer = new Indexer();
+        if (!GenericAnnotationDetector.scanClasses(archive, indexer)) {
+            // not cached, the next scan may succeed
+            return null;
+        }
+        annotations = Collections.unmodifiableSet(indexer.annotations);
+        memory.put(hash, annotations);
+        write(hash, annotations);
+        return annotations;
+    }
+
+    /**
+     * @return number of archives whose annotations were found in the cache
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of archives which were scanned
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private static File toFile(URI uri) {
+        if (uri == null || !"file".equals(uri.getScheme())) {
+            return null;
+        }
+        File file = new File(uri);
+        return file.exists() ? file : null;
+    }
+
+    private String hash(File file) throws IOException {
+        if (file.isDirectory()) {
+            return hashDirectory(file.toPath());
+        }
+        long length = file.length();
+        long lastModified = file.lastModified();
+        JarHash jarHash = jarHashes.get(file);
+        if (jarHash == null || jarHash.length != length || jarHash.lastModified != lastModified) {
+            MessageDigest digest = newDigest();
+            try (InputStream is = Files.newInputStream(file.toPath())) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            jarHash = new JarHash(length, lastModified, toHex(digest.digest()));
+            jarHashes.put(file, jarHash);
+        }
+        return jarHash.hash;
+    }
+
+    private static String hashDirectory(Path root) throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(root)) {
+            files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        MessageDigest digest = newDigest();
+        for (Path path : files) {
+            String entry = root.relativize(path).toString().replace(File.separatorChar, '/') + '\n'
+                + Files.size(path) + '\n' + Files.getLastModifiedTime(path).toMillis() + '\n';
+            digest.update(entry.getBytes(StandardCharsets.UTF_8));
+        }
+        // distinguishes a directory from a jar with the same bytes
+        digest.update((byte) 'd');
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        return String.format("%0" + (bytes.length * 2) + "x", new BigInteger(1, bytes));
+    }
+
+    private Set<String> read(String hash) {
+        if (directory == null) {
+            return null;
+        }
+        File file = new File(directory, hash + FILE_SUFFIX);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            if (!FILE_HEADER.equals(reader.readLine())) {
+                return null;
+            }
+            Set<String> annotations = new HashSet<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    annotations.add(line);
+                }
+            }
+            // the files used least recently are removed first
+            file.setLastModified(System.currentTimeMillis());
+            return Collections.unmodifiableSet(annotations);
+        } catch (IOException e) {
+            deplLogger.log(Level.FINE, "Cannot read the annotation scan cache file " + file, e);
+            return null;
+        }
+    }
+
+    private void write(String hash, Set<String> annotations) {
+        if (directory == null) {
+            return;
+        }
+        File file = new File(directory, hash + FILE_SUFFIX);
+        try {
+            Files.createDirectories(directory.toPath());
+            Path temp = Files.createTempFile(directory.toPath(), hash, ".tmp");
+            try {
+                try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    writer.write(FILE_HEADER);
+                    writer.newLine();
+                    for (String annotation : annotations) {
+                        writer.write(annotation);
+                        writer.newLine();
+                    }
+                }
+                try {
+                    Files.move(temp, file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            removeOldFiles();
+        } catch (IOException e) {
+            deplLogger.log(Level.WARNING, CACHE_WRITE_FAILED, new Object[] {file, e.toString()});
+        }
+    }
+
+    private void removeOldFiles() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(FILE_SUFFIX));
+        if (files == null || files.length <= MAX_FILES) {
+            return;
+        }
+        long[] lastModified = new long[files.length];
+        Integer[] order = new Integer[files.length];
+        for (int i = 0; i < files.length; i++) {
+            lastModified[i] = files[i].lastModified();
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(lastModified[a], lastModified[b]));
+        for (int i = 0; i < files.length - MAX_FILES; i++) {
+            if (!files[order[i]].delete()) {
+                deplLogger.log(Level.FINE, "Cannot delete the annotation scan cache file {0}", files[order[i]]);
+            }
+        }
+    }
+
+    private static final class JarHash {
+        final long length;
+        final long lastModified;
+        final String hash;
+
+        JarHash(long length, long lastModified, String hash) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * Records every class level annotation, and therefore scans every class.
+     */
+    private static final class Indexer extends GenericAnnotationDetector {
+        final Set<String> annotations = new HashSet<>();
+
+        Indexer() {
+            super(null);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String s, boolean b) {
+            annotations.add(s);
+            return null;
+        }
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -27,6 +27,7 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 import java.util.logging.Logger;
@@ -42,6 +43,9 @@ import static org.objectweb.asm.Opcodes.ASM9;
 
 /**
  * This class will detect whether an archive contains specified annotations.
+ * <p>
+ * The annotations of the archives are kept by the {@link AnnotationScanCache},
+ * so that an archive is scanned only once.
  */
 public class GenericAnnotationDetector extends AnnotationScanner {
 
@@ -110,6 +114,29 @@ public class GenericAnnotationDetector extends AnnotationScanner {
 
     @Override
     public void scanArchive(ReadableArchive archive) {
+        Set<String> archiveAnnotations = AnnotationScanCache.getInstance().getAnnotations(archive);
+        if (archiveAnnotations == null) {
+            scanClasses(archive, this);
+            return;
+        }
+        for (String annotation : annotations) {
+            if (archiveAnnotations.contains(annotation)) {
+                found = true;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Scans the classes of the archive and of its top level jars until the
+     * detector has found one of its annotations.
+     *
+     * @param archive archive to scan
+     * @param detector detector visiting the classes
+     * @return true if every class could be scanned
+     */
+    static boolean scanClasses(ReadableArchive archive, GenericAnnotationDetector detector) {
+        boolean complete = true;
         try {
             int crFlags = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
             Enumeration<String> entries = archive.entries();
@@ -119,9 +146,9 @@ public class GenericAnnotationDetector extends AnnotationScanner {
                     // scan class files
                     try (InputStream is = archive.getEntry(entryName)) {
                         ClassReader cr = new ClassReader(is);
-                        cr.accept(this, crFlags);
-                        if (found) {
-                            return;
+                        cr.accept(detector, crFlags);
+                        if (detector.found) {
+                            return true;
                         }
                     }
                 } else if (entryName.endsWith(".jar") && entryName.indexOf('/') == -1) {
@@ -133,9 +160,9 @@ public class GenericAnnotationDetector extends AnnotationScanner {
                             if (jarEntryName.endsWith(".class")) {
                                 try (InputStream is = jarSubArchive.getEntry(jarEntryName)) {
                                     ClassReader cr = new ClassReader(is);
-                                    cr.accept(this, crFlags);
-                                    if (found) {
-                                        return;
+                                    cr.accept(detector, crFlags);
+                                    if (detector.found) {
+                                        return true;
                                     }
                                 }
                             }
@@ -143,11 +170,14 @@ public class GenericAnnotationDetector extends AnnotationScanner {
                     } catch (IOException ioe) {
                         Object args[] = {entryName, ioe.getMessage()};
                         deplLogger.log(Level.WARNING, JAR_ENTRY_ERROR, args);
+                        complete = false;
                     }
                 }
             }
         } catch (Exception e) {
           deplLogger.log(Level.WARNING, FAILED_ANNOTATION_SCAN, e.getMessage());
+          complete = false;
         }
+        return complete;
     }
 }
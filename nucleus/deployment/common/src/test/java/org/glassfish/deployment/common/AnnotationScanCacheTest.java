@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.deployment.common;
+
+import com.sun.enterprise.deploy.shared.FileArchive;
+import com.sun.enterprise.deployment.deploy.shared.InputJarArchive;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.glassfish.api.deployment.archive.ReadableArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+
+public class AnnotationScanCacheTest {
+
+    private static final String STATELESS = "Ljakarta/ejb/Stateless;";
+    private static final String CONNECTOR = "Ljakarta/resource/spi/Connector;";
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    public void jarIsScannedOnce() throws Exception {
+        File cacheDir = new File(tempDir, "cache");
+        File jar = createJar(new File(tempDir, "ejb.jar"), STATELESS);
+
+        AnnotationScanCache cache = new AnnotationScanCache(cacheDir, true);
+        assertThat(getAnnotations(cache, jar), containsInAnyOrder(STATELESS));
+        assertThat(getAnnotations(cache, jar), containsInAnyOrder(STATELESS));
+        assertThat(cache.getMissCount(), is(1L));
+        assertThat(cache.getHitCount(), is(1L));
+
+        // after a restart, the jar copied by another deployment is found on disk
+        File copy = new File(tempDir, "copy.jar");
+        Files.copy(jar.toPath(), copy.toPath(), StandardCopyOption.COPY_ATTRIBUTES);
+        AnnotationScanCache restarted = new AnnotationScanCache(cacheDir, true);
+        assertThat(getAnnotations(restarted, copy), containsInAnyOrder(STATELESS));
+        assertThat(restarted.getMissCount(), is(0L));
+        assertThat(restarted.getHitCount(), is(1L));
+
+        // a changed jar is scanned again
+        createJar(copy, CONNECTOR);
+        assertThat(getAnnotations(restarted, copy), containsInAnyOrder(CONNECTOR));
+        assertThat(restarted.getMissCount(), is(1L));
+    }
+
+    @Test
+    public void directoryIsScannedAgainWhenChanged() throws Exception {
+        File dir = new File(tempDir, "exploded");
+        writeClass(new File(dir, "a/A.class"), "a/A", STATELESS);
+        writeClass(new File(dir, "a/C.class"), "a/C", CONNECTOR);
+
+        AnnotationScanCache cache = new AnnotationScanCache(new File(tempDir, "cache"), true);
+        assertThat(getAnnotations(cache, dir), containsInAnyOrder(STATELESS, CONNECTOR));
+        assertThat(getAnnotations(cache, dir), containsInAnyOrder(STATELESS, CONNECTOR));
+        assertThat(cache.getHitCount(), is(1L));
+
+        writeClass(new File(dir, "b/B.class"), "b/B", "Ljakarta/ejb/Singleton;");
+        assertThat(getAnnotations(cache, dir), containsInAnyOrder(STATELESS, CONNECTOR, "Ljakarta/ejb/Singleton;"));
+        assertThat(cache.getMissCount(), is(2L));
+    }
+
+    @Test
+    public void disabledCacheDoesNotScan() throws Exception {
+        File jar = createJar(new File(tempDir, "ejb.jar"), STATELESS);
+        AnnotationScanCache cache = new AnnotationScanCache(new File(tempDir, "cache"), false);
+        assertThat(getAnnotations(cache, jar), is((Set<String>) null));
+        assertThat(cache.getMissCount(), is(0L));
+    }
+
+    private static Set<String> getAnnotations(AnnotationScanCache cache, File file) throws IOException {
+        ReadableArchive archive;
+        if (file.isDirectory()) {
+            FileArchive fileArchive = new FileArchive();
+            fileArchive.open(file.toURI());
+            archive = fileArchive;
+        } else {
+            archive = new InputJarArchive(file);
+        }
+        try {
+            return cache.getAnnotations(archive);
+        } finally {
+            archive.close();
+        }
+    }
+
+    private static File createJar(File jar, String annotation) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            out.putNextEntry(new JarEntry("p/Bean.class"));
+            out.write(classBytes("p/Bean", annotation));
+            out.closeEntry();
+            out.putNextEntry(new JarEntry("p/Plain.class"));
+            out.write(classBytes("p/Plain", null));
+            out.closeEntry();
+        }
+        return jar;
+    }
+
+    private static void writeClass(File file, String internalName, String annotation) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), classBytes(internalName, annotation));
+    }
+
+    private static byte[] classBytes(String internalName, String annotation) {
+        ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V11, Opcodes.ACC_PUBLIC, internalName, null, "java/lang/Object", null);
+        if (annotation != null) {
+            writer.visitAnnotation(annotation, true).visitEnd();
+        }
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+}
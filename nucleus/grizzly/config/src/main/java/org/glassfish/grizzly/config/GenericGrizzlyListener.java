@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2024 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2007, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -585,6 +585,14 @@ public class GenericGrizzlyListener implements GrizzlyListener {
                                 classname, ConfigAwareElement.class.getName()});
                     }
 
+                    if (customThreadPool instanceof VirtualThreadExecutorService) {
+                        LOGGER.log(Level.INFO, "Network listener {0} processes requests on {1} threads,"
+                                + " at most {2} concurrently",
+                                new Object[] {networkListener.getName(),
+                                ((VirtualThreadExecutorService) customThreadPool).isVirtual() ? "virtual" : "platform",
+                                threadPool.getMaxThreadPoolSize()});
+                    }
+
                     workerExecutorService = customThreadPool;
                     transport.setWorkerThreadPool(customThreadPool);
                     return;
@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.grizzly.Grizzly;
+import org.glassfish.grizzly.config.dom.NetworkListener;
+import org.glassfish.grizzly.config.dom.ThreadPool;
+import org.glassfish.hk2.api.ServiceLocator;
+
+/**
+ * Worker {@link java.util.concurrent.ExecutorService} running every task on a
+ * JDK virtual thread, selected by setting the {@code classname} of a
+ * {@code thread-pool} to {@link ThreadPool#VIRTUAL_THREAD_POOL_CLASS_NAME}.
+ * <p>
+ * Blocking servlet or JDBC calls park the virtual thread instead of holding a
+ * platform thread, so far more requests can be in flight than with the fixed
+ * size pool. The {@code thread-pool} attributes keep their meaning as limits:
+ * <ul>
+ * <li>{@code max-thread-pool-size} is the maximum number of tasks running
+ * concurrently,
+ * <li>{@code max-queue-size} is the maximum number of tasks waiting for a
+ * running slot, further tasks are rejected; {@code -1} means no limit.
+ * </ul>
+ * Setting the {@value #PINNED_THREAD_DIAGNOSTICS_PROPERTY} property of the
+ * {@code thread-pool} to {@code true} logs when the limit of running tasks is
+ * reached. The stack trace of a virtual thread which blocks while pinned to its
+ * carrier thread, for example inside a {@code synchronized} block, is printed by
+ * the JDK when the {@code -Djdk.tracePinnedThreads=short} JVM option is in the
+ * {@code jvm-options} of the domain; the pool logs a hint if it is not.
+ * <p>
+ * On a JDK without virtual threads, the same limits are applied to platform
+ * threads.
+ */
+public class VirtualThreadExecutorService extends AbstractExecutorService
+        implements ConfigAwareElement<ThreadPool> {
+
+    private static final Logger LOGGER = Grizzly.logger(VirtualThreadExecutorService.class);
+
+    /**
+     * {@code thread-pool} property enabling the diagnostics of pinned virtual threads.
+     */
+    public static final String PINNED_THREAD_DIAGNOSTICS_PROPERTY = "pinned-thread-diagnostics";
+
+    private static final String TRACE_PINNED_THREADS = "jdk.tracePinnedThreads";
+
+    // the limit reached message is logged at most once per this period
+    private static final long SATURATION_LOG_PERIOD_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    // running and queued tasks
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong lastSaturationLog = new AtomicLong(System.nanoTime() - SATURATION_LOG_PERIOD_NANOS);
+    private final Set<Thread> workers = ConcurrentHashMap.newKeySet();
+    private final Object terminationLock = new Object();
+
+    private volatile String name = "virtual";
+    private volatile int maxConcurrency = Integer.MAX_VALUE;
+    private volatile int maxQueueSize = -1;
+    private volatile boolean diagnostics;
+    private volatile ClassLoader initialClassLoader = getClass().getClassLoader();
+    private volatile boolean shutdown;
+
+    // resolved when the first worker starts
+    private volatile ThreadFactory threadFactory;
+    private volatile boolean threadFactoryResolved;
+    private volatile ThreadPoolExecutor platformThreads;
+
+    @Override
+    public void configure(ServiceLocator locator, NetworkListener networkListener,
+            ThreadPool configuration) {
+        int max = Integer.MAX_VALUE;
+        int queueSize = -1;
+        try {
+            max = Integer.parseInt(configuration.getMaxThreadPoolSize());
+            if (configuration.getMaxQueueSize() != null) {
+                queueSize = Integer.parseInt(configuration.getMaxQueueSize());
+            }
+        } catch (NumberFormatException ex) {
+            LOGGER.log(Level.WARNING, "Invalid thread-pool attribute", ex);
+        }
+        configure(networkListener.getName(), max, queueSize,
+                Boolean.parseBoolean(configuration.getPropertyValue(PINNED_THREAD_DIAGNOSTICS_PROPERTY)));
+    }
+
+    /**
+     * Sets the limits; must be called before the first task is executed.
+     *
+     * @param poolName prefix of the thread names
+     * @param maxConcurrency maximum number of tasks running concurrently
+     * @param maxQueueSize maximum number of waiting tasks, {@code -1} for no limit
+     * @param pinnedThreadDiagnostics {@code true} to log when the pool is saturated
+     */
+    public void configure(String poolName, int maxConcurrency, int maxQueueSize,
+            boolean pinnedThreadDiagnostics) {
+        this.name = poolName;
+        this.maxConcurrency = maxConcurrency > 0 ? maxConcurrency : Integer.MAX_VALUE;
+        this.maxQueueSize = maxQueueSize;
+        this.diagnostics = pinnedThreadDiagnostics;
+        // same class loader no matter what mode GlassFish is being run in,
+        // see GenericGrizzlyListener.configureThreadPoolConfig
+        this.initialClassLoader = getClass().getClassLoader();
+
+        if (pinnedThreadDiagnostics && System.getProperty(TRACE_PINNED_THREADS) == null) {
+            // read by the JDK at startup, a system property set now would apply to the whole JVM, if at all
+            LOGGER.log(Level.INFO, "Thread pool {0} logs when max-thread-pool-size is reached; to also report"
+                + " virtual threads pinned to their carrier thread, add -D{1}=short to the jvm-options of the domain",
+                new Object[] {poolName, TRACE_PINNED_THREADS});
+        }
+    }
+
+    /**
+     * @return {@code true} if the tasks run on virtual threads
+     */
+    public boolean isVirtual() {
+        return getThreadFactory() != null;
+    }
+
+    /**
+     * @return number of tasks running now
+     */
+    public int getActiveCount() {
+        return running.get();
+    }
+
+    /**
+     * @return number of tasks waiting for a running slot
+     */
+    public int getQueueSize() {
+        return Math.max(0, pending.get() - running.get());
+    }
+
+    /**
+     * @return number of tasks run to completion
+     */
+    public long getCompletedTaskCount() {
+        return completed.get();
+    }
+
+    /**
+     * @return number of tasks rejected because the queue was full
+     */
+    public long getRejectedTaskCount() {
+        return rejected.get();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        if (shutdown) {
+            throw new RejectedExecutionException("Thread pool " + name + " is shut down");
+        }
+        if (!admit()) {
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException("The queue of thread pool " + name + " is full, max-queue-size=" + maxQueueSize);
+        }
+        queue.offer(command);
+        startWorker();
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        signalIfTerminated();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        List<Runnable> notStarted = new ArrayList<>();
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+            pending.decrementAndGet();
+            notStarted.add(task);
+        }
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        signalIfTerminated();
+        return notStarted;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && pending.get() == 0 && running.get() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (terminationLock) {
+            while (!isTerminated()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(terminationLock, remaining);
+            }
+        }
+        return true;
+    }
+
+    private boolean admit() {
+        int limit = maxQueueSize < 0 ? Integer.MAX_VALUE : maxConcurrency + maxQueueSize;
+        while (true) {
+            int current = pending.get();
+            if (current >= limit || current == Integer.MAX_VALUE) {
+                return false;
+            }
+            if (pending.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Starts a worker if a task is waiting and the limit allows it.
+     */
+    private void startWorker() {
+        while (!queue.isEmpty()) {
+            int current = running.get();
+            if (current >= maxConcurrency) {
+                logSaturation();
+                return;
+            }
+            if (running.compareAndSet(current, current + 1)) {
+                try {
+                    newWorker();
+                } catch (RuntimeException | Error e) {
+                    running.decrementAndGet();
+                    throw e;
+                }
+                return;
+            }
+        }
+    }
+
+    private void newWorker() {
+        ThreadFactory factory = getThreadFactory();
+        if (factory == null) {
+            getPlatformThreads().execute(this::work);
+        } else {
+            factory.newThread(this::work).start();
+        }
+    }
+
+    /**
+     * Runs queued tasks until the queue is empty.
+     */
+    private void work() {
+        Thread thread = Thread.currentThread();
+        workers.add(thread);
+        try {
+            Runnable task;
+            while ((task = queue.poll()) != null) {
+                try {
+                    thread.setContextClassLoader(initialClassLoader);
+                    task.run();
+                } catch (Throwable t) {
+                    LOGGER.log(Level.WARNING, "Uncaught exception in thread pool " + name, t);
+                } finally {
+                    pending.decrementAndGet();
+                    completed.incrementAndGet();
+                    // do not let a request leave the interrupt status to the next one
+                    if (!shutdown) {
+                        Thread.interrupted();
+                    }
+                }
+            }
+        } finally {
+            workers.remove(thread);
+            running.decrementAndGet();
+        }
+        // a task may have been queued after the queue was seen empty
+        startWorker();
+        signalIfTerminated();
+    }
+
+    private void logSaturation() {
+        if (!diagnostics) {
+            return;
+        }
+        long now = System.nanoTime();
+        long last = lastSaturationLog.get();
+        if (now - last >= SATURATION_LOG_PERIOD_NANOS && lastSaturationLog.compareAndSet(last, now)) {
+            LOGGER.log(Level.INFO, "Thread pool {0} reached max-thread-pool-size={1}, {2} tasks are waiting",
+                new Object[] {name, maxConcurrency, getQueueSize()});
+        }
+    }
+
+    private void signalIfTerminated() {
+        if (isTerminated()) {
+            synchronized (terminationLock) {
+                terminationLock.notifyAll();
+            }
+            ThreadPoolExecutor localPlatformThreads = platformThreads;
+            if (localPlatformThreads != null) {
+                localPlatformThreads.shutdown();
+            }
+        }
+    }
+
+    private ThreadFactory getThreadFactory() {
+        if (!threadFactoryResolved) {
+            synchronized (this) {
+                if (!threadFactoryResolved) {
+                    threadFactory = newVirtualThreadFactory(name + "-vt-");
+                    if (threadFactory == null) {
+                        LOGGER.log(Level.WARNING, "Virtual threads are not supported by this JDK,"
+                            + " thread pool {0} uses platform threads", name);
+                    }
+                    threadFactoryResolved = true;
+                }
+            }
+        }
+        return threadFactory;
+    }
+
+    private synchronized ThreadPoolExecutor getPlatformThreads() {
+        if (platformThreads == null) {
+            final AtomicInteger threadCounter = new AtomicInteger();
+            platformThreads = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), r -> {
+                    Thread thread = new Thread(r, name + "(" + threadCounter.incrementAndGet() + ")");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        }
+        return platformThreads;
+    }
+
+    /**
+     * The code is compiled for a JDK without virtual threads, so the
+     * {@code Thread.ofVirtual()} builder is obtained reflectively.
+     *
+     * @return factory of virtual threads or {@code null} if not supported
+     */
+    static ThreadFactory newVirtualThreadFactory(String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> ofVirtual = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            builder = ofVirtual.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            LOGGER.log(Level.FINEST, "Virtual threads not available", e);
+            return null;
+        }
+    }
+}
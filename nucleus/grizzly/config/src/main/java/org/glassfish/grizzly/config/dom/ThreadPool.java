@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2023, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -33,6 +33,12 @@ public interface ThreadPool extends ConfigBeanProxy, PropertyBag {
 
     String DEFAULT_THREAD_POOL_CLASS_NAME = "org.glassfish.grizzly.threadpool.GrizzlyExecutorService";
 
+    /**
+     * Runs every task on a virtual thread, the max-thread-pool-size limits the number
+     * of concurrently running tasks.
+     */
+    String VIRTUAL_THREAD_POOL_CLASS_NAME = "org.glassfish.grizzly.config.VirtualThreadExecutorService";
+
     int IDLE_THREAD_TIMEOUT = 900;
 
     int MAX_QUEUE_SIZE = 4096;
@@ -47,6 +53,7 @@ public interface ThreadPool extends ConfigBeanProxy, PropertyBag {
 
     /**
      * The classname of a thread pool implementation.
+     * {@value #VIRTUAL_THREAD_POOL_CLASS_NAME} selects virtual threads.
      */
     @Attribute(defaultValue = DEFAULT_THREAD_POOL_CLASS_NAME)
     String getClassname();
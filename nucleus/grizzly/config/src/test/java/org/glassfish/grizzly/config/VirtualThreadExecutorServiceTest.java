@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.config;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VirtualThreadExecutorServiceTest {
+
+    @Test
+    public void limitsConcurrentTasks() throws Exception {
+        VirtualThreadExecutorService executor = new VirtualThreadExecutorService();
+        executor.configure("test", 4, -1, false);
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            executor.execute(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertThat(peak.get(), lessThanOrEqualTo(4));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertThat(executor.getCompletedTaskCount(), is(100L));
+    }
+
+    @Test
+    public void rejectsWhenQueueIsFull() throws Exception {
+        VirtualThreadExecutorService executor = new VirtualThreadExecutorService();
+        executor.configure("test", 1, 1, false);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        executor.execute(() -> { });
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        assertThat(executor.getRejectedTaskCount(), is(1L));
+        assertThat(executor.getQueueSize(), is(1));
+
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertThat(executor.getCompletedTaskCount(), is(2L));
+    }
+
+    @Test
+    public void shutdownNowReturnsWaitingTasks() throws Exception {
+        VirtualThreadExecutorService executor = new VirtualThreadExecutorService();
+        executor.configure("test", 1, -1, false);
+
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitQuietly(new CountDownLatch(1));
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        executor.execute(() -> { });
+        executor.execute(() -> { });
+
+        List<Runnable> notStarted = executor.shutdownNow();
+        assertThat(notStarted, hasSize(2));
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
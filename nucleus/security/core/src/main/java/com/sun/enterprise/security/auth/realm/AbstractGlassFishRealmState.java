@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -47,6 +47,12 @@ public abstract class AbstractGlassFishRealmState implements Comparable<Realm>
 
     protected GroupMapper groupMapper;
 
+    /**
+     * The successful authentications, null unless enabled by the
+     * {@value AuthenticationCache#PARAM_CACHE_TTL} property.
+     */
+    protected AuthenticationCache authenticationCache;
+
 
     /**
      * The default the constructor creates a realm which will later be initialized,
@@ -85,6 +91,15 @@ public abstract class AbstractGlassFishRealmState implements Comparable<Realm>
             groupMapper.parse(groupMapping);
         }
 
+        authenticationCache = AuthenticationCache.create(getName(), properties);
+        if (authenticationCache != null) {
+            setProperty(AuthenticationCache.PARAM_CACHE_TTL, properties.getProperty(AuthenticationCache.PARAM_CACHE_TTL));
+            String maxSize = properties.getProperty(AuthenticationCache.PARAM_CACHE_MAX_SIZE);
+            if (maxSize != null) {
+                setProperty(AuthenticationCache.PARAM_CACHE_MAX_SIZE, maxSize);
+            }
+        }
+
         String defaultDigestAlgo = null;
         if (RealmsManagerHolder._getRealmsManager() != null) {
             defaultDigestAlgo = RealmsManagerHolder._getRealmsManager().getDefaultDigestAlgorithm();
@@ -142,6 +157,20 @@ public abstract class AbstractGlassFishRealmState implements Comparable<Realm>
         // do nothing
     }
 
+    /**
+     * Removes the cached authentications of a user, or of all the users, so
+     * that their next authentication is checked against the user store.
+     *
+     * @param username the user name, or null for all the users
+     * @return the number of authentications removed
+     */
+    public int clearAuthenticationCache(String username) {
+        if (authenticationCache == null) {
+            return 0;
+        }
+        return username == null ? authenticationCache.invalidateAll() : authenticationCache.invalidate(username);
+    }
+
     /**
      * Returns the name of this realm.
      *
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.enterprise.security.auth.realm;
+
+import com.sun.enterprise.security.auth.realm.exceptions.BadRealmException;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of the successful authentications of a realm, so that a caller
+ * authenticating again with the same credentials, like a client of a REST API
+ * using BASIC authentication, does not query the user store each time.
+ *
+ * <p>
+ * The cache is configured with the realm properties {@value #PARAM_CACHE_TTL},
+ * the number of seconds an authentication is kept, and
+ * {@value #PARAM_CACHE_MAX_SIZE}, the maximum number of authentications kept.
+ * It is disabled unless the time to live is set. An authentication is kept
+ * under a salted hash of the user name and password, so the passwords are not
+ * kept in memory, and a changed password is not accepted by the cache. The
+ * cache is cleared with the flush-auth-realm-cache subcommand.
+ */
+public final class AuthenticationCache {
+
+    public static final String PARAM_CACHE_TTL = "authentication-cache-ttl";
+    public static final String PARAM_CACHE_MAX_SIZE = "authentication-cache-max-size";
+
+    private static final int DEFAULT_MAX_SIZE = 1000;
+
+    private static final RealmsProbeProvider probeProvider = new RealmsProbeProvider();
+
+    private final String realmName;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final byte[] salt = new byte[16];
+
+    /** The authentications by key, least recently used first */
+    private final Map<String, CachedAuthentication> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a cache.
+     *
+     * @param realmName name of the realm of the authentications
+     * @param ttlMillis time an authentication is kept in milliseconds
+     * @param maxSize maximum number of authentications kept
+     */
+    public AuthenticationCache(String realmName, long ttlMillis, int maxSize) {
+        this.realmName = realmName;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxSize = maxSize;
+        new SecureRandom().nextBytes(salt);
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedAuthentication> eldest) {
+                return size() > AuthenticationCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Creates the cache configured by the properties of a realm.
+     *
+     * @param realmName name of the realm
+     * @param properties the realm properties
+     * @return the cache, or null if it is not enabled
+     * @throws BadRealmException if the cache properties are not valid
+     */
+    public static AuthenticationCache create(String realmName, Properties properties) throws BadRealmException {
+        long ttlSeconds = parse(properties, PARAM_CACHE_TTL, 0);
+        if (ttlSeconds <= 0) {
+            return null;
+        }
+        long maxSize = parse(properties, PARAM_CACHE_MAX_SIZE, DEFAULT_MAX_SIZE);
+        if (maxSize <= 0 || maxSize > Integer.MAX_VALUE) {
+            throw new BadRealmException(MessageFormat.format("Invalid value {0} of the property {1}.", maxSize, PARAM_CACHE_MAX_SIZE));
+        }
+        return new AuthenticationCache(realmName, TimeUnit.SECONDS.toMillis(ttlSeconds), (int) maxSize);
+    }
+
+    private static long parse(Properties properties, String name, long defaultValue) throws BadRealmException {
+        String value = properties.getProperty(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRealmException(MessageFormat.format("Invalid value {0} of the property {1}.", value, name));
+        }
+    }
+
+    /**
+     * Returns the groups of a user authenticated with the same password before.
+     *
+     * @param username the user name
+     * @param password the password
+     * @return the groups of the user, or null if the authentication is not cached
+     */
+    public String[] get(String username, char[] password) {
+        String key = key(username, password);
+        CachedAuthentication entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.expiry >= 0) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            probeProvider.authenticationCacheMissEvent(realmName);
+            return null;
+        }
+        hits.incrementAndGet();
+        probeProvider.authenticationCacheHitEvent(realmName);
+        return entry.groups.clone();
+    }
+
+    /**
+     * Keeps a successful authentication.
+     *
+     * @param username the user name
+     * @param password the password
+     * @param groups the groups of the user
+     */
+    public void put(String username, char[] password, String[] groups) {
+        if (groups == null) {
+            return;
+        }
+        CachedAuthentication entry = new CachedAuthentication(username, groups.clone(), System.nanoTime() + ttlNanos);
+        String key = key(username, password);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Removes the authentications of a user.
+     *
+     * @param username the user name
+     * @return the number of authentications removed
+     */
+    public int invalidate(String username) {
+        int removed = 0;
+        synchronized (entries) {
+            for (Iterator<CachedAuthentication> it = entries.values().iterator(); it.hasNext();) {
+                if (it.next().username.equals(username)) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all the authentications.
+     *
+     * @return the number of authentications removed
+     */
+    public int invalidateAll() {
+        synchronized (entries) {
+            int removed = entries.size();
+            entries.clear();
+            return removed;
+        }
+    }
+
+    /**
+     * @return the number of authentications found in the cache
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of authentications not found in the cache
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of authentications kept
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private String key(String username, char[] password) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(salt);
+        digest.update(username.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        ByteBuffer passwordBytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+        digest.update(passwordBytes.duplicate());
+        if (passwordBytes.hasArray()) {
+            Arrays.fill(passwordBytes.array(), (byte) 0);
+        }
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+
+    private static final class CachedAuthentication {
+
+        final String username;
+        final String[] groups;
+        final long expiry;
+
+        CachedAuthentication(String username, String[] groups, long expiry) {
+            this.username = username;
+            this.groups = groups;
+            this.expiry = expiry;
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -35,9 +36,15 @@ import org.glassfish.gmbal.ManagedObject;
 public class RealmStatsProvider {
 
     private CountStatisticImpl realmCount;
+    private CountStatisticImpl authenticationCacheHitCount;
+    private CountStatisticImpl authenticationCacheMissCount;
 
     public RealmStatsProvider() {
         realmCount = new CountStatisticImpl("RealmCount", "realm", "No of Realms");
+        authenticationCacheHitCount = new CountStatisticImpl("AuthenticationCacheHitCount", "count",
+            "No of authentications found in the authentication cache of the realms");
+        authenticationCacheMissCount = new CountStatisticImpl("AuthenticationCacheMissCount", "count",
+            "No of authentications not found in the authentication cache of the realms");
     }
 
     @ManagedAttribute
@@ -46,6 +53,18 @@ public class RealmStatsProvider {
         return realmCount;
     }
 
+    @ManagedAttribute
+    @Description("Authentication Cache Hit Count")
+    public CountStatistic getAuthenticationCacheHitCount() {
+        return authenticationCacheHitCount;
+    }
+
+    @ManagedAttribute
+    @Description("Authentication Cache Miss Count")
+    public CountStatistic getAuthenticationCacheMissCount() {
+        return authenticationCacheMissCount;
+    }
+
     @ProbeListener("glassfish:security:realm:realmAddedEvent")
     public void realmAddedEvent(@ProbeParam("realmName") String realmName) {
         realmCount.increment();
@@ -56,4 +75,14 @@ public class RealmStatsProvider {
         realmCount.decrement();
     }
 
+    @ProbeListener("glassfish:security:realm:authenticationCacheHitEvent")
+    public void authenticationCacheHitEvent(@ProbeParam("realmName") String realmName) {
+        authenticationCacheHitCount.increment();
+    }
+
+    @ProbeListener("glassfish:security:realm:authenticationCacheMissEvent")
+    public void authenticationCacheMissEvent(@ProbeParam("realmName") String realmName) {
+        authenticationCacheMissCount.increment();
+    }
+
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -35,4 +36,12 @@ public class RealmsProbeProvider {
     public void realmRemovedEvent(@ProbeParam("realmName") String realmName) {
     }
 
+    @Probe(name = "authenticationCacheHitEvent")
+    public void authenticationCacheHitEvent(@ProbeParam("realmName") String realmName) {
+    }
+
+    @Probe(name = "authenticationCacheMissEvent")
+    public void authenticationCacheMissEvent(@ProbeParam("realmName") String realmName) {
+    }
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -366,6 +366,15 @@ public final class LDAPRealm extends Realm {
      *
      */
     public String[] findAndBind(String _username, char[] _password) throws LoginException {
+        String username = _username;
+        if (authenticationCache != null) {
+            String[] groups = authenticationCache.get(username, _password);
+            if (groups != null) {
+                setGroupNames(RFC2254Encode(username), groups);
+                return groups;
+            }
+        }
+
         // Do search for user, substituting %s for username
         _username = RFC2254Encode(_username);
 
@@ -443,6 +452,9 @@ public final class LDAPRealm extends Realm {
         groups = addAssignGroups(groups);
         groups = this.addMappedGroupNames(groups);
         setGroupNames(_username, groups);
+        if (authenticationCache != null) {
+            authenticationCache.put(username, _password, groups);
+        }
 
         if (_logger.isLoggable(FINE)) {
             _logger.log(FINE, "LDAP: login succeeded for: " + _username);
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.security.cli;
+
+import com.sun.enterprise.config.serverbeans.AuthRealm;
+import com.sun.enterprise.config.serverbeans.Config;
+import com.sun.enterprise.config.serverbeans.Domain;
+import com.sun.enterprise.config.serverbeans.SecurityService;
+import com.sun.enterprise.security.auth.realm.Realm;
+import com.sun.enterprise.security.auth.realm.RealmsManager;
+import com.sun.enterprise.util.LocalStringManagerImpl;
+import com.sun.enterprise.util.SystemPropertyConstants;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.api.ActionReport;
+import org.glassfish.api.I18n;
+import org.glassfish.api.Param;
+import org.glassfish.api.admin.AccessRequired;
+import org.glassfish.api.admin.AdminCommand;
+import org.glassfish.api.admin.AdminCommandContext;
+import org.glassfish.api.admin.AdminCommandSecurity;
+import org.glassfish.api.admin.CommandLock;
+import org.glassfish.api.admin.ExecuteOn;
+import org.glassfish.api.admin.RestEndpoint;
+import org.glassfish.api.admin.RestEndpoints;
+import org.glassfish.api.admin.RestParam;
+import org.glassfish.api.admin.RuntimeType;
+import org.glassfish.api.admin.ServerEnvironment;
+import org.glassfish.config.support.CommandTarget;
+import org.glassfish.config.support.TargetType;
+import org.glassfish.hk2.api.PerLookup;
+import org.jvnet.hk2.annotations.Service;
+
+/**
+ * Flush Auth Realm Cache Command Usage: flush-auth-realm-cache [--authrealmname authrealm_name] [--username user_name]
+ * [target(Default server)]
+ *
+ * <p>
+ * Removes the authentications cached by the realms, see
+ * {@link com.sun.enterprise.security.auth.realm.AuthenticationCache}, so that
+ * a changed or removed user of an external user store is checked again. Without
+ * --authrealmname, the caches of all the realms of the target are flushed.
+ */
+@Service(name = "flush-auth-realm-cache")
+@PerLookup
+@CommandLock(CommandLock.LockType.NONE)
+@I18n("flush.auth.realm.cache")
+@ExecuteOn({ RuntimeType.DAS, RuntimeType.INSTANCE })
+@TargetType({ CommandTarget.DAS, CommandTarget.STANDALONE_INSTANCE, CommandTarget.CLUSTER, CommandTarget.CONFIG })
+@RestEndpoints({
+    @RestEndpoint(configBean = AuthRealm.class, opType = RestEndpoint.OpType.POST, path = "flush-cache",
+        description = "Flush Authentication Cache", params = { @RestParam(name = "authrealmname", value = "$parent") }) })
+public class FlushAuthRealmCache implements AdminCommand, AdminCommandSecurity.Preauthorization {
+
+    final private static LocalStringManagerImpl localStrings = new LocalStringManagerImpl(FlushAuthRealmCache.class);
+
+    @Param(name = "authrealmname", optional = true)
+    private String authRealmName;
+
+    @Param(name = "username", optional = true)
+    private String userName;
+
+    @Param(name = "target", primary = true, optional = true, defaultValue = SystemPropertyConstants.DEFAULT_SERVER_INSTANCE_NAME)
+    private String target;
+
+    @Inject
+    @Named(ServerEnvironment.DEFAULT_INSTANCE_NAME)
+    private Config config;
+
+    @Inject
+    private Domain domain;
+
+    @Inject
+    private RealmsManager realmsManager;
+
+    @AccessRequired.To("update")
+    private SecurityService securityService;
+
+    private final List<String> realmNames = new ArrayList<>();
+
+    @Override
+    public boolean preAuthorization(AdminCommandContext context) {
+        config = CLIUtil.chooseConfig(domain, target, context.getActionReport());
+        if (config == null) {
+            return false;
+        }
+        securityService = config.getSecurityService();
+        if (authRealmName == null) {
+            for (AuthRealm authRealm : securityService.getAuthRealm()) {
+                realmNames.add(authRealm.getName());
+            }
+            return true;
+        }
+        AuthRealm authRealm = CLIUtil.findRealm(securityService, authRealmName);
+        if (authRealm == null) {
+            final ActionReport report = context.getActionReport();
+            report.setMessage(localStrings.getLocalString("flush.auth.realm.cache.realmnotfound", "Auth realm {0} does not exist",
+                authRealmName));
+            report.setActionExitCode(ActionReport.ExitCode.FAILURE);
+            return false;
+        }
+        realmNames.add(authRealm.getName());
+        return true;
+    }
+
+    /**
+     * Executes the command with the command parameters passed as Properties where the keys are the paramter names and the values the
+     * parameter values
+     *
+     * @param context information
+     */
+    @Override
+    public void execute(AdminCommandContext context) {
+        final ActionReport report = context.getActionReport();
+        int removed = 0;
+        for (String realmName : realmNames) {
+            // A realm not loaded yet has nothing cached
+            Realm realm = realmsManager.getFromLoadedRealms(config.getName(), realmName);
+            if (realm != null) {
+                removed += realm.clearAuthenticationCache(userName);
+            }
+        }
+        report.setMessage(localStrings.getLocalString("flush.auth.realm.cache.success",
+            "flush-auth-realm-cache Successful, {0} cached authentications removed.", removed));
+        report.setActionExitCode(ActionReport.ExitCode.SUCCESS);
+    }
+}
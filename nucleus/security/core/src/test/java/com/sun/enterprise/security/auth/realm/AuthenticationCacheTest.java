@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.security.auth.realm;
+
+import com.sun.enterprise.security.auth.realm.exceptions.BadRealmException;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AuthenticationCacheTest {
+
+    private static final String[] GROUPS = {"users", "admins"};
+
+    @Test
+    public void rejectsWrongPasswordAfterCachedLogin() {
+        AuthenticationCache cache = new AuthenticationCache("realm", 60_000L, 10);
+        cache.put("alice", "secret".toCharArray(), GROUPS);
+
+        assertThat(cache.get("alice", "secret".toCharArray()), arrayContaining("users", "admins"));
+        assertThat(cache.get("alice", "wrong".toCharArray()), nullValue());
+        assertThat(cache.get("alice", "secret ".toCharArray()), nullValue());
+        assertThat(cache.get("bob", "secret".toCharArray()), nullValue());
+        assertThat(cache.getHitCount(), is(1L));
+        assertThat(cache.getMissCount(), is(3L));
+    }
+
+
+    @Test
+    public void changedPasswordMissesTheCache() {
+        AuthenticationCache cache = new AuthenticationCache("realm", 60_000L, 10);
+        cache.put("alice", "old".toCharArray(), GROUPS);
+        cache.put("alice", "new".toCharArray(), new String[] {"users"});
+
+        assertThat(cache.get("alice", "new".toCharArray()), arrayContaining("users"));
+        assertThat(cache.invalidate("alice"), is(2));
+        assertThat(cache.get("alice", "old".toCharArray()), nullValue());
+    }
+
+
+    @Test
+    public void expiresAfterTimeToLive() throws Exception {
+        AuthenticationCache cache = new AuthenticationCache("realm", 50L, 10);
+        cache.put("alice", "secret".toCharArray(), GROUPS);
+        assertThat(cache.get("alice", "secret".toCharArray()), notNullValue());
+
+        Thread.sleep(100L);
+        assertThat(cache.get("alice", "secret".toCharArray()), nullValue());
+        assertThat(cache.size(), is(0));
+    }
+
+
+    @Test
+    public void keepsLeastRecentlyUsedWithinMaxSize() {
+        AuthenticationCache cache = new AuthenticationCache("realm", 60_000L, 2);
+        cache.put("alice", "a".toCharArray(), GROUPS);
+        cache.put("bob", "b".toCharArray(), GROUPS);
+        assertThat(cache.get("alice", "a".toCharArray()), notNullValue());
+        cache.put("carol", "c".toCharArray(), GROUPS);
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.get("bob", "b".toCharArray()), nullValue());
+        assertThat(cache.get("alice", "a".toCharArray()), notNullValue());
+        assertThat(cache.get("carol", "c".toCharArray()), notNullValue());
+    }
+
+
+    @Test
+    public void returnedGroupsAreCopies() {
+        AuthenticationCache cache = new AuthenticationCache("realm", 60_000L, 10);
+        String[] groups = GROUPS.clone();
+        cache.put("alice", "secret".toCharArray(), groups);
+        groups[0] = "changed";
+        cache.get("alice", "secret".toCharArray())[1] = "changed";
+
+        assertThat(cache.get("alice", "secret".toCharArray()), arrayContaining("users", "admins"));
+    }
+
+
+    @Test
+    public void invalidatesOneUserOrAll() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty(AuthenticationCache.PARAM_CACHE_TTL, "60");
+        AuthenticationCache cache = AuthenticationCache.create("realm", properties);
+        cache.put("alice", "a".toCharArray(), GROUPS);
+        cache.put("alice", "b".toCharArray(), GROUPS);
+        cache.put("bob", "b".toCharArray(), GROUPS);
+
+        assertThat(cache.invalidate("alice"), is(2));
+        assertThat(cache.get("bob", "b".toCharArray()), notNullValue());
+        assertThat(cache.invalidateAll(), is(1));
+        assertThat(cache.get("bob", "b".toCharArray()), nullValue());
+    }
+
+
+    @Test
+    public void createdOnlyWithTimeToLive() throws Exception {
+        Properties properties = new Properties();
+        assertThat(AuthenticationCache.create("realm", properties), nullValue());
+        properties.setProperty(AuthenticationCache.PARAM_CACHE_TTL, "0");
+        assertThat(AuthenticationCache.create("realm", properties), nullValue());
+
+        properties.setProperty(AuthenticationCache.PARAM_CACHE_TTL, "30");
+        assertThat(AuthenticationCache.create("realm", properties), notNullValue());
+
+        properties.setProperty(AuthenticationCache.PARAM_CACHE_MAX_SIZE, "0");
+        assertThrows(BadRealmException.class, () -> AuthenticationCache.create("realm", properties));
+        properties.setProperty(AuthenticationCache.PARAM_CACHE_MAX_SIZE, "many");
+        assertThrows(BadRealmException.class, () -> AuthenticationCache.create("realm", properties));
+    }
+
+
+    @Test
+    public void keepsNoPassword() throws Exception {
+        AuthenticationCache cache = new AuthenticationCache("realm", 60_000L, 10);
+        char[] password = "pa55-w0rd-kept?".toCharArray();
+        cache.put("alice", password, GROUPS);
+        assertThat(cache.get("alice", password), notNullValue());
+
+        assertThat("the caller's password is not changed", new String(password), is("pa55-w0rd-kept?"));
+        List<String> found = new ArrayList<>();
+        findPassword(cache, "pa55-w0rd-kept?", Collections.newSetFromMap(new IdentityHashMap<>()), found);
+        assertThat(found, empty());
+    }
+
+
+    /**
+     * Walks the objects reachable from the cache, except the class constants, and collects those
+     * holding the password in clear text.
+     */
+    private static void findPassword(Object object, String password, Set<Object> visited, List<String> found)
+        throws IllegalAccessException {
+        if (object == null || object instanceof Class || !visited.add(object)) {
+            return;
+        }
+        if (object instanceof String) {
+            if (((String) object).contains(password)) {
+                found.add((String) object);
+            }
+            return;
+        }
+        if (object instanceof char[]) {
+            if (new String((char[]) object).contains(password)) {
+                found.add("char[]");
+            }
+            return;
+        }
+        if (object instanceof byte[]) {
+            if (new String((byte[]) object, StandardCharsets.UTF_8).contains(password)) {
+                found.add("byte[]");
+            }
+            return;
+        }
+        if (object.getClass().isArray()) {
+            for (int i = 0; i < Array.getLength(object); i++) {
+                findPassword(Array.get(object, i), password, visited, found);
+            }
+            return;
+        }
+        if (object instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                findPassword(entry.getKey(), password, visited, found);
+                findPassword(entry.getValue(), password, visited, found);
+            }
+            return;
+        }
+        if (!object.getClass().getName().startsWith(AuthenticationCache.class.getName())) {
+            return;
+        }
+        for (Field field : object.getClass().getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+                field.setAccessible(true);
+                findPassword(field.get(object), password, visited, found);
+            }
+        }
+    }
+}
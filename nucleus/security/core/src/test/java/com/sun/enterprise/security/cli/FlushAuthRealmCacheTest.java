@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.security.cli;
+
+import com.sun.enterprise.config.serverbeans.Config;
+import com.sun.enterprise.security.auth.realm.AuthenticationCache;
+import com.sun.enterprise.security.auth.realm.Realm;
+import com.sun.enterprise.security.auth.realm.RealmsManager;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Properties;
+
+import org.glassfish.api.ActionReport;
+import org.glassfish.api.admin.AdminCommandContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class FlushAuthRealmCacheTest {
+
+    private static final char[] PASSWORD = "secret".toCharArray();
+    private static final String[] GROUPS = {"users"};
+
+    private CachingRealm realm;
+
+    @BeforeEach
+    public void cacheAuthentications() throws Exception {
+        realm = new CachingRealm();
+        realm.getCache().put("alice", PASSWORD, GROUPS);
+        realm.getCache().put("alice", "other".toCharArray(), GROUPS);
+        realm.getCache().put("bob", PASSWORD, GROUPS);
+    }
+
+
+    @Test
+    public void flushesOneUser() throws Exception {
+        execute("alice", 2);
+
+        assertThat(realm.getCache().get("alice", PASSWORD), nullValue());
+        assertThat(realm.getCache().get("bob", PASSWORD), notNullValue());
+    }
+
+
+    @Test
+    public void flushesAllUsers() throws Exception {
+        execute(null, 3);
+
+        assertThat(realm.getCache().get("alice", PASSWORD), nullValue());
+        assertThat(realm.getCache().get("bob", PASSWORD), nullValue());
+    }
+
+
+    private void execute(String userName, int removed) throws Exception {
+        Config config = createMock(Config.class);
+        expect(config.getName()).andReturn("server-config").anyTimes();
+        RealmsManager realmsManager = createMock(RealmsManager.class);
+        expect(realmsManager.getFromLoadedRealms("server-config", "caching")).andReturn(realm);
+        expect(realmsManager.getFromLoadedRealms("server-config", "unloaded")).andReturn(null);
+        ActionReport report = createMock(ActionReport.class);
+        report.setMessage("flush-auth-realm-cache Successful, " + removed + " cached authentications removed.");
+        report.setActionExitCode(ActionReport.ExitCode.SUCCESS);
+        AdminCommandContext context = createMock(AdminCommandContext.class);
+        expect(context.getActionReport()).andReturn(report);
+        replay(config, realmsManager, report, context);
+
+        FlushAuthRealmCache command = new FlushAuthRealmCache();
+        set(command, "config", config);
+        set(command, "realmsManager", realmsManager);
+        set(command, "userName", userName);
+        @SuppressWarnings("unchecked")
+        List<String> realmNames = (List<String>) get(command, "realmNames");
+        realmNames.add("caching");
+        realmNames.add("unloaded");
+        command.execute(context);
+
+        verify(config, realmsManager, report, context);
+    }
+
+
+    private static void set(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+
+    private static Object get(Object target, String name) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+
+
+    private static final class CachingRealm extends Realm {
+
+        CachingRealm() throws Exception {
+            Properties properties = new Properties();
+            properties.setProperty(AuthenticationCache.PARAM_CACHE_TTL, "60");
+            init(properties);
+        }
+
+        AuthenticationCache getCache() {
+            return authenticationCache;
+        }
+
+        @Override
+        public String getAuthType() {
+            return "caching";
+        }
+
+        @Override
+        public Enumeration<String> getGroupNames(String username) {
+            return Collections.emptyEnumeration();
+        }
+    }
+}